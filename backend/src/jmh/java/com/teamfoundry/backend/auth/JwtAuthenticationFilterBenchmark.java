@@ -0,0 +1,144 @@
+package com.teamfoundry.backend.auth;
+
+import com.teamfoundry.backend.auth.config.JwtAuthenticationFilter;
+import com.teamfoundry.backend.auth.service.AccountDetailsService;
+import com.teamfoundry.backend.auth.service.UserDetailsCache;
+import com.teamfoundry.backend.auth.service.login.JwtService;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.lang.NonNull;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Custo por pedido do filtro JWT: implementação anterior (três parses do token, cada um com
+ * chave e parser novos, e leitura da conta em cada pedido) contra a atual (um parse e cache).
+ * {@code lookupMicros} simula a latência da consulta à base de dados.
+ *
+ * <pre>./gradlew jmh</pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef";
+    private static final String EMAIL = "ana@test.com";
+
+    @Param({"0", "200"})
+    public long lookupMicros;
+
+    private String token;
+    private OncePerRequestFilter legacyFilter;
+    private OncePerRequestFilter currentFilter;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtService, "expirationSeconds", 3600L);
+        token = jwtService.generateToken(EMAIL, "EMPLOYEE", 1);
+
+        AccountDetailsService database = new AccountDetailsService(null, null) {
+            @Override
+            public UserDetails loadUserByUsername(String username) {
+                if (lookupMicros > 0) {
+                    LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(lookupMicros));
+                }
+                return new User(username, "hash", List.of(new SimpleGrantedAuthority("ROLE_EMPLOYEE")));
+            }
+        };
+        legacyFilter = new LegacyJwtFilter(database);
+        currentFilter = new JwtAuthenticationFilter(jwtService, new UserDetailsCache(database, 60, 10_000));
+    }
+
+    @Benchmark
+    public Authentication before() throws Exception {
+        return run(legacyFilter);
+    }
+
+    @Benchmark
+    public Authentication after() throws Exception {
+        return run(currentFilter);
+    }
+
+    private Authentication run(OncePerRequestFilter filter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/notifications");
+        request.addHeader("Authorization", "Bearer " + token);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /**
+     * Cópia do filtro antes da alteração, para comparação.
+     */
+    private static final class LegacyJwtFilter extends OncePerRequestFilter {
+
+        private final UserDetailsService userDetailsService;
+
+        private LegacyJwtFilter(UserDetailsService userDetailsService) {
+            this.userDetailsService = userDetailsService;
+        }
+
+        @Override
+        protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                        @NonNull FilterChain chain) throws ServletException, IOException {
+            String token = request.getHeader("Authorization").substring(7);
+            String username = parser().parseSignedClaims(token).getPayload().getSubject();
+            UserDetails user = userDetailsService.loadUserByUsername(username);
+            String again = parser().parseSignedClaims(token).getPayload().getSubject();
+            Date exp = parser().parseSignedClaims(token).getPayload().getExpiration();
+            if (again.equals(user.getUsername()) && exp.after(new Date())) {
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+            }
+            chain.doFilter(request, response);
+        }
+
+        private JwtParser parser() {
+            return Jwts.parser()
+                    .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                    .build();
+        }
+    }
+}
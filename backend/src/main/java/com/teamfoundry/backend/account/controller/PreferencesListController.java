@@ -1,10 +1,11 @@
 package com.teamfoundry.backend.account.controller;
 
-import com.teamfoundry.backend.account.dto.employee.preferences.EmployeePreferencesListResponse;
 import com.teamfoundry.backend.account.service.ProfilePreferencesListService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -20,11 +21,14 @@ public class PreferencesListController {
 
     /**
      * Obtém todas as opções pré-carregadas para o fluxo de preferências do candidato.
+     * Responde 304 quando o cliente envia o ETag da versão atual.
      *
      * @return objeto JSON com listas de funções, competências e áreas geográficas.
      */
     @GetMapping
-    public ResponseEntity<EmployeePreferencesListResponse> listOptions() {
-        return ResponseEntity.ok(profilePreferencesListService.fetchOptions());
+    public ResponseEntity<byte[]> listOptions(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return profilePreferencesListService.fetchOptionsJson().toResponse(ifNoneMatch, acceptEncoding);
     }
 }
@@ -8,6 +8,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 
@@ -24,19 +25,27 @@ public class EmployeeCertificationController {
         return employeeCertificationService.list(email);
     }
 
-    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
-    public EmployeeCertificationResponse create(@Valid @RequestBody EmployeeCertificationRequest request,
+    /**
+     * Cria uma formação a partir de um formulário multipart (campos do pedido e parte {@code file}).
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public EmployeeCertificationResponse create(@Valid @ModelAttribute EmployeeCertificationRequest request,
+                                                @RequestParam(value = "file", required = false) MultipartFile file,
                                                 Authentication authentication) {
         String email = authentication != null ? authentication.getName() : null;
-        return employeeCertificationService.create(email, request);
+        return employeeCertificationService.create(email, request, file);
     }
 
-    @PutMapping(value = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    /**
+     * Atualiza uma formação; a parte {@code file} é opcional e, se ausente, mantém o certificado atual.
+     */
+    @PutMapping(value = "/{id}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public EmployeeCertificationResponse update(@PathVariable int id,
-                                                @Valid @RequestBody EmployeeCertificationRequest request,
+                                                @Valid @ModelAttribute EmployeeCertificationRequest request,
+                                                @RequestParam(value = "file", required = false) MultipartFile file,
                                                 Authentication authentication) {
         String email = authentication != null ? authentication.getName() : null;
-        return employeeCertificationService.update(id, email, request);
+        return employeeCertificationService.update(id, email, request, file);
     }
 
     @DeleteMapping("/{id}")
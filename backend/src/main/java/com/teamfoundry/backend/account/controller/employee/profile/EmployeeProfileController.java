@@ -21,6 +21,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
 @RestController
 @RequestMapping(value = "/api/employee/profile", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -75,6 +76,18 @@ public class EmployeeProfileController {
         return employeeProfileAndDocumentsService.getProfileWithCv(email);
     }
 
+    /**
+     * Upload do currículo em multipart (parte {@code file}): o ficheiro segue em stream para a cloud.
+     */
+    @PostMapping(value = "/cv", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public EmployeeProfileResponse uploadCvMultipart(
+            @RequestParam("file") MultipartFile file,
+            Authentication authentication) {
+        String email = resolveEmail(authentication);
+        employeeProfileAndDocumentsService.uploadCurriculum(email, file);
+        return employeeProfileAndDocumentsService.getProfileWithCv(email);
+    }
+
     /**
      * Elimina o currículo do colaborador autenticado.
      */
@@ -95,6 +108,19 @@ public class EmployeeProfileController {
         return employeeProfileAndDocumentsService.getProfileWithCv(email);
     }
 
+    /**
+     * Upload de documento de identificação em multipart (partes {@code type} e {@code file}).
+     */
+    @PostMapping(value = "/id-document", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public EmployeeProfileResponse uploadIdentificationDocumentMultipart(
+            @RequestParam DocumentType type,
+            @RequestParam("file") MultipartFile file,
+            Authentication authentication) {
+        String email = resolveEmail(authentication);
+        employeeProfileAndDocumentsService.uploadIdentificationDocument(email, type, file);
+        return employeeProfileAndDocumentsService.getProfileWithCv(email);
+    }
+
     /**
      * Elimina um documento de identificação específico.
      */
@@ -112,6 +138,13 @@ public class EmployeeProfileController {
         return employeeProfileAndDocumentsService.uploadProfilePicture(resolveEmail(authentication), request);
     }
 
+    @PostMapping(value = "/photo", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public EmployeeProfileResponse uploadProfilePictureMultipart(
+            @RequestParam("file") MultipartFile file,
+            Authentication authentication) {
+        return employeeProfileAndDocumentsService.uploadProfilePicture(resolveEmail(authentication), file);
+    }
+
     @DeleteMapping("/photo")
     public void deleteProfilePicture(Authentication authentication) {
         employeeProfileAndDocumentsService.deleteProfilePicture(resolveEmail(authentication));
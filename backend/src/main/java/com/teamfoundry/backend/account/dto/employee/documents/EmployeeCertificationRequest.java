@@ -6,9 +6,13 @@ import jakarta.validation.constraints.PastOrPresent;
 import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
 
 import java.time.LocalDate;
 
+/**
+ * Campos do formulário multipart de formação; o ficheiro do certificado segue na parte {@code file}.
+ */
 @Getter
 @Setter
 public class EmployeeCertificationRequest {
@@ -26,17 +30,12 @@ public class EmployeeCertificationRequest {
 
     @NotNull
     @PastOrPresent
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
     private LocalDate completionDate;
 
     @Size(max = 500)
     private String description;
 
-    /**
-     * Conteúdo base64 do certificado. Pode incluir prefixo data-url.
-     * Opcional em atualizações quando já existe um ficheiro armazenado.
-     */
-    private String certificateFile;
-
     /**
      * Nome original do ficheiro (para deduzir a extensão).
      */
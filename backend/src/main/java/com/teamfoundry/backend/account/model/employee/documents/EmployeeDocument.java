@@ -7,6 +7,9 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 @Entity
 @Table(name = "employee_document",
         uniqueConstraints = @UniqueConstraint(columnNames = {"employee_id", "doc_type"}))
@@ -32,4 +35,15 @@ public class EmployeeDocument {
 
     @Column(name = "file_name")
     private String fileName;
+
+    /**
+     * Documentos de um colaborador (lidos numa só consulta) indexados por tipo, um por tipo.
+     */
+    public static Map<DocumentType, EmployeeDocument> byType(Iterable<EmployeeDocument> documents) {
+        Map<DocumentType, EmployeeDocument> byType = new EnumMap<>(DocumentType.class);
+        for (EmployeeDocument document : documents) {
+            byType.putIfAbsent(document.getType(), document);
+        }
+        return byType;
+    }
 }
@@ -3,9 +3,13 @@ package com.teamfoundry.backend.account.repository;
 import com.teamfoundry.backend.account.enums.RegistrationStatus;
 import com.teamfoundry.backend.account.enums.UserType;
 import com.teamfoundry.backend.account.model.Account;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,5 +17,22 @@ public interface AccountRepository extends JpaRepository<Account, Integer> {
     Optional<Account> findByEmail(String email);
     boolean existsByEmail(String email);
     long countByRole(UserType role);
-    List<Account> findByRegistrationStatusAndCreatedAtBefore(RegistrationStatus status, Instant createdBefore);
+
+    /**
+     * Próximo bloco de ids (por ordem crescente, depois de {@code afterId}) com este estado e mais antigos
+     * que {@code createdBefore}; o tamanho do bloco vem do {@link Pageable}.
+     */
+    @Query("""
+            SELECT a.id FROM Account a
+            WHERE a.registrationStatus = :status AND a.createdAt < :createdBefore AND a.id > :afterId
+            ORDER BY a.id
+            """)
+    List<Integer> findIdsByRegistrationStatusAndCreatedAtBefore(@Param("status") RegistrationStatus status,
+                                                                @Param("createdBefore") Instant createdBefore,
+                                                                @Param("afterId") int afterId,
+                                                                Pageable pageable);
+
+    List<Account> findByIdInAndRegistrationStatusAndCreatedAtBefore(Collection<Integer> ids,
+                                                                     RegistrationStatus status,
+                                                                     Instant createdBefore);
 }
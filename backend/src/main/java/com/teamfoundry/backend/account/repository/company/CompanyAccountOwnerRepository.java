@@ -3,11 +3,19 @@ package com.teamfoundry.backend.account.repository.company;
 import com.teamfoundry.backend.account.model.company.CompanyAccount;
 import com.teamfoundry.backend.account.model.company.CompanyAccountManager;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.Optional;
 
 public interface CompanyAccountOwnerRepository extends JpaRepository<CompanyAccountManager, Integer> {
     boolean existsByEmailIgnoreCase(String email);
     void deleteByCompanyAccount(CompanyAccount companyAccount);
+
+    @Modifying
+    @Query("DELETE FROM CompanyAccountManager m WHERE m.id IN :companyIds")
+    int deleteAllByCompanyIds(@Param("companyIds") Collection<Integer> companyIds);
     Optional<CompanyAccountManager> findByCompanyAccount_Email(String email);
 }
@@ -3,10 +3,18 @@ package com.teamfoundry.backend.account.repository.company;
 import com.teamfoundry.backend.account.model.company.CompanyAccount;
 import com.teamfoundry.backend.account.model.company.CompanyActivitySectors;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CompanyActivitySectorsRepository extends JpaRepository<CompanyActivitySectors, Integer> {
     void deleteByCompany(CompanyAccount company);
+
+    @Modifying
+    @Query("DELETE FROM CompanyActivitySectors s WHERE s.company.id IN :companyIds")
+    int deleteAllByCompanyIds(@Param("companyIds") Collection<Integer> companyIds);
     List<CompanyActivitySectors> findByCompany(CompanyAccount company);
 }
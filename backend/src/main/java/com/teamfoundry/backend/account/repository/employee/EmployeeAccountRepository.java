@@ -13,61 +13,26 @@ public interface EmployeeAccountRepository extends JpaRepository<EmployeeAccount
 
     long countByDeactivatedFalse();
 
-    @Query(value = """
-            SELECT DISTINCT e.*, a.*
-            FROM employee_account e
-            JOIN account a ON e.id = a.id
-            
-            -- Function/Role Filters
-            LEFT JOIN employee_role er ON er.id_funcionario = e.id
-            LEFT JOIN pref_role pr ON pr.id = er.id_funcao
-            
-            -- Geo Filters
-            LEFT JOIN employee_geo_area ega ON ega.id_funcionario = e.id
-            LEFT JOIN pref_geo_areas pga ON pga.id = ega.id_area_geo
-            
-            -- Skill Filters
-            LEFT JOIN employee_skill es ON es.id_funcionario = e.id
-            LEFT JOIN pref_skill ps ON ps.id = es.id_competencia
-            
-            -- INVITE JOIN (Scoped to Team/Role)
-            LEFT JOIN request_funcionario_oferta invite 
-                ON invite.id_funcionario = e.id 
-                AND invite.active = true
-                AND invite.id_request IN (
-                    SELECT sub_req.id FROM request_funcionario sub_req 
-                    WHERE sub_req.id_team_request = :teamId 
-                    AND (:vacancyRole IS NULL OR LOWER(sub_req.requested_role) = LOWER(:vacancyRole))
-                )
+    /**
+     * Colaboradores que podem aparecer na pesquisa de candidatos (verificados e ativos),
+     * apenas com id e nome para o índice em memória.
+     */
+    @Query("SELECT e.id AS id, e.name AS name, e.surname AS surname FROM EmployeeAccount e WHERE e.verified = true AND e.deactivated = false")
+    List<SearchableEmployee> findSearchableEmployees();
 
-            -- ASSIGNMENT JOIN (Scoped to Team/Role)
-            LEFT JOIN request_funcionario assignment 
-                ON assignment.id_funcionario = e.id 
-                AND assignment.id_team_request = :teamId
-                AND (:vacancyRole IS NULL OR LOWER(assignment.requested_role) = LOWER(:vacancyRole))
+    @Query("SELECT e.id AS id, e.name AS name, e.surname AS surname FROM EmployeeAccount e WHERE e.id = :id AND e.verified = true AND e.deactivated = false")
+    Optional<SearchableEmployee> findSearchableEmployeeById(@Param("id") Integer id);
 
-            WHERE a.verified = true AND a.deactivated = false
-            
-            -- Dynamic Filters
-            AND (:rolesEmpty = true OR LOWER(pr.name) IN :roles)
-            AND (:areasEmpty = true OR LOWER(pga.name) IN :areas)
-            AND (:skillsEmpty = true OR LOWER(ps.name) IN :skills)
-            
-            -- STATUS FILTER LOGIC
-            AND (:statusesEmpty = true OR (
-                ('INVITED' IN :statuses AND invite.id IS NOT NULL) OR
-                ('ACCEPTED' IN :statuses AND assignment.id IS NOT NULL) OR
-                ('NO_PROPOSAL' IN :statuses AND invite.id IS NULL AND assignment.id IS NULL)
-            ))
-            """, nativeQuery = true)
-    List<EmployeeAccount> searchCandidates(@Param("areas") List<String> areas,
-                                           @Param("areasEmpty") boolean areasEmpty,
-                                           @Param("skills") List<String> skills,
-                                           @Param("skillsEmpty") boolean skillsEmpty,
-                                           @Param("roles") List<String> roles,
-                                           @Param("rolesEmpty") boolean rolesEmpty,
-                                           @Param("statuses") List<String> statuses,
-                                           @Param("statusesEmpty") boolean statusesEmpty,
-                                           @Param("teamId") Integer teamId,
-                                           @Param("vacancyRole") String vacancyRole);
+    /**
+     * Bloqueia só a linha do colaborador até ao fim da transação, para serializar as suas próprias
+     * aceitações sem tocar na tabela base de contas.
+     */
+    @Query(value = "SELECT id FROM employee_account WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Integer lockById(@Param("id") Integer id);
+
+    interface SearchableEmployee {
+        Integer getId();
+        String getName();
+        String getSurname();
+    }
 }
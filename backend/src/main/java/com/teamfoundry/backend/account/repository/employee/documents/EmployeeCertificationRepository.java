@@ -3,8 +3,12 @@ package com.teamfoundry.backend.account.repository.employee.documents;
 import com.teamfoundry.backend.account.model.employee.profile.EmployeeAccount;
 import com.teamfoundry.backend.account.model.employee.documents.EmployeeCertification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,4 +24,14 @@ public interface EmployeeCertificationRepository extends JpaRepository<EmployeeC
             String institution,
             LocalDate completionDate
     );
+
+    @Query("""
+            SELECT c.certificatePublicId FROM EmployeeCertification c
+            WHERE c.employee.id IN :employeeIds AND c.certificatePublicId IS NOT NULL
+            """)
+    List<String> findCertificatePublicIdsByEmployeeIds(@Param("employeeIds") Collection<Integer> employeeIds);
+
+    @Modifying
+    @Query("DELETE FROM EmployeeCertification c WHERE c.employee.id IN :employeeIds")
+    int deleteAllByEmployeeIds(@Param("employeeIds") Collection<Integer> employeeIds);
 }
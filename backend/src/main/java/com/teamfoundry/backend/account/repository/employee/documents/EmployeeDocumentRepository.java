@@ -4,7 +4,11 @@ import com.teamfoundry.backend.account.model.employee.profile.EmployeeAccount;
 import com.teamfoundry.backend.account.enums.DocumentType;
 import com.teamfoundry.backend.account.model.employee.documents.EmployeeDocument;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +16,11 @@ public interface EmployeeDocumentRepository extends JpaRepository<EmployeeDocume
     Optional<EmployeeDocument> findByEmployeeAndType(EmployeeAccount employee, DocumentType type);
 
     List<EmployeeDocument> findAllByEmployee(EmployeeAccount employee);
+
+    @Query("SELECT d.publicId FROM EmployeeDocument d WHERE d.employee.id IN :employeeIds")
+    List<String> findPublicIdsByEmployeeIds(@Param("employeeIds") Collection<Integer> employeeIds);
+
+    @Modifying
+    @Query("DELETE FROM EmployeeDocument d WHERE d.employee.id IN :employeeIds")
+    int deleteAllByEmployeeIds(@Param("employeeIds") Collection<Integer> employeeIds);
 }
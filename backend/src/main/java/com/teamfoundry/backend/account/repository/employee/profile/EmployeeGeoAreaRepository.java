@@ -3,11 +3,37 @@ package com.teamfoundry.backend.account.repository.employee.profile;
 import com.teamfoundry.backend.account.model.employee.profile.EmployeeAccount;
 import com.teamfoundry.backend.account.model.employee.profile.EmployeeGeoArea;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.Modifying;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface EmployeeGeoAreaRepository extends JpaRepository<EmployeeGeoArea, Integer> {
     void deleteByEmployee(EmployeeAccount employee);
 
+    @Modifying
+    @Query("DELETE FROM EmployeeGeoArea ega WHERE ega.employee.id IN :employeeIds")
+    int deleteAllByEmployeeIds(@Param("employeeIds") Collection<Integer> employeeIds);
+
     List<EmployeeGeoArea> findByEmployee(EmployeeAccount employee);
+
+    @Query("SELECT ega.employee.id AS employeeId, ega.geoArea.name AS name FROM EmployeeGeoArea ega")
+    List<EmployeePreferenceName> findAllPreferenceNames();
+
+    @Query("""
+            SELECT ega.employee.id AS employeeId, ega.geoArea.name AS name
+            FROM EmployeeGeoArea ega
+            WHERE ega.employee.id = :employeeId
+            """)
+    List<EmployeePreferenceName> findPreferenceNamesByEmployeeId(@Param("employeeId") Integer employeeId);
+
+    @Query("""
+            SELECT ega.employee.id AS employeeId, ega.geoArea.name AS name
+            FROM EmployeeGeoArea ega
+            WHERE ega.employee.id IN :employeeIds
+            ORDER BY ega.id
+            """)
+    List<EmployeePreferenceName> findPreferenceNamesByEmployeeIds(@Param("employeeIds") Collection<Integer> employeeIds);
 }
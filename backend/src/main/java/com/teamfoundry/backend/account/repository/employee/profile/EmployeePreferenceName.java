@@ -0,0 +1,10 @@
+package com.teamfoundry.backend.account.repository.employee.profile;
+
+/**
+ * Projeção (id do colaborador, nome da preferência) usada para indexar funções,
+ * competências e áreas sem carregar as entidades completas.
+ */
+public interface EmployeePreferenceName {
+    Integer getEmployeeId();
+    String getName();
+}
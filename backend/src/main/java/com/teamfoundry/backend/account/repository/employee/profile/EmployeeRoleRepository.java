@@ -3,13 +3,38 @@ package com.teamfoundry.backend.account.repository.employee.profile;
 import com.teamfoundry.backend.account.model.employee.profile.EmployeeAccount;
 import com.teamfoundry.backend.account.model.employee.profile.EmployeeRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.Modifying;
 
 import java.util.Optional;
 
 public interface EmployeeRoleRepository extends JpaRepository<EmployeeRole, Integer> {
     void deleteByEmployee(EmployeeAccount employee);
 
+    @Modifying
+    @Query("DELETE FROM EmployeeRole er WHERE er.employee.id IN :employeeIds")
+    int deleteAllByEmployeeIds(@Param("employeeIds") java.util.Collection<Integer> employeeIds);
+
     Optional<EmployeeRole> findFirstByEmployee(EmployeeAccount employee);
 
     java.util.List<EmployeeRole> findByEmployee(EmployeeAccount employee);
+
+    @Query("SELECT er.employee.id AS employeeId, er.function.name AS name FROM EmployeeRole er")
+    java.util.List<EmployeePreferenceName> findAllPreferenceNames();
+
+    @Query("""
+            SELECT er.employee.id AS employeeId, er.function.name AS name
+            FROM EmployeeRole er
+            WHERE er.employee.id = :employeeId
+            """)
+    java.util.List<EmployeePreferenceName> findPreferenceNamesByEmployeeId(@Param("employeeId") Integer employeeId);
+
+    @Query("""
+            SELECT er.employee.id AS employeeId, er.function.name AS name
+            FROM EmployeeRole er
+            WHERE er.employee.id IN :employeeIds
+            ORDER BY er.id
+            """)
+    java.util.List<EmployeePreferenceName> findPreferenceNamesByEmployeeIds(@Param("employeeIds") java.util.Collection<Integer> employeeIds);
 }
@@ -3,11 +3,37 @@ package com.teamfoundry.backend.account.repository.employee.profile;
 import com.teamfoundry.backend.account.model.employee.profile.EmployeeAccount;
 import com.teamfoundry.backend.account.model.employee.profile.EmployeeSkill;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.Modifying;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface EmployeeSkillRepository extends JpaRepository<EmployeeSkill, Integer> {
     void deleteByEmployee(EmployeeAccount employee);
 
+    @Modifying
+    @Query("DELETE FROM EmployeeSkill es WHERE es.employee.id IN :employeeIds")
+    int deleteAllByEmployeeIds(@Param("employeeIds") Collection<Integer> employeeIds);
+
     List<EmployeeSkill> findByEmployee(EmployeeAccount employee);
+
+    @Query("SELECT es.employee.id AS employeeId, es.prefSkill.name AS name FROM EmployeeSkill es")
+    List<EmployeePreferenceName> findAllPreferenceNames();
+
+    @Query("""
+            SELECT es.employee.id AS employeeId, es.prefSkill.name AS name
+            FROM EmployeeSkill es
+            WHERE es.employee.id = :employeeId
+            """)
+    List<EmployeePreferenceName> findPreferenceNamesByEmployeeId(@Param("employeeId") Integer employeeId);
+
+    @Query("""
+            SELECT es.employee.id AS employeeId, es.prefSkill.name AS name
+            FROM EmployeeSkill es
+            WHERE es.employee.id IN :employeeIds
+            ORDER BY es.id
+            """)
+    List<EmployeePreferenceName> findPreferenceNamesByEmployeeIds(@Param("employeeIds") Collection<Integer> employeeIds);
 }
@@ -1,79 +1,159 @@
 package com.teamfoundry.backend.account.service;
 
 import com.teamfoundry.backend.account.enums.RegistrationStatus;
-import com.teamfoundry.backend.account.model.Account;
-import com.teamfoundry.backend.account.model.company.CompanyAccount;
-import com.teamfoundry.backend.account.model.employee.profile.EmployeeAccount;
 import com.teamfoundry.backend.account.repository.AccountRepository;
-import com.teamfoundry.backend.account.repository.company.CompanyAccountOwnerRepository;
-import com.teamfoundry.backend.account.repository.company.CompanyAccountRepository;
-import com.teamfoundry.backend.account.repository.company.CompanyActivitySectorsRepository;
-import com.teamfoundry.backend.common.util.AccountCleanupService;
+import com.teamfoundry.backend.account.service.PendingAccountPurger.PurgedChunk;
+import com.teamfoundry.backend.common.lease.JobLeaseService;
+import com.teamfoundry.backend.common.storage.FileStorage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Remove contas pendentes que ficaram abandonadas além do tempo limite configurado.
+ * Percorre os ids por blocos (keyset) e apaga cada bloco numa transação curta; os ficheiros
+ * são removidos do armazenamento já fora da transação. Com várias instâncias, só a que tiver
+ * o lease {@value #LEASE_NAME} corre em cada intervalo.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class PendingAccountCleanupJob {
 
+    static final String LEASE_NAME = "pending-account-cleanup";
+
     private final AccountRepository accountRepository;
-    private final AccountCleanupService accountCleanupService;
-    private final CompanyAccountOwnerRepository companyAccountOwnerRepository;
-    private final CompanyActivitySectorsRepository companyActivitySectorsRepository;
-    private final CompanyAccountRepository companyAccountRepository;
+    private final PendingAccountPurger pendingAccountPurger;
+    private final JobLeaseService jobLeaseService;
+    private final FileStorage fileStorage;
 
     @Value("${app.registration.pending-retention-minutes}")
     private long pendingRetentionMinutes;
 
+    @Value("${app.registration.pending-cleanup-chunk-size:100}")
+    private int chunkSize;
+
+    /** Por omissão igual ao intervalo: a instância que corre fica com a tarefa até à execução seguinte. */
+    @Value("${app.registration.pending-cleanup-lease-ms:${app.registration.pending-cleanup-interval-ms}}")
+    private long leaseMillis;
+
+    private volatile RunProgress progress;
+
     @Scheduled(fixedDelayString = "${app.registration.pending-cleanup-interval-ms}")
-    @Transactional
     public void purgeStalePendingAccounts() {
+        Duration lease = Duration.ofMillis(leaseMillis);
+        if (!jobLeaseService.tryAcquire(LEASE_NAME, lease)) {
+            log.debug("Limpeza de contas pendentes a correr noutra instância");
+            return;
+        }
         Instant threshold = Instant.now().minus(pendingRetentionMinutes, ChronoUnit.MINUTES);
-        List<Account> staleAccounts = accountRepository.findByRegistrationStatusAndCreatedAtBefore(
-                RegistrationStatus.PENDING,
-                threshold
-        );
+        RunProgress run = RunProgress.start(jobLeaseService.owner());
+        progress = run;
 
-        if (staleAccounts.isEmpty()) {
-            return;
+        int afterId = 0;
+        while (true) {
+            List<Integer> ids = accountRepository.findIdsByRegistrationStatusAndCreatedAtBefore(
+                    RegistrationStatus.PENDING, threshold, afterId, PageRequest.of(0, chunkSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            afterId = ids.getLast();
+            run = purgeChunk(ids, threshold, run);
+            progress = run;
+            log.debug("Limpeza de contas pendentes: bloco {} ({} removidas, {} falhadas até agora)",
+                    run.chunks(), run.purged(), run.failed());
+            if (ids.size() < chunkSize) {
+                break;
+            }
+            if (!jobLeaseService.tryAcquire(LEASE_NAME, lease)) {
+                log.warn("Lease {} perdido a meio da limpeza; a terminar depois de {} blocos", LEASE_NAME, run.chunks());
+                break;
+            }
+        }
+
+        run = run.finish();
+        progress = run;
+        if (run.scanned() > 0) {
+            log.info("Removed {} pending accounts older than {} minutes ({} failed, {} chunks, {} ms)",
+                    run.purged(), pendingRetentionMinutes, run.failed(), run.chunks(),
+                    Duration.between(run.startedAt(), run.finishedAt()).toMillis());
         }
+    }
 
-        log.info("Removing {} pending accounts older than {} minutes", staleAccounts.size(), pendingRetentionMinutes);
-        staleAccounts.forEach(this::removeAccountSafely);
+    /**
+     * Execução em curso ou a última concluída nesta instância.
+     */
+    public Optional<RunProgress> progress() {
+        return Optional.ofNullable(progress);
     }
 
-    private void removeAccountSafely(Account account) {
+    /**
+     * Um bloco numa transação; se falhar (por exemplo, uma dependência inesperada numa conta),
+     * repete conta a conta para que uma conta problemática não bloqueie as restantes.
+     */
+    private RunProgress purgeChunk(List<Integer> ids, Instant threshold, RunProgress run) {
         try {
-            if (account instanceof EmployeeAccount employeeAccount) {
-                accountCleanupService.deleteEmployeeAccountByEmail(employeeAccount.getEmail());
-                log.debug("Removed stale employee account {}", employeeAccount.getEmail());
-            } else if (account instanceof CompanyAccount companyAccount) {
-                cleanupCompanyAccount(companyAccount);
-                log.debug("Removed stale company account {}", companyAccount.getEmail());
-            } else {
-                accountRepository.delete(account);
-                log.debug("Removed stale account {}", account.getId());
+            PurgedChunk chunk = pendingAccountPurger.purge(ids, threshold);
+            return run.plus(ids.size(), chunk.purged(), 0, deleteStoredFiles(chunk.storedFiles()));
+        } catch (RuntimeException ex) {
+            log.warn("Falha ao remover bloco de {} contas pendentes; a tentar uma a uma: {}", ids.size(), ex.getMessage());
+        }
+        int purged = 0;
+        int failed = 0;
+        int files = 0;
+        for (Integer id : ids) {
+            try {
+                PurgedChunk single = pendingAccountPurger.purge(List.of(id), threshold);
+                purged += single.purged();
+                files += deleteStoredFiles(single.storedFiles());
+            } catch (RuntimeException ex) {
+                failed++;
+                log.error("Failed to remove stale pending account id {}", id, ex);
+            }
+        }
+        return run.plus(ids.size(), purged, failed, files);
+    }
+
+    private int deleteStoredFiles(List<String> storedFiles) {
+        int deleted = 0;
+        for (String storedId : storedFiles) {
+            try {
+                fileStorage.delete(storedId);
+                deleted++;
+            } catch (RuntimeException ex) {
+                log.warn("Falha ao apagar ficheiro {} de conta pendente removida: {}", storedId, ex.getMessage());
             }
-        } catch (Exception ex) {
-            log.error("Failed to remove stale pending account id {} email {}", account.getId(), account.getEmail(), ex);
         }
+        return deleted;
     }
 
-    private void cleanupCompanyAccount(CompanyAccount companyAccount) {
-        companyActivitySectorsRepository.deleteByCompany(companyAccount);
-        companyAccountOwnerRepository.deleteByCompanyAccount(companyAccount);
-        companyAccountRepository.delete(companyAccount);
+    /**
+     * Progresso de uma execução: contas lidas, removidas e falhadas, blocos e ficheiros apagados.
+     * {@code finishedAt} é nulo enquanto a execução decorre.
+     */
+    public record RunProgress(String node, Instant startedAt, Instant finishedAt,
+                              int chunks, int scanned, int purged, int failed, int filesDeleted) {
+
+        static RunProgress start(String node) {
+            return new RunProgress(node, Instant.now(), null, 0, 0, 0, 0, 0);
+        }
+
+        RunProgress plus(int scanned, int purged, int failed, int filesDeleted) {
+            return new RunProgress(node, startedAt, null, chunks + 1, this.scanned + scanned,
+                    this.purged + purged, this.failed + failed, this.filesDeleted + filesDeleted);
+        }
+
+        RunProgress finish() {
+            return new RunProgress(node, startedAt, Instant.now(), chunks, scanned, purged, failed, filesDeleted);
+        }
     }
 }
@@ -0,0 +1,126 @@
+package com.teamfoundry.backend.account.service;
+
+import com.teamfoundry.backend.account.enums.RegistrationStatus;
+import com.teamfoundry.backend.account.model.Account;
+import com.teamfoundry.backend.account.model.company.CompanyAccount;
+import com.teamfoundry.backend.account.model.employee.profile.EmployeeAccount;
+import com.teamfoundry.backend.account.repository.AccountRepository;
+import com.teamfoundry.backend.account.repository.company.CompanyAccountOwnerRepository;
+import com.teamfoundry.backend.account.repository.company.CompanyActivitySectorsRepository;
+import com.teamfoundry.backend.account.repository.employee.documents.EmployeeCertificationRepository;
+import com.teamfoundry.backend.account.repository.employee.documents.EmployeeDocumentRepository;
+import com.teamfoundry.backend.account.repository.employee.profile.EmployeeGeoAreaRepository;
+import com.teamfoundry.backend.account.repository.employee.profile.EmployeeRoleRepository;
+import com.teamfoundry.backend.account.repository.employee.profile.EmployeeSkillRepository;
+import com.teamfoundry.backend.account.service.employee.EmployeeProfileCache;
+import com.teamfoundry.backend.auth.repository.AuthTokenRepository;
+import com.teamfoundry.backend.auth.repository.PasswordResetTokenRepository;
+import com.teamfoundry.backend.auth.repository.RefreshTokenRepository;
+import com.teamfoundry.backend.auth.service.UserDetailsCache;
+import com.teamfoundry.backend.superadmin.service.metrics.MetricsCounters;
+import com.teamfoundry.backend.teamRequests.service.CandidateSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Apaga um bloco de contas pendentes numa transação curta, com um DELETE por tabela dependente
+ * em vez de um por conta. Os ficheiros não são apagados aqui: os ids seguem no resultado para o
+ * chamador os remover do armazenamento depois do commit.
+ */
+@Component
+@RequiredArgsConstructor
+public class PendingAccountPurger {
+
+    private final AccountRepository accountRepository;
+    private final EmployeeRoleRepository employeeRoleRepository;
+    private final EmployeeSkillRepository employeeSkillRepository;
+    private final EmployeeGeoAreaRepository employeeGeoAreaRepository;
+    private final EmployeeDocumentRepository employeeDocumentRepository;
+    private final EmployeeCertificationRepository employeeCertificationRepository;
+    private final CompanyActivitySectorsRepository companyActivitySectorsRepository;
+    private final CompanyAccountOwnerRepository companyAccountOwnerRepository;
+    private final AuthTokenRepository authTokenRepository;
+    private final PasswordResetTokenRepository passwordResetTokenRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final MetricsCounters metricsCounters;
+    private final CandidateSearchIndex candidateSearchIndex;
+    private final UserDetailsCache userDetailsCache;
+    private final EmployeeProfileCache employeeProfileCache;
+
+    /**
+     * Remove as contas do bloco que continuam pendentes e mais antigas que {@code createdBefore}
+     * (uma conta concluída entre a listagem e o delete fica intacta).
+     */
+    @Transactional
+    public PurgedChunk purge(Collection<Integer> ids, Instant createdBefore) {
+        List<Account> accounts = accountRepository.findByIdInAndRegistrationStatusAndCreatedAtBefore(
+                ids, RegistrationStatus.PENDING, createdBefore);
+        if (accounts.isEmpty()) {
+            return new PurgedChunk(0, List.of());
+        }
+
+        List<Integer> accountIds = new ArrayList<>();
+        List<Integer> employeeIds = new ArrayList<>();
+        List<Integer> companyIds = new ArrayList<>();
+        List<String> storedFiles = new ArrayList<>();
+        for (Account account : accounts) {
+            accountIds.add(account.getId());
+            if (account instanceof EmployeeAccount employee) {
+                employeeIds.add(employee.getId());
+                if (StringUtils.hasText(employee.getProfilePicturePublicId())) {
+                    storedFiles.add(employee.getProfilePicturePublicId());
+                }
+            } else if (account instanceof CompanyAccount) {
+                companyIds.add(account.getId());
+            }
+        }
+
+        if (!employeeIds.isEmpty()) {
+            storedFiles.addAll(employeeDocumentRepository.findPublicIdsByEmployeeIds(employeeIds));
+            storedFiles.addAll(employeeCertificationRepository.findCertificatePublicIdsByEmployeeIds(employeeIds));
+            employeeRoleRepository.deleteAllByEmployeeIds(employeeIds);
+            employeeSkillRepository.deleteAllByEmployeeIds(employeeIds);
+            employeeGeoAreaRepository.deleteAllByEmployeeIds(employeeIds);
+            employeeDocumentRepository.deleteAllByEmployeeIds(employeeIds);
+            employeeCertificationRepository.deleteAllByEmployeeIds(employeeIds);
+        }
+        if (!companyIds.isEmpty()) {
+            companyActivitySectorsRepository.deleteAllByCompanyIds(companyIds);
+            companyAccountOwnerRepository.deleteAllByCompanyIds(companyIds);
+        }
+        authTokenRepository.deleteAllByUserIds(accountIds);
+        passwordResetTokenRepository.deleteAllByUserIds(accountIds);
+        refreshTokenRepository.deleteAllByUserIds(accountIds);
+        accountRepository.deleteAllByIdInBatch(accountIds);
+
+        for (Account account : accounts) {
+            afterDelete(account);
+        }
+        return new PurgedChunk(accounts.size(), storedFiles);
+    }
+
+    private void afterDelete(Account account) {
+        userDetailsCache.evictAfterCommit(account.getEmail());
+        if (account instanceof EmployeeAccount) {
+            candidateSearchIndex.refreshAfterCommit(account.getId());
+            employeeProfileCache.evictAfterCommit(account.getEmail());
+            if (!account.isDeactivated()) {
+                metricsCounters.employeeDeactivated();
+            }
+        } else if (account instanceof CompanyAccount company && !company.isDeactivated()) {
+            metricsCounters.companyDeactivated(company.isStatus());
+        }
+    }
+
+    /**
+     * Contas removidas e ids de ficheiros a apagar do armazenamento.
+     */
+    public record PurgedChunk(int purged, List<String> storedFiles) {}
+}
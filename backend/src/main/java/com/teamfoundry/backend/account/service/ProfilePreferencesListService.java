@@ -1,24 +1,20 @@
 package com.teamfoundry.backend.account.service;
 
 import com.teamfoundry.backend.account.dto.employee.preferences.EmployeePreferencesListResponse;
-import com.teamfoundry.backend.account.repository.preferences.PrefSkillRepository;
-import com.teamfoundry.backend.account.repository.preferences.PrefRoleRepository;
-import com.teamfoundry.backend.account.repository.preferences.PrefGeoAreaRepository;
+import com.teamfoundry.backend.account.service.ReferenceCatalog.Kind;
+import com.teamfoundry.backend.common.util.PreSerializedJson;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.stream.Collectors;
-
 /**
  * Serviço responsável por reunir as listas de opções utilizadas no passo de preferências.
+ * As listas vêm do {@link ReferenceCatalog}, sem consultas por pedido.
  */
 @Service
 @RequiredArgsConstructor
 public class ProfilePreferencesListService {
 
-    private final PrefRoleRepository prefRoleRepository;
-    private final PrefSkillRepository prefSkillRepository;
-    private final PrefGeoAreaRepository prefGeoAreaRepository;
+    private final ReferenceCatalog referenceCatalog;
 
     /**
      * Devolve todas as opções disponíveis (ordenadas alfabeticamente) para o frontend.
@@ -26,21 +22,16 @@ public class ProfilePreferencesListService {
      * @return DTO contendo listas de funções, competências e áreas geográficas.
      */
     public EmployeePreferencesListResponse fetchOptions() {
-        var functions = prefRoleRepository.findAll().stream()
-                .map(pref -> pref.getName())
-                .sorted()
-                .collect(Collectors.toList());
-
-        var competences = prefSkillRepository.findAll().stream()
-                .map(skill -> skill.getName())
-                .sorted()
-                .collect(Collectors.toList());
-
-        var geoAreas = prefGeoAreaRepository.findAll().stream()
-                .map(area -> area.getName())
-                .sorted()
-                .collect(Collectors.toList());
+        return new EmployeePreferencesListResponse(
+                referenceCatalog.names(Kind.ROLE),
+                referenceCatalog.names(Kind.SKILL),
+                referenceCatalog.names(Kind.GEO_AREA));
+    }
 
-        return new EmployeePreferencesListResponse(functions, competences, geoAreas);
+    /**
+     * Mesmas opções de {@link #fetchOptions()}, já serializadas e com ETag da versão atual do catálogo.
+     */
+    public PreSerializedJson fetchOptionsJson() {
+        return referenceCatalog.profileOptions();
     }
 }
@@ -0,0 +1,238 @@
+package com.teamfoundry.backend.account.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teamfoundry.backend.account.dto.employee.preferences.EmployeePreferencesListResponse;
+import com.teamfoundry.backend.account.model.preferences.PrefActivitySectors;
+import com.teamfoundry.backend.account.model.preferences.PrefGeoArea;
+import com.teamfoundry.backend.account.model.preferences.PrefRole;
+import com.teamfoundry.backend.account.model.preferences.PrefSkill;
+import com.teamfoundry.backend.account.repository.preferences.PrefActivitySectorsRepository;
+import com.teamfoundry.backend.account.repository.preferences.PrefGeoAreaRepository;
+import com.teamfoundry.backend.account.repository.preferences.PrefRoleRepository;
+import com.teamfoundry.backend.account.repository.preferences.PrefSkillRepository;
+import com.teamfoundry.backend.common.util.PreSerializedJson;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Catálogo imutável, em memória, das opções globais (funções, competências, áreas geográficas
+ * e setores de atividade). Cada versão guarda as listas ordenadas, os mapas nome→opção sem distinção
+ * de maiúsculas e a resposta de {@code /api/profile-options} já serializada com ETag.
+ * Uma versão nova é construída por inteiro e trocada de uma vez depois do commit de qualquer
+ * criação/remoção, e ao fim de {@code max-age-seconds} (alterações feitas noutro nó). Um nome que não
+ * existe no catálogo também força uma reconstrução, no máximo uma a cada {@code miss-rebuild-seconds},
+ * para aceitar logo opções acabadas de criar noutro nó.
+ */
+@Component
+@Slf4j
+public class ReferenceCatalog {
+
+    public enum Kind {
+        ROLE(Comparator.naturalOrder()),
+        SKILL(Comparator.naturalOrder()),
+        GEO_AREA(Comparator.naturalOrder()),
+        ACTIVITY_SECTOR(String.CASE_INSENSITIVE_ORDER);
+
+        private final Comparator<String> order;
+
+        Kind(Comparator<String> order) {
+            this.order = order;
+        }
+    }
+
+    private final PrefRoleRepository prefRoleRepository;
+    private final PrefSkillRepository prefSkillRepository;
+    private final PrefGeoAreaRepository prefGeoAreaRepository;
+    private final PrefActivitySectorsRepository prefActivitySectorsRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readTransaction;
+    private final long maxAgeNanos;
+    private final long missRebuildNanos;
+    private volatile Snapshot snapshot;
+    private long lastVersion;
+
+    public ReferenceCatalog(PrefRoleRepository prefRoleRepository,
+                            PrefSkillRepository prefSkillRepository,
+                            PrefGeoAreaRepository prefGeoAreaRepository,
+                            PrefActivitySectorsRepository prefActivitySectorsRepository,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.reference-catalog.max-age-seconds:300}") long maxAgeSeconds,
+                            @Value("${app.reference-catalog.miss-rebuild-seconds:5}") long missRebuildSeconds) {
+        this.prefRoleRepository = prefRoleRepository;
+        this.prefSkillRepository = prefSkillRepository;
+        this.prefGeoAreaRepository = prefGeoAreaRepository;
+        this.prefActivitySectorsRepository = prefActivitySectorsRepository;
+        this.objectMapper = objectMapper;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.maxAgeNanos = Duration.ofSeconds(maxAgeSeconds).toNanos();
+        this.missRebuildNanos = Duration.ofSeconds(missRebuildSeconds).toNanos();
+    }
+
+    /**
+     * Opção registada com um id e o nome tal como está na base de dados.
+     */
+    public record Option(int id, String name) {}
+
+    /**
+     * Opção com este nome (ignora maiúsculas e espaços nas pontas). Normalmente não vai à base de dados;
+     * se o nome não existir e a versão atual tiver mais de {@code miss-rebuild-seconds}, reconstrói e volta a procurar.
+     */
+    public Optional<Option> resolve(Kind kind, String name) {
+        if (name == null) return Optional.empty();
+        String key = key(name);
+        Snapshot current = current();
+        Option option = current.entries().get(kind).byName().get(key);
+        if (option == null && current.isStale(missRebuildNanos)) {
+            option = rebuildAfterMiss(current).entries().get(kind).byName().get(key);
+        }
+        return Optional.ofNullable(option);
+    }
+
+    /**
+     * Nomes da categoria, já ordenados para apresentação.
+     */
+    public List<String> names(Kind kind) {
+        return current().entries().get(kind).names();
+    }
+
+    /**
+     * Resposta de {@code /api/profile-options} (funções, competências e áreas) serializada uma vez por versão.
+     */
+    public PreSerializedJson profileOptions() {
+        return current().profileOptions();
+    }
+
+    public long version() {
+        return current().version();
+    }
+
+    /**
+     * Reconstrói o catálogo depois do commit da transação atual (ou já, sem transação);
+     * várias alterações na mesma transação dão uma única reconstrução.
+     */
+    public void refreshAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (TransactionSynchronizationManager.hasResource(this)) return;
+            TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ReferenceCatalog.this);
+                }
+
+                @Override
+                public void afterCommit() {
+                    try {
+                        rebuild();
+                    } catch (RuntimeException ex) {
+                        log.warn("Falha a reconstruir o catálogo de opções: {}", ex.getMessage());
+                    }
+                }
+            });
+        } else {
+            rebuild();
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null || current.isStale(maxAgeNanos)) {
+            current = rebuildIfStale();
+        }
+        return current;
+    }
+
+    private synchronized Snapshot rebuildIfStale() {
+        Snapshot current = snapshot;
+        if (current != null && !current.isStale(maxAgeNanos)) {
+            return current;
+        }
+        return rebuild();
+    }
+
+    /**
+     * Reconstrói por causa de um nome desconhecido, a não ser que outro pedido já o tenha feito entretanto.
+     * Se falhar, responde com a versão que havia.
+     */
+    private synchronized Snapshot rebuildAfterMiss(Snapshot seen) {
+        Snapshot current = snapshot;
+        if (current != null && current != seen) {
+            return current;
+        }
+        try {
+            return rebuild();
+        } catch (RuntimeException ex) {
+            log.warn("Falha a reconstruir o catálogo de opções depois de um nome desconhecido: {}", ex.getMessage());
+            return seen;
+        }
+    }
+
+    /**
+     * Serializado: uma reconstrução iniciada antes de um commit é sempre seguida pela do commit.
+     */
+    synchronized Snapshot rebuild() {
+        try {
+            Map<Kind, Entries> entries = readTransaction.execute(status -> {
+                Map<Kind, Entries> loaded = new EnumMap<>(Kind.class);
+                loaded.put(Kind.ROLE, Entries.of(Kind.ROLE, prefRoleRepository.findAll(), PrefRole::getId, PrefRole::getName));
+                loaded.put(Kind.SKILL, Entries.of(Kind.SKILL, prefSkillRepository.findAll(), PrefSkill::getId, PrefSkill::getName));
+                loaded.put(Kind.GEO_AREA, Entries.of(Kind.GEO_AREA, prefGeoAreaRepository.findAll(), PrefGeoArea::getId, PrefGeoArea::getName));
+                loaded.put(Kind.ACTIVITY_SECTOR, Entries.of(Kind.ACTIVITY_SECTOR, prefActivitySectorsRepository.findAll(),
+                        PrefActivitySectors::getId, PrefActivitySectors::getName));
+                return loaded;
+            });
+            PreSerializedJson profileOptions = PreSerializedJson.of(objectMapper, new EmployeePreferencesListResponse(
+                    entries.get(Kind.ROLE).names(),
+                    entries.get(Kind.SKILL).names(),
+                    entries.get(Kind.GEO_AREA).names()));
+            Snapshot rebuilt = new Snapshot(++lastVersion, Map.copyOf(entries), profileOptions, System.nanoTime());
+            snapshot = rebuilt;
+            return rebuilt;
+        } catch (RuntimeException ex) {
+            // Sem catálogo, a próxima leitura volta a tentar em vez de servir opções antigas
+            snapshot = null;
+            throw ex;
+        }
+    }
+
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Entries(List<String> names, Map<String, Option> byName) {
+        static <T> Entries of(Kind kind, List<T> rows, Function<T, Integer> id, Function<T, String> name) {
+            Map<String, Option> byName = new HashMap<>(rows.size() * 2);
+            for (T row : rows) {
+                String value = name.apply(row);
+                byName.put(key(value), new Option(id.apply(row), value));
+            }
+            List<String> names = rows.stream().map(name).sorted(kind.order).toList();
+            return new Entries(names, Map.copyOf(byName));
+        }
+    }
+
+    private record Snapshot(long version, Map<Kind, Entries> entries, PreSerializedJson profileOptions, long builtAt) {
+        boolean isStale(long maxAgeNanos) {
+            return System.nanoTime() - builtAt > maxAgeNanos;
+        }
+    }
+}
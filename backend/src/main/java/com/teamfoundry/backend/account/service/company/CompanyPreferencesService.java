@@ -1,7 +1,8 @@
 package com.teamfoundry.backend.account.service.company;
 
 import com.teamfoundry.backend.account.dto.company.preferences.CompanyPreferencesListResponse;
-import com.teamfoundry.backend.account.repository.preferences.PrefActivitySectorsRepository;
+import com.teamfoundry.backend.account.service.ReferenceCatalog;
+import com.teamfoundry.backend.account.service.ReferenceCatalog.Kind;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -11,13 +12,10 @@ import java.util.List;
 @RequiredArgsConstructor
 public class CompanyPreferencesService {
 
-    private final PrefActivitySectorsRepository prefActivitySectorsRepository;
+    private final ReferenceCatalog referenceCatalog;
 
     public CompanyPreferencesListResponse loadOptions() {
-        List<String> sectors = prefActivitySectorsRepository.findAll().stream()
-                .map(com.teamfoundry.backend.account.model.preferences.PrefActivitySectors::getName)
-                .sorted(String.CASE_INSENSITIVE_ORDER)
-                .toList();
+        List<String> sectors = referenceCatalog.names(Kind.ACTIVITY_SECTOR);
 
         List<String> countries = defaultCountries();
         return new CompanyPreferencesListResponse(sectors, countries);
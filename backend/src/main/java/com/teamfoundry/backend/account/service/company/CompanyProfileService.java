@@ -11,9 +11,12 @@ import com.teamfoundry.backend.account.dto.company.profile.CompanyManagerVerifyR
 import com.teamfoundry.backend.account.dto.company.preferences.CompanyProfileResponse;
 import com.teamfoundry.backend.auth.model.tokens.AuthToken;
 import com.teamfoundry.backend.auth.repository.AuthTokenRepository;
+import com.teamfoundry.backend.auth.service.login.RefreshTokenService;
+import com.teamfoundry.backend.auth.service.UserDetailsCache;
 import com.teamfoundry.backend.teamRequests.enums.State;
 import com.teamfoundry.backend.teamRequests.repository.TeamRequestRepository;
 import com.teamfoundry.backend.common.service.ActionLogService;
+import com.teamfoundry.backend.superadmin.service.metrics.MetricsCounters;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
@@ -39,9 +42,12 @@ public class CompanyProfileService {
     private final CompanyAccountOwnerRepository ownerRepository;
     private final TeamRequestRepository teamRequestRepository;
     private final AuthTokenRepository authTokenRepository;
+    private final RefreshTokenService refreshTokenService;
     private final VerificationEmailService verificationEmailService;
     private final PasswordEncoder passwordEncoder;
     private final ActionLogService actionLogService;
+    private final UserDetailsCache userDetailsCache;
+    private final MetricsCounters metricsCounters;
 
     @Value("${app.registration.verification.expiration-minutes:30}")
     private long verificationExpirationMinutes;
@@ -101,10 +107,16 @@ public class CompanyProfileService {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                     "Não é possível desativar a conta enquanto existirem requisições pendentes ou ativas.");
         }
+        boolean wasActive = !account.isDeactivated();
         account.setDeactivated(true);
         account.setVerified(false);
         companyAccountRepository.save(account);
+        if (wasActive) {
+            metricsCounters.companyDeactivated(account.isStatus());
+        }
         authTokenRepository.deleteAllByUser(account);
+        refreshTokenService.revokeAll(account);
+        userDetailsCache.evictAfterCommit(account.getEmail());
         actionLogService.logUser(account, "Desativou a conta da empresa");
     }
 
@@ -12,6 +12,7 @@ import com.teamfoundry.backend.teamRequests.model.TeamRequest;
 import com.teamfoundry.backend.teamRequests.repository.EmployeeRequestRepository;
 import com.teamfoundry.backend.teamRequests.repository.TeamRequestRepository;
 import com.teamfoundry.backend.superadmin.repository.credentials.AdminAccountRepository;
+import com.teamfoundry.backend.superadmin.service.metrics.MetricsCounters;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -34,6 +35,7 @@ public class CompanyTeamRequestService {
     private final CompanyAccountRepository companyAccountRepository;
     private final AdminAccountRepository adminAccountRepository;
     private final com.teamfoundry.backend.common.service.ActionLogService actionLogService;
+    private final MetricsCounters metricsCounters;
 
     /**
      * Lista todas as requisições da empresa autenticada, ordenadas por criação.
@@ -68,6 +70,7 @@ public class CompanyTeamRequestService {
 
         TeamRequest saved = teamRequestRepository.save(entity);
         createEmployeeRequests(saved, request);
+        metricsCounters.teamRequestCreated(saved.getState(), saved.getResponsibleAdminId());
         actionLogService.logUser(company, "Criou requisição de equipa " + saved.getTeamName());
         return toResponse(saved);
     }
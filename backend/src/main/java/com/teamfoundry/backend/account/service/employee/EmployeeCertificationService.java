@@ -6,17 +6,17 @@ import com.teamfoundry.backend.account.model.employee.profile.EmployeeAccount;
 import com.teamfoundry.backend.account.model.employee.documents.EmployeeCertification;
 import com.teamfoundry.backend.account.repository.employee.EmployeeAccountRepository;
 import com.teamfoundry.backend.account.repository.employee.documents.EmployeeCertificationRepository;
-import com.teamfoundry.backend.common.service.CloudinaryService;
+import com.teamfoundry.backend.common.storage.FileStorage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
-import java.util.Base64;
 import java.util.List;
 
 @Service
@@ -26,7 +26,7 @@ public class EmployeeCertificationService {
 
     private final EmployeeAccountRepository employeeAccountRepository;
     private final EmployeeCertificationRepository employeeCertificationRepository;
-    private final CloudinaryService cloudinaryService;
+    private final FileStorage fileStorage;
 
     @Transactional(readOnly = true)
     public List<EmployeeCertificationResponse> list(String email) {
@@ -37,13 +37,13 @@ public class EmployeeCertificationService {
     }
 
     @Transactional
-    public EmployeeCertificationResponse create(String email, EmployeeCertificationRequest request) {
+    public EmployeeCertificationResponse create(String email, EmployeeCertificationRequest request, MultipartFile file) {
         EmployeeAccount account = resolveAccount(email);
         ensureNotDuplicate(account, request, null);
 
         EmployeeCertification certification = new EmployeeCertification();
         certification.setEmployee(account);
-        applyRequest(certification, request, true);
+        applyRequest(certification, request, file, true);
 
         EmployeeCertification saved = employeeCertificationRepository.save(certification);
         return toResponse(saved);
@@ -52,14 +52,15 @@ public class EmployeeCertificationService {
     @Transactional
     public EmployeeCertificationResponse update(int certificationId,
                                                 String email,
-                                                EmployeeCertificationRequest request) {
+                                                EmployeeCertificationRequest request,
+                                                MultipartFile file) {
         EmployeeAccount account = resolveAccount(email);
         EmployeeCertification certification = employeeCertificationRepository
                 .findByIdAndEmployee(certificationId, account)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Formação não encontrada."));
 
         ensureNotDuplicate(account, request, certificationId);
-        applyRequest(certification, request, false);
+        applyRequest(certification, request, file, false);
 
         EmployeeCertification saved = employeeCertificationRepository.save(certification);
         return toResponse(saved);
@@ -72,12 +73,13 @@ public class EmployeeCertificationService {
                 .findByIdAndEmployee(certificationId, account)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Formação não encontrada."));
 
-        cloudinaryService.delete(certification.getCertificatePublicId());
+        fileStorage.delete(certification.getCertificatePublicId());
         employeeCertificationRepository.delete(certification);
     }
 
     private void applyRequest(EmployeeCertification certification,
                               EmployeeCertificationRequest request,
+                              MultipartFile file,
                               boolean isCreate) {
         certification.setName(request.getName().trim());
         certification.setInstitution(request.getInstitution().trim());
@@ -85,13 +87,14 @@ public class EmployeeCertificationService {
         certification.setDescription(trimToNull(request.getDescription()));
         certification.setCompletionDate(request.getCompletionDate());
 
-        if (StringUtils.hasText(request.getCertificateFile())) {
-            String storedPublicId = storeCertificateFile(certification.getEmployee().getId(),
-                    request.getCertificateFile(),
-                    request.getCertificateFileName());
-            cloudinaryService.delete(certification.getCertificatePublicId());
+        if (file != null && !file.isEmpty()) {
+            String fileName = StringUtils.hasText(request.getCertificateFileName())
+                    ? request.getCertificateFileName()
+                    : file.getOriginalFilename();
+            String storedPublicId = storeCertificateFile(certification.getEmployee().getId(), file);
+            fileStorage.delete(certification.getCertificatePublicId());
             certification.setCertificatePublicId(storedPublicId);
-            certification.setCertificateFileName(request.getCertificateFileName());
+            certification.setCertificateFileName(fileName);
         } else if (isCreate && !StringUtils.hasText(certification.getCertificatePublicId())) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O certificado é obrigatório.");
         } else if (StringUtils.hasText(request.getCertificateFileName())) {
@@ -138,13 +141,16 @@ public class EmployeeCertificationService {
                 });
     }
 
-    private String storeCertificateFile(Integer employeeId, String payload, String originalName) {
+    /**
+     * Envia o certificado em stream para o armazenamento, sem o decodificar nem copiar para memória.
+     */
+    private String storeCertificateFile(Integer employeeId, MultipartFile file) {
         try {
-            String base64 = extractBase64Content(payload);
-            byte[] data = Base64.getDecoder().decode(base64);
-            CloudinaryService.UploadResult upload = cloudinaryService.uploadBytes(data, "certification", originalName);
+            FileStorage.UploadResult upload = fileStorage.uploadMultipart(file, "certification");
             log.info("Stored certificate {} for employee {}", upload.getPublicId(), employeeId);
             return upload.getPublicId();
+        } catch (ResponseStatusException ex) {
+            throw ex;
         } catch (IllegalArgumentException ex) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O ficheiro do certificado é inválido.");
         } catch (Exception ex) {
@@ -153,16 +159,11 @@ public class EmployeeCertificationService {
         }
     }
 
-    private String extractBase64Content(String raw) {
-        int commaIndex = raw.indexOf(',');
-        return commaIndex >= 0 ? raw.substring(commaIndex + 1) : raw;
-    }
-
     private String buildCertificateUrl(String publicId) {
         if (!StringUtils.hasText(publicId)) {
             return null;
         }
-        return cloudinaryService.buildUrl(publicId);
+        return fileStorage.buildUrl(publicId);
     }
 
     private String trimToNull(String value) {
@@ -6,9 +6,6 @@ import com.teamfoundry.backend.account.model.employee.profile.EmployeeAccount;
 import com.teamfoundry.backend.account.model.employee.profile.EmployeeGeoArea;
 import com.teamfoundry.backend.account.model.employee.profile.EmployeeRole;
 import com.teamfoundry.backend.account.model.employee.profile.EmployeeSkill;
-import com.teamfoundry.backend.account.model.preferences.PrefGeoArea;
-import com.teamfoundry.backend.account.model.preferences.PrefRole;
-import com.teamfoundry.backend.account.model.preferences.PrefSkill;
 import com.teamfoundry.backend.account.repository.employee.EmployeeAccountRepository;
 import com.teamfoundry.backend.account.repository.employee.profile.EmployeeGeoAreaRepository;
 import com.teamfoundry.backend.account.repository.employee.profile.EmployeeRoleRepository;
@@ -16,6 +13,10 @@ import com.teamfoundry.backend.account.repository.employee.profile.EmployeeSkill
 import com.teamfoundry.backend.account.repository.preferences.PrefGeoAreaRepository;
 import com.teamfoundry.backend.account.repository.preferences.PrefRoleRepository;
 import com.teamfoundry.backend.account.repository.preferences.PrefSkillRepository;
+import com.teamfoundry.backend.account.service.ReferenceCatalog;
+import com.teamfoundry.backend.account.service.ReferenceCatalog.Kind;
+import com.teamfoundry.backend.account.service.ReferenceCatalog.Option;
+import com.teamfoundry.backend.teamRequests.service.CandidateSearchIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -37,6 +38,8 @@ public class EmployeePreferencesService {
     private final PrefRoleRepository prefRoleRepository;
     private final PrefSkillRepository prefSkillRepository;
     private final PrefGeoAreaRepository prefGeoAreaRepository;
+    private final ReferenceCatalog referenceCatalog;
+    private final CandidateSearchIndex candidateSearchIndex;
 
     @Transactional(readOnly = true)
     public EmployeePreferencesResponse getPreferences(String email) {
@@ -47,10 +50,17 @@ public class EmployeePreferencesService {
     @Transactional
     public EmployeePreferencesResponse updatePreferences(String email, EmployeePreferencesUpdateRequest request) {
         EmployeeAccount account = findByEmailOrThrow(email);
-        applyFunctionPreferences(account, request.getRoles(), request.getRole());
-        applyCompetencePreferences(account, request.getSkills());
-        applyGeoAreaPreferences(account, request.getAreas());
-        return toResponse(account);
+        List<String> roles = applyFunctionPreferences(account, request.getRoles(), request.getRole());
+        List<String> skills = applyCompetencePreferences(account, request.getSkills());
+        List<String> areas = applyGeoAreaPreferences(account, request.getAreas());
+        candidateSearchIndex.refreshAfterCommit(account.getId());
+        // Os nomes vêm do catálogo: a resposta não volta a ler as relações acabadas de gravar
+        return EmployeePreferencesResponse.builder()
+                .role(roles.isEmpty() ? null : roles.getFirst())
+                .roles(roles)
+                .skills(skills)
+                .areas(areas)
+                .build();
     }
 
     private EmployeePreferencesResponse toResponse(EmployeeAccount account) {
@@ -83,7 +93,7 @@ public class EmployeePreferencesService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Conta não encontrada."));
     }
 
-    private void applyFunctionPreferences(EmployeeAccount account, List<String> functionNames, String legacySingle) {
+    private List<String> applyFunctionPreferences(EmployeeAccount account, List<String> functionNames, String legacySingle) {
         // Limpa e regrava as relações de funções preferenciais.
         employeeRoleRepository.deleteByEmployee(account);
 
@@ -95,53 +105,47 @@ public class EmployeePreferencesService {
 
         if (normalized.isEmpty()) {
             // Permite salvar sem funções (ex.: conta criada pelo Google sem dados).
-            return;
+            return List.of();
         }
 
-        List<EmployeeRole> relations = normalized.stream()
-                .map(name -> {
-                    PrefRole function = prefRoleRepository.findByName(name)
-                            .orElseThrow(() -> new ResponseStatusException(
-                                    HttpStatus.BAD_REQUEST,
-                                    "Função não encontrada: " + name
-                            ));
+        List<Option> options = resolveAll(Kind.ROLE, normalized, "Função não encontrada: ");
+        List<EmployeeRole> relations = options.stream()
+                .map(option -> {
                     EmployeeRole relation = new EmployeeRole();
                     relation.setEmployee(account);
-                    relation.setFunction(function);
+                    relation.setFunction(prefRoleRepository.getReferenceById(option.id()));
                     return relation;
                 })
                 .toList();
 
         employeeRoleRepository.saveAll(relations);
+        return names(options);
     }
 
-    private void applyCompetencePreferences(EmployeeAccount account, List<String> skills) {
+    private List<String> applyCompetencePreferences(EmployeeAccount account, List<String> skills) {
         employeeSkillRepository.deleteByEmployee(account);
 
         List<String> normalized = normalizeList(skills);
         if (normalized.isEmpty()) {
             // Permite salvar sem competências para contas Google incompletas.
-            return;
+            return List.of();
         }
 
-        List<EmployeeSkill> relations = normalized.stream()
-                .map(name -> {
-                    PrefSkill prefSkill = prefSkillRepository.findByName(name)
-                            .orElseThrow(() -> new ResponseStatusException(
-                                    HttpStatus.BAD_REQUEST,
-                                    "Competência não encontrada: " + name
-                            ));
+        List<Option> options = resolveAll(Kind.SKILL, normalized, "Competência não encontrada: ");
+        List<EmployeeSkill> relations = options.stream()
+                .map(option -> {
                     EmployeeSkill relation = new EmployeeSkill();
                     relation.setEmployee(account);
-                    relation.setPrefSkill(prefSkill);
+                    relation.setPrefSkill(prefSkillRepository.getReferenceById(option.id()));
                     return relation;
                 })
                 .toList();
 
         employeeSkillRepository.saveAll(relations);
+        return names(options);
     }
 
-    private void applyGeoAreaPreferences(EmployeeAccount account, List<String> areas) {
+    private List<String> applyGeoAreaPreferences(EmployeeAccount account, List<String> areas) {
         employeeGeoAreaRepository.deleteByEmployee(account);
 
         List<String> normalized = normalizeList(areas);
@@ -149,21 +153,33 @@ public class EmployeePreferencesService {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Selecione pelo menos uma área geográfica.");
         }
 
-        List<EmployeeGeoArea> relations = normalized.stream()
-                .map(name -> {
-                    PrefGeoArea area = prefGeoAreaRepository.findByName(name)
-                            .orElseThrow(() -> new ResponseStatusException(
-                                    HttpStatus.BAD_REQUEST,
-                                    "Área geográfica não encontrada: " + name
-                            ));
+        List<Option> options = resolveAll(Kind.GEO_AREA, normalized, "Área geográfica não encontrada: ");
+        List<EmployeeGeoArea> relations = options.stream()
+                .map(option -> {
                     EmployeeGeoArea relation = new EmployeeGeoArea();
                     relation.setEmployee(account);
-                    relation.setGeoArea(area);
+                    relation.setGeoArea(prefGeoAreaRepository.getReferenceById(option.id()));
                     return relation;
                 })
                 .toList();
 
         employeeGeoAreaRepository.saveAll(relations);
+        return names(options);
+    }
+
+    /**
+     * Resolve os nomes no catálogo (sem consultas); nomes que diferem só em maiúsculas contam uma vez.
+     */
+    private List<Option> resolveAll(Kind kind, List<String> names, String notFoundMessage) {
+        return names.stream()
+                .map(name -> referenceCatalog.resolve(kind, name)
+                        .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, notFoundMessage + name)))
+                .distinct()
+                .toList();
+    }
+
+    private List<String> names(List<Option> options) {
+        return options.stream().map(Option::name).toList();
     }
 
     private List<String> normalizeList(List<String> values) {
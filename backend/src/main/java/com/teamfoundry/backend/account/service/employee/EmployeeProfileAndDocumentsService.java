@@ -15,18 +15,27 @@ import com.teamfoundry.backend.account.repository.employee.documents.EmployeeDoc
 import com.teamfoundry.backend.account.repository.employee.profile.EmployeeGeoAreaRepository;
 import com.teamfoundry.backend.account.repository.employee.profile.EmployeeRoleRepository;
 import com.teamfoundry.backend.account.repository.employee.profile.EmployeeSkillRepository;
-import com.teamfoundry.backend.common.service.CloudinaryService;
+import com.teamfoundry.backend.common.storage.FileStorage;
+import com.teamfoundry.backend.common.storage.FileStorage.UploadResult;
 import com.teamfoundry.backend.common.service.ActionLogService;
 import com.teamfoundry.backend.auth.repository.AuthTokenRepository;
+import com.teamfoundry.backend.auth.service.login.RefreshTokenService;
+import com.teamfoundry.backend.auth.service.UserDetailsCache;
+import com.teamfoundry.backend.teamRequests.service.CandidateSearchIndex;
 import com.teamfoundry.backend.teamRequests.service.EmployeeJobHistoryService;
+import com.teamfoundry.backend.superadmin.service.metrics.MetricsCounters;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.Map;
+import java.util.function.Function;
+
 @Service
 @RequiredArgsConstructor
 public class EmployeeProfileAndDocumentsService {
@@ -37,18 +46,22 @@ public class EmployeeProfileAndDocumentsService {
     private final EmployeeSkillRepository employeeSkillRepository;
     private final EmployeeGeoAreaRepository employeeGeoAreaRepository;
     private final EmployeeJobHistoryService employeeJobHistoryService;
-    private final CloudinaryService cloudinaryService;
+    private final FileStorage fileStorage;
     private final ActionLogService actionLogService;
     private final PasswordEncoder passwordEncoder;
     private final AuthTokenRepository authTokenRepository;
+    private final RefreshTokenService refreshTokenService;
+    private final CandidateSearchIndex candidateSearchIndex;
+    private final UserDetailsCache userDetailsCache;
+    private final MetricsCounters metricsCounters;
+    private final EmployeeProfileCache employeeProfileCache;
 
     /**
-     * Le o perfil do colaborador autenticado.
+     * Le o perfil do colaborador autenticado (em cache por poucos segundos ou até à próxima alteração).
      */
     @Transactional(readOnly = true)
     public EmployeeProfileResponse getProfile(String email) {
-        EmployeeAccount account = findByEmailOrThrow(email);
-        return toResponse(account);
+        return employeeProfileCache.get(normalizeEmail(email), key -> toResponse(findByEmailOrThrow(key)));
     }
 
     /**
@@ -67,12 +80,14 @@ public class EmployeeProfileAndDocumentsService {
         account.setPhone(request.getPhone().trim());
 
         EmployeeAccount saved = employeeAccountRepository.save(account);
+        candidateSearchIndex.refreshAfterCommit(saved.getId());
+        employeeProfileCache.evictAfterCommit(saved.getEmail());
         return toResponse(saved);
     }
 
     @Transactional(readOnly = true)
     public EmployeeProfileResponse getProfileWithCv(String email) {
-        return toResponse(findByEmailOrThrow(email));
+        return getProfile(email);
     }
 
     @Transactional(readOnly = true)
@@ -116,17 +131,18 @@ public class EmployeeProfileAndDocumentsService {
 
     @Transactional
     public String uploadCurriculum(String email, CurriculumUploadRequest request) {
-        EmployeeAccount account = findByEmailOrThrow(email);
+        return storeCurriculum(email, request.getFileName(),
+                folder -> fileStorage.uploadBase64(request.getFile(), folder, request.getFileName()));
+    }
 
-        EmployeeDocument document = getOrCreateDocument(account, DocumentType.CURRICULUM);
-        cloudinaryService.delete(document.getPublicId());
-        CloudinaryService.UploadResult upload = cloudinaryService.uploadBase64(
-                request.getFile(), "curriculum", request.getFileName());
-        document.setPublicId(upload.getPublicId());
-        document.setFileName(request.getFileName());
-        employeeDocumentRepository.save(document);
-        actionLogService.logUser(account, "Atualizou currículo");
-        return upload.getUrl();
+    /**
+     * Variante multipart: o ficheiro segue em stream para a cloud, sem base64 nem cópia em memória.
+     */
+    @Transactional
+    public String uploadCurriculum(String email, MultipartFile file) {
+        requireFile(file);
+        return storeCurriculum(email, file.getOriginalFilename(),
+                folder -> fileStorage.uploadMultipart(file, folder));
     }
 
     @Transactional
@@ -134,28 +150,23 @@ public class EmployeeProfileAndDocumentsService {
         EmployeeAccount account = findByEmailOrThrow(email);
         employeeDocumentRepository.findByEmployeeAndType(account, DocumentType.CURRICULUM)
                 .ifPresent(doc -> {
-                    cloudinaryService.delete(doc.getPublicId());
+                    fileStorage.delete(doc.getPublicId());
                     employeeDocumentRepository.delete(doc);
+                    employeeProfileCache.evictAfterCommit(account.getEmail());
                 });
     }
 
     @Transactional
     public void uploadIdentificationDocument(String email, IdentificationDocumentUploadRequest request) {
-        EmployeeAccount account = findByEmailOrThrow(email);
-        DocumentType type = request.getType();
-        if (type == DocumentType.CURRICULUM) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Utilize o endpoint de CV para este tipo.");
-        }
-        EmployeeDocument document = getOrCreateDocument(account, type);
-        cloudinaryService.delete(document.getPublicId());
-        CloudinaryService.UploadResult upload = cloudinaryService.uploadBase64(
-                request.getFile(),
-                "identification",
-                request.getFileName());
-        document.setPublicId(upload.getPublicId());
-        document.setFileName(request.getFileName());
-        employeeDocumentRepository.save(document);
-        actionLogService.logUser(account, "Atualizou documento " + type.name());
+        storeIdentificationDocument(email, request.getType(), request.getFileName(),
+                folder -> fileStorage.uploadBase64(request.getFile(), folder, request.getFileName()));
+    }
+
+    @Transactional
+    public void uploadIdentificationDocument(String email, DocumentType type, MultipartFile file) {
+        requireFile(file);
+        storeIdentificationDocument(email, type, file.getOriginalFilename(),
+                folder -> fileStorage.uploadMultipart(file, folder));
     }
 
     @Transactional
@@ -166,33 +177,33 @@ public class EmployeeProfileAndDocumentsService {
         EmployeeAccount account = findByEmailOrThrow(email);
         employeeDocumentRepository.findByEmployeeAndType(account, type)
                 .ifPresent(doc -> {
-            cloudinaryService.delete(doc.getPublicId());
+            fileStorage.delete(doc.getPublicId());
             employeeDocumentRepository.delete(doc);
+            employeeProfileCache.evictAfterCommit(account.getEmail());
             actionLogService.logUser(account, "Removeu documento " + type.name());
         });
     }
 
     @Transactional
     public EmployeeProfileResponse uploadProfilePicture(String email, ProfilePictureUploadRequest request) {
-        EmployeeAccount account = findByEmailOrThrow(email);
-        if (StringUtils.hasText(account.getProfilePicturePublicId())) {
-            cloudinaryService.delete(account.getProfilePicturePublicId());
-        }
-        CloudinaryService.UploadResult upload = cloudinaryService.uploadBase64(
-                request.getFile(), "profilepicture", request.getFileName());
-        account.setProfilePicturePublicId(upload.getPublicId());
-        employeeAccountRepository.save(account);
-        actionLogService.logUser(account, "Atualizou foto de perfil");
-        return toResponse(account);
+        return storeProfilePicture(email,
+                folder -> fileStorage.uploadBase64(request.getFile(), folder, request.getFileName()));
+    }
+
+    @Transactional
+    public EmployeeProfileResponse uploadProfilePicture(String email, MultipartFile file) {
+        requireFile(file);
+        return storeProfilePicture(email, folder -> fileStorage.uploadMultipart(file, folder));
     }
 
     @Transactional
     public void deleteProfilePicture(String email) {
         EmployeeAccount account = findByEmailOrThrow(email);
         if (StringUtils.hasText(account.getProfilePicturePublicId())) {
-            cloudinaryService.delete(account.getProfilePicturePublicId());
+            fileStorage.delete(account.getProfilePicturePublicId());
             account.setProfilePicturePublicId(null);
             employeeAccountRepository.save(account);
+            employeeProfileCache.evictAfterCommit(account.getEmail());
             actionLogService.logUser(account, "Removeu foto de perfil");
         }
     }
@@ -203,31 +214,99 @@ public class EmployeeProfileAndDocumentsService {
         if (!passwordEncoder.matches(request.getPassword(), account.getPassword())) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Password incorreta.");
         }
+        boolean wasActive = !account.isDeactivated();
         account.setDeactivated(true);
         account.setVerified(false);
         employeeAccountRepository.save(account);
+        if (wasActive) {
+            metricsCounters.employeeDeactivated();
+        }
         actionLogService.logUser(account, "Desativou a conta");
         authTokenRepository.deleteAllByUser(account);
+        refreshTokenService.revokeAll(account);
+        userDetailsCache.evictAfterCommit(account.getEmail());
+        employeeProfileCache.evictAfterCommit(account.getEmail());
+        candidateSearchIndex.refreshAfterCommit(account.getId());
+    }
+
+    /**
+     * Substitui o currículo; {@code upload} recebe a pasta de destino e envia o conteúdo.
+     */
+    private String storeCurriculum(String email, String fileName, Function<String, UploadResult> upload) {
+        EmployeeAccount account = findByEmailOrThrow(email);
+
+        EmployeeDocument document = getOrCreateDocument(account, DocumentType.CURRICULUM);
+        fileStorage.delete(document.getPublicId());
+        UploadResult result = upload.apply("curriculum");
+        document.setPublicId(result.getPublicId());
+        document.setFileName(fileName);
+        employeeDocumentRepository.save(document);
+        employeeProfileCache.evictAfterCommit(account.getEmail());
+        actionLogService.logUser(account, "Atualizou currículo");
+        return result.getUrl();
+    }
+
+    private void storeIdentificationDocument(String email, DocumentType type, String fileName,
+                                             Function<String, UploadResult> upload) {
+        EmployeeAccount account = findByEmailOrThrow(email);
+        if (type == DocumentType.CURRICULUM) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Utilize o endpoint de CV para este tipo.");
+        }
+        EmployeeDocument document = getOrCreateDocument(account, type);
+        fileStorage.delete(document.getPublicId());
+        UploadResult result = upload.apply("identification");
+        document.setPublicId(result.getPublicId());
+        document.setFileName(fileName);
+        employeeDocumentRepository.save(document);
+        employeeProfileCache.evictAfterCommit(account.getEmail());
+        actionLogService.logUser(account, "Atualizou documento " + type.name());
+    }
+
+    private EmployeeProfileResponse storeProfilePicture(String email, Function<String, UploadResult> upload) {
+        EmployeeAccount account = findByEmailOrThrow(email);
+        if (StringUtils.hasText(account.getProfilePicturePublicId())) {
+            fileStorage.delete(account.getProfilePicturePublicId());
+        }
+        UploadResult result = upload.apply("profilepicture");
+        account.setProfilePicturePublicId(result.getPublicId());
+        employeeAccountRepository.save(account);
+        employeeProfileCache.evictAfterCommit(account.getEmail());
+        actionLogService.logUser(account, "Atualizou foto de perfil");
+        return toResponse(account);
+    }
+
+    private void requireFile(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Nenhum ficheiro enviado.");
+        }
     }
 
     private EmployeeAccount findByEmailOrThrow(String email) {
+        return employeeAccountRepository.findByEmail(normalizeEmail(email))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Perfil nao encontrado."));
+    }
+
+    private String normalizeEmail(String email) {
         // Normaliza e valida email antes de carregar a conta.
         String normalizedEmail = email == null ? null : email.trim().toLowerCase();
         if (normalizedEmail == null || normalizedEmail.isEmpty()) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Utilizador nao autenticado.");
         }
-        return employeeAccountRepository.findByEmail(normalizedEmail)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Perfil nao encontrado."));
+        return normalizedEmail;
     }
 
     private EmployeeProfileResponse toResponse(EmployeeAccount account) {
-        String cvUrl = getDocumentUrl(account, DocumentType.CURRICULUM);
-        String cvName = getDocumentName(account, DocumentType.CURRICULUM);
-        String idFrontUrl = getDocumentUrl(account, DocumentType.IDENTIFICATION_FRONT);
-        String idFrontName = getDocumentName(account, DocumentType.IDENTIFICATION_FRONT);
-        String idBackUrl = getDocumentUrl(account, DocumentType.IDENTIFICATION_BACK);
-        String idBackName = getDocumentName(account, DocumentType.IDENTIFICATION_BACK);
-        String profilePictureUrl = buildCloudinaryUrl(account.getProfilePicturePublicId());
+        Map<DocumentType, EmployeeDocument> documents = EmployeeDocument.byType(employeeDocumentRepository.findAllByEmployee(account));
+        EmployeeDocument cv = documents.get(DocumentType.CURRICULUM);
+        EmployeeDocument idFront = documents.get(DocumentType.IDENTIFICATION_FRONT);
+        EmployeeDocument idBack = documents.get(DocumentType.IDENTIFICATION_BACK);
+        String cvUrl = cv != null ? buildFileUrl(cv.getPublicId()) : null;
+        String cvName = cv != null ? cv.getFileName() : null;
+        String idFrontUrl = idFront != null ? buildFileUrl(idFront.getPublicId()) : null;
+        String idFrontName = idFront != null ? idFront.getFileName() : null;
+        String idBackUrl = idBack != null ? buildFileUrl(idBack.getPublicId()) : null;
+        String idBackName = idBack != null ? idBack.getFileName() : null;
+        String profilePictureUrl = buildFileUrl(account.getProfilePicturePublicId());
 
         return EmployeeProfileResponse.builder()
                 .firstName(account.getName())
@@ -260,21 +339,8 @@ public class EmployeeProfileAndDocumentsService {
                 });
     }
 
-    private String getDocumentUrl(EmployeeAccount account, DocumentType type) {
-        return employeeDocumentRepository.findByEmployeeAndType(account, type)
-                .map(EmployeeDocument::getPublicId)
-                .map(this::buildCloudinaryUrl)
-                .orElse(null);
-    }
-
-    private String getDocumentName(EmployeeAccount account, DocumentType type) {
-        return employeeDocumentRepository.findByEmployeeAndType(account, type)
-                .map(EmployeeDocument::getFileName)
-                .orElse(null);
-    }
-
-    private String buildCloudinaryUrl(String publicId) {
+    private String buildFileUrl(String publicId) {
         if (publicId == null || publicId.isBlank()) return null;
-        return cloudinaryService.buildUrl(publicId);
+        return fileStorage.buildUrl(publicId);
     }
 }
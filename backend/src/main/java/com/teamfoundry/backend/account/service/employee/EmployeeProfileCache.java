@@ -0,0 +1,36 @@
+package com.teamfoundry.backend.account.service.employee;
+
+import com.teamfoundry.backend.account.dto.employee.profile.EmployeeProfileResponse;
+import com.teamfoundry.backend.common.util.BoundedTtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Cache local (por nó), limitado e com TTL, do perfil que o colaborador vê de si próprio
+ * (dados da conta, documentos e foto). Indexado pelo email normalizado; as entradas são removidas
+ * em cada alteração do perfil, upload ou remoção de documentos e eliminação da conta.
+ * A remoção só acontece no nó que fez a alteração, por isso o TTL é curto: com várias instâncias,
+ * um pedido servido por outro nó vê a alteração ao fim de {@code ttl-seconds}. O cache serve sobretudo
+ * as leituras repetidas do mesmo perfil ao carregar uma página.
+ */
+@Component
+public class EmployeeProfileCache {
+
+    private final BoundedTtlCache<String, EmployeeProfileResponse> cache;
+
+    public EmployeeProfileCache(@Value("${app.employee.profile-cache.ttl-seconds:5}") long ttlSeconds,
+                                @Value("${app.employee.profile-cache.max-entries:10000}") int maxEntries) {
+        this.cache = new BoundedTtlCache<>(Duration.ofSeconds(ttlSeconds), maxEntries);
+    }
+
+    public EmployeeProfileResponse get(String email, Function<String, EmployeeProfileResponse> loader) {
+        return cache.get(email, loader);
+    }
+
+    public void evictAfterCommit(String email) {
+        cache.evictAfterCommit(email);
+    }
+}
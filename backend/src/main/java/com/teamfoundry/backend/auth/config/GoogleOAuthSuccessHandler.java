@@ -8,12 +8,15 @@ import com.teamfoundry.backend.account.repository.AccountRepository;
 import com.teamfoundry.backend.account.repository.employee.EmployeeAccountRepository;
 import com.teamfoundry.backend.auth.dto.login.LoginResult;
 import com.teamfoundry.backend.auth.service.login.AuthService;
+import com.teamfoundry.backend.teamRequests.service.CandidateSearchIndex;
+import com.teamfoundry.backend.superadmin.service.metrics.MetricsCounters;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseCookie;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
 import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
@@ -25,7 +28,6 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.security.SecureRandom;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
@@ -38,6 +40,9 @@ public class GoogleOAuthSuccessHandler implements AuthenticationSuccessHandler {
     private final EmployeeAccountRepository employeeAccountRepository;
     private final AccountRepository accountRepository;
     private final AuthService authService;
+    private final CandidateSearchIndex candidateSearchIndex;
+    private final MetricsCounters metricsCounters;
+    private final PasswordEncoder passwordEncoder;
 
     @Value("${app.oauth2.front-success-url:http://localhost:5173/oauth/google/callback}")
     private String frontSuccessUrl;
@@ -103,6 +108,8 @@ public class GoogleOAuthSuccessHandler implements AuthenticationSuccessHandler {
         if (familyName != null) account.setSurname(familyName);
 
         EmployeeAccount saved = employeeAccountRepository.save(account);
+        candidateSearchIndex.refreshAfterCommit(saved.getId());
+        metricsCounters.employeeCreated();
         return saved;
     }
 
@@ -115,6 +122,6 @@ public class GoogleOAuthSuccessHandler implements AuthenticationSuccessHandler {
         byte[] buf = new byte[32];
         new SecureRandom().nextBytes(buf);
         String raw = java.util.Base64.getEncoder().encodeToString(buf);
-        return new BCryptPasswordEncoder().encode(raw);
+        return passwordEncoder.encode(raw);
     }
 }
@@ -1,5 +1,5 @@
 package com.teamfoundry.backend.auth.config;
-import com.teamfoundry.backend.auth.service.AccountDetailsService;
+import com.teamfoundry.backend.auth.service.UserDetailsCache;
 import com.teamfoundry.backend.auth.service.login.JwtService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -8,19 +8,28 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
+import java.util.List;
 
+/**
+ * Autentica pedidos com "Authorization: Bearer".
+ * O token é verificado uma vez e o principal é construído a partir das claims (subject e role);
+ * o {@link UserDetailsCache} apenas confirma que a conta continua ativa e com o mesmo papel.
+ */
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final AccountDetailsService userDetailsService;
+    private final UserDetailsCache userDetailsCache;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain chain)
@@ -31,18 +40,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             chain.doFilter(request, response);
             return;
         }
-        String token = header.substring(7);
-        String username = null;
-        try {
-            username = jwtService.extractUsername(token);
-        } catch (Exception ignored) {}
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
-                UserDetails user = userDetailsService.loadUserByUsername(username);
-                if (jwtService.isValid(token, user)) {
+                JwtService.AccessToken token = jwtService.parseAccessToken(header.substring(7));
+                List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_" + token.role()));
+                if (token.subject() != null && token.role() != null && isStillActive(token.subject(), authorities)) {
+                    UserDetails principal = new User(token.subject(), "", authorities);
                     UsernamePasswordAuthenticationToken auth =
-                            new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+                            new UsernamePasswordAuthenticationToken(principal, null, authorities);
                     auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(auth);
                 }
@@ -52,4 +58,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         chain.doFilter(request, response);
     }
+
+    /**
+     * Conta desativada rejeita logo; se só o papel não coincidir (ex.: alterado noutro nó),
+     * relê uma vez da base de dados antes de rejeitar.
+     */
+    private boolean isStillActive(String username, List<GrantedAuthority> authorities) {
+        UserDetails cached = userDetailsCache.get(username);
+        if (!cached.isEnabled()) {
+            return false;
+        }
+        if (cached.getAuthorities().containsAll(authorities)) {
+            return true;
+        }
+        userDetailsCache.evict(username);
+        UserDetails reloaded = userDetailsCache.get(username);
+        return reloaded.isEnabled() && reloaded.getAuthorities().containsAll(authorities);
+    }
 }
@@ -1,5 +1,6 @@
 package com.teamfoundry.backend.auth.config;
 
+import com.teamfoundry.backend.auth.service.PasswordHashingExecutor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -7,8 +8,12 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 public class PasswordConfig {
+    /**
+     * BCrypt a correr no pool limitado do {@link PasswordHashingExecutor} e não na thread do pedido.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingExecutor passwordHashingExecutor) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(passwordHashingExecutor.strength()),
+                passwordHashingExecutor);
     }
 }
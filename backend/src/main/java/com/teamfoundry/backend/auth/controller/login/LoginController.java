@@ -33,16 +33,7 @@ public class LoginController {
     public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request, HttpServletResponse response) {
         LoginResult result = authService.login(request);
         if (result.refreshToken() != null) {
-            ResponseCookie.ResponseCookieBuilder builder = ResponseCookie.from("refresh_token", result.refreshToken())
-                    .httpOnly(true)
-                    .secure(false) // defina true em produção com HTTPS
-                    .path("/")
-                    .sameSite("Lax");
-            if (result.refreshMaxAgeSeconds() >= 0) {
-                builder.maxAge(result.refreshMaxAgeSeconds());
-            }
-            ResponseCookie cookie = builder.build();
-            response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+            response.addHeader(HttpHeaders.SET_COOKIE, refreshCookie(result).toString());
         } else {
             // Garantir que admins/super-admins não ficam com refresh cookie antigo
             ResponseCookie expired = ResponseCookie.from("refresh_token", "")
@@ -81,17 +72,19 @@ public class LoginController {
 
     /**
      * Reemite um novo access token com base no refresh token guardado em cookie.
+     * O refresh token é rodado: o cookie passa a ter um valor novo e o anterior deixa de valer.
      */
     @PostMapping("/refresh")
-    public ResponseEntity<LoginResponse> refresh(HttpServletRequest request) {
+    public ResponseEntity<LoginResponse> refresh(HttpServletRequest request, HttpServletResponse response) {
         String refresh = null;
         if (request.getCookies() != null) {
             for (Cookie c : request.getCookies()) {
                 if ("refresh_token".equals(c.getName())) { refresh = c.getValue(); break; }
             }
         }
-        LoginResponse resp = authService.refresh(refresh);
-        return ResponseEntity.ok(resp);
+        LoginResult result = authService.refresh(refresh);
+        response.addHeader(HttpHeaders.SET_COOKIE, refreshCookie(result).toString());
+        return ResponseEntity.ok(result.response());
     }
 
     /**
@@ -111,4 +104,16 @@ public class LoginController {
         response.addHeader(HttpHeaders.SET_COOKIE, expired.toString());
         return ResponseEntity.noContent().build();
     }
+
+    private static ResponseCookie refreshCookie(LoginResult result) {
+        ResponseCookie.ResponseCookieBuilder builder = ResponseCookie.from("refresh_token", result.refreshToken())
+                .httpOnly(true)
+                .secure(false) // defina true em produção com HTTPS
+                .path("/")
+                .sameSite("Lax");
+        if (result.refreshMaxAgeSeconds() >= 0) {
+            builder.maxAge(result.refreshMaxAgeSeconds());
+        }
+        return builder.build();
+    }
 }
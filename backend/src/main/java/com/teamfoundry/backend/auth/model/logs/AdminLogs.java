@@ -9,7 +9,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "logs_admin")
+@Table(name = "logs_admin", indexes = @Index(name = "idx_logs_admin_timestamp_id", columnList = "timestamp, id"))
 public class AdminLogs {
 
     @Id
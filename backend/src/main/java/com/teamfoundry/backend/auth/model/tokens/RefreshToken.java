@@ -0,0 +1,43 @@
+package com.teamfoundry.backend.auth.model.tokens;
+
+import com.teamfoundry.backend.account.model.Account;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+
+/**
+ * Refresh token de sessão. Só se guarda o SHA-256 (hex, largura fixa) do valor enviado no cookie,
+ * por isso uma fuga da tabela não dá acesso a sessões e a procura é uma única tabela pelo índice único.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "refresh_token", indexes = {
+        @Index(name = "idx_refresh_token_expire_at", columnList = "expire_at"),
+        @Index(name = "idx_refresh_token_user_expire_at", columnList = "id_user, expire_at")
+})
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_user", nullable = false)
+    private Account user;
+
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    /** Sessão "lembrar-me" (cookie persistente) ou cookie de sessão do browser. */
+    @Column(nullable = false)
+    private boolean persistent;
+
+    @Column(name = "created_at", nullable = false)
+    private Timestamp createdAt;
+
+    @Column(name = "expire_at", nullable = false)
+    private Timestamp expireAt;
+}
@@ -8,7 +8,11 @@ import java.sql.Timestamp;
 @Data
 @Entity
 @Inheritance(strategy = InheritanceType.JOINED)
-@Table(name = "token")
+@Table(name = "token", indexes = {
+        // Varrimento dos expirados por lotes e limite de tokens por utilizador
+        @Index(name = "idx_token_expire_at", columnList = "expire_at"),
+        @Index(name = "idx_token_user_expire_at", columnList = "id_user, expire_at")
+})
 public class Token {
 
     @Id
@@ -3,7 +3,11 @@ package com.teamfoundry.backend.auth.repository;
 import com.teamfoundry.backend.account.model.Account;
 import com.teamfoundry.backend.auth.model.tokens.AuthToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.Optional;
 
 public interface AuthTokenRepository extends JpaRepository<AuthToken, Long> {
@@ -13,4 +17,8 @@ public interface AuthTokenRepository extends JpaRepository<AuthToken, Long> {
         return findByUserAndToken(account, code);
     }
     void deleteAllByUser(Account account);
+
+    @Modifying
+    @Query("DELETE FROM AuthToken t WHERE t.user.id IN :userIds")
+    int deleteAllByUserIds(@Param("userIds") Collection<Integer> userIds);
 }
@@ -0,0 +1,51 @@
+package com.teamfoundry.backend.auth.repository;
+
+import com.teamfoundry.backend.account.model.Account;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+/**
+ * Resolução da identidade no login numa única ida à base de dados: procura o administrador pelo
+ * username e a conta (empresa ou colaborador) pelo email, só nas tabelas base (sem juntar as
+ * tabelas de cada subtipo). Se ambos existirem, o administrador tem prioridade, como no login anterior.
+ */
+public interface LoginIdentityRepository extends Repository<Account, Integer> {
+
+    @Query(value = """
+            SELECT * FROM (
+                SELECT 0 AS source, a.id AS id, a.username AS login, a.password AS password, a.role AS role,
+                       TRUE AS verified, a.deactivated AS deactivated
+                FROM admin_account a
+                WHERE UPPER(a.username) = UPPER(:identifier)
+                UNION ALL
+                SELECT 1 AS source, ac.id AS id, ac.email AS login, ac.password AS password, ac.role AS role,
+                       ac.verified AS verified, ac.deactivated AS deactivated
+                FROM account ac
+                WHERE ac.email = :email
+            ) found
+            ORDER BY source
+            LIMIT 1
+            """, nativeQuery = true)
+    Optional<LoginIdentity> findLoginIdentity(@Param("identifier") String identifier,
+                                              @Param("email") String normalizedEmail);
+
+    /**
+     * Dados mínimos para validar a password e emitir os tokens; a entidade só é lida depois, se for precisa.
+     */
+    interface LoginIdentity {
+        Integer getSource();
+        Integer getId();
+        String getLogin();
+        String getPassword();
+        String getRole();
+        Boolean getVerified();
+        Boolean getDeactivated();
+
+        default boolean isAdmin() {
+            return getSource() != null && getSource() == 0;
+        }
+    }
+}
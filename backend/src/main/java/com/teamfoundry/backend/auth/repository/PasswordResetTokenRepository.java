@@ -3,7 +3,11 @@ package com.teamfoundry.backend.auth.repository;
 import com.teamfoundry.backend.account.model.Account;
 import com.teamfoundry.backend.auth.model.tokens.PasswordResetToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.Optional;
 
 public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
@@ -12,5 +16,9 @@ public interface PasswordResetTokenRepository extends JpaRepository<PasswordRese
     Optional<PasswordResetToken> findByUserAndToken(Account user, String token);
 
     void deleteByUser(Account user);
+
+    @Modifying
+    @Query("DELETE FROM PasswordResetToken t WHERE t.user.id IN :userIds")
+    int deleteAllByUserIds(@Param("userIds") Collection<Integer> userIds);
 }
 
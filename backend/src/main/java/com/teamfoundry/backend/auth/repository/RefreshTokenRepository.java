@@ -0,0 +1,52 @@
+package com.teamfoundry.backend.auth.repository;
+
+import com.teamfoundry.backend.account.model.Account;
+import com.teamfoundry.backend.auth.model.tokens.RefreshToken;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    @Query("SELECT t FROM RefreshToken t JOIN FETCH t.user WHERE t.tokenHash = :hash")
+    Optional<RefreshToken> findByTokenHash(@Param("hash") String tokenHash);
+
+    /**
+     * Consome o token: só um dos pedidos concorrentes com o mesmo valor apaga a linha (devolve 1).
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.tokenHash = :hash")
+    int deleteByTokenHash(@Param("hash") String tokenHash);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.user = :user")
+    int deleteAllByUser(@Param("user") Account user);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.user.id IN :userIds")
+    int deleteAllByUserIds(@Param("userIds") Collection<Integer> userIds);
+
+    @Query("SELECT t.id FROM RefreshToken t WHERE t.user.id = :userId ORDER BY t.expireAt DESC, t.id DESC")
+    List<Long> findNewestIdsByUserId(@Param("userId") Integer userId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.user.id = :userId AND t.id NOT IN :keepIds")
+    int deleteByUserIdExcept(@Param("userId") Integer userId, @Param("keepIds") Collection<Long> keepIds);
+
+    /**
+     * Ids de tokens expirados, os mais antigos primeiro; lidos pelo índice de {@code expire_at}.
+     */
+    @Query("SELECT t.id FROM RefreshToken t WHERE t.expireAt < :now ORDER BY t.expireAt")
+    List<Long> findExpiredIds(@Param("now") Timestamp now, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.id IN :ids")
+    int deleteAllByIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,31 @@
+package com.teamfoundry.backend.auth.repository;
+
+import com.teamfoundry.backend.auth.model.tokens.Token;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Operações comuns a todos os tipos de token (refresh, códigos de verificação e de recuperação).
+ */
+public interface TokenRepository extends JpaRepository<Token, Long> {
+
+    /**
+     * Ids de tokens expirados, os mais antigos primeiro; lidos pelo índice de {@code expire_at}.
+     */
+    @Query("SELECT t.id FROM Token t WHERE t.expireAt < :now ORDER BY t.expireAt")
+    List<Long> findExpiredIds(@Param("now") Timestamp now, Pageable pageable);
+
+    /**
+     * Apaga pelo id da raiz; o Hibernate remove também as linhas das tabelas de cada subtipo.
+     */
+    @Modifying
+    @Query("DELETE FROM Token t WHERE t.id IN :ids")
+    int deleteAllByIds(@Param("ids") Collection<Long> ids);
+}
@@ -1,6 +1,7 @@
 package com.teamfoundry.backend.auth.repository.logs;
 
 import com.teamfoundry.backend.auth.model.logs.AdminLogs;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -9,18 +10,23 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 public interface AdminLogsRepository extends JpaRepository<AdminLogs, Integer> {
+
+    /**
+     * Logs de admin a partir de {@code start} e estritamente antes de ({@code beforeTimestamp}, {@code beforeId}),
+     * do mais recente para o mais antigo. Percorre o índice (timestamp, id) e para no limite.
+     */
     @Query("""
-            SELECT al
+            SELECT al.id AS id, a.username AS actor, al.action AS action, al.timestamp AS loggedAt
             FROM AdminLogs al
             JOIN al.admin a
-            WHERE al.timestamp >= COALESCE(:start, al.timestamp)
-              AND al.timestamp <  COALESCE(:end, al.timestamp)
-              AND LOWER(a.username) LIKE LOWER(
-                    COALESCE(CONCAT('%', :query, '%'), a.username)
-                  )
-            ORDER BY al.timestamp DESC
+            WHERE al.timestamp >= :start
+              AND (al.timestamp, al.id) < (:beforeTimestamp, :beforeId)
+              AND LOWER(a.username) LIKE :pattern
+            ORDER BY al.timestamp DESC, al.id DESC
             """)
-    List<AdminLogs> searchByPeriodAndQuery(@Param("start") LocalDateTime start,
-                                           @Param("end") LocalDateTime end,
-                                           @Param("query") String query);
+    List<LogRow> searchPage(@Param("start") LocalDateTime start,
+                            @Param("beforeTimestamp") LocalDateTime beforeTimestamp,
+                            @Param("beforeId") int beforeId,
+                            @Param("pattern") String pattern,
+                            Limit limit);
 }
@@ -1,6 +1,7 @@
 package com.teamfoundry.backend.auth.repository.logs;
 
 import com.teamfoundry.backend.auth.model.logs.CommonLogs;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,18 +11,22 @@ import java.util.List;
 
 public interface CommonLogsRepository extends JpaRepository<CommonLogs, Integer> {
 
+    /**
+     * Logs de utilizador a partir de {@code start} e estritamente antes de ({@code beforeTimestamp}, {@code beforeId}),
+     * do mais recente para o mais antigo. Percorre o índice (timestamp, id) e para no limite.
+     */
     @Query("""
-            SELECT c
+            SELECT c.id AS id, u.email AS actor, c.action AS action, c.timestamp AS loggedAt
             FROM CommonLogs c
             JOIN c.user u
-            WHERE c.timestamp >= COALESCE(:start, c.timestamp)
-              AND c.timestamp <  COALESCE(:end, c.timestamp)
-              AND LOWER(u.email) LIKE LOWER(
-                    COALESCE(CONCAT('%', :query, '%'), u.email)
-                  )
-            ORDER BY c.timestamp DESC
+            WHERE c.timestamp >= :start
+              AND (c.timestamp, c.id) < (:beforeTimestamp, :beforeId)
+              AND LOWER(u.email) LIKE :pattern
+            ORDER BY c.timestamp DESC, c.id DESC
             """)
-    List<CommonLogs> searchByPeriodAndQuery(@Param("start") LocalDateTime start,
-                                            @Param("end") LocalDateTime end,
-                                            @Param("query") String query);
+    List<LogRow> searchPage(@Param("start") LocalDateTime start,
+                            @Param("beforeTimestamp") LocalDateTime beforeTimestamp,
+                            @Param("beforeId") int beforeId,
+                            @Param("pattern") String pattern,
+                            Limit limit);
 }
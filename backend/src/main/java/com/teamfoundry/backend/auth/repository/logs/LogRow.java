@@ -0,0 +1,14 @@
+package com.teamfoundry.backend.auth.repository.logs;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção de uma linha de log (id, autor, ação, data) para a pesquisa do super admin,
+ * sem carregar a conta associada.
+ */
+public interface LogRow {
+    Integer getId();
+    String getActor();
+    String getAction();
+    LocalDateTime getLoggedAt();
+}
@@ -0,0 +1,148 @@
+package com.teamfoundry.backend.auth.service;
+
+import com.teamfoundry.backend.auth.repository.AuthTokenRepository;
+import com.teamfoundry.backend.auth.repository.PasswordResetTokenRepository;
+import com.teamfoundry.backend.auth.repository.RefreshTokenRepository;
+import com.teamfoundry.backend.auth.repository.TokenRepository;
+import com.teamfoundry.backend.common.lease.JobLeaseService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Apaga tokens expirados (refresh tokens e códigos de verificação e de recuperação) por lotes de ids
+ * lidos pelo índice de {@code expire_at}, cada lote numa transação curta. Uma execução pára ao fim de
+ * {@code max-batches} lotes (somando as duas tabelas) para não prender a base de dados; o resto fica
+ * para a seguinte.
+ * Com várias instâncias, só a que tiver o lease {@value #LEASE_NAME} varre em cada intervalo.
+ */
+@Component
+@Slf4j
+public class ExpiredTokenSweeper {
+
+    static final String LEASE_NAME = "expired-token-sweeper";
+
+    private final TokenRepository tokenRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final AuthTokenRepository authTokenRepository;
+    private final PasswordResetTokenRepository passwordResetTokenRepository;
+    private final JobLeaseService jobLeaseService;
+    private final TransactionTemplate writeTransaction;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Duration lease;
+
+    private volatile SweepStats lastSweep;
+
+    public ExpiredTokenSweeper(TokenRepository tokenRepository,
+                               RefreshTokenRepository refreshTokenRepository,
+                               AuthTokenRepository authTokenRepository,
+                               PasswordResetTokenRepository passwordResetTokenRepository,
+                               JobLeaseService jobLeaseService,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.auth.token-sweep.batch-size:500}") int batchSize,
+                               @Value("${app.auth.token-sweep.max-batches:200}") int maxBatches,
+                               @Value("${app.auth.token-sweep.interval-ms:600000}") long intervalMs) {
+        this.tokenRepository = tokenRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.authTokenRepository = authTokenRepository;
+        this.passwordResetTokenRepository = passwordResetTokenRepository;
+        this.jobLeaseService = jobLeaseService;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatches = Math.max(1, maxBatches);
+        this.lease = Duration.ofMillis(intervalMs);
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.token-sweep.interval-ms:600000}",
+            initialDelayString = "${app.auth.token-sweep.initial-delay-ms:60000}")
+    public void sweep() {
+        if (!jobLeaseService.tryAcquire(LEASE_NAME, lease)) {
+            log.debug("Varrimento de tokens a correr noutra instância");
+            return;
+        }
+        long started = System.nanoTime();
+        Timestamp now = Timestamp.from(Instant.now());
+        Progress progress = new Progress();
+        try {
+            boolean refreshDrained = sweepTable(progress, now,
+                    refreshTokenRepository::findExpiredIds, refreshTokenRepository::deleteAllByIds);
+            progress.drained = refreshDrained && sweepTable(progress, now,
+                    tokenRepository::findExpiredIds, tokenRepository::deleteAllByIds);
+        } catch (RuntimeException ex) {
+            progress.drained = false;
+            log.warn("Falha ao apagar tokens expirados depois de {} removidos: {}", progress.deleted, ex.getMessage());
+        }
+
+        SweepStats stats = new SweepStats(Instant.now(), progress.deleted, progress.batches, progress.drained,
+                Duration.ofNanos(System.nanoTime() - started).toMillis(),
+                refreshTokenRepository.count(), authTokenRepository.count(), passwordResetTokenRepository.count());
+        lastSweep = stats;
+        if (stats.deleted() > 0 || !stats.drained()) {
+            log.info("Tokens expirados removidos: {} em {} lotes ({} ms, {}/s); restam {} refresh, {} de verificação e {} de recuperação{}",
+                    stats.deleted(), stats.batches(), stats.tookMs(), Math.round(stats.deletedPerSecond()),
+                    stats.refreshTokens(), stats.authTokens(), stats.passwordResetTokens(),
+                    stats.drained() ? "" : " (ainda há expirados)");
+        }
+    }
+
+    /**
+     * Apaga lotes de uma tabela até ficar sem expirados (devolve true) ou esgotar o limite de lotes.
+     */
+    private boolean sweepTable(Progress progress, Timestamp now,
+                               BiFunction<Timestamp, Pageable, List<Long>> findExpired,
+                               ToIntFunction<Collection<Long>> deleteByIds) {
+        while (progress.batches < maxBatches) {
+            Integer removed = writeTransaction.execute(status -> {
+                List<Long> ids = findExpired.apply(now, PageRequest.of(0, batchSize));
+                if (!ids.isEmpty()) {
+                    deleteByIds.applyAsInt(ids);
+                }
+                return ids.size();
+            });
+            int count = removed == null ? 0 : removed;
+            progress.deleted += count;
+            progress.batches++;
+            if (count < batchSize) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Optional<SweepStats> lastSweep() {
+        return Optional.ofNullable(lastSweep);
+    }
+
+    /**
+     * Resultado de um varrimento e tamanho das tabelas no fim. {@code drained} é falso quando
+     * a execução parou no limite de lotes com expirados ainda por apagar.
+     */
+    public record SweepStats(Instant finishedAt, int deleted, int batches, boolean drained, long tookMs,
+                             long refreshTokens, long authTokens, long passwordResetTokens) {
+
+        public double deletedPerSecond() {
+            return tookMs == 0 ? deleted : deleted * 1000.0 / tookMs;
+        }
+    }
+
+    private static final class Progress {
+        int deleted;
+        int batches;
+        boolean drained;
+    }
+}
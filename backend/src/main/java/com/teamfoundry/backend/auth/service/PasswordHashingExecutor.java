@@ -0,0 +1,114 @@
+package com.teamfoundry.backend.auth.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Pool dedicado ao BCrypt (login, confirmação de password, resets e aprovações). Limita o hashing a
+ * {@code threads} núcleos (com 0, o valor por omissão, metade dos disponíveis e pelo menos um, para
+ * deixar CPU livre para os restantes pedidos) e a uma fila de {@code queue-capacity} pedidos: com a fila cheia o pedido recebe 503 de imediato, e quem espera mais de {@code timeout-ms}
+ * também. Assim um pico de logins só atrasa os logins, em vez de ocupar o CPU e as threads do Tomcat
+ * de todos os outros endpoints.
+ */
+@Component
+@Slf4j
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final int strength;
+    private final int queueCapacity;
+    private final long timeoutMs;
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+
+    public PasswordHashingExecutor(@Value("${app.auth.bcrypt-strength:10}") int strength,
+                                   @Value("${app.auth.password-hashing.threads:0}") int threads,
+                                   @Value("${app.auth.password-hashing.queue-capacity:64}") int queueCapacity,
+                                   @Value("${app.auth.password-hashing.timeout-ms:5000}") long timeoutMs) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.strength = strength;
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.timeoutMs = timeoutMs;
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.queueCapacity), task -> {
+                    Thread thread = new Thread(task, "password-hash-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Custo (log2 das rondas) usado pelo BCrypt ao gerar novos hashes.
+     */
+    public int strength() {
+        return strength;
+    }
+
+    /**
+     * Corre o hashing no pool e espera pelo resultado. Exceções do hashing são relançadas tal como estão.
+     */
+    public <T> T run(Supplier<T> hashing) {
+        Future<T> future;
+        try {
+            future = executor.submit(hashing::get);
+        } catch (RejectedExecutionException ex) {
+            rejected.incrementAndGet();
+            log.warn("Pedido de hashing recusado: fila cheia ({} em espera)", executor.getQueue().size());
+            throw overloaded();
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            timedOut.incrementAndGet();
+            throw overloaded();
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw overloaded();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) throw runtime;
+            if (ex.getCause() instanceof Error error) throw error;
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(strength, executor.getMaximumPoolSize(), executor.getActiveCount(),
+                executor.getQueue().size(), queueCapacity, executor.getCompletedTaskCount(),
+                rejected.get(), timedOut.get());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static ResponseStatusException overloaded() {
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                "Demasiados pedidos de autenticação em curso. Tente novamente dentro de momentos.");
+    }
+
+    /**
+     * Estado do pool nesta instância: custo do hash, threads ocupadas, profundidade da fila e pedidos
+     * recusados por fila cheia ({@code rejected}) ou por espera longa ({@code timedOut}).
+     */
+    public record Stats(int strength, int threads, int active, int queued, int queueCapacity,
+                        long completed, long rejected, long timedOut) {}
+}
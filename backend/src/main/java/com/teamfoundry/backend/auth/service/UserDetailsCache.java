@@ -0,0 +1,45 @@
+package com.teamfoundry.backend.auth.service;
+
+import com.teamfoundry.backend.common.util.BoundedTtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Cache local (por nó), limitado e com TTL, dos {@link UserDetails} usados pelo filtro JWT
+ * para confirmar que a conta do token continua ativa sem ir à base de dados em cada pedido.
+ * Entradas são removidas ao desativar/eliminar contas ou alterar passwords; o TTL limita
+ * o tempo em que outro nó pode ver um estado desatualizado.
+ */
+@Component
+public class UserDetailsCache {
+
+    private final AccountDetailsService accountDetailsService;
+    private final BoundedTtlCache<String, UserDetails> cache;
+
+    public UserDetailsCache(AccountDetailsService accountDetailsService,
+                            @Value("${app.security.user-cache.ttl-seconds:60}") long ttlSeconds,
+                            @Value("${app.security.user-cache.max-entries:10000}") int maxEntries) {
+        this.accountDetailsService = accountDetailsService;
+        this.cache = new BoundedTtlCache<>(Duration.ofSeconds(ttlSeconds), maxEntries);
+    }
+
+    /**
+     * Devolve os detalhes do utilizador, carregando-os (e guardando-os) se não existirem ou tiverem expirado.
+     * Contas inexistentes não ficam em cache.
+     */
+    public UserDetails get(String username) throws UsernameNotFoundException {
+        return cache.get(username, accountDetailsService::loadUserByUsername);
+    }
+
+    public void evict(String username) {
+        cache.evict(username);
+    }
+
+    public void evictAfterCommit(String username) {
+        cache.evictAfterCommit(username);
+    }
+}
@@ -1,34 +1,28 @@
 package com.teamfoundry.backend.auth.service;
 
-import com.teamfoundry.backend.auth.service.exception.EmployeeRegistrationException;
+import com.teamfoundry.backend.common.mail.EmailOutbox;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpStatus;
-import org.springframework.mail.MailException;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
-import org.springframework.web.server.ResponseStatusException;
 
 /**
- * Serviço utilitário para envio de e-mails transacionais (código de verificação, reset de password).
+ * Serviço utilitário para e-mails transacionais (código de verificação, reset de password).
+ * Os e-mails vão para o outbox na transação de quem chama, junto com o token que levam; o envio SMTP
+ * é feito depois do commit pelo {@link com.teamfoundry.backend.common.mail.EmailOutboxWorker}.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class VerificationEmailService {
 
-    private final JavaMailSender mailSender;
-
-    @Value("${app.mail.from:no-reply@teamfoundry.com}")
-    private String fromAddress;
+    private final EmailOutbox emailOutbox;
 
     @Value("${app.mail.enabled:true}")
     private boolean mailEnabled;
 
     /**
-     * Envia o código numérico usado no fluxo de registo.
+     * Agenda o código numérico usado no fluxo de registo.
      */
     public void sendVerificationCode(String destination, String code) {
         if (!mailEnabled) {
@@ -36,30 +30,18 @@ public class VerificationEmailService {
             return;
         }
 
-        SimpleMailMessage message = baseMessage(destination);
-        message.setSubject("Código de verificação TeamFoundry");
-        message.setText("""
+        emailOutbox.enqueue(destination, "Código de verificação TeamFoundry", """
                 Olá!
 
                 O seu código de verificação é: %s
 
                 Se não realizou este pedido, ignore este e-mail.
                 """.formatted(code));
-
-        try {
-            mailSender.send(message);
-            log.info("Email de verificação enviado para {}", destination);
-        } catch (MailException ex) {
-            log.error("Falha ao enviar email de verificação para {}", destination, ex);
-            throw new EmployeeRegistrationException(
-                    "Não foi possível enviar o e-mail de verificação. Tente novamente mais tarde.",
-                    HttpStatus.SERVICE_UNAVAILABLE
-            );
-        }
+        log.info("Email de verificação agendado para {}", destination);
     }
 
     /**
-     * Envia o código numérico usado no fluxo de recuperação de password.
+     * Agenda o código numérico usado no fluxo de recuperação de password.
      */
     public void sendPasswordResetCode(String destination, String code) {
         if (!mailEnabled) {
@@ -67,9 +49,7 @@ public class VerificationEmailService {
             return;
         }
 
-        SimpleMailMessage message = baseMessage(destination);
-        message.setSubject("Código para redefinir password - TeamFoundry");
-        message.setText("""
+        emailOutbox.enqueue(destination, "Código para redefinir password - TeamFoundry", """
                 Recebemos um pedido para redefinir a sua password.
                 Utilize o código abaixo (válido durante 1 hora):
 
@@ -77,23 +57,6 @@ public class VerificationEmailService {
 
                 Se não realizou este pedido, ignore este e-mail.
                 """.formatted(code));
-
-        try {
-            mailSender.send(message);
-            log.info("Email de código de reset enviado para {}", destination);
-        } catch (MailException ex) {
-            log.error("Falha ao enviar email de reset para {}", destination, ex);
-            throw new ResponseStatusException(
-                    HttpStatus.SERVICE_UNAVAILABLE,
-                    "Não foi possível enviar o e-mail de recuperação. Tente novamente mais tarde."
-            );
-        }
-    }
-
-    private SimpleMailMessage baseMessage(String destination) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(fromAddress);
-        message.setTo(destination);
-        return message;
+        log.info("Email de código de reset agendado para {}", destination);
     }
 }
@@ -3,20 +3,16 @@ package com.teamfoundry.backend.auth.service.login;
 import com.teamfoundry.backend.account.enums.RegistrationStatus;
 import com.teamfoundry.backend.account.enums.UserType;
 import com.teamfoundry.backend.account.model.Account;
-import com.teamfoundry.backend.superadmin.model.credentials.AdminAccount;
 import com.teamfoundry.backend.account.model.company.CompanyAccount;
-import com.teamfoundry.backend.account.model.employee.profile.EmployeeAccount;
 import com.teamfoundry.backend.account.repository.AccountRepository;
-import com.teamfoundry.backend.superadmin.repository.credentials.AdminAccountRepository;
-import com.teamfoundry.backend.account.repository.company.CompanyAccountRepository;
-import com.teamfoundry.backend.account.repository.employee.EmployeeAccountRepository;
+import com.teamfoundry.backend.auth.service.UserDetailsCache;
 import com.teamfoundry.backend.auth.service.VerificationEmailService;
 import com.teamfoundry.backend.auth.dto.login.LoginRequest;
 import com.teamfoundry.backend.auth.dto.login.LoginResponse;
 import com.teamfoundry.backend.auth.dto.login.LoginResult;
-import com.teamfoundry.backend.auth.model.tokens.AuthToken;
 import com.teamfoundry.backend.auth.model.tokens.PasswordResetToken;
-import com.teamfoundry.backend.auth.repository.AuthTokenRepository;
+import com.teamfoundry.backend.auth.repository.LoginIdentityRepository;
+import com.teamfoundry.backend.auth.repository.LoginIdentityRepository.LoginIdentity;
 import com.teamfoundry.backend.auth.repository.PasswordResetTokenRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,8 +26,6 @@ import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.security.SecureRandom;
-import java.util.Optional;
-import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -41,20 +35,20 @@ public class AuthService {
     private static final int REMEMBER_ME_DAYS = 30;
     private static final int SESSION_REFRESH_DAYS = 1; // refresh de sessão (cookie de sessão)
 
-    private final AdminAccountRepository adminAccountRepository;
-    private final CompanyAccountRepository companyAccountRepository;
-    private final EmployeeAccountRepository employeeAccountRepository;
+    private final LoginIdentityRepository loginIdentityRepository;
     private final AccountRepository accountRepository;
     private final PasswordResetTokenRepository passwordResetTokenRepository;
     private final PasswordEncoder passwordEncoder;
-    private final AuthTokenRepository authTokenRepository;
+    private final RefreshTokenService refreshTokenService;
     private final JwtService jwtService;
     private final VerificationEmailService verificationEmailService;
+    private final UserDetailsCache userDetailsCache;
     private final SecureRandom secureRandom = new SecureRandom();
 
     /**
      * Procura um utilizador em todos os contextos (admin, empresa, colaborador) e gera o par de tokens
-     * que o frontend precisa para iniciar sessão.
+     * que o frontend precisa para iniciar sessão. A identidade vem de uma única consulta (tipo, hash e estado);
+     * a conta só é referenciada depois da password validada, ao guardar o refresh token.
      */
     public LoginResult login(LoginRequest request) {
         String identifier = request.email().trim();
@@ -63,31 +57,20 @@ public class AuthService {
 
         log.info("Tentativa de login recebida para {}", identifier);
 
-        Optional<LoginResult> admin = adminAccountRepository.findByUsernameIgnoreCase(identifier)
-                .map(account -> validateAdmin(account, request.password()));
-        if (admin.isPresent()) {
-            return admin.get();
+        LoginIdentity identity = loginIdentityRepository.findLoginIdentity(identifier, normalizedEmail)
+                .orElseThrow(() -> {
+                    log.warn("Login falhou para {}: utilizador não encontrado", identifier);
+                    return new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Credenciais inválidas");
+                });
+        if (identity.isAdmin()) {
+            return validateAdmin(identity, request.password());
         }
-
-        Optional<LoginResult> company = companyAccountRepository.findByEmail(normalizedEmail)
-                .map(account -> validateAccount(account, request.password(), remember));
-        if (company.isPresent()) {
-            return company.get();
-        }
-
-        Optional<LoginResult> employee = employeeAccountRepository.findByEmail(normalizedEmail)
-                .map(account -> validateEmployee(account, request.password(), remember));
-        if (employee.isPresent()) {
-            return employee.get();
-        }
-
-        log.warn("Login falhou para {}: utilizador não encontrado", identifier);
-        throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Credenciais inválidas");
+        return validateAccount(identity, request.password(), remember);
     }
 
-    private LoginResult validateAdmin(AdminAccount adminAccount, String rawPassword) {
-        if (!passwordEncoder.matches(rawPassword, adminAccount.getPassword())) {
-            log.warn("Password incorreta para administrador {}", adminAccount.getUsername());
+    private LoginResult validateAdmin(LoginIdentity admin, String rawPassword) {
+        if (!passwordEncoder.matches(rawPassword, admin.getPassword())) {
+            log.warn("Password incorreta para administrador {}", admin.getLogin());
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Credenciais inválidas");
         }
 
@@ -95,57 +78,40 @@ public class AuthService {
         return new LoginResult(resp, null, 0);
     }
 
-    private LoginResult validateAccount(Account account, String rawPassword, boolean remember) {
-        ensurePasswordMatches(account, rawPassword);
-        ensureAccountIsActive(account);
-        String access = jwtService.generateToken(account.getEmail(), account.getRole().name(), account.getId());
-        LoginResponse resp = new LoginResponse(account.getRole().name(), "Login efetuado com sucesso", access, jwtService.getExpirationSeconds());
-        if (remember) {
-            String refresh = issueRefreshToken(account, REMEMBER_ME_DAYS);
-            return new LoginResult(resp, refresh, REMEMBER_ME_DAYS * 24 * 60 * 60);
+    private LoginResult validateAccount(LoginIdentity account, String rawPassword, boolean remember) {
+        if (!passwordEncoder.matches(rawPassword, account.getPassword())) {
+            log.warn("Password incorreta para {}", account.getLogin());
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Credenciais inválidas");
         }
-        String refresh = issueRefreshToken(account, SESSION_REFRESH_DAYS);
-        // maxAge -1 => cookie de sessão (dura enquanto o browser estiver aberto)
-        return new LoginResult(resp, refresh, -1);
-    }
-
-    private LoginResult validateEmployee(EmployeeAccount employeeAccount, String rawPassword, boolean remember) {
-        ensurePasswordMatches(employeeAccount, rawPassword);
-        ensureAccountIsActive(employeeAccount);
-        String access = jwtService.generateToken(employeeAccount.getEmail(), employeeAccount.getRole().name(), employeeAccount.getId());
-        LoginResponse resp = new LoginResponse(employeeAccount.getRole().name(), "Login efetuado com sucesso", access, jwtService.getExpirationSeconds());
+        ensureAccountIsActive(account.getLogin(), Boolean.TRUE.equals(account.getDeactivated()),
+                Boolean.TRUE.equals(account.getVerified()));
+        String role = UserType.valueOf(account.getRole()).name();
+        String access = jwtService.generateToken(account.getLogin(), role, account.getId());
+        LoginResponse resp = new LoginResponse(role, "Login efetuado com sucesso", access, jwtService.getExpirationSeconds());
         if (remember) {
-            String refresh = issueRefreshToken(employeeAccount, REMEMBER_ME_DAYS);
+            String refresh = refreshTokenService.issue(account.getId(), REMEMBER_ME_DAYS, true);
             return new LoginResult(resp, refresh, REMEMBER_ME_DAYS * 24 * 60 * 60);
         }
-        String refresh = issueRefreshToken(employeeAccount, SESSION_REFRESH_DAYS);
+        String refresh = refreshTokenService.issue(account.getId(), SESSION_REFRESH_DAYS, false);
+        // maxAge -1 => cookie de sessão (dura enquanto o browser estiver aberto)
         return new LoginResult(resp, refresh, -1);
     }
 
     private String issueRefreshToken(Account user, int days) {
-        AuthToken token = new AuthToken();
-        token.setUser(user);
-        token.setToken(UUID.randomUUID().toString());
-        token.setCreatedAt(Timestamp.from(Instant.now()));
-        token.setExpireAt(Timestamp.from(Instant.now().plus(days, ChronoUnit.DAYS)));
-        authTokenRepository.save(token);
-        return token.getToken();
+        return refreshTokenService.issue(user, days, days == REMEMBER_ME_DAYS);
     }
 
-    private void ensurePasswordMatches(Account account, String rawPassword) {
-        if (!passwordEncoder.matches(rawPassword, account.getPassword())) {
-            log.warn("Password incorreta para {}", account.getEmail());
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Credenciais inválidas");
-        }
+    private void ensureAccountIsActive(Account account) {
+        ensureAccountIsActive(account.getEmail(), account.isDeactivated(), account.isVerified());
     }
 
-    private void ensureAccountIsActive(Account account) {
-        if (account.isDeactivated()) {
-            log.warn("Conta {} está desativada", account.getEmail());
+    private void ensureAccountIsActive(String email, boolean deactivated, boolean verified) {
+        if (deactivated) {
+            log.warn("Conta {} está desativada", email);
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Conta desativada. Contacte o suporte.");
         }
-        if (!account.isVerified()) {
-            log.warn("Conta {} ainda não está verificada", account.getEmail());
+        if (!verified) {
+            log.warn("Conta {} ainda não está verificada", email);
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Conta ainda não foi verificada");
         }
     }
@@ -196,6 +162,7 @@ public class AuthService {
 
         user.setPassword(passwordEncoder.encode(newPassword));
         accountRepository.save(user);
+        userDetailsCache.evictAfterCommit(user.getEmail());
 
         // Invalidate used token(s)
         passwordResetTokenRepository.deleteByUser(user);
@@ -237,25 +204,25 @@ public class AuthService {
         }
     }
 
-    public LoginResponse refresh(String refreshToken) {
-        var tokenOpt = authTokenRepository.findByToken(refreshToken);
-        var token = tokenOpt.orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token inválido"));
-        if (token.getExpireAt().before(Timestamp.from(Instant.now()))) {
-            authTokenRepository.delete(token);
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token expirado");
-        }
-
-        Account user = token.getUser();
+    /**
+     * Roda o refresh token (o valor recebido deixa de valer) e emite um novo access token.
+     * Tudo numa transação: se a conta já não estiver ativa, o token antigo não é consumido.
+     */
+    @Transactional
+    public LoginResult refresh(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        Account user = rotation.user();
         if (!user.isVerified()) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Conta inativa");
         }
         String access = jwtService.generateToken(user.getEmail(), user.getRole().name(), user.getId());
-        return new LoginResponse(user.getRole().name(), "Token renovado", access, jwtService.getExpirationSeconds());
+        LoginResponse resp = new LoginResponse(user.getRole().name(), "Token renovado", access, jwtService.getExpirationSeconds());
+        return new LoginResult(resp, rotation.refreshToken(), rotation.maxAgeSeconds());
     }
 
     public void revokeRefresh(String refreshToken) {
         if (refreshToken == null || refreshToken.isBlank()) return;
-        authTokenRepository.findByToken(refreshToken).ifPresent(authTokenRepository::delete);
+        refreshTokenService.revoke(refreshToken);
     }
     /**
      * Autentica um utilizador existente sem validar password (usado em login social/OAuth).
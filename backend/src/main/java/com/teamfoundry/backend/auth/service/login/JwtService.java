@@ -1,5 +1,6 @@
 package com.teamfoundry.backend.auth.service.login;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
@@ -9,6 +10,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Date;
@@ -24,6 +26,10 @@ public class JwtService {
     @Value("${jwt.expiration-seconds:3600}")
     private long expirationSeconds;
 
+    // Chave e parser são imutáveis e thread-safe; criados uma vez a partir do segredo.
+    private volatile SecretKey signingKey;
+    private volatile JwtParser parser;
+
     public String generateToken(String email, String role, int userId) {
         Instant now = Instant.now();
         return Jwts.builder()
@@ -31,27 +37,57 @@ public class JwtService {
                 .claims(Map.of("role", role, "uid", userId))
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(now.plusSeconds(expirationSeconds)))
-                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .signWith(signingKey())
                 .compact();
     }
 
+    /**
+     * Verifica assinatura e expiração uma única vez e devolve os dados do access token.
+     *
+     * @throws JwtException se o token for inválido ou tiver expirado
+     */
+    public AccessToken parseAccessToken(String token) {
+        Claims claims = parser().parseSignedClaims(token).getPayload();
+        return new AccessToken(
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.get("uid", Integer.class)
+        );
+    }
+
     public String extractUsername(String token) {
-        return parser().parseSignedClaims(token).getPayload().getSubject();
+        return parseAccessToken(token).subject();
     }
 
     public boolean isValid(String token, UserDetails user) {
         try {
-            String username = extractUsername(token);
-            Date exp = parser().parseSignedClaims(token).getPayload().getExpiration();
-            return username.equals(user.getUsername()) && exp.after(new Date());
+            // O parser já rejeita tokens expirados.
+            return parseAccessToken(token).subject().equals(user.getUsername());
         } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
     }
 
+    private SecretKey signingKey() {
+        SecretKey key = signingKey;
+        if (key == null) {
+            key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+            signingKey = key;
+        }
+        return key;
+    }
+
     private JwtParser parser() {
-        return Jwts.parser()
-                .verifyWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
-                .build();
+        JwtParser current = parser;
+        if (current == null) {
+            current = Jwts.parser().verifyWith(signingKey()).build();
+            parser = current;
+        }
+        return current;
     }
+
+    /**
+     * Conteúdo de um access token válido: subject (email ou "admin:username"), role e id da conta.
+     */
+    public record AccessToken(String subject, String role, Integer userId) {}
 }
@@ -0,0 +1,202 @@
+package com.teamfoundry.backend.auth.service.login;
+
+import com.teamfoundry.backend.account.model.Account;
+import com.teamfoundry.backend.account.repository.AccountRepository;
+import com.teamfoundry.backend.auth.model.tokens.RefreshToken;
+import com.teamfoundry.backend.auth.repository.RefreshTokenRepository;
+import com.teamfoundry.backend.common.util.BoundedTtlCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Emissão, rotação e revogação de refresh tokens.
+ * O cookie leva 32 bytes aleatórios; a base de dados só guarda o SHA-256 desse valor.
+ * Cada refresh consome o token e emite outro com a mesma validade final, por isso um valor
+ * já usado (ou roubado e reutilizado) deixa de servir. Hashes desconhecidos ou expirados ficam
+ * logo num cache negativo local para serem recusados sem ida à base de dados; os revogados ou
+ * rodados só entram depois do commit que os apagou.
+ */
+@Service
+@Slf4j
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final AccountRepository accountRepository;
+    private final BoundedTtlCache<String, Boolean> rejected;
+    private final int maxPerUser;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               AccountRepository accountRepository,
+                               @Value("${app.auth.max-refresh-tokens-per-user:10}") int maxPerUser,
+                               @Value("${app.auth.refresh-negative-cache.ttl-seconds:900}") long negativeTtlSeconds,
+                               @Value("${app.auth.refresh-negative-cache.max-entries:50000}") int negativeMaxEntries) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.accountRepository = accountRepository;
+        this.maxPerUser = maxPerUser;
+        this.rejected = new BoundedTtlCache<>(Duration.ofSeconds(negativeTtlSeconds), negativeMaxEntries);
+    }
+
+    /**
+     * Cria um refresh token para o utilizador e devolve o valor a enviar no cookie.
+     */
+    @Transactional
+    public String issue(Account user, int days, boolean persistent) {
+        Instant now = Instant.now();
+        return store(user, persistent, now, now.plus(days, ChronoUnit.DAYS));
+    }
+
+    /**
+     * Como {@link #issue(Account, int, boolean)} a partir do id da conta (login), sem ler a conta.
+     */
+    @Transactional
+    public String issue(Integer accountId, int days, boolean persistent) {
+        return issue(accountRepository.getReferenceById(accountId), days, persistent);
+    }
+
+    /**
+     * Troca o refresh token por um novo. Recusa (401) tokens desconhecidos, expirados ou já usados;
+     * de dois pedidos concorrentes com o mesmo valor só um recebe o novo token.
+     */
+    @Transactional
+    public Rotation rotate(String rawToken) {
+        String hash = hashOrNull(rawToken);
+        if (hash == null || rejected.getIfPresent(hash) != null) {
+            throw invalid();
+        }
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash).orElse(null);
+        Instant now = Instant.now();
+        if (current != null && !current.getExpireAt().toInstant().isAfter(now)) {
+            // O varrimento de expirados apaga a linha
+            rejected.put(hash, Boolean.TRUE);
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token expirado");
+        }
+        if (current == null) {
+            rejected.put(hash, Boolean.TRUE);
+            throw invalid();
+        }
+        if (refreshTokenRepository.deleteByTokenHash(hash) != 1) {
+            // Consumido por um pedido concorrente; só fica no cache quando esse pedido fizer commit
+            throw invalid();
+        }
+        rejectAfterCommit(hash);
+
+        Instant expireAt = current.getExpireAt().toInstant();
+        Account user = current.getUser();
+        String next = store(user, current.isPersistent(), now, expireAt);
+        int maxAgeSeconds = current.isPersistent()
+                ? (int) Math.max(1, Duration.between(now, expireAt).toSeconds())
+                : -1;
+        return new Rotation(user, next, maxAgeSeconds);
+    }
+
+    /**
+     * Revoga um refresh token (logout). Valores inválidos são ignorados.
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        String hash = hashOrNull(rawToken);
+        if (hash == null || rejected.getIfPresent(hash) != null) return;
+        refreshTokenRepository.deleteByTokenHash(hash);
+        rejectAfterCommit(hash);
+    }
+
+    /**
+     * Termina todas as sessões do utilizador (desativação de conta).
+     */
+    @Transactional
+    public void revokeAll(Account user) {
+        refreshTokenRepository.deleteAllByUser(user);
+    }
+
+    /**
+     * Só recusa localmente um token consumido depois do commit: se a transação fizer rollback
+     * (conta inativa, falha ao gravar o novo token), o token continua válido em todos os nós.
+     */
+    private void rejectAfterCommit(String hash) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rejected.put(hash, Boolean.TRUE);
+                }
+            });
+        } else {
+            rejected.put(hash, Boolean.TRUE);
+        }
+    }
+
+    private String store(Account user, boolean persistent, Instant createdAt, Instant expireAt) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String raw = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken token = new RefreshToken();
+        token.setUser(user);
+        token.setTokenHash(hash(raw));
+        token.setPersistent(persistent);
+        token.setCreatedAt(Timestamp.from(createdAt));
+        token.setExpireAt(Timestamp.from(expireAt));
+        refreshTokenRepository.save(token);
+        trim(user);
+        return raw;
+    }
+
+    /**
+     * Mantém só as sessões mais recentes de cada utilizador; os restantes refresh tokens deixam de valer.
+     */
+    private void trim(Account user) {
+        if (maxPerUser <= 0) return;
+        List<Long> newest = refreshTokenRepository.findNewestIdsByUserId(user.getId(), PageRequest.of(0, maxPerUser));
+        if (newest.size() == maxPerUser) {
+            refreshTokenRepository.deleteByUserIdExcept(user.getId(), newest);
+        }
+    }
+
+    private static ResponseStatusException invalid() {
+        return new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token inválido");
+    }
+
+    /**
+     * Valores fora do formato emitido nem chegam a ser procurados.
+     */
+    private static String hashOrNull(String rawToken) {
+        if (rawToken == null || rawToken.length() != 43) return null;
+        return hash(rawToken);
+    }
+
+    static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    /**
+     * Resultado de uma rotação: dono da sessão, novo valor do cookie e o seu max-age (-1 para cookie de sessão).
+     */
+    public record Rotation(Account user, String refreshToken, int maxAgeSeconds) {}
+}
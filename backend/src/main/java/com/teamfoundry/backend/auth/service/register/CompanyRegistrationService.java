@@ -14,6 +14,7 @@ import com.teamfoundry.backend.account.model.preferences.PrefActivitySectors;
 import com.teamfoundry.backend.account.model.company.CompanyActivitySectors;
 import com.teamfoundry.backend.account.repository.preferences.PrefActivitySectorsRepository;
 import com.teamfoundry.backend.account.repository.company.CompanyActivitySectorsRepository;
+import com.teamfoundry.backend.superadmin.service.metrics.MetricsCounters;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -35,6 +36,7 @@ public class CompanyRegistrationService {
     private final PrefActivitySectorsRepository prefActivitySectorsRepository;
     private final AccountRepository accountRepository;
     private final PasswordEncoder passwordEncoder;
+    private final MetricsCounters metricsCounters;
 
     @Transactional
     public GenericResponse registerCompany(CompanyRegistrationRequest request) {
@@ -80,6 +82,7 @@ public class CompanyRegistrationService {
         companyAccountOwnerRepository.save(owner);
 
         attachActivitySectors(savedCompany, request.activitySectors());
+        metricsCounters.companyRegistered();
 
         log.info("Empresa {} registada com estado COMPLETED", request.companyName());
         return GenericResponse.success("Registo submetido. Entraremos em contacto após validação.");
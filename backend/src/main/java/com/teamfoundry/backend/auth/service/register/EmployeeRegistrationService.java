@@ -28,10 +28,14 @@ import com.teamfoundry.backend.account.repository.employee.profile.EmployeeRoleR
 import com.teamfoundry.backend.account.repository.employee.profile.EmployeeGeoAreaRepository;
 import com.teamfoundry.backend.account.repository.preferences.PrefRoleRepository;
 import com.teamfoundry.backend.account.repository.preferences.PrefGeoAreaRepository;
+import com.teamfoundry.backend.account.service.ReferenceCatalog;
+import com.teamfoundry.backend.account.service.ReferenceCatalog.Kind;
 import com.teamfoundry.backend.auth.service.VerificationEmailService;
 import com.teamfoundry.backend.auth.model.tokens.AuthToken;
 import com.teamfoundry.backend.auth.repository.AuthTokenRepository;
-import com.teamfoundry.backend.common.service.CloudinaryService;
+import com.teamfoundry.backend.common.storage.FileStorage;
+import com.teamfoundry.backend.teamRequests.service.CandidateSearchIndex;
+import com.teamfoundry.backend.superadmin.service.metrics.MetricsCounters;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -65,9 +69,12 @@ public class EmployeeRegistrationService {
     private final EmployeeSkillRepository employeeSkillRepository;
     private final PrefGeoAreaRepository prefGeoAreaRepository;
     private final EmployeeGeoAreaRepository employeeGeoAreaRepository;
+    private final ReferenceCatalog referenceCatalog;
     private final EmployeeDocumentRepository employeeDocumentRepository;
     private final VerificationEmailService verificationEmailService;
-    private final CloudinaryService cloudinaryService;
+    private final FileStorage fileStorage;
+    private final CandidateSearchIndex candidateSearchIndex;
+    private final MetricsCounters metricsCounters;
 
     @Value("${app.registration.verification.expiration-minutes:30}")
     private long verificationExpirationMinutes;
@@ -106,6 +113,9 @@ public class EmployeeRegistrationService {
 
         try {
             employeeAccountRepository.save(account);
+            if (existingAccountOpt.isEmpty()) {
+                metricsCounters.employeeCreated();
+            }
         } catch (DataIntegrityViolationException ex) {
             log.error("Violação de integridade ao criar conta para {}", normalizedEmail, ex);
             throw new EmployeeRegistrationException(
@@ -128,7 +138,7 @@ public class EmployeeRegistrationService {
         account.setBirthDate(request.getBirthDate());
         account.setNif(request.getNif());
 
-        CloudinaryService.UploadResult cvUpload = storeCvIfPresent(account, request.getCvFile(), request.getCvFileName());
+        FileStorage.UploadResult cvUpload = storeCvIfPresent(account, request.getCvFile(), request.getCvFileName());
         employeeAccountRepository.save(account);
 
         if (cvUpload != null) {
@@ -149,6 +159,7 @@ public class EmployeeRegistrationService {
         applyFunctionPreference(account, request.getRole());
         applyCompetencePreferences(account, request.getSkills());
         applyGeoAreaPreferences(account, request.getAreas());
+        candidateSearchIndex.refreshAfterCommit(account.getId());
 
         issueVerificationCode(account);
         return GenericResponse.success("Preferências guardadas. Código enviado para o seu email.");
@@ -168,6 +179,7 @@ public class EmployeeRegistrationService {
         account.setVerified(true);
         account.setRegistrationStatus(RegistrationStatus.COMPLETED);
         employeeAccountRepository.save(account);
+        candidateSearchIndex.refreshAfterCommit(account.getId());
 
         authTokenRepository.delete(token);
         return GenericResponse.success("Conta verificada e ativa.");
@@ -211,19 +223,19 @@ public class EmployeeRegistrationService {
                     doc.setType(type);
                     return doc;
                 });
-        cloudinaryService.delete(document.getPublicId());
+        fileStorage.delete(document.getPublicId());
         document.setPublicId(publicId);
         document.setFileName(fileName);
         employeeDocumentRepository.save(document);
     }
 
-    private CloudinaryService.UploadResult storeCvIfPresent(EmployeeAccount account, String cvPayload, String originalName) {
+    private FileStorage.UploadResult storeCvIfPresent(EmployeeAccount account, String cvPayload, String originalName) {
         if (!StringUtils.hasText(cvPayload)) {
             return null;
         }
 
         try {
-            CloudinaryService.UploadResult upload = cloudinaryService.uploadBase64(cvPayload, "curriculum", originalName);
+            FileStorage.UploadResult upload = fileStorage.uploadBase64(cvPayload, "curriculum", originalName);
             log.info("Stored CV for {} at {}", account.getEmail(), upload.getPublicId());
             return upload;
         } catch (IllegalArgumentException ex) {
@@ -263,7 +275,7 @@ public class EmployeeRegistrationService {
             return;
         }
         employeeDocumentRepository.findByEmployeeAndType(account, DocumentType.CURRICULUM).ifPresent(doc -> {
-            cloudinaryService.delete(doc.getPublicId());
+            fileStorage.delete(doc.getPublicId());
             employeeDocumentRepository.delete(doc);
         });
     }
@@ -275,7 +287,8 @@ public class EmployeeRegistrationService {
             throw new EmployeeRegistrationException("Função preferencial é obrigatória.", HttpStatus.BAD_REQUEST);
         }
 
-        PrefRole function = prefRoleRepository.findByName(functionName.trim())
+        PrefRole function = referenceCatalog.resolve(Kind.ROLE, functionName)
+                .map(option -> prefRoleRepository.getReferenceById(option.id()))
                 .orElseThrow(() -> new EmployeeRegistrationException("Função não encontrada: " + functionName, HttpStatus.BAD_REQUEST));
 
         EmployeeRole relation = new EmployeeRole();
@@ -296,7 +309,8 @@ public class EmployeeRegistrationService {
                 .map(String::trim)
                 .distinct()
                 .map(name -> {
-                    PrefSkill prefSkill = prefSkillRepository.findByName(name)
+                    PrefSkill prefSkill = referenceCatalog.resolve(Kind.SKILL, name)
+                            .map(option -> prefSkillRepository.getReferenceById(option.id()))
                             .orElseThrow(() -> new EmployeeRegistrationException("Competência não encontrada: " + name, HttpStatus.BAD_REQUEST));
                     EmployeeSkill relation = new EmployeeSkill();
                     relation.setEmployee(account);
@@ -320,7 +334,8 @@ public class EmployeeRegistrationService {
                 .map(String::trim)
                 .distinct()
                 .map(name -> {
-                    PrefGeoArea area = prefGeoAreaRepository.findByName(name)
+                    PrefGeoArea area = referenceCatalog.resolve(Kind.GEO_AREA, name)
+                            .map(option -> prefGeoAreaRepository.getReferenceById(option.id()))
                             .orElseThrow(() -> new EmployeeRegistrationException("Área geográfica não encontrada: " + name, HttpStatus.BAD_REQUEST));
                     EmployeeGeoArea relation = new EmployeeGeoArea();
                     relation.setEmployee(account);
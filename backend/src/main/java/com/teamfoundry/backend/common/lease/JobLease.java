@@ -0,0 +1,28 @@
+package com.teamfoundry.backend.common.lease;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Lease de uma tarefa agendada partilhada por várias instâncias: só o {@code owner} a executa
+ * até {@code leaseUntil}. Uma linha por tarefa, criada na primeira aquisição.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "job_lease")
+public class JobLease {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false, length = 128)
+    private String owner;
+
+    @Column(name = "lease_until", nullable = false)
+    private Instant leaseUntil;
+}
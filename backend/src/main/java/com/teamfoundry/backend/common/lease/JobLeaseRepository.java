@@ -0,0 +1,35 @@
+package com.teamfoundry.backend.common.lease;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    /**
+     * Fica com o lease se tiver expirado ou já for deste dono (renovação). Devolve 1 em caso de sucesso.
+     */
+    @Modifying
+    @Query("""
+            UPDATE JobLease l
+            SET l.owner = :owner, l.leaseUntil = :until
+            WHERE l.name = :name AND (l.leaseUntil < :now OR l.owner = :owner)
+            """)
+    int takeOver(@Param("name") String name,
+                 @Param("owner") String owner,
+                 @Param("now") Instant now,
+                 @Param("until") Instant until);
+
+    /**
+     * Insert sem merge: se outra instância criou a linha entretanto, falha pela chave primária.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO job_lease (name, owner, lease_until) VALUES (:name, :owner, :until)",
+            nativeQuery = true)
+    int insert(@Param("name") String name,
+               @Param("owner") String owner,
+               @Param("until") Instant until);
+}
@@ -0,0 +1,80 @@
+package com.teamfoundry.backend.common.lease;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Exclusão mútua entre instâncias para tarefas agendadas, com um lease na tabela {@code job_lease}.
+ * Quem adquire fica com a tarefa até o lease expirar; se a instância morrer a meio, outra retoma
+ * depois da expiração. Cada operação corre na sua própria transação curta. Os instantes vêm do
+ * relógio de cada instância, por isso a duração deve ser muito maior que o desvio entre relógios.
+ */
+@Service
+@Slf4j
+public class JobLeaseService {
+
+    private final JobLeaseRepository jobLeaseRepository;
+    private final TransactionTemplate leaseTransaction;
+    private final String owner;
+
+    public JobLeaseService(JobLeaseRepository jobLeaseRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.jobs.node-id:}") String nodeId) {
+        this.jobLeaseRepository = jobLeaseRepository;
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.owner = StringUtils.hasText(nodeId) ? nodeId.trim() : defaultNodeId();
+    }
+
+    /**
+     * Adquire ou renova o lease por {@code duration}. Devolve {@code false} se outra instância o tiver.
+     */
+    public boolean tryAcquire(String name, Duration duration) {
+        Instant now = Instant.now();
+        Instant until = now.plus(duration);
+        Integer updated = leaseTransaction.execute(status -> jobLeaseRepository.takeOver(name, owner, now, until));
+        if (updated != null && updated > 0) {
+            return true;
+        }
+        // Linha existente e não expirada: pertence a outra instância. Só se tenta o insert quando a linha
+        // ainda não existe, para não gerar uma violação de chave (e o respetivo log) a cada tentativa.
+        if (Boolean.TRUE.equals(leaseTransaction.execute(status -> jobLeaseRepository.existsById(name)))) {
+            log.debug("Lease {} pertence a outra instância", name);
+            return false;
+        }
+        try {
+            leaseTransaction.executeWithoutResult(status -> jobLeaseRepository.insert(name, owner, until));
+            log.info("Lease {} criado por {}", name, owner);
+            return true;
+        } catch (DataIntegrityViolationException ex) {
+            log.debug("Lease {} criado em simultâneo por outra instância", name);
+            return false;
+        }
+    }
+
+    public String owner() {
+        return owner;
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,44 @@
+package com.teamfoundry.backend.common.mail;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+
+/**
+ * Ponto de entrada do outbox: grava o e-mail na transação atual em vez de falar com o SMTP.
+ * O pedido termina assim que a linha faz commit; depois do commit o worker é acordado para
+ * enviar já, sem esperar pelo próximo ciclo. Se a transação fizer rollback, o e-mail não sai.
+ */
+@Service
+@RequiredArgsConstructor
+public class EmailOutbox {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailOutboxWorker emailOutboxWorker;
+
+    @Transactional
+    public OutboxEmail enqueue(String recipient, String subject, String body) {
+        Instant now = Instant.now();
+        OutboxEmail email = new OutboxEmail();
+        email.setRecipient(recipient);
+        email.setSubject(subject);
+        email.setBody(body);
+        email.setCreatedAt(now);
+        email.setNextAttemptAt(now);
+        OutboxEmail saved = emailOutboxRepository.save(email);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    emailOutboxWorker.wakeUp();
+                }
+            });
+        }
+        return saved;
+    }
+}
@@ -0,0 +1,37 @@
+package com.teamfoundry.backend.common.mail;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<OutboxEmail, Long> {
+
+    /**
+     * E-mails neste estado cuja próxima tentativa já chegou, os mais antigos primeiro, bloqueados até ao
+     * fim da transação (reclamação do lote). Uma transação concorrente espera e volta a avaliar a condição,
+     * por isso não lê as linhas que esta reclamou.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT e FROM OutboxEmail e
+            WHERE e.status = :status AND e.nextAttemptAt <= :now
+            ORDER BY e.nextAttemptAt, e.id
+            """)
+    List<OutboxEmail> findDueForUpdate(@Param("status") OutboxEmail.Status status,
+                                       @Param("now") Instant now,
+                                       Pageable pageable);
+
+    long countByStatus(OutboxEmail.Status status);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEmail e WHERE e.status = :status AND e.sentAt < :before")
+    int deleteByStatusAndSentAtBefore(@Param("status") OutboxEmail.Status status,
+                                      @Param("before") Instant before);
+}
@@ -0,0 +1,321 @@
+package com.teamfoundry.backend.common.mail;
+
+import com.teamfoundry.backend.common.lease.JobLeaseService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Envia os e-mails do outbox fora das transações dos pedidos. Lê lotes de pendentes, envia cada lote
+ * numa só ligação SMTP e grava o resultado numa transação curta. Antes de enviar, cada lote é reclamado
+ * (linhas bloqueadas e {@code nextAttemptAt} empurrado {@code claim-ms} para a frente), para que outra
+ * instância que fique com o lease a meio de um envio lento não volte a ler os mesmos e-mails. Uma falha reagenda o e-mail com
+ * espera exponencial ({@code retry-base-ms} a duplicar, até {@code retry-max-ms}); ao fim de
+ * {@code max-attempts} tentativas fica {@code DEAD} para análise. A entrega é "pelo menos uma vez":
+ * se a instância cair entre o envio e a gravação, o e-mail volta a sair.
+ * Com várias instâncias, só a que tiver o lease {@value #LEASE_NAME} envia; o lease é renovado antes de
+ * cada lote e a passagem pára se o perder.
+ */
+@Component
+@Slf4j
+public class EmailOutboxWorker {
+
+    static final String LEASE_NAME = "email-outbox";
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final JobLeaseService jobLeaseService;
+    private final TransactionTemplate writeTransaction;
+    private final String fromAddress;
+    private final int batchSize;
+    private final int maxBatches;
+    private final int maxAttempts;
+    private final Duration retryBase;
+    private final Duration retryMax;
+    private final Duration sentRetention;
+    private final Duration lease;
+    private final Duration claim;
+
+    private final ReentrantLock draining = new ReentrantLock();
+    private final AtomicBoolean drainAgain = new AtomicBoolean();
+    private final AtomicBoolean wakeUpQueued = new AtomicBoolean();
+    private final ExecutorService wakeUps = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "email-outbox");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile DrainStats lastDrain;
+
+    public EmailOutboxWorker(EmailOutboxRepository emailOutboxRepository,
+                             JavaMailSender mailSender,
+                             JobLeaseService jobLeaseService,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.mail.from:no-reply@teamfoundry.com}") String fromAddress,
+                             @Value("${app.mail.outbox.batch-size:20}") int batchSize,
+                             @Value("${app.mail.outbox.max-batches:10}") int maxBatches,
+                             @Value("${app.mail.outbox.max-attempts:8}") int maxAttempts,
+                             @Value("${app.mail.outbox.retry-base-ms:30000}") long retryBaseMs,
+                             @Value("${app.mail.outbox.retry-max-ms:3600000}") long retryMaxMs,
+                             @Value("${app.mail.outbox.sent-retention-hours:72}") long sentRetentionHours,
+                             @Value("${app.mail.outbox.lease-ms:60000}") long leaseMs,
+                             @Value("${app.mail.outbox.claim-ms:300000}") long claimMs,
+                             @Value("${app.mail.outbox.smtp-timeout-ms:10000}") long smtpTimeoutMs) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.mailSender = mailSender;
+        this.jobLeaseService = jobLeaseService;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.fromAddress = fromAddress;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatches = Math.max(1, maxBatches);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBase = Duration.ofMillis(retryBaseMs);
+        this.retryMax = Duration.ofMillis(retryMaxMs);
+        this.sentRetention = Duration.ofHours(sentRetentionHours);
+        this.lease = Duration.ofMillis(leaseMs);
+        this.claim = Duration.ofMillis(claimMs);
+        applySmtpTimeouts(mailSender, smtpTimeoutMs);
+    }
+
+    /**
+     * Os timeouts do JavaMail são infinitos por omissão; um servidor SMTP parado prenderia o worker
+     * (e os e-mails reclamados) indefinidamente. Valores já configurados em {@code spring.mail.properties}
+     * prevalecem.
+     */
+    private static void applySmtpTimeouts(JavaMailSender mailSender, long timeoutMs) {
+        if (mailSender instanceof JavaMailSenderImpl impl) {
+            String timeout = Long.toString(timeoutMs);
+            impl.getJavaMailProperties().putIfAbsent("mail.smtp.connectiontimeout", timeout);
+            impl.getJavaMailProperties().putIfAbsent("mail.smtp.timeout", timeout);
+            impl.getJavaMailProperties().putIfAbsent("mail.smtp.writetimeout", timeout);
+        }
+    }
+
+    /**
+     * Pede um envio em segundo plano (depois do commit de um novo e-mail). Vários pedidos seguidos
+     * juntam-se num só; se já houver um envio a correr, este repete a leitura no fim.
+     */
+    public void wakeUp() {
+        if (wakeUpQueued.compareAndSet(false, true)) {
+            wakeUps.execute(() -> {
+                wakeUpQueued.set(false);
+                drain();
+            });
+        }
+    }
+
+    /**
+     * Só agenda a passagem na thread do worker: o envio SMTP nunca ocupa a thread do scheduler
+     * partilhada com as outras tarefas agendadas.
+     */
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:5000}",
+            initialDelayString = "${app.mail.outbox.poll-interval-ms:5000}")
+    public void poll() {
+        wakeUp();
+    }
+
+    /**
+     * Envia o que estiver pendente, na thread de quem chama (a do worker, via {@link #wakeUp()}).
+     */
+    public void drain() {
+        if (!draining.tryLock()) {
+            drainAgain.set(true);
+            return;
+        }
+        try {
+            do {
+                drainAgain.set(false);
+                drainOnce();
+            } while (drainAgain.get());
+        } catch (RuntimeException ex) {
+            log.warn("Falha ao processar o outbox de e-mails: {}", ex.getMessage());
+        } finally {
+            draining.unlock();
+        }
+    }
+
+    public Optional<DrainStats> lastDrain() {
+        return Optional.ofNullable(lastDrain);
+    }
+
+    public Stats stats() {
+        return new Stats(emailOutboxRepository.countByStatus(OutboxEmail.Status.PENDING),
+                emailOutboxRepository.countByStatus(OutboxEmail.Status.DEAD), lastDrain);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        wakeUps.shutdownNow();
+    }
+
+    private void drainOnce() {
+        if (!jobLeaseService.tryAcquire(LEASE_NAME, lease)) {
+            log.debug("Outbox de e-mails a ser enviado noutra instância");
+            return;
+        }
+        int sent = 0;
+        int failed = 0;
+        int dead = 0;
+        int batches = 0;
+        while (batches < maxBatches) {
+            if (batches > 0 && !jobLeaseService.tryAcquire(LEASE_NAME, lease)) {
+                log.warn("Lease {} perdido a meio do envio; a terminar depois de {} lotes", LEASE_NAME, batches);
+                break;
+            }
+            List<OutboxEmail> due = writeTransaction.execute(status -> claimDue());
+            if (due == null || due.isEmpty()) {
+                break;
+            }
+            batches++;
+            Map<Object, Exception> failures = send(due);
+            Instant now = Instant.now();
+            for (OutboxEmail email : due) {
+                Exception failure = failures.get(email.getId());
+                if (failure == null) {
+                    email.setStatus(OutboxEmail.Status.SENT);
+                    email.setSentAt(now);
+                    email.setAttempts(email.getAttempts() + 1);
+                    email.setLastError(null);
+                    sent++;
+                } else if (scheduleRetry(email, failure, now)) {
+                    failed++;
+                } else {
+                    dead++;
+                }
+            }
+            writeTransaction.executeWithoutResult(status -> emailOutboxRepository.saveAll(due));
+            if (due.size() < batchSize) {
+                break;
+            }
+        }
+        if (batches > 0) {
+            Instant cutoff = Instant.now().minus(sentRetention);
+            writeTransaction.executeWithoutResult(status ->
+                    emailOutboxRepository.deleteByStatusAndSentAtBefore(OutboxEmail.Status.SENT, cutoff));
+            lastDrain = new DrainStats(Instant.now(), batches, sent, failed, dead);
+            if (failed > 0 || dead > 0) {
+                log.warn("Outbox de e-mails: {} enviados, {} reagendados, {} sem mais tentativas", sent, failed, dead);
+            } else {
+                log.info("Outbox de e-mails: {} enviados em {} lotes", sent, batches);
+            }
+        }
+    }
+
+    /**
+     * Lê e bloqueia o próximo lote e adia a sua próxima tentativa pelo tempo da reclamação: se a instância
+     * cair a meio do envio, os e-mails voltam a ficar disponíveis quando a reclamação expirar.
+     */
+    private List<OutboxEmail> claimDue() {
+        Instant now = Instant.now();
+        List<OutboxEmail> due = emailOutboxRepository.findDueForUpdate(OutboxEmail.Status.PENDING, now,
+                PageRequest.of(0, batchSize));
+        Instant claimedUntil = now.plus(claim);
+        due.forEach(email -> email.setNextAttemptAt(claimedUntil));
+        return due;
+    }
+
+    /**
+     * Envia o lote numa só ligação. Devolve as falhas por id do e-mail (vazio se tudo correu bem).
+     */
+    private Map<Object, Exception> send(List<OutboxEmail> batch) {
+        List<SimpleMailMessage> messages = new ArrayList<>(batch.size());
+        for (OutboxEmail email : batch) {
+            messages.add(toMessage(email));
+        }
+        try {
+            mailSender.send(messages.toArray(SimpleMailMessage[]::new));
+            return Map.of();
+        } catch (MailSendException ex) {
+            Map<Object, Exception> failed = ex.getFailedMessages();
+            if (failed.isEmpty()) {
+                return allFailed(batch, ex);
+            }
+            Map<Object, Exception> byId = new HashMap<>();
+            for (int i = 0; i < batch.size(); i++) {
+                Exception failure = failed.get(messages.get(i));
+                if (failure != null) {
+                    byId.put(batch.get(i).getId(), failure);
+                }
+            }
+            return byId;
+        } catch (MailException ex) {
+            return allFailed(batch, ex);
+        }
+    }
+
+    private static Map<Object, Exception> allFailed(List<OutboxEmail> batch, Exception failure) {
+        Map<Object, Exception> byId = new HashMap<>();
+        batch.forEach(email -> byId.put(email.getId(), failure));
+        return byId;
+    }
+
+    /**
+     * Reagenda com espera exponencial; devolve {@code false} se o e-mail esgotou as tentativas e ficou DEAD.
+     */
+    private boolean scheduleRetry(OutboxEmail email, Exception failure, Instant now) {
+        int attempts = email.getAttempts() + 1;
+        email.setAttempts(attempts);
+        email.setLastError(truncate(failure.getMessage()));
+        if (attempts >= maxAttempts) {
+            email.setStatus(OutboxEmail.Status.DEAD);
+            log.error("E-mail {} para {} desistido ao fim de {} tentativas: {}",
+                    email.getId(), email.getRecipient(), attempts, failure.getMessage());
+            return false;
+        }
+        email.setNextAttemptAt(now.plus(backoff(attempts)));
+        return true;
+    }
+
+    Duration backoff(int attempts) {
+        long factor = 1L << Math.min(attempts - 1, 20);
+        Duration delay = retryBase.multipliedBy(factor);
+        return delay.compareTo(retryMax) > 0 ? retryMax : delay;
+    }
+
+    private SimpleMailMessage toMessage(OutboxEmail email) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromAddress);
+        message.setTo(email.getRecipient());
+        message.setSubject(email.getSubject());
+        message.setText(email.getBody());
+        return message;
+    }
+
+    private static String truncate(String error) {
+        if (error == null) return null;
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    /**
+     * Resultado da última passagem com e-mails nesta instância.
+     */
+    public record DrainStats(Instant finishedAt, int batches, int sent, int retried, int dead) {}
+
+    /**
+     * Profundidade do outbox (pendentes e sem mais tentativas) e a última passagem nesta instância.
+     */
+    public record Stats(long pending, long dead, DrainStats lastDrain) {}
+}
@@ -0,0 +1,174 @@
+package com.teamfoundry.backend.common.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Escrita assíncrona dos logs de auditoria ({@code logs_admin} e {@code logs}).
+ * As entradas entram numa fila limitada depois do commit da transação de origem (uma ação
+ * revertida não fica registada) e são gravadas em batches JDBC a cada {@code flush-interval-ms}, numa
+ * thread própria: o flush não partilha o scheduler do Spring com tarefas lentas que o pudessem atrasar.
+ * Com a fila cheia o chamador espera no máximo {@code offer-timeout-ms}; depois disso a entrada
+ * é descartada e contada, para a auditoria nunca bloquear o pedido. A fila é esvaziada no shutdown.
+ */
+@Component
+@Slf4j
+public class AuditLogWriter {
+
+    static final String INSERT_ADMIN_SQL = "INSERT INTO logs_admin (id_admin, action, timestamp) VALUES (?, ?, ?)";
+    static final String INSERT_USER_SQL = "INSERT INTO logs (id_user, action, timestamp) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<Entry> queue;
+    private final int batchSize;
+    private final long offerTimeoutMs;
+    private final AtomicLong dropped = new AtomicLong();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "audit-log-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${app.audit.flush-interval-ms:500}")
+    private long flushIntervalMs = 500;
+
+    public AuditLogWriter(JdbcTemplate jdbcTemplate,
+                          @Value("${app.audit.queue-capacity:10000}") int queueCapacity,
+                          @Value("${app.audit.batch-size:200}") int batchSize,
+                          @Value("${app.audit.offer-timeout-ms:50}") long offerTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.offerTimeoutMs = Math.max(0, offerTimeoutMs);
+    }
+
+    @PostConstruct
+    void start() {
+        long interval = Math.max(1, flushIntervalMs);
+        flusher.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (RuntimeException ex) {
+                // Uma exceção cancelaria as execuções seguintes
+                log.warn("Falha ao gravar logs de auditoria: {}", ex.getMessage());
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public void enqueueAdmin(int adminId, String action) {
+        enqueueAfterCommit(new Entry(true, adminId, action, LocalDateTime.now()));
+    }
+
+    public void enqueueUser(int userId, String action) {
+        enqueueAfterCommit(new Entry(false, userId, action, LocalDateTime.now()));
+    }
+
+    /**
+     * Grava tudo o que está na fila, em batches de {@code batch-size} linhas.
+     */
+    public void flush() {
+        List<Entry> drained = new ArrayList<>(batchSize);
+        while (queue.drainTo(drained, batchSize) > 0) {
+            write(drained);
+            drained.clear();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        if (dropped.get() > 0) {
+            log.warn("Logs de auditoria descartados por fila cheia desde o arranque: {}", dropped.get());
+        }
+    }
+
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    private void enqueueAfterCommit(Entry entry) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(entry);
+                }
+            });
+        } else {
+            enqueue(entry);
+        }
+    }
+
+    private void enqueue(Entry entry) {
+        try {
+            if (!queue.offer(entry, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                dropped.incrementAndGet();
+                log.warn("Fila de auditoria cheia; log descartado: {}", entry.action());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            dropped.incrementAndGet();
+        }
+    }
+
+    private void write(List<Entry> entries) {
+        List<Entry> admin = entries.stream().filter(Entry::admin).toList();
+        List<Entry> user = entries.stream().filter(entry -> !entry.admin()).toList();
+        insert(INSERT_ADMIN_SQL, admin);
+        insert(INSERT_USER_SQL, user);
+    }
+
+    private void insert(String sql, List<Entry> entries) {
+        if (entries.isEmpty()) return;
+        try {
+            jdbcTemplate.batchUpdate(sql, entries, entries.size(), this::bind);
+        } catch (Exception batchFailure) {
+            // Uma linha inválida (ex.: conta entretanto apagada) não deve levar o batch inteiro
+            log.warn("Batch de auditoria falhou ({}); a gravar linha a linha", batchFailure.getMessage());
+            for (Entry entry : entries) {
+                try {
+                    jdbcTemplate.update(sql, ps -> bind(ps, entry));
+                } catch (Exception ex) {
+                    log.warn("Não foi possível registar log de auditoria: {}", ex.getMessage());
+                }
+            }
+        }
+    }
+
+    private void bind(PreparedStatement ps, Entry entry) throws SQLException {
+        ps.setInt(1, entry.accountId());
+        ps.setString(2, entry.action());
+        ps.setTimestamp(3, Timestamp.valueOf(entry.timestamp()));
+    }
+
+    private record Entry(boolean admin, int accountId, String action, LocalDateTime timestamp) {}
+}
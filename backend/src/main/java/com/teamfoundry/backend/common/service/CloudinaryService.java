@@ -1,40 +1,75 @@
 package com.teamfoundry.backend.common.service;
 
 import com.cloudinary.Cloudinary;
+import com.cloudinary.Transformation;
 import com.cloudinary.utils.ObjectUtils;
-import lombok.Getter;
+import com.teamfoundry.backend.common.storage.FileStorage;
+import com.teamfoundry.backend.common.storage.ImageSize;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.util.Base64;
+import java.io.InputStream;
 import java.util.Map;
 import java.util.UUID;
 
+/**
+ * {@link FileStorage} no Cloudinary; implementação por omissão ({@code app.storage.type=cloudinary}).
+ */
 @Service
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "cloudinary", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
-public class CloudinaryService {
+public class CloudinaryService implements FileStorage {
 
     private static final String RESOURCE_SEPARATOR = "::";
+    private static final String IMAGE_UPLOAD_SEGMENT = "/image/upload/";
     private final Cloudinary cloudinary;
+    private final UploadConcurrencyLimiter uploadLimiter;
 
+    @Override
     public UploadResult uploadBase64(String rawBase64Payload, String folder, String originalName) {
         ensureConfigured();
-        if (!StringUtils.hasText(rawBase64Payload)) {
-            throw new IllegalArgumentException("Payload vazio.");
-        }
-        byte[] data = decodeBase64(rawBase64Payload);
-        return uploadBytes(data, folder, originalName);
+        return FileStorage.super.uploadBase64(rawBase64Payload, folder, originalName);
     }
 
+    @Override
     public UploadResult uploadBytes(byte[] data, String folder, String originalName) {
         ensureConfigured();
+        return uploadLimiter.run(() -> upload(data, folder, originalName));
+    }
+
+    /**
+     * Envia o ficheiro de um pedido multipart sem o carregar para memória: o conteúdo (já guardado
+     * pelo contentor em disco temporário) é lido do {@link InputStream} e enviado à medida que é lido.
+     */
+    @Override
+    public UploadResult uploadMultipart(MultipartFile file, String folder) {
+        ensureConfigured();
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("Ficheiro vazio.");
+        }
+        return uploadLimiter.run(() -> {
+            try (InputStream in = file.getInputStream()) {
+                return upload(in, folder, file.getOriginalFilename());
+            } catch (IOException e) {
+                log.error("Falha ao ler ficheiro enviado para a pasta {}", folder, e);
+                throw new IllegalStateException("Não foi possível guardar o ficheiro na cloud.");
+            }
+        });
+    }
+
+    /**
+     * {@code file} pode ser byte[] ou InputStream; o cliente HTTP envia o stream em blocos.
+     */
+    private UploadResult upload(Object file, String folder, String originalName) {
         try {
             String publicId = buildPublicId(folder, originalName);
-            Map<String, Object> result = cloudinary.uploader().upload(data, ObjectUtils.asMap(
+            Map<String, Object> result = cloudinary.uploader().upload(file, ObjectUtils.asMap(
                     "folder", folder,
                     "public_id", publicId,
                     "overwrite", true,
@@ -50,10 +85,11 @@ public class CloudinaryService {
             return new UploadResult(storedPublicId, secureUrl);
         } catch (IOException e) {
             log.error("Falha ao enviar ficheiro para Cloudinary na pasta {}", folder, e);
-            throw new IllegalStateException("N?o foi poss?vel guardar o ficheiro na cloud.");
+            throw new IllegalStateException("Não foi possível guardar o ficheiro na cloud.");
         }
     }
 
+    @Override
     public void delete(String publicId) {
         if (!StringUtils.hasText(publicId)) {
             return;
@@ -76,6 +112,7 @@ public class CloudinaryService {
      * Utilizado para imagens de indústrias/parceiros onde apenas o URL foi guardado.
      * Se o URL não parecer ser do Cloudinary desta aplicação, não faz nada.
      */
+    @Override
     public void deleteByUrl(String url) {
         if (!StringUtils.hasText(url)) {
             return;
@@ -127,12 +164,6 @@ public class CloudinaryService {
         }
     }
 
-    private byte[] decodeBase64(String raw) {
-        int commaIndex = raw.indexOf(',');
-        String cleaned = commaIndex >= 0 ? raw.substring(commaIndex + 1) : raw;
-        return Base64.getDecoder().decode(cleaned);
-    }
-
     private String buildPublicId(String folder, String originalName) {
         String suffix = UUID.randomUUID().toString();
         String base = "file";
@@ -159,6 +190,7 @@ public class CloudinaryService {
                 && StringUtils.hasText(cloudinary.config.apiSecret));
     }
 
+    @Override
     public String buildUrl(String storedPublicId) {
         if (!StringUtils.hasText(storedPublicId)) {
             return null;
@@ -166,6 +198,49 @@ public class CloudinaryService {
         return buildUrlInternal(storedPublicId);
     }
 
+    /**
+     * Derivada gerada pelo Cloudinary no primeiro pedido e guardada na CDN: reduz para caber no
+     * tamanho pedido ({@code c_limit}) e escolhe formato (WebP/AVIF/JPEG) e qualidade pelo browser.
+     */
+    @Override
+    public String buildImageUrl(String storedPublicId, ImageSize size) {
+        if (!StringUtils.hasText(storedPublicId)) {
+            return null;
+        }
+        ParsedId parsed = parseStoredId(storedPublicId);
+        if (parsed.legacyFormat() || !"image".equals(parsed.resourceType())) {
+            return buildUrlInternal(storedPublicId);
+        }
+        return cloudinary.url()
+                .secure(true)
+                .resourceType("image")
+                .type("upload")
+                .transformation(new Transformation()
+                        .width(size.pixels())
+                        .height(size.pixels())
+                        .crop("limit")
+                        .fetchFormat("auto")
+                        .quality("auto"))
+                .generate(parsed.publicId());
+    }
+
+    @Override
+    public String imageUrlFor(String url, ImageSize size) {
+        if (!StringUtils.hasText(url) || !url.contains("res.cloudinary.com")) {
+            return url;
+        }
+        int uploadIdx = url.indexOf(IMAGE_UPLOAD_SEGMENT);
+        if (uploadIdx < 0) {
+            return url;
+        }
+        int insertAt = uploadIdx + IMAGE_UPLOAD_SEGMENT.length();
+        return url.substring(0, insertAt) + transformationFor(size) + "/" + url.substring(insertAt);
+    }
+
+    private String transformationFor(ImageSize size) {
+        return "c_limit,f_auto,h_" + size.pixels() + ",q_auto,w_" + size.pixels();
+    }
+
     private String formatStoredId(String resourceType, String publicId) {
         String type = StringUtils.hasText(resourceType) ? resourceType : "image";
         return type + RESOURCE_SEPARATOR + publicId;
@@ -204,16 +279,5 @@ public class CloudinaryService {
                 .generate(parsed.publicId());
     }
 
-    @Getter
-    public static class UploadResult {
-        private final String publicId;
-        private final String url;
-
-        public UploadResult(String publicId, String url) {
-            this.publicId = publicId;
-            this.url = url;
-        }
-    }
-
     private record ParsedId(String resourceType, String publicId, boolean legacyFormat) { }
 }
@@ -0,0 +1,55 @@
+package com.teamfoundry.backend.common.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Limita quantos uploads para a cloud correm ao mesmo tempo neste nó. Cada upload em curso
+ * ocupa uma ligação de saída e os buffers do envio; acima do limite, o pedido espera até
+ * {@code acquire-timeout-ms} e depois recebe 503 em vez de acumular memória e ligações.
+ */
+@Component
+public class UploadConcurrencyLimiter {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+
+    public UploadConcurrencyLimiter(@Value("${app.uploads.max-concurrent:4}") int maxConcurrent,
+                                    @Value("${app.uploads.acquire-timeout-ms:5000}") long acquireTimeoutMs) {
+        this.permits = new Semaphore(Math.max(1, maxConcurrent), true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    public <T> T run(Supplier<T> upload) {
+        acquire();
+        try {
+            return upload.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    private void acquire() {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Demasiados uploads em curso. Tente novamente dentro de momentos.");
+        }
+    }
+}
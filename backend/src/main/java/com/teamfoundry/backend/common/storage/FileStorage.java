@@ -0,0 +1,71 @@
+package com.teamfoundry.backend.common.storage;
+
+import lombok.Getter;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.Base64;
+
+/**
+ * Armazenamento de ficheiros (documentos, fotos e imagens do site). A implementação é escolhida por
+ * ambiente com {@code app.storage.type}: {@code cloudinary} (por omissão) ou {@code local} (disco).
+ * O id devolvido no upload é opaco e é o que se guarda na base de dados; o URL público obtém-se
+ * sempre com {@link #buildUrl(String)}.
+ */
+public interface FileStorage {
+
+    /**
+     * Conteúdo em base64, com ou sem prefixo data-url.
+     */
+    default UploadResult uploadBase64(String rawBase64Payload, String folder, String originalName) {
+        if (!StringUtils.hasText(rawBase64Payload)) {
+            throw new IllegalArgumentException("Payload vazio.");
+        }
+        return uploadBytes(decodeBase64(rawBase64Payload), folder, originalName);
+    }
+
+    UploadResult uploadBytes(byte[] data, String folder, String originalName);
+
+    /**
+     * Ficheiro de um pedido multipart, lido em stream sem ser copiado para memória.
+     */
+    UploadResult uploadMultipart(MultipartFile file, String folder);
+
+    void delete(String storedId);
+
+    /**
+     * Remove a partir do URL público; ignora URLs que não pertencem a este armazenamento.
+     */
+    void deleteByUrl(String url);
+
+    String buildUrl(String storedId);
+
+    /**
+     * URL de uma versão reduzida da imagem guardada com este id; ficheiros que não são imagem
+     * devolvem o URL do original.
+     */
+    String buildImageUrl(String storedId, ImageSize size);
+
+    /**
+     * Como {@link #buildImageUrl(String, ImageSize)}, para imagens das quais só se guardou o URL
+     * (indústrias/parceiros). URLs de outra origem são devolvidos sem alteração.
+     */
+    String imageUrlFor(String url, ImageSize size);
+
+    static byte[] decodeBase64(String raw) {
+        int commaIndex = raw.indexOf(',');
+        String cleaned = commaIndex >= 0 ? raw.substring(commaIndex + 1) : raw;
+        return Base64.getDecoder().decode(cleaned);
+    }
+
+    @Getter
+    class UploadResult {
+        private final String publicId;
+        private final String url;
+
+        public UploadResult(String publicId, String url) {
+            this.publicId = publicId;
+            this.url = url;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.teamfoundry.backend.common.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Miniaturas JPEG das imagens do {@link LocalFileStorage}, geradas no primeiro pedido de cada tamanho
+ * e guardadas em {@code <root>/.derivatives}. O total em disco é limitado a {@code max-bytes}: acima
+ * disso são apagadas as menos usadas (LRU). Ao arrancar, as existentes entram por ordem de modificação.
+ * O original é descodificado já reduzido (subsampling), por isso uma foto grande não ocupa o heap inteira.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local")
+@Slf4j
+public class ImageDerivativeCache {
+
+    private static final Set<String> DECODABLE = Set.of("jpg", "jpeg", "png", "gif", "bmp");
+    private static final float JPEG_QUALITY = 0.82f;
+    private static final int LOCK_STRIPES = 64;
+
+    private final Path dir;
+    private final long maxBytes;
+    /** Nome relativo → bytes, por ordem de acesso (o primeiro é o menos usado). */
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private long totalBytes;
+
+    public ImageDerivativeCache(@Value("${app.storage.local.root-dir:uploads/storage}") String rootDir,
+                                @Value("${app.storage.local.derivatives.max-bytes:268435456}") long maxBytes) {
+        this.dir = Paths.get(rootDir).toAbsolutePath().normalize().resolve(".derivatives");
+        this.maxBytes = maxBytes;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new IllegalStateException("Não foi possível criar a pasta de miniaturas " + dir, e);
+        }
+        loadExisting();
+    }
+
+    /**
+     * Só formatos que o ImageIO lê sem plugins; os restantes são servidos no original.
+     */
+    static boolean supports(String fileName) {
+        String extension = StringUtils.getFilenameExtension(fileName);
+        return extension != null && DECODABLE.contains(extension.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Miniatura do original com este hash; vazia se o original não puder ser lido como imagem.
+     */
+    Optional<Path> get(Path original, String contentHash, ImageSize size) {
+        String name = nameFor(contentHash, size);
+        Path target = dir.resolve(name);
+        if (touch(name) && Files.exists(target)) {
+            return Optional.of(target);
+        }
+        synchronized (lockFor(name)) {
+            try {
+                if (!Files.exists(target)) {
+                    Optional<BufferedImage> scaled = render(original, size.pixels());
+                    if (scaled.isEmpty()) {
+                        return Optional.empty();
+                    }
+                    write(scaled.get(), target);
+                }
+                register(name, Files.size(target));
+                return Optional.of(target);
+            } catch (IOException e) {
+                log.warn("Falha ao gerar miniatura {}: {}", name, e.getMessage());
+                return Optional.empty();
+            }
+        }
+    }
+
+    /**
+     * Remove as miniaturas de um original apagado.
+     */
+    void evict(String contentHash) {
+        for (ImageSize size : ImageSize.values()) {
+            String name = nameFor(contentHash, size);
+            synchronized (this) {
+                Long bytes = entries.remove(name);
+                if (bytes != null) totalBytes -= bytes;
+            }
+            deleteQuietly(dir.resolve(name));
+        }
+    }
+
+    synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    private synchronized boolean touch(String name) {
+        return entries.get(name) != null;
+    }
+
+    private void register(String name, long bytes) {
+        List<String> evicted = new ArrayList<>();
+        synchronized (this) {
+            Long previous = entries.put(name, bytes);
+            totalBytes += bytes - (previous != null ? previous : 0);
+            Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, Long> entry = eldest.next();
+                if (entry.getKey().equals(name)) continue;
+                totalBytes -= entry.getValue();
+                evicted.add(entry.getKey());
+                eldest.remove();
+            }
+        }
+        evicted.forEach(evictedName -> deleteQuietly(dir.resolve(evictedName)));
+    }
+
+    private Optional<BufferedImage> render(Path original, int pixels) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(original.toFile())) {
+            if (in == null) return Optional.empty();
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) return Optional.empty();
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                ImageReadParam param = reader.getDefaultReadParam();
+                // Lê no máximo ~2x o tamanho final; o resto da redução é feito com interpolação
+                int step = Math.max(1, Math.max(width, height) / (pixels * 2));
+                param.setSourceSubsampling(step, step, 0, 0);
+                BufferedImage decoded = reader.read(0, param);
+                return Optional.of(scale(decoded, pixels));
+            } finally {
+                reader.dispose();
+            }
+        } catch (RuntimeException e) {
+            log.debug("Imagem {} não pôde ser descodificada: {}", original.getFileName(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage source, int pixels) {
+        double factor = Math.min(1.0, (double) pixels / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * factor));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * factor));
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            // JPEG não tem transparência: fundo branco
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private void write(BufferedImage image, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(dir, "derivative-", ".part");
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            try (ImageOutputStream out = ImageIO.createImageOutputStream(temp.toFile())) {
+                writer.setOutput(out);
+                writer.write(null, new IIOImage(image, null, null), param);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            writer.dispose();
+            deleteQuietly(temp);
+        }
+    }
+
+    private void loadExisting() {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.filter(Files::isRegularFile)
+                    .filter(file -> file.getFileName().toString().endsWith(".jpg"))
+                    .sorted(Comparator.comparing(ImageDerivativeCache::lastModified))
+                    .forEach(file -> {
+                        try {
+                            register(dir.relativize(file).toString().replace('\\', '/'), Files.size(file));
+                        } catch (IOException ignored) {
+                            // apagada entretanto
+                        }
+                    });
+        } catch (IOException e) {
+            log.warn("Falha ao ler miniaturas existentes em {}: {}", dir, e.getMessage());
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static String nameFor(String contentHash, ImageSize size) {
+        return contentHash.substring(0, 2) + "/" + contentHash + "-" + size.pixels() + ".jpg";
+    }
+
+    private Object lockFor(String name) {
+        return locks[Math.floorMod(name.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // fica para a próxima limpeza
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.teamfoundry.backend.common.storage;
+
+import java.util.Optional;
+
+/**
+ * Tamanhos fixos das imagens derivadas (miniaturas). A imagem é reduzida para caber num quadrado
+ * com este lado, mantendo a proporção e sem nunca ser ampliada.
+ */
+public enum ImageSize {
+    /** Avatares em listas compactas. */
+    SMALL(64),
+    /** Avatares nos resultados da pesquisa de candidatos. */
+    MEDIUM(128),
+    /** Cartões da homepage (indústrias e parceiros). */
+    LARGE(512);
+
+    private final int pixels;
+
+    ImageSize(int pixels) {
+        this.pixels = pixels;
+    }
+
+    public int pixels() {
+        return pixels;
+    }
+
+    public static Optional<ImageSize> ofPixels(int pixels) {
+        for (ImageSize size : values()) {
+            if (size.pixels == pixels) return Optional.of(size);
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,293 @@
+package com.teamfoundry.backend.common.storage;
+
+import com.teamfoundry.backend.common.service.UploadConcurrencyLimiter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * {@link FileStorage} em disco local ({@code app.storage.type=local}), para instalações sem Cloudinary
+ * e testes offline. Os caminhos são endereçados pelo conteúdo: {@code <pasta>/<aa>/<sha256>.<ext>}.
+ * O mesmo conteúdo na mesma pasta é guardado uma vez; um ficheiro {@code .refs} ao lado conta quantos
+ * registos o usam e só é apagado quando o último é removido (com as miniaturas). Os ficheiros são
+ * servidos por {@link LocalFileController}.
+ */
+@Service
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local")
+@Slf4j
+public class LocalFileStorage implements FileStorage {
+
+    static final String ID_PREFIX = "file::";
+    private static final String REFS_SUFFIX = ".refs";
+    private static final Pattern KEY = Pattern.compile("[a-z0-9_-]+/[0-9a-f]{2}/([0-9a-f]{64})(\\.[a-z0-9]{1,10})?");
+    private static final int LOCK_STRIPES = 64;
+
+    private final Path root;
+    private final Path tempDir;
+    private final String publicPath;
+    private final String baseUrl;
+    private final UploadConcurrencyLimiter uploadLimiter;
+    private final ImageDerivativeCache derivatives;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public LocalFileStorage(@Value("${app.storage.local.root-dir:uploads/storage}") String rootDir,
+                            @Value("${app.storage.local.public-path:/media/files}") String publicPath,
+                            @Value("${app.storage.local.base-url:}") String baseUrl,
+                            UploadConcurrencyLimiter uploadLimiter,
+                            ImageDerivativeCache derivatives) {
+        this.root = Paths.get(rootDir).toAbsolutePath().normalize();
+        this.tempDir = root.resolve(".tmp");
+        this.publicPath = normalizePublicPath(publicPath);
+        this.baseUrl = StringUtils.hasText(baseUrl) ? baseUrl.trim().replaceAll("/+$", "") : "";
+        this.uploadLimiter = uploadLimiter;
+        this.derivatives = derivatives;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        try {
+            Files.createDirectories(tempDir);
+        } catch (IOException e) {
+            throw new IllegalStateException("Não foi possível criar a pasta de armazenamento " + root, e);
+        }
+        log.info("Armazenamento local de ficheiros em {}", root);
+    }
+
+    @Override
+    public UploadResult uploadBytes(byte[] data, String folder, String originalName) {
+        return uploadLimiter.run(() -> store(new ByteArrayInputStream(data), folder, originalName));
+    }
+
+    @Override
+    public UploadResult uploadMultipart(MultipartFile file, String folder) {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("Ficheiro vazio.");
+        }
+        return uploadLimiter.run(() -> {
+            try (InputStream in = file.getInputStream()) {
+                return store(in, folder, file.getOriginalFilename());
+            } catch (IOException e) {
+                log.error("Falha ao ler ficheiro enviado para a pasta {}", folder, e);
+                throw new IllegalStateException("Não foi possível guardar o ficheiro.");
+            }
+        });
+    }
+
+    @Override
+    public void delete(String storedId) {
+        String key = keyOf(storedId);
+        if (key == null) {
+            if (StringUtils.hasText(storedId)) {
+                log.debug("Id {} não pertence ao armazenamento local; ignorar delete", storedId);
+            }
+            return;
+        }
+        Path target = root.resolve(key);
+        synchronized (lockFor(key)) {
+            try {
+                long remaining = readRefs(target) - 1;
+                if (remaining > 0) {
+                    writeRefs(target, remaining);
+                } else {
+                    Files.deleteIfExists(target);
+                    Files.deleteIfExists(refsFile(target));
+                    derivatives.evict(contentHash(key));
+                }
+            } catch (IOException e) {
+                log.warn("Falha ao remover {} do armazenamento local: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void deleteByUrl(String url) {
+        if (!StringUtils.hasText(url)) {
+            return;
+        }
+        int idx = url.indexOf(publicPath + "/");
+        if (idx < 0) {
+            return;
+        }
+        delete(ID_PREFIX + url.substring(idx + publicPath.length() + 1));
+    }
+
+    @Override
+    public String buildUrl(String storedId) {
+        String key = keyOf(storedId);
+        return key == null ? null : baseUrl + publicPath + "/" + key;
+    }
+
+    /**
+     * Miniatura servida pelo {@link LocalFileController} ({@code ?size=}), gerada no primeiro pedido.
+     */
+    @Override
+    public String buildImageUrl(String storedId, ImageSize size) {
+        String url = buildUrl(storedId);
+        return url != null && ImageDerivativeCache.supports(url) ? url + "?size=" + size.pixels() : url;
+    }
+
+    @Override
+    public String imageUrlFor(String url, ImageSize size) {
+        if (!StringUtils.hasText(url) || url.contains("?")) {
+            return url;
+        }
+        int idx = url.indexOf(publicPath + "/");
+        if (idx < 0 || !ImageDerivativeCache.supports(url)
+                || !KEY.matcher(url.substring(idx + publicPath.length() + 1)).matches()) {
+            return url;
+        }
+        return url + "?size=" + size.pixels();
+    }
+
+    String publicPath() {
+        return publicPath;
+    }
+
+    /**
+     * Ficheiro guardado para a chave pedida num URL; vazio se a chave não for válida ou não existir.
+     */
+    Optional<Path> resolve(String key) {
+        if (key == null || !KEY.matcher(key).matches()) {
+            return Optional.empty();
+        }
+        Path file = root.resolve(key);
+        return Files.isRegularFile(file) ? Optional.of(file) : Optional.empty();
+    }
+
+    /**
+     * Miniatura da imagem com esta chave; vazia se a chave não existir ou não for uma imagem legível.
+     */
+    Optional<Path> derivative(String key, ImageSize size) {
+        if (!ImageDerivativeCache.supports(key)) {
+            return Optional.empty();
+        }
+        return resolve(key).flatMap(original -> derivatives.get(original, contentHash(key), size));
+    }
+
+    /**
+     * Hash do conteúdo contido na chave, usado como ETag forte.
+     */
+    static String contentHash(String key) {
+        var matcher = KEY.matcher(key);
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    private UploadResult store(InputStream in, String folder, String originalName) {
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(tempDir, "upload-", ".part");
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            try (InputStream digesting = new DigestInputStream(in, sha256)) {
+                Files.copy(digesting, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String hash = HexFormat.of().formatHex(sha256.digest());
+            String key = folderOf(folder) + "/" + hash.substring(0, 2) + "/" + hash + extensionOf(originalName);
+            Path target = root.resolve(key);
+            synchronized (lockFor(key)) {
+                if (Files.exists(target)) {
+                    writeRefs(target, readRefs(target) + 1);
+                } else {
+                    Files.createDirectories(target.getParent());
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                    writeRefs(target, 1);
+                }
+            }
+            String storedId = ID_PREFIX + key;
+            return new UploadResult(storedId, buildUrl(storedId));
+        } catch (IOException | NoSuchAlgorithmException e) {
+            log.error("Falha ao guardar ficheiro na pasta {}", folder, e);
+            throw new IllegalStateException("Não foi possível guardar o ficheiro.");
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // ficheiro temporário fica para limpeza manual
+                }
+            }
+        }
+    }
+
+    private String keyOf(String storedId) {
+        if (storedId == null || !storedId.startsWith(ID_PREFIX)) {
+            return null;
+        }
+        String key = storedId.substring(ID_PREFIX.length());
+        return KEY.matcher(key).matches() ? key : null;
+    }
+
+    /**
+     * Ficheiros sem {@code .refs} (copiados à mão) contam como uma referência.
+     */
+    private long readRefs(Path target) throws IOException {
+        Path refs = refsFile(target);
+        if (!Files.exists(refs)) {
+            return Files.exists(target) ? 1 : 0;
+        }
+        try {
+            return Long.parseLong(Files.readString(refs, StandardCharsets.US_ASCII).trim());
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+
+    private void writeRefs(Path target, long count) throws IOException {
+        Files.writeString(refsFile(target), Long.toString(count), StandardCharsets.US_ASCII);
+    }
+
+    private Path refsFile(Path target) {
+        return target.resolveSibling(target.getFileName() + REFS_SUFFIX);
+    }
+
+    private Object lockFor(String key) {
+        return locks[Math.floorMod(key.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static String folderOf(String folder) {
+        String cleaned = StringUtils.hasText(folder)
+                ? folder.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9_-]", "-")
+                : "";
+        return cleaned.isEmpty() ? "misc" : cleaned;
+    }
+
+    private static String extensionOf(String originalName) {
+        String extension = StringUtils.getFilenameExtension(originalName);
+        if (!StringUtils.hasText(extension)) {
+            return "";
+        }
+        String cleaned = extension.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "");
+        return cleaned.isEmpty() || cleaned.length() > 10 ? "" : "." + cleaned;
+    }
+
+    private static String normalizePublicPath(String path) {
+        if (!StringUtils.hasText(path)) {
+            return "/media/files";
+        }
+        String normalized = path.trim();
+        if (!normalized.startsWith("/")) {
+            normalized = "/" + normalized;
+        }
+        if (normalized.endsWith("/")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        return normalized;
+    }
+}
@@ -7,8 +7,13 @@ import com.teamfoundry.backend.account.repository.employee.documents.EmployeeDoc
 import com.teamfoundry.backend.account.repository.employee.profile.EmployeeSkillRepository;
 import com.teamfoundry.backend.account.repository.employee.profile.EmployeeRoleRepository;
 import com.teamfoundry.backend.account.repository.employee.profile.EmployeeGeoAreaRepository;
-import com.teamfoundry.backend.common.service.CloudinaryService;
+import com.teamfoundry.backend.account.service.employee.EmployeeProfileCache;
+import com.teamfoundry.backend.common.storage.FileStorage;
 import com.teamfoundry.backend.auth.repository.AuthTokenRepository;
+import com.teamfoundry.backend.auth.repository.RefreshTokenRepository;
+import com.teamfoundry.backend.auth.service.UserDetailsCache;
+import com.teamfoundry.backend.teamRequests.service.CandidateSearchIndex;
+import com.teamfoundry.backend.superadmin.service.metrics.MetricsCounters;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -32,7 +37,12 @@ public class AccountCleanupService {
     private final EmployeeGeoAreaRepository employeeGeoAreaRepository;
     private final EmployeeDocumentRepository employeeDocumentRepository;
     private final AuthTokenRepository authTokenRepository;
-    private final CloudinaryService cloudinaryService;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final FileStorage fileStorage;
+    private final CandidateSearchIndex candidateSearchIndex;
+    private final UserDetailsCache userDetailsCache;
+    private final EmployeeProfileCache employeeProfileCache;
+    private final MetricsCounters metricsCounters;
 
     /**
      * Remove um EmployeeAccount e todas as dependências pelo email informado.
@@ -50,12 +60,19 @@ public class AccountCleanupService {
         employeeSkillRepository.deleteByEmployee(account);
         employeeGeoAreaRepository.deleteByEmployee(account);
         List<EmployeeDocument> documents = employeeDocumentRepository.findAllByEmployee(account);
-        documents.forEach(doc -> cloudinaryService.delete(doc.getPublicId()));
+        documents.forEach(doc -> fileStorage.delete(doc.getPublicId()));
         employeeDocumentRepository.deleteAll(documents);
-        cloudinaryService.delete(account.getProfilePicturePublicId());
+        fileStorage.delete(account.getProfilePicturePublicId());
         authTokenRepository.deleteAllByUser(account);
+        refreshTokenRepository.deleteAllByUser(account);
 
         employeeAccountRepository.delete(account);
+        if (!account.isDeactivated()) {
+            metricsCounters.employeeDeactivated();
+        }
+        candidateSearchIndex.refreshAfterCommit(account.getId());
+        userDetailsCache.evictAfterCommit(account.getEmail());
+        employeeProfileCache.evictAfterCommit(account.getEmail());
         log.info("Conta {} removida com sucesso.", email);
     }
 }
@@ -0,0 +1,114 @@
+package com.teamfoundry.backend.common.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Cache local (por nó) limitado em número de entradas (LRU) e com TTL.
+ * O carregamento corre fora do lock; um valor carregado enquanto houve uma remoção da mesma
+ * chave não é guardado, para não repor um estado anterior à alteração. As remoções ficam
+ * registadas por chave (até {@code maxEntries} chaves; se uma marca mais antiga for descartada,
+ * as cargas iniciadas antes dela também não são guardadas).
+ * Valores nulos e exceções do loader não ficam em cache.
+ */
+public class BoundedTtlCache<K, V> {
+
+    private final long ttlNanos;
+    private final Map<K, Entry<V>> entries;
+    /** Número de ordem da última remoção de cada chave, pela ordem das remoções. */
+    private final Map<K, Long> evictedAt;
+    private long evictions;
+    /** Maior número de ordem já descartado de {@link #evictedAt}. */
+    private long forgottenEvictions;
+
+    public BoundedTtlCache(Duration ttl, int maxEntries) {
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.evictedAt = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Long> eldest) {
+                if (size() > maxEntries) {
+                    forgottenEvictions = Math.max(forgottenEvictions, eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public V get(K key, Function<K, V> loader) {
+        long now = System.nanoTime();
+        long generation;
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && now - entry.loadedAt() < ttlNanos) {
+                return entry.value();
+            }
+            generation = evictions;
+        }
+        V loaded = loader.apply(key);
+        if (loaded != null) {
+            synchronized (entries) {
+                if (generation >= forgottenEvictions && evictedAt.getOrDefault(key, 0L) <= generation) {
+                    entries.put(key, new Entry<>(loaded, now));
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Valor em cache e ainda dentro do TTL, sem carregar nada.
+     */
+    public V getIfPresent(K key) {
+        long now = System.nanoTime();
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            return entry != null && now - entry.loadedAt() < ttlNanos ? entry.value() : null;
+        }
+    }
+
+    public void put(K key, V value) {
+        if (key == null || value == null) return;
+        synchronized (entries) {
+            entries.put(key, new Entry<>(value, System.nanoTime()));
+        }
+    }
+
+    public void evict(K key) {
+        if (key == null) return;
+        synchronized (entries) {
+            entries.remove(key);
+            evictedAt.remove(key);
+            evictedAt.put(key, ++evictions);
+        }
+    }
+
+    /**
+     * Remove já e novamente depois do commit da transação atual (se existir), para que
+     * um pedido concorrente não volte a guardar o valor anterior à alteração.
+     */
+    public void evictAfterCommit(K key) {
+        evict(key);
+        if (key != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(key);
+                }
+            });
+        }
+    }
+
+    private record Entry<V>(V value, long loadedAt) {}
+}
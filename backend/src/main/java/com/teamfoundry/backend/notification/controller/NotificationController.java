@@ -1,6 +1,6 @@
 package com.teamfoundry.backend.notification.controller;
 
-import com.teamfoundry.backend.notification.dto.NotificationDTO;
+import com.teamfoundry.backend.notification.dto.NotificationPageDTO;
 import com.teamfoundry.backend.notification.service.NotificationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -8,7 +8,7 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/notifications")
@@ -16,19 +16,21 @@ import java.util.List;
 public class NotificationController {
     private final NotificationService notificationService;
 
-    private static final org.slf4j.Logger LOGGER = org.slf4j.LoggerFactory.getLogger(NotificationController.class);
-
     @GetMapping
-    public ResponseEntity<List<NotificationDTO>> getNotifications(@AuthenticationPrincipal UserDetails userDetails) {
-        LOGGER.info("Fetching notifications for user: {}", userDetails.getUsername());
-        List<NotificationDTO> result = notificationService.getUserNotifications(userDetails.getUsername());
-        LOGGER.info("Found {} notifications for user: {}", result.size(), userDetails.getUsername());
-        return ResponseEntity.ok(result); 
+    public ResponseEntity<NotificationPageDTO> getNotifications(@AuthenticationPrincipal UserDetails userDetails,
+                                                                @RequestParam(name = "cursor", required = false) Integer cursor,
+                                                                @RequestParam(name = "size", required = false) Integer size) {
+        return ResponseEntity.ok(notificationService.getUserNotifications(userDetails.getUsername(), cursor, size));
+    }
+
+    @GetMapping("/unread-count")
+    public ResponseEntity<Map<String, Long>> getUnreadCount(@AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(Map.of("unreadCount", notificationService.countUnread(userDetails.getUsername())));
     }
 
     @PatchMapping("/{id}/read")
-    public ResponseEntity<Void> markAsRead(@PathVariable Integer id) {
-        notificationService.markAsRead(id);
+    public ResponseEntity<Void> markAsRead(@AuthenticationPrincipal UserDetails userDetails, @PathVariable Integer id) {
+        notificationService.markAsRead(userDetails.getUsername(), id);
         return ResponseEntity.ok().build();
     }
 
@@ -0,0 +1,19 @@
+package com.teamfoundry.backend.notification.dto;
+
+import com.teamfoundry.backend.account.model.Account;
+import com.teamfoundry.backend.notification.enums.NotificationType;
+
+/**
+ * Notificação ainda por gravar, usada na escrita em lote. Guarda apenas o id e o email do
+ * destinatário para poder ser gravada depois do commit, já sem sessão JPA.
+ */
+public record NotificationDraft(Integer userId,
+                                String email,
+                                String message,
+                                NotificationType type,
+                                Integer relatedEntityId) {
+
+    public static NotificationDraft of(Account user, String message, NotificationType type, Integer relatedEntityId) {
+        return new NotificationDraft(user.getId(), user.getEmail(), message, type, relatedEntityId);
+    }
+}
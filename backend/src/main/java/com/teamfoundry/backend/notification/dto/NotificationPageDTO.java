@@ -0,0 +1,19 @@
+package com.teamfoundry.backend.notification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de notificações; {@code nextCursor} é o id a passar como cursor no pedido seguinte
+ * (nulo na última página).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationPageDTO {
+    private List<NotificationDTO> items;
+    private Integer nextCursor;
+}
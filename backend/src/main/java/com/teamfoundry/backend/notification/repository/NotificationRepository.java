@@ -1,13 +1,49 @@
 package com.teamfoundry.backend.notification.repository;
 
 import com.teamfoundry.backend.notification.model.Notification;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Integer> {
-    List<Notification> findByUserIdOrderByCreatedAtDesc(Integer userId);
     long countByUserIdAndIsReadFalse(Integer userId);
+
+    /**
+     * Primeira página (mais recentes primeiro); o id é crescente, por isso serve de cursor.
+     */
+    @Query("SELECT n FROM Notification n WHERE n.user.email = :email ORDER BY n.id DESC")
+    List<Notification> findLatestByUserEmail(@Param("email") String email, Limit limit);
+
+    @Query("SELECT n FROM Notification n WHERE n.user.email = :email AND n.id < :beforeId ORDER BY n.id DESC")
+    List<Notification> findByUserEmailBefore(@Param("email") String email,
+                                             @Param("beforeId") Integer beforeId,
+                                             Limit limit);
+
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.user.email = :email AND n.isRead = false")
+    long countUnreadByUserEmail(@Param("email") String email);
+
+    @Modifying
+    @Query("""
+            UPDATE Notification n
+            SET n.isRead = true
+            WHERE n.id = :id
+              AND n.isRead = false
+              AND n.user.id = (SELECT a.id FROM Account a WHERE a.email = :email)
+            """)
+    int markAsRead(@Param("id") Integer id, @Param("email") String email);
+
+    @Modifying
+    @Query("""
+            UPDATE Notification n
+            SET n.isRead = true
+            WHERE n.isRead = false
+              AND n.user.id = (SELECT a.id FROM Account a WHERE a.email = :email)
+            """)
+    int markAllAsRead(@Param("email") String email);
 }
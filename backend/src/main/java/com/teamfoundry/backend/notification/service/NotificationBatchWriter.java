@@ -0,0 +1,57 @@
+package com.teamfoundry.backend.notification.service;
+
+import com.teamfoundry.backend.notification.dto.NotificationDraft;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Grava notificações em lote com batching JDBC. O id da tabela é IDENTITY, o que impede o
+ * Hibernate de agrupar os INSERT; aqui cada lote de {@code batchSize} linhas segue num único
+ * envio ao driver, numa transação própria.
+ */
+@Component
+public class NotificationBatchWriter {
+
+    static final String INSERT_SQL = "INSERT INTO notification (user_id, message, type, is_read, related_entity_id, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate writeTransaction;
+    private final int batchSize;
+
+    public NotificationBatchWriter(JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${app.notifications.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public void insert(List<NotificationDraft> drafts) {
+        if (drafts == null || drafts.isEmpty()) return;
+        Timestamp createdAt = Timestamp.from(Instant.now());
+        writeTransaction.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_SQL, drafts, batchSize, (ps, draft) -> {
+                    ps.setInt(1, draft.userId());
+                    ps.setString(2, draft.message());
+                    ps.setString(3, draft.type().name());
+                    ps.setBoolean(4, false);
+                    if (draft.relatedEntityId() != null) {
+                        ps.setInt(5, draft.relatedEntityId());
+                    } else {
+                        ps.setNull(5, Types.INTEGER);
+                    }
+                    ps.setTimestamp(6, createdAt);
+                }));
+    }
+}
@@ -1,23 +1,30 @@
 package com.teamfoundry.backend.notification.service;
 
 import com.teamfoundry.backend.account.model.Account;
-import com.teamfoundry.backend.account.repository.AccountRepository;
 import com.teamfoundry.backend.notification.dto.NotificationDTO;
+import com.teamfoundry.backend.notification.dto.NotificationDraft;
+import com.teamfoundry.backend.notification.dto.NotificationPageDTO;
 import com.teamfoundry.backend.notification.enums.NotificationType;
 import com.teamfoundry.backend.notification.model.Notification;
 import com.teamfoundry.backend.notification.repository.NotificationRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+
     private final NotificationRepository notificationRepository;
-    private final AccountRepository accountRepository;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+    private final NotificationBatchWriter notificationBatchWriter;
     
     private static final org.slf4j.Logger LOGGER = org.slf4j.LoggerFactory.getLogger(NotificationService.class);
 
@@ -31,33 +38,82 @@ public class NotificationService {
         notification.setRelatedEntityId(relatedEntityId);
         notification.setRead(false);
         notificationRepository.saveAndFlush(notification);
+        unreadNotificationCounter.evictAfterCommit(user.getEmail());
     }
-    
+
+    /**
+     * Cria as notificações de um envio em massa depois do commit da transação atual (ou já,
+     * se não houver transação): um INSERT em lote em vez de um {@code saveAndFlush} por
+     * destinatário, e sem prolongar os locks da transação de origem. Uma falha aqui não
+     * desfaz o que já foi gravado; fica apenas registada.
+     */
+    public void createNotificationsAfterCommit(List<NotificationDraft> drafts) {
+        if (drafts == null || drafts.isEmpty()) return;
+        List<NotificationDraft> batch = List.copyOf(drafts);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    writeBatch(batch);
+                }
+            });
+        } else {
+            writeBatch(batch);
+        }
+    }
+
+    private void writeBatch(List<NotificationDraft> batch) {
+        long start = System.nanoTime();
+        try {
+            notificationBatchWriter.insert(batch);
+        } catch (RuntimeException ex) {
+            LOGGER.error("Falha ao gravar {} notificações em lote", batch.size(), ex);
+            return;
+        }
+        batch.stream().map(NotificationDraft::email).distinct().forEach(unreadNotificationCounter::evict);
+        LOGGER.info("Gravadas {} notificações em lote em {} ms", batch.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Página de notificações (mais recentes primeiro) por keyset no id: {@code cursor} é o
+     * {@code nextCursor} da página anterior, ou nulo para a primeira.
+     */
     @Transactional(readOnly = true)
-    public List<NotificationDTO> getUserNotifications(String email) {
-        Account user = accountRepository.findByEmail(email)
-            .orElseThrow(() -> new RuntimeException("User not found"));
-        return notificationRepository.findByUserIdOrderByCreatedAtDesc(user.getId()).stream()
-            .map(this::mapToDTO)
-            .collect(Collectors.toList());
+    public NotificationPageDTO getUserNotifications(String email, Integer cursor, Integer size) {
+        int limit = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<Notification> rows = cursor == null
+                ? notificationRepository.findLatestByUserEmail(email, Limit.of(limit + 1))
+                : notificationRepository.findByUserEmailBefore(email, cursor, Limit.of(limit + 1));
+        List<NotificationDTO> items = rows.stream()
+                .limit(limit)
+                .map(this::mapToDTO)
+                .toList();
+        Integer nextCursor = rows.size() > limit ? items.getLast().getId() : null;
+        return new NotificationPageDTO(items, nextCursor);
     }
-    
-    public void markAsRead(Integer notificationId) {
-        notificationRepository.findById(notificationId).ifPresent(n -> {
-            n.setRead(true);
-            notificationRepository.save(n);
-        });
+
+    public long countUnread(String email) {
+        return unreadNotificationCounter.get(email);
+    }
+
+    /**
+     * Marca uma notificação do próprio utilizador como lida (sem efeito se já estiver lida ou for de outro).
+     */
+    @Transactional
+    public void markAsRead(String email, Integer notificationId) {
+        if (notificationRepository.markAsRead(notificationId, email) > 0) {
+            unreadNotificationCounter.evictAfterCommit(email);
+        }
     }
 
+    /**
+     * Um único UPDATE em massa, sem carregar as notificações.
+     */
     @Transactional
     public void markAllAsRead(String email) {
-        Account user = accountRepository.findByEmail(email)
-            .orElseThrow(() -> new RuntimeException("User not found"));
-        List<Notification> unread = notificationRepository.findByUserIdOrderByCreatedAtDesc(user.getId()).stream()
-                .filter(n -> !n.isRead())
-                .collect(Collectors.toList());
-        unread.forEach(n -> n.setRead(true));
-        notificationRepository.saveAll(unread);
+        if (notificationRepository.markAllAsRead(email) > 0) {
+            unreadNotificationCounter.evictAfterCommit(email);
+        }
     }
 
     private NotificationDTO mapToDTO(Notification n) {
@@ -0,0 +1,39 @@
+package com.teamfoundry.backend.notification.service;
+
+import com.teamfoundry.backend.common.util.BoundedTtlCache;
+import com.teamfoundry.backend.notification.repository.NotificationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Contador de notificações por ler, em cache por utilizador (email), para o polling do dashboard.
+ * Qualquer escrita nas notificações de um utilizador remove a entrada; a próxima leitura
+ * volta a contar na base de dados. O TTL cobre alterações feitas noutro nó.
+ */
+@Component
+public class UnreadNotificationCounter {
+
+    private final NotificationRepository notificationRepository;
+    private final BoundedTtlCache<String, Long> cache;
+
+    public UnreadNotificationCounter(NotificationRepository notificationRepository,
+                                     @Value("${app.notifications.unread-cache.ttl-seconds:30}") long ttlSeconds,
+                                     @Value("${app.notifications.unread-cache.max-entries:10000}") int maxEntries) {
+        this.notificationRepository = notificationRepository;
+        this.cache = new BoundedTtlCache<>(Duration.ofSeconds(ttlSeconds), maxEntries);
+    }
+
+    public long get(String email) {
+        return cache.get(email, notificationRepository::countUnreadByUserEmail);
+    }
+
+    public void evict(String email) {
+        cache.evict(email);
+    }
+
+    public void evictAfterCommit(String email) {
+        cache.evictAfterCommit(email);
+    }
+}
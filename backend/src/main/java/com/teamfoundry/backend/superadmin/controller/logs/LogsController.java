@@ -1,6 +1,7 @@
 package com.teamfoundry.backend.superadmin.controller.logs;
 
 import com.teamfoundry.backend.superadmin.dto.logs.LogEntryResponse;
+import com.teamfoundry.backend.superadmin.dto.logs.LogPageResponse;
 import com.teamfoundry.backend.superadmin.service.logs.LogsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -27,4 +28,19 @@ public class LogsController {
     ) {
         return logsService.search(type, year, month, query, limit);
     }
+
+    /**
+     * Pesquisa paginada por keyset: passar o {@code nextCursor} da página anterior em {@code cursor}.
+     */
+    @GetMapping("/page")
+    public LogPageResponse searchLogsPage(
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam(value = "year", required = false) Integer year,
+            @RequestParam(value = "month", required = false) Integer month,
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "cursor", required = false) String cursor
+    ) {
+        return logsService.searchPage(type, year, month, query, limit, cursor);
+    }
 }
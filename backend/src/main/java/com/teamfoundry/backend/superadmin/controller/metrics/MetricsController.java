@@ -1,12 +1,25 @@
 package com.teamfoundry.backend.superadmin.controller.metrics;
 
+import com.teamfoundry.backend.account.service.PendingAccountCleanupJob;
+import com.teamfoundry.backend.auth.service.ExpiredTokenSweeper;
+import com.teamfoundry.backend.auth.service.PasswordHashingExecutor;
+import com.teamfoundry.backend.common.mail.EmailOutboxWorker;
+import com.teamfoundry.backend.superadmin.dto.metrics.MetricSeriesResponse;
 import com.teamfoundry.backend.superadmin.dto.metrics.MetricsOverviewResponse;
+import com.teamfoundry.backend.superadmin.enums.MetricKey;
+import com.teamfoundry.backend.superadmin.service.metrics.MetricsHistoryService;
 import com.teamfoundry.backend.superadmin.service.metrics.MetricsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
+import java.util.List;
+
 /**
  * Endpoints de métricas agregadas para o painel do super administrador.
  */
@@ -16,9 +29,63 @@ import org.springframework.web.bind.annotation.RestController;
 public class MetricsController {
 
     private final MetricsService metricsService;
+    private final MetricsHistoryService metricsHistoryService;
+    private final PendingAccountCleanupJob pendingAccountCleanupJob;
+    private final ExpiredTokenSweeper expiredTokenSweeper;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final EmailOutboxWorker emailOutboxWorker;
 
     @GetMapping("/overview")
     public MetricsOverviewResponse getOverview() {
         return metricsService.getOverview();
     }
+
+    /**
+     * Séries diárias (ou agregadas por semana/mês em intervalos longos) para os gráficos de tendência.
+     */
+    @GetMapping("/series")
+    public List<MetricSeriesResponse> getSeries(
+            @RequestParam(required = false) List<MetricKey> metrics,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer adminId,
+            @RequestParam(required = false) Integer maxPoints) {
+        return metricsHistoryService.series(metrics, from, to, adminId, maxPoints);
+    }
+
+    /**
+     * Progresso da limpeza de contas pendentes nesta instância; 204 se ainda não correu aqui.
+     */
+    @GetMapping("/pending-cleanup")
+    public ResponseEntity<PendingAccountCleanupJob.RunProgress> getPendingCleanupProgress() {
+        return pendingAccountCleanupJob.progress()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    /**
+     * Último varrimento de tokens expirados nesta instância (removidos, ritmo e tamanho das tabelas).
+     */
+    @GetMapping("/token-sweep")
+    public ResponseEntity<ExpiredTokenSweeper.SweepStats> getTokenSweepStats() {
+        return expiredTokenSweeper.lastSweep()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    /**
+     * Pool de hashing de passwords nesta instância: custo do BCrypt, threads ocupadas, fila e recusas.
+     */
+    @GetMapping("/password-hashing")
+    public PasswordHashingExecutor.Stats getPasswordHashingStats() {
+        return passwordHashingExecutor.stats();
+    }
+
+    /**
+     * Outbox de e-mails: pendentes, sem mais tentativas (DEAD) e a última passagem do worker nesta instância.
+     */
+    @GetMapping("/email-outbox")
+    public EmailOutboxWorker.Stats getEmailOutboxStats() {
+        return emailOutboxWorker.stats();
+    }
 }
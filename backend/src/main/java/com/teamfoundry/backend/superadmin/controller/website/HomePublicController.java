@@ -1,15 +1,16 @@
 package com.teamfoundry.backend.superadmin.controller.website;
 
-import com.teamfoundry.backend.superadmin.dto.home.sections.LoggedIn.HomeLoginConfigResponse;
-import com.teamfoundry.backend.superadmin.dto.home.sections.noLogin.HomeNoLoginConfigResponse;
-import com.teamfoundry.backend.superadmin.dto.other.WeeklyTipsPageResponse;
 import com.teamfoundry.backend.superadmin.dto.home.HomeUnifiedResponse;
 import com.teamfoundry.backend.superadmin.dto.home.HomeUnifiedUpdateRequest;
 import com.teamfoundry.backend.superadmin.service.home.HomeContentService;
+import com.teamfoundry.backend.superadmin.service.home.PublicHomeSnapshot.View;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -20,19 +21,25 @@ public class HomePublicController {
 
     private final HomeContentService service;
 
+    /*
+     * Respostas públicas servidas do snapshot pré-serializado: 304 com If-None-Match, gzip quando aceite.
+     */
     @GetMapping("/homepage")
-    public HomeNoLoginConfigResponse homepage() {
-        return service.getPublicHomepage();
+    public ResponseEntity<byte[]> homepage(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                           @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return service.getPublicSnapshot(View.HOMEPAGE).toResponse(ifNoneMatch, acceptEncoding);
     }
 
     @GetMapping("/app-home")
-    public HomeLoginConfigResponse appHome() {
-        return service.getPublicHomeLogin();
+    public ResponseEntity<byte[]> appHome(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                          @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return service.getPublicSnapshot(View.APP_HOME).toResponse(ifNoneMatch, acceptEncoding);
     }
 
     @GetMapping("/weekly-tips")
-    public WeeklyTipsPageResponse weeklyTips() {
-        return service.getPublicWeeklyTips();
+    public ResponseEntity<byte[]> weeklyTips(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                             @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return service.getPublicSnapshot(View.WEEKLY_TIPS).toResponse(ifNoneMatch, acceptEncoding);
     }
 
     @GetMapping("/home")
@@ -7,5 +7,6 @@ public record IndustryShowcaseResponse(
         String imageUrl,
         String linkUrl,
         boolean active,
-        int displayOrder
+        int displayOrder,
+        String thumbnailUrl
 ) {}
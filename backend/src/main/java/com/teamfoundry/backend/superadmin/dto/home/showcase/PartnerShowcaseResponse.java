@@ -7,5 +7,6 @@ public record PartnerShowcaseResponse(
         String imageUrl,
         String websiteUrl,
         boolean active,
-        int displayOrder
+        int displayOrder,
+        String thumbnailUrl
 ) {}
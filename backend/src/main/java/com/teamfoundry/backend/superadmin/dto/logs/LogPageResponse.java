@@ -0,0 +1,12 @@
+package com.teamfoundry.backend.superadmin.dto.logs;
+
+import java.util.List;
+
+/**
+ * Página da pesquisa de logs, do mais recente para o mais antigo.
+ * {@code nextCursor} é nulo na última página.
+ */
+public record LogPageResponse(
+        List<LogEntryResponse> items,
+        String nextCursor
+) {}
@@ -0,0 +1,24 @@
+package com.teamfoundry.backend.superadmin.dto.metrics;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Série temporal de uma métrica para os gráficos de tendência do painel de super admin.
+ * Com granularidade WEEK ou MONTH, cada ponto resume os dias do período (último valor, mínimo e máximo).
+ */
+public record MetricSeriesResponse(
+        String metric,
+        Integer adminId,
+        String granularity,
+        List<Point> points
+) {
+
+    public record Point(
+            LocalDate date,
+            long value,
+            long min,
+            long max
+    ) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.teamfoundry.backend.superadmin.enums;
+
+/**
+ * Métricas guardadas nos snapshots diários do painel do super admin.
+ */
+public enum MetricKey {
+    ACTIVE_COMPANIES,
+    PENDING_COMPANIES,
+    ACTIVE_EMPLOYEES,
+    OPEN_REQUESTS,
+    CLOSED_REQUESTS,
+    /** Requisições por concluir de um admin; uma série por admin. */
+    ADMIN_WORKLOAD
+}
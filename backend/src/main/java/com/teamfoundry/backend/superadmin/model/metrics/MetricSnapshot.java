@@ -0,0 +1,40 @@
+package com.teamfoundry.backend.superadmin.model.metrics;
+
+import com.teamfoundry.backend.superadmin.enums.MetricKey;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Valor de uma métrica no fim de um dia. {@code scopeId} é 0 nas métricas globais
+ * e o id do admin em {@link MetricKey#ADMIN_WORKLOAD}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "metric_snapshot",
+        uniqueConstraints = @UniqueConstraint(name = "uk_metric_snapshot_metric_scope_day",
+                columnNames = {"metric", "scope_id", "snapshot_date"}))
+public class MetricSnapshot {
+
+    public static final int GLOBAL_SCOPE = 0;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private int id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private MetricKey metric;
+
+    @Column(name = "scope_id", nullable = false)
+    private int scopeId;
+
+    @Column(name = "snapshot_date", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "metric_value", nullable = false)
+    private long value;
+}
@@ -0,0 +1,46 @@
+package com.teamfoundry.backend.superadmin.repository.metrics;
+
+import com.teamfoundry.backend.superadmin.enums.MetricKey;
+import com.teamfoundry.backend.superadmin.model.metrics.MetricSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Snapshots diários das métricas; as leituras usam o índice único (metric, scope_id, snapshot_date).
+ */
+public interface MetricSnapshotRepository extends JpaRepository<MetricSnapshot, Integer> {
+
+    /**
+     * Pontos diários ordenados por série; com {@code adminId} só devolve as métricas globais
+     * e a carga desse admin.
+     */
+    @Query("""
+            SELECT s.metric AS metric, s.scopeId AS scopeId, s.day AS day, s.value AS value
+            FROM MetricSnapshot s
+            WHERE s.metric IN :metrics
+              AND s.day BETWEEN :from AND :to
+              AND (:adminId IS NULL OR s.scopeId IN (0, :adminId))
+            ORDER BY s.metric, s.scopeId, s.day
+            """)
+    List<SnapshotPoint> findSeries(@Param("metrics") Collection<MetricKey> metrics,
+                                   @Param("from") LocalDate from,
+                                   @Param("to") LocalDate to,
+                                   @Param("adminId") Integer adminId);
+
+    @Modifying
+    @Query("DELETE FROM MetricSnapshot s WHERE s.day = :day")
+    int deleteByDay(@Param("day") LocalDate day);
+
+    interface SnapshotPoint {
+        MetricKey getMetric();
+        int getScopeId();
+        LocalDate getDay();
+        long getValue();
+    }
+}
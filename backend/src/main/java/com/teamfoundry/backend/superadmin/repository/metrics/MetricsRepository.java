@@ -0,0 +1,45 @@
+package com.teamfoundry.backend.superadmin.repository.metrics;
+
+import com.teamfoundry.backend.teamRequests.model.TeamRequest;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+
+import java.util.List;
+
+/**
+ * Consulta agregada do painel de métricas: contas e requisições numa única ida à base de dados.
+ */
+public interface MetricsRepository extends Repository<TeamRequest, Integer> {
+
+    /**
+     * Uma linha por métrica de contas ({@code ACTIVE_COMPANIES}, {@code PENDING_COMPANIES},
+     * {@code ACTIVE_EMPLOYEES}) e uma por par (estado, admin responsável) das requisições ({@code REQUESTS}).
+     */
+    @Query(value = """
+            SELECT 'ACTIVE_COMPANIES' AS metric, CAST(NULL AS VARCHAR(20)) AS state,
+                   CAST(NULL AS INTEGER) AS admin, CAST(NULL AS VARCHAR(255)) AS name, COUNT(*) AS total
+            FROM company_account c JOIN account a ON a.id = c.id
+            WHERE a.deactivated = false
+            UNION ALL
+            SELECT 'PENDING_COMPANIES', NULL, NULL, NULL, COUNT(*)
+            FROM company_account c JOIN account a ON a.id = c.id
+            WHERE a.deactivated = false AND c.status = false
+            UNION ALL
+            SELECT 'ACTIVE_EMPLOYEES', NULL, NULL, NULL, COUNT(*)
+            FROM employee_account e JOIN account a ON a.id = e.id
+            WHERE a.deactivated = false
+            UNION ALL
+            SELECT 'REQUESTS', tr.state, tr.id_responsible_admin, ad.username, COUNT(*)
+            FROM request_team tr LEFT JOIN admin_account ad ON ad.id = tr.id_responsible_admin
+            GROUP BY tr.state, tr.id_responsible_admin, ad.username
+            """, nativeQuery = true)
+    List<MetricRow> aggregate();
+
+    interface MetricRow {
+        String getMetric();
+        String getState();
+        Integer getAdmin();
+        String getName();
+        long getTotal();
+    }
+}
@@ -8,6 +8,7 @@ import com.teamfoundry.backend.superadmin.repository.credentials.AdminAccountRep
 import lombok.RequiredArgsConstructor;
 import com.teamfoundry.backend.teamRequests.repository.TeamRequestRepository;
 import com.teamfoundry.backend.common.service.ActionLogService;
+import com.teamfoundry.backend.auth.service.UserDetailsCache;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -33,6 +34,7 @@ public class AdminCredentialService {
     private final PasswordEncoder passwordEncoder;
     private final TeamRequestRepository teamRequestRepository;
     private final ActionLogService actionLogService;
+    private final UserDetailsCache userDetailsCache;
     private static final String ADMIN_TOKEN_PREFIX = "admin:";
 
     public List<AdminCredentialResponse> listAdminCredentials() {
@@ -75,6 +77,8 @@ public class AdminCredentialService {
                     throw new ResponseStatusException(HttpStatus.CONFLICT, "Username já utilizado");
                 });
 
+        // Username, papel ou password podem mudar: a entrada antiga deixa de ser válida.
+        userDetailsCache.evictAfterCommit(ADMIN_TOKEN_PREFIX + admin.getUsername());
         admin.setUsername(request.username());
         admin.setRole(request.role());
 
@@ -126,6 +130,7 @@ public class AdminCredentialService {
 
         admin.setDeactivated(true);
         adminAccountRepository.save(admin);
+        userDetailsCache.evictAfterCommit(ADMIN_TOKEN_PREFIX + admin.getUsername());
         actionLogService.logAdmin(requester, "Desativou admin " + admin.getUsername());
     }
 
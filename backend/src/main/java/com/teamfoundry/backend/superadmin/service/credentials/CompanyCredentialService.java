@@ -10,6 +10,7 @@ import lombok.RequiredArgsConstructor;
 import com.teamfoundry.backend.common.service.ActionLogService;
 import com.teamfoundry.backend.account.repository.company.CompanyAccountOwnerRepository;
 import com.teamfoundry.backend.account.repository.company.CompanyActivitySectorsRepository;
+import com.teamfoundry.backend.superadmin.service.metrics.MetricsCounters;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -34,6 +35,7 @@ public class CompanyCredentialService {
     private final AdminAccountRepository adminAccountRepository;
     private final PasswordEncoder passwordEncoder;
     private final ActionLogService actionLogService;
+    private final MetricsCounters metricsCounters;
 
     public List<CompanyCredentialResponse> listPendingCompanyCredentials() {
         return companyAccountRepository.findPendingCompanyCredentials();
@@ -52,6 +54,9 @@ public class CompanyCredentialService {
 
         company.setStatus(true);
         companyAccountRepository.save(company);
+        if (!company.isDeactivated()) {
+            metricsCounters.companyApproved();
+        }
         AdminAccount requester = resolveAuthenticatedAdmin();
         actionLogService.logAdmin(requester, "Aprovou credencial da empresa " + company.getName());
     }
@@ -67,6 +72,9 @@ public class CompanyCredentialService {
         companyActivitySectorsRepository.deleteByCompany(company);
         companyAccountOwnerRepository.deleteByCompanyAccount(company);
         companyAccountRepository.delete(company);
+        if (!company.isDeactivated()) {
+            metricsCounters.companyDeactivated(company.isStatus());
+        }
         AdminAccount requester = resolveAuthenticatedAdmin();
         actionLogService.logAdmin(requester, "Rejeitou credencial da empresa " + company.getName());
     }
@@ -20,11 +20,14 @@ import com.teamfoundry.backend.superadmin.repository.home.HomeNoLoginSectionRepo
 import com.teamfoundry.backend.superadmin.repository.home.IndustryShowcaseRepository;
 import com.teamfoundry.backend.superadmin.repository.home.PartnerShowcaseRepository;
 import com.teamfoundry.backend.superadmin.repository.other.WeeklyTipRepository;
-import com.teamfoundry.backend.common.service.CloudinaryService;
+import com.teamfoundry.backend.common.storage.FileStorage;
+import com.teamfoundry.backend.common.storage.ImageSize;
+import com.teamfoundry.backend.common.util.PreSerializedJson;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -45,11 +48,21 @@ public class HomeContentService {
     private final PartnerShowcaseRepository partners;
     private final HomeLoginSectionRepository appHomeSections;
     private final WeeklyTipRepository weeklyTips;
-    private final CloudinaryService cloudinaryService;
+    private final FileStorage fileStorage;
+    private final PublicHomeSnapshot publicHomeSnapshot;
 
     /*
      * PUBLIC QUERIES
      */
+
+    /**
+     * Resposta pública já serializada, servida do snapshot em memória (sem transação nem consultas).
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PreSerializedJson getPublicSnapshot(PublicHomeSnapshot.View view) {
+        return publicHomeSnapshot.get(view, this::loadPublicContent);
+    }
+
     @Transactional(readOnly = true)
     public HomeNoLoginConfigResponse getPublicHomepage() {
         return new HomeNoLoginConfigResponse(
@@ -158,6 +171,7 @@ public class HomeContentService {
      * SECTIONS
      */
     public HomeNoLoginSectionResponse updateSection(Long id, HomeNoLoginSectionUpdateRequest request) {
+        publicContentChanged();
         HomeNoLoginSection section = sections.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Section not found"));
 
@@ -174,6 +188,7 @@ public class HomeContentService {
     }
 
     public List<HomeNoLoginSectionResponse> reorderSections(List<Long> ids) {
+        publicContentChanged();
         List<HomeNoLoginSection> current = sections.findAllByOrderByDisplayOrderAsc();
         ensureSameElements(ids, current, HomeNoLoginSection::getId, "sections");
 
@@ -197,6 +212,7 @@ public class HomeContentService {
     }
 
     public IndustryShowcaseResponse createIndustry(IndustryShowcaseRequest request) {
+        publicContentChanged();
         IndustryShowcase entity = new IndustryShowcase();
         entity.setName(request.name());
         entity.setDescription(request.description());
@@ -210,6 +226,7 @@ public class HomeContentService {
     }
 
     public IndustryShowcaseResponse updateIndustry(Long id, IndustryShowcaseRequest request) {
+        publicContentChanged();
         IndustryShowcase entity = industries.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Industry not found"));
 
@@ -220,13 +237,14 @@ public class HomeContentService {
         entity.setLinkUrl(request.linkUrl());
         entity.setActive(Boolean.TRUE.equals(request.active()));
         if (previousImageUrl != null && !previousImageUrl.equals(request.imageUrl())) {
-            cloudinaryService.deleteByUrl(previousImageUrl);
+            fileStorage.deleteByUrl(previousImageUrl);
         }
 
         return mapIndustry(industries.save(entity));
     }
 
     public IndustryShowcaseResponse toggleIndustry(Long id, boolean active) {
+        publicContentChanged();
         IndustryShowcase entity = industries.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Industry not found"));
         entity.setActive(active);
@@ -234,6 +252,7 @@ public class HomeContentService {
     }
 
     public List<IndustryShowcaseResponse> reorderIndustries(List<Long> ids) {
+        publicContentChanged();
         List<IndustryShowcase> current = industries.findAllByOrderByDisplayOrderAsc();
         ensureSameElements(ids, current, IndustryShowcase::getId, "industries");
 
@@ -247,9 +266,10 @@ public class HomeContentService {
     }
 
     public void deleteIndustry(Long id) {
+        publicContentChanged();
         IndustryShowcase entity = industries.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Industry not found"));
-        cloudinaryService.deleteByUrl(entity.getImageUrl());
+        fileStorage.deleteByUrl(entity.getImageUrl());
         industries.delete(entity);
     }
 
@@ -264,6 +284,7 @@ public class HomeContentService {
     }
 
     public PartnerShowcaseResponse createPartner(PartnerShowcaseRequest request) {
+        publicContentChanged();
         PartnerShowcase entity = new PartnerShowcase();
         entity.setName(request.name());
         entity.setDescription(request.description());
@@ -277,6 +298,7 @@ public class HomeContentService {
     }
 
     public PartnerShowcaseResponse updatePartner(Long id, PartnerShowcaseRequest request) {
+        publicContentChanged();
         PartnerShowcase entity = partners.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Partner not found"));
 
@@ -287,13 +309,14 @@ public class HomeContentService {
         entity.setWebsiteUrl(request.websiteUrl());
         entity.setActive(Boolean.TRUE.equals(request.active()));
         if (previousImageUrl != null && !previousImageUrl.equals(request.imageUrl())) {
-            cloudinaryService.deleteByUrl(previousImageUrl);
+            fileStorage.deleteByUrl(previousImageUrl);
         }
 
         return mapPartner(partners.save(entity));
     }
 
     public PartnerShowcaseResponse togglePartner(Long id, boolean active) {
+        publicContentChanged();
         PartnerShowcase entity = partners.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Partner not found"));
         entity.setActive(active);
@@ -301,6 +324,7 @@ public class HomeContentService {
     }
 
     public List<PartnerShowcaseResponse> reorderPartners(List<Long> ids) {
+        publicContentChanged();
         List<PartnerShowcase> current = partners.findAllByOrderByDisplayOrderAsc();
         ensureSameElements(ids, current, PartnerShowcase::getId, "partners");
 
@@ -314,9 +338,10 @@ public class HomeContentService {
     }
 
     public void deletePartner(Long id) {
+        publicContentChanged();
         PartnerShowcase entity = partners.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Partner not found"));
-        cloudinaryService.deleteByUrl(entity.getImageUrl());
+        fileStorage.deleteByUrl(entity.getImageUrl());
         partners.delete(entity);
     }
 
@@ -324,6 +349,7 @@ public class HomeContentService {
      * AUTHENTICATED HOME - SECTIONS
      */
     public HomeLoginSectionResponse updateHomeLoginSection(Long id, HomeLoginSectionUpdateRequest request) {
+        publicContentChanged();
         HomeLoginSection section = appHomeSections.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "App home section not found"));
 
@@ -346,6 +372,7 @@ public class HomeContentService {
     }
 
     public List<HomeLoginSectionResponse> reorderHomeLoginSections(List<Long> ids) {
+        publicContentChanged();
         List<HomeLoginSection> current = appHomeSections.findAllByOrderByDisplayOrderAsc();
         ensureSameElements(ids, current, HomeLoginSection::getId, "app-home sections");
 
@@ -369,6 +396,7 @@ public class HomeContentService {
     }
 
     public WeeklyTipResponse createWeeklyTip(WeeklyTipRequest request) {
+        publicContentChanged();
         // Limit total number of tips to 11
         long totalTips = weeklyTips.count();
         if (totalTips >= 11) {
@@ -393,6 +421,7 @@ public class HomeContentService {
     }
 
     public WeeklyTipResponse updateWeeklyTip(Long id, WeeklyTipRequest request) {
+        publicContentChanged();
         WeeklyTip tip = weeklyTips.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Weekly tip not found"));
 
@@ -415,6 +444,7 @@ public class HomeContentService {
     }
 
     public WeeklyTipResponse toggleWeeklyTipVisibility(Long id, boolean active) {
+        publicContentChanged();
         WeeklyTip tip = weeklyTips.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Weekly tip not found"));
         tip.setActive(active);
@@ -422,6 +452,7 @@ public class HomeContentService {
     }
 
     public WeeklyTipResponse markWeeklyTipFeatured(Long id) {
+        publicContentChanged();
         WeeklyTip tip = weeklyTips.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Weekly tip not found"));
 
@@ -432,6 +463,7 @@ public class HomeContentService {
     }
 
     public List<WeeklyTipResponse> reorderWeeklyTips(List<Long> ids) {
+        publicContentChanged();
         List<WeeklyTip> current = weeklyTips.findAllByOrderByDisplayOrderAsc();
         ensureSameElements(ids, current, WeeklyTip::getId, "weekly tips");
 
@@ -445,6 +477,7 @@ public class HomeContentService {
     }
 
     public void deleteWeeklyTip(Long id) {
+        publicContentChanged();
         WeeklyTip tip = weeklyTips.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Weekly tip not found"));
         weeklyTips.delete(tip);
@@ -453,6 +486,18 @@ public class HomeContentService {
     /*
      * HELPERS
      */
+    private Map<PublicHomeSnapshot.View, Object> loadPublicContent() {
+        Map<PublicHomeSnapshot.View, Object> content = new EnumMap<>(PublicHomeSnapshot.View.class);
+        content.put(PublicHomeSnapshot.View.HOMEPAGE, getPublicHomepage());
+        content.put(PublicHomeSnapshot.View.APP_HOME, getPublicHomeLogin());
+        content.put(PublicHomeSnapshot.View.WEEKLY_TIPS, getPublicWeeklyTips());
+        return content;
+    }
+
+    private void publicContentChanged() {
+        publicHomeSnapshot.rebuildAfterCommit(this::loadPublicContent);
+    }
+
     private HomeNoLoginSectionResponse mapSection(HomeNoLoginSection section) {
         return new HomeNoLoginSectionResponse(
                 section.getId(),
@@ -476,7 +521,8 @@ public class HomeContentService {
                 entity.getImageUrl(),
                 entity.getLinkUrl(),
                 entity.isActive(),
-                entity.getDisplayOrder()
+                entity.getDisplayOrder(),
+                fileStorage.imageUrlFor(entity.getImageUrl(), ImageSize.LARGE)
         );
     }
 
@@ -488,7 +534,8 @@ public class HomeContentService {
                 entity.getImageUrl(),
                 entity.getWebsiteUrl(),
                 entity.isActive(),
-                entity.getDisplayOrder()
+                entity.getDisplayOrder(),
+                fileStorage.imageUrlFor(entity.getImageUrl(), ImageSize.LARGE)
         );
     }
 
@@ -1,6 +1,6 @@
 package com.teamfoundry.backend.superadmin.service.home;
 
-import com.teamfoundry.backend.common.service.CloudinaryService;
+import com.teamfoundry.backend.common.storage.FileStorage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -18,7 +18,7 @@ public class HomeMediaService {
     private static final long MAX_FILE_BYTES = 5 * 1024 * 1024; // 5MB
     private static final String CLOUDINARY_FOLDER = "home";
 
-    private final CloudinaryService cloudinaryService;
+    private final FileStorage fileStorage;
 
     public String storeImage(MultipartFile file) {
         if (file == null || file.isEmpty()) {
@@ -34,14 +34,14 @@ public class HomeMediaService {
         }
 
         try {
-            CloudinaryService.UploadResult result = cloudinaryService.uploadBytes(
+            FileStorage.UploadResult result = fileStorage.uploadBytes(
                     file.getBytes(),
                     CLOUDINARY_FOLDER,
                     file.getOriginalFilename()
             );
             return result.getUrl();
         } catch (Exception ex) {
-            log.error("Falha ao guardar imagem da homepage no Cloudinary", ex);
+            log.error("Falha ao guardar imagem da homepage", ex);
             throw new ResponseStatusException(
                     HttpStatus.INTERNAL_SERVER_ERROR,
                     "Não foi possível guardar o ficheiro na cloud."
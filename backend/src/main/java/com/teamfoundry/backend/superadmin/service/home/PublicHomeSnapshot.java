@@ -0,0 +1,121 @@
+package com.teamfoundry.backend.superadmin.service.home;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teamfoundry.backend.common.util.PreSerializedJson;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Snapshot em memória das respostas públicas da homepage, já serializadas (JSON e gzip) e com ETag.
+ * As leituras não tocam na base de dados; o snapshot é reconstruído por inteiro e trocado de uma vez
+ * depois do commit de qualquer alteração ao conteúdo, ao mudar a semana (rotação da dica da semana)
+ * e ao fim de {@code max-age-seconds}, que cobre alterações feitas noutro nó.
+ */
+@Component
+@Slf4j
+public class PublicHomeSnapshot {
+
+    public enum View { HOMEPAGE, APP_HOME, WEEKLY_TIPS }
+
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readTransaction;
+    private final long maxAgeNanos;
+    private volatile Snapshot snapshot;
+
+    public PublicHomeSnapshot(ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.home.snapshot.max-age-seconds:300}") long maxAgeSeconds) {
+        this.objectMapper = objectMapper;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.maxAgeNanos = Duration.ofSeconds(maxAgeSeconds).toNanos();
+    }
+
+    public PreSerializedJson get(View view, Supplier<Map<View, Object>> loader) {
+        Snapshot current = snapshot;
+        if (current == null || current.isStale(maxAgeNanos)) {
+            current = rebuildIfStale(loader);
+        }
+        return current.responses().get(view);
+    }
+
+    /**
+     * Reconstrói o snapshot depois do commit da transação atual (ou já, sem transação);
+     * várias alterações na mesma transação dão uma única reconstrução.
+     */
+    public void rebuildAfterCommit(Supplier<Map<View, Object>> loader) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (TransactionSynchronizationManager.hasResource(this)) return;
+            TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PublicHomeSnapshot.this);
+                }
+
+                @Override
+                public void afterCommit() {
+                    try {
+                        rebuild(loader);
+                    } catch (RuntimeException ex) {
+                        log.warn("Falha a reconstruir o snapshot público da homepage: {}", ex.getMessage());
+                    }
+                }
+            });
+        } else {
+            rebuild(loader);
+        }
+    }
+
+    private synchronized Snapshot rebuildIfStale(Supplier<Map<View, Object>> loader) {
+        Snapshot current = snapshot;
+        if (current != null && !current.isStale(maxAgeNanos)) {
+            return current;
+        }
+        return rebuild(loader);
+    }
+
+    /**
+     * Serializado: uma reconstrução iniciada antes de um commit é sempre seguida pela do commit.
+     */
+    private synchronized Snapshot rebuild(Supplier<Map<View, Object>> loader) {
+        try {
+            Map<View, Object> content = readTransaction.execute(status -> loader.get());
+            Map<View, PreSerializedJson> responses = new EnumMap<>(View.class);
+            for (View view : View.values()) {
+                responses.put(view, PreSerializedJson.of(objectMapper, content.get(view)));
+            }
+            Snapshot rebuilt = new Snapshot(responses, currentWeek(), System.nanoTime());
+            snapshot = rebuilt;
+            return rebuilt;
+        } catch (RuntimeException ex) {
+            // Sem snapshot, a próxima leitura volta a tentar em vez de servir conteúdo antigo
+            snapshot = null;
+            throw ex;
+        }
+    }
+
+    private static int currentWeek() {
+        return LocalDate.now().get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+    }
+
+    private record Snapshot(Map<View, PreSerializedJson> responses, int week, long builtAt) {
+        boolean isStale(long maxAgeNanos) {
+            return week != currentWeek() || System.nanoTime() - builtAt > maxAgeNanos;
+        }
+    }
+}
@@ -1,30 +1,62 @@
 package com.teamfoundry.backend.superadmin.service.logs;
 
-import com.teamfoundry.backend.auth.model.logs.AdminLogs;
-import com.teamfoundry.backend.auth.model.logs.CommonLogs;
 import com.teamfoundry.backend.auth.repository.logs.AdminLogsRepository;
 import com.teamfoundry.backend.auth.repository.logs.CommonLogsRepository;
+import com.teamfoundry.backend.auth.repository.logs.LogRow;
 import com.teamfoundry.backend.superadmin.dto.logs.LogEntryResponse;
+import com.teamfoundry.backend.superadmin.dto.logs.LogPageResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.regex.Pattern;
 
+/**
+ * Pesquisa de logs de admins e utilizadores, paginada por keyset.
+ * Cada tabela devolve no máximo {@code limit + 1} linhas já ordenadas por (timestamp, id);
+ * as fontes são intercaladas (k-way merge) e o cursor guarda a posição de cada uma.
+ */
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class LogsService {
 
+    static final int DEFAULT_LIMIT = 200;
+    static final int MAX_LIMIT = 500;
+
+    private static final LocalDateTime MIN_TIMESTAMP = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_TIMESTAMP = LocalDateTime.of(9999, 1, 1, 0, 0);
+    private static final String SOURCE_SEPARATOR = ";";
+    private static final String POSITION_SEPARATOR = "|";
+    private static final String EXHAUSTED = "-";
+
     private final AdminLogsRepository adminLogsRepository;
     private final CommonLogsRepository commonLogsRepository;
 
+    /**
+     * Primeira página da pesquisa (compatível com a resposta em lista do ecrã de logs).
+     */
     public List<LogEntryResponse> search(String type, Integer year, Integer month, String query, Integer limit) {
-        LocalDateTime start = null;
-        LocalDateTime end = null;
+        return searchPage(type, year, month, query, limit, null).items();
+    }
+
+    public LogPageResponse searchPage(String type, Integer year, Integer month, String query, Integer limit, String cursor) {
+        LocalDateTime start = MIN_TIMESTAMP;
+        LocalDateTime end = MAX_TIMESTAMP;
         if (year != null && month != null) {
             LocalDate from = LocalDate.of(year, month, 1);
             start = from.atStartOfDay();
@@ -35,32 +67,122 @@ public class LogsService {
             end = from.plusYears(1).atStartOfDay();
         }
 
-        String q = (query == null || query.isBlank()) ? null : query.trim();
-        int max = limit != null && limit > 0 ? Math.min(limit, 500) : 200;
+        String pattern = StringUtils.hasText(query) ? "%" + query.trim().toLowerCase(Locale.ROOT) + "%" : "%";
+        int max = limit != null && limit > 0 ? Math.min(limit, MAX_LIMIT) : DEFAULT_LIMIT;
 
         boolean includeAdmins = !"USER".equalsIgnoreCase(type);
         boolean includeUsers = !"ADMIN".equalsIgnoreCase(type);
 
-        List<LogEntryResponse> results = new ArrayList<>();
+        // Sem cursor, cada fonte começa no fim do período (exclusivo)
+        Position initial = new Position(end, 0);
+        Position[] positions = StringUtils.hasText(cursor) ? decodeCursor(cursor) : new Position[]{initial, initial};
+
+        Source admins = includeAdmins && positions[0] != null
+                ? new Source("ADMIN", adminLogsRepository.searchPage(start, positions[0].timestamp(), positions[0].id(), pattern, Limit.of(max + 1)), positions[0])
+                : null;
+        Source users = includeUsers && positions[1] != null
+                ? new Source("USER", commonLogsRepository.searchPage(start, positions[1].timestamp(), positions[1].id(), pattern, Limit.of(max + 1)), positions[1])
+                : null;
+
+        PriorityQueue<Source> heads = new PriorityQueue<>(Comparator
+                .comparing((Source s) -> s.head().getLoggedAt(), Comparator.reverseOrder())
+                .thenComparing(Source::type)
+                .thenComparing((Source s) -> s.head().getId(), Comparator.reverseOrder()));
+        if (admins != null && admins.hasNext()) heads.add(admins);
+        if (users != null && users.hasNext()) heads.add(users);
+
+        List<LogEntryResponse> items = new ArrayList<>(max);
+        while (items.size() < max && !heads.isEmpty()) {
+            Source source = heads.poll();
+            LogRow row = source.next();
+            items.add(new LogEntryResponse(source.type(), row.getActor(), row.getAction(), row.getLoggedAt()));
+            if (source.hasNext()) heads.add(source);
+        }
+
+        boolean hasMore = (admins != null && admins.hasNext()) || (users != null && users.hasNext());
+        String nextCursor = hasMore ? encodeCursor(nextPosition(admins), nextPosition(users)) : null;
+        return new LogPageResponse(items, nextCursor);
+    }
+
+    /**
+     * Posição da fonte para a página seguinte; nula quando já não tem mais linhas.
+     */
+    private Position nextPosition(Source source) {
+        if (source == null || !source.hasNext()) return null;
+        return source.position();
+    }
+
+    /**
+     * Cursor opaco: Base64 URL-safe de "timestamp|id" por fonte (admin;user), "-" se esgotada.
+     */
+    private String encodeCursor(Position admin, Position user) {
+        String raw = encodePosition(admin) + SOURCE_SEPARATOR + encodePosition(user);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String encodePosition(Position position) {
+        return position == null ? EXHAUSTED : position.timestamp() + POSITION_SEPARATOR + position.id();
+    }
+
+    private Position[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] sources = raw.split(Pattern.quote(SOURCE_SEPARATOR), -1);
+            if (sources.length != 2) {
+                throw new IllegalArgumentException("Cursor deve ter uma posição por fonte.");
+            }
+            return new Position[]{decodePosition(sources[0]), decodePosition(sources[1])};
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor inválido.");
+        }
+    }
+
+    private Position decodePosition(String value) {
+        if (EXHAUSTED.equals(value)) return null;
+        String[] parts = value.split(Pattern.quote(POSITION_SEPARATOR), -1);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Posição inválida.");
+        }
+        return new Position(LocalDateTime.parse(parts[0]), Integer.parseInt(parts[1]));
+    }
+
+    private record Position(LocalDateTime timestamp, int id) {}
+
+    /**
+     * Linhas de uma tabela já ordenadas, consumidas uma a uma durante o merge.
+     */
+    private static final class Source {
+        private final String type;
+        private final List<LogRow> rows;
+        private Position position;
+        private int index;
+
+        Source(String type, List<LogRow> rows, Position position) {
+            this.type = type;
+            this.rows = rows;
+            this.position = position;
+        }
+
+        String type() {
+            return type;
+        }
+
+        boolean hasNext() {
+            return index < rows.size();
+        }
 
-        if (includeAdmins) {
-            List<AdminLogs> admins = adminLogsRepository.searchByPeriodAndQuery(start, end, q);
-            admins.stream()
-                    .map(a -> new LogEntryResponse("ADMIN", a.getAdmin().getUsername(), a.getAction(), a.getTimestamp()))
-                    .forEach(results::add);
+        LogRow head() {
+            return rows.get(index);
         }
 
-        if (includeUsers) {
-            List<CommonLogs> users = commonLogsRepository.searchByPeriodAndQuery(start, end, q);
-            users.stream()
-                    .map(u -> new LogEntryResponse("USER", u.getUser().getEmail(), u.getAction(), u.getTimestamp()))
-                    .forEach(results::add);
+        LogRow next() {
+            LogRow row = rows.get(index++);
+            position = new Position(row.getLoggedAt(), row.getId());
+            return row;
         }
 
-        results.sort(Comparator.comparing(LogEntryResponse::timestamp).reversed());
-        if (results.size() > max) {
-            return results.subList(0, max);
+        Position position() {
+            return position;
         }
-        return results;
     }
 }
@@ -0,0 +1,236 @@
+package com.teamfoundry.backend.superadmin.service.metrics;
+
+import com.teamfoundry.backend.superadmin.repository.metrics.MetricsRepository;
+import com.teamfoundry.backend.superadmin.repository.metrics.MetricsRepository.MetricRow;
+import com.teamfoundry.backend.teamRequests.enums.State;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Contadores em memória do painel de métricas do super admin.
+ * Carregados na primeira leitura com {@link MetricsRepository#aggregate()}, atualizados pelas transições
+ * de contas, aprovações e requisições (só depois do commit) e reconciliados periodicamente com a base
+ * de dados, o que corrige alterações feitas noutro nó ou por caminhos sem contador (seeders).
+ */
+@Component
+@Slf4j
+public class MetricsCounters {
+
+    private final MetricsRepository metricsRepository;
+    private final TransactionTemplate readTransaction;
+    private volatile Counters counters;
+
+    public MetricsCounters(MetricsRepository metricsRepository, PlatformTransactionManager transactionManager) {
+        this.metricsRepository = metricsRepository;
+        // Só carrega a partir de leituras e do agendamento: junta-se a uma transação existente, se houver
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Cópia consistente o suficiente para o painel; carrega os contadores na primeira chamada.
+     */
+    public Snapshot snapshot() {
+        Counters current = counters;
+        if (current == null) {
+            current = loadIfAbsent();
+        }
+        return current.snapshot();
+    }
+
+    /**
+     * Volta a contar tudo na base de dados e troca os contadores de uma vez.
+     * Uma transição confirmada durante a contagem pode perder-se até à reconciliação seguinte.
+     */
+    @Scheduled(fixedDelayString = "${app.metrics.reconcile-interval-ms:300000}",
+            initialDelayString = "${app.metrics.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        try {
+            Counters previous = counters;
+            Counters fresh = load();
+            if (previous != null && !previous.sameTotals(fresh)) {
+                log.info("Contadores de métricas reconciliados com a base de dados.");
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Falha a reconciliar os contadores de métricas: {}", ex.getMessage());
+        }
+    }
+
+    public void companyRegistered() {
+        afterCommit(c -> {
+            c.activeCompanies.incrementAndGet();
+            c.pendingCompanies.incrementAndGet();
+        });
+    }
+
+    public void companyApproved() {
+        afterCommit(c -> c.pendingCompanies.decrementAndGet());
+    }
+
+    /**
+     * Empresa ativa que foi desativada ou removida.
+     */
+    public void companyDeactivated(boolean approved) {
+        afterCommit(c -> {
+            c.activeCompanies.decrementAndGet();
+            if (!approved) c.pendingCompanies.decrementAndGet();
+        });
+    }
+
+    public void employeeCreated() {
+        afterCommit(c -> c.activeEmployees.incrementAndGet());
+    }
+
+    /**
+     * Candidato ativo que foi desativado ou removido.
+     */
+    public void employeeDeactivated() {
+        afterCommit(c -> c.activeEmployees.decrementAndGet());
+    }
+
+    public void teamRequestCreated(State state, Integer adminId) {
+        afterCommit(c -> c.add(state, adminId, 1));
+    }
+
+    public void teamRequestReassigned(State state, Integer fromAdminId, Integer toAdminId) {
+        if (Objects.equals(fromAdminId, toAdminId)) return;
+        afterCommit(c -> {
+            c.add(state, fromAdminId, -1);
+            c.add(state, toAdminId, 1);
+        });
+    }
+
+    public void teamRequestStateChanged(State from, State to, Integer adminId) {
+        if (from == to) return;
+        afterCommit(c -> {
+            c.add(from, adminId, -1);
+            c.add(to, adminId, 1);
+        });
+    }
+
+    /**
+     * Aplica a variação depois do commit (ou já, sem transação). Sem contadores carregados não há
+     * nada a atualizar: a primeira leitura já conta o estado confirmado.
+     */
+    private void afterCommit(Consumer<Counters> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    private void apply(Consumer<Counters> change) {
+        Counters current = counters;
+        if (current != null) {
+            change.accept(current);
+        }
+    }
+
+    private synchronized Counters loadIfAbsent() {
+        Counters current = counters;
+        return current != null ? current : load();
+    }
+
+    private synchronized Counters load() {
+        List<MetricRow> rows = readTransaction.execute(status -> metricsRepository.aggregate());
+        Counters fresh = Counters.from(rows);
+        counters = fresh;
+        return fresh;
+    }
+
+    /**
+     * Valores congelados para uma resposta.
+     */
+    public record Snapshot(long activeCompanies,
+                           long pendingCompanies,
+                           long activeEmployees,
+                           Map<State, Long> requestsByState,
+                           Map<Integer, Long> openRequestsByAdmin,
+                           Map<Integer, String> adminNames) {
+    }
+
+    private static final class Counters {
+        private final AtomicLong activeCompanies = new AtomicLong();
+        private final AtomicLong pendingCompanies = new AtomicLong();
+        private final AtomicLong activeEmployees = new AtomicLong();
+        private final Map<State, AtomicLong> requestsByState = new EnumMap<>(State.class);
+        private final Map<Integer, AtomicLong> openRequestsByAdmin = new ConcurrentHashMap<>();
+        private final Map<Integer, String> adminNames = new ConcurrentHashMap<>();
+
+        private Counters() {
+            for (State state : State.values()) {
+                requestsByState.put(state, new AtomicLong());
+            }
+        }
+
+        static Counters from(List<MetricRow> rows) {
+            Counters counters = new Counters();
+            for (MetricRow row : rows) {
+                switch (row.getMetric().trim()) {
+                    case "ACTIVE_COMPANIES" -> counters.activeCompanies.set(row.getTotal());
+                    case "PENDING_COMPANIES" -> counters.pendingCompanies.set(row.getTotal());
+                    case "ACTIVE_EMPLOYEES" -> counters.activeEmployees.set(row.getTotal());
+                    case "REQUESTS" -> {
+                        if (row.getAdmin() != null && row.getName() != null) {
+                            counters.adminNames.put(row.getAdmin(), row.getName());
+                        }
+                        counters.add(State.valueOf(row.getState()), row.getAdmin(), row.getTotal());
+                    }
+                    default -> log.warn("Métrica desconhecida ignorada: {}", row.getMetric());
+                }
+            }
+            return counters;
+        }
+
+        /**
+         * A carga por admin conta apenas requisições por concluir.
+         */
+        void add(State state, Integer adminId, long delta) {
+            if (state == null) return;
+            requestsByState.get(state).addAndGet(delta);
+            if (state == State.INCOMPLETE && adminId != null) {
+                openRequestsByAdmin.computeIfAbsent(adminId, id -> new AtomicLong()).addAndGet(delta);
+            }
+        }
+
+        Snapshot snapshot() {
+            Map<State, Long> byState = new EnumMap<>(State.class);
+            requestsByState.forEach((state, count) -> byState.put(state, Math.max(0, count.get())));
+            Map<Integer, Long> byAdmin = new TreeMap<>();
+            openRequestsByAdmin.forEach((adminId, count) -> {
+                if (count.get() > 0) byAdmin.put(adminId, count.get());
+            });
+            return new Snapshot(
+                    Math.max(0, activeCompanies.get()),
+                    Math.max(0, pendingCompanies.get()),
+                    Math.max(0, activeEmployees.get()),
+                    byState,
+                    byAdmin,
+                    Map.copyOf(adminNames));
+        }
+
+        boolean sameTotals(Counters other) {
+            return snapshot().equals(other.snapshot());
+        }
+    }
+}
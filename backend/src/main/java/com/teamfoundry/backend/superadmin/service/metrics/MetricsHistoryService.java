@@ -0,0 +1,195 @@
+package com.teamfoundry.backend.superadmin.service.metrics;
+
+import com.teamfoundry.backend.superadmin.dto.metrics.MetricSeriesResponse;
+import com.teamfoundry.backend.superadmin.dto.metrics.MetricSeriesResponse.Point;
+import com.teamfoundry.backend.superadmin.enums.MetricKey;
+import com.teamfoundry.backend.superadmin.model.metrics.MetricSnapshot;
+import com.teamfoundry.backend.superadmin.repository.metrics.MetricSnapshotRepository;
+import com.teamfoundry.backend.superadmin.repository.metrics.MetricSnapshotRepository.SnapshotPoint;
+import com.teamfoundry.backend.teamRequests.enums.State;
+import com.teamfoundry.backend.common.lease.JobLeaseService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Histórico das métricas do painel: um snapshot por dia e por métrica, e séries para os gráficos
+ * de tendência lidas só da tabela de snapshots. Intervalos longos são agregados por semana ou mês
+ * para não devolver mais de {@code maxPoints} pontos por série (o mês é o limite mínimo).
+ * O snapshot diário corre em todas as instâncias à mesma hora; só a que tiver o lease
+ * {@value #SNAPSHOT_LEASE_NAME} o escreve.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MetricsHistoryService {
+
+    static final int DEFAULT_MAX_POINTS = 180;
+    static final int MIN_POINTS = 10;
+    static final int MAX_POINTS = 1000;
+    static final long MAX_RANGE_DAYS = 5 * 366;
+    static final String SNAPSHOT_LEASE_NAME = "metrics-daily-snapshot";
+
+    public enum Granularity {DAY, WEEK, MONTH}
+
+    private final MetricsCounters metricsCounters;
+    private final MetricSnapshotRepository metricSnapshotRepository;
+    private final JobLeaseService jobLeaseService;
+
+    /** Por omissão uma hora: cobre o desvio entre relógios das instâncias que disparam à mesma hora. */
+    @Value("${app.metrics.snapshot-lease-ms:3600000}")
+    private long snapshotLeaseMillis;
+
+    /**
+     * Guarda os valores do dia a partir dos contadores, reconciliados antes com a base de dados.
+     * Volta a escrever o dia se já existir (reexecução manual).
+     */
+    @Scheduled(cron = "${app.metrics.snapshot-cron:0 55 23 * * *}")
+    @Transactional
+    public void recordDailySnapshot() {
+        if (!jobLeaseService.tryAcquire(SNAPSHOT_LEASE_NAME, Duration.ofMillis(snapshotLeaseMillis))) {
+            log.debug("Snapshot de métricas a ser escrito noutra instância");
+            return;
+        }
+        recordSnapshot(LocalDate.now());
+    }
+
+    void recordSnapshot(LocalDate day) {
+        metricsCounters.reconcile();
+        MetricsCounters.Snapshot snapshot = metricsCounters.snapshot();
+
+        List<MetricSnapshot> rows = new ArrayList<>();
+        rows.add(global(MetricKey.ACTIVE_COMPANIES, day, snapshot.activeCompanies()));
+        rows.add(global(MetricKey.PENDING_COMPANIES, day, snapshot.pendingCompanies()));
+        rows.add(global(MetricKey.ACTIVE_EMPLOYEES, day, snapshot.activeEmployees()));
+        rows.add(global(MetricKey.OPEN_REQUESTS, day, snapshot.requestsByState().getOrDefault(State.INCOMPLETE, 0L)));
+        rows.add(global(MetricKey.CLOSED_REQUESTS, day, snapshot.requestsByState().getOrDefault(State.COMPLETED, 0L)));
+        snapshot.openRequestsByAdmin().forEach((adminId, open) ->
+                rows.add(new MetricSnapshot(0, MetricKey.ADMIN_WORKLOAD, adminId, day, open)));
+
+        metricSnapshotRepository.deleteByDay(day);
+        metricSnapshotRepository.saveAll(rows);
+        log.info("Snapshot de métricas de {} guardado ({} linhas).", day, rows.size());
+    }
+
+    /**
+     * Séries das métricas pedidas (todas, se nenhuma) entre {@code from} e {@code to}, inclusive.
+     * Com {@code adminId}, a carga por admin fica limitada a esse admin.
+     */
+    @Transactional(readOnly = true)
+    public List<MetricSeriesResponse> series(Collection<MetricKey> metrics,
+                                             LocalDate from,
+                                             LocalDate to,
+                                             Integer adminId,
+                                             Integer maxPoints) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Intervalo de datas inválido.");
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > MAX_RANGE_DAYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Intervalo máximo é de 5 anos.");
+        }
+        int limit = maxPoints == null ? DEFAULT_MAX_POINTS : Math.max(MIN_POINTS, Math.min(maxPoints, MAX_POINTS));
+        Granularity granularity = granularityFor(from, to, limit);
+        Collection<MetricKey> requested = metrics == null || metrics.isEmpty() ? EnumSet.allOf(MetricKey.class) : metrics;
+
+        List<SnapshotPoint> rows = metricSnapshotRepository.findSeries(requested, from, to, adminId);
+
+        // As linhas vêm ordenadas por (métrica, scope, dia): cada série e cada período são contíguos
+        List<MetricSeriesResponse> result = new ArrayList<>();
+        SeriesBuilder current = null;
+        for (SnapshotPoint row : rows) {
+            if (current == null || current.metric != row.getMetric() || current.scopeId != row.getScopeId()) {
+                if (current != null) result.add(current.build());
+                current = new SeriesBuilder(row.getMetric(), row.getScopeId(), granularity);
+            }
+            current.add(row.getDay(), row.getValue());
+        }
+        if (current != null) result.add(current.build());
+        return result;
+    }
+
+    /**
+     * Granularidade mais fina cujo número de períodos cabe em {@code maxPoints}.
+     */
+    static Granularity granularityFor(LocalDate from, LocalDate to, int maxPoints) {
+        if (ChronoUnit.DAYS.between(from, to) + 1 <= maxPoints) {
+            return Granularity.DAY;
+        }
+        long weeks = ChronoUnit.WEEKS.between(bucketStart(Granularity.WEEK, from), to) + 1;
+        return weeks <= maxPoints ? Granularity.WEEK : Granularity.MONTH;
+    }
+
+    private static LocalDate bucketStart(Granularity granularity, LocalDate day) {
+        return switch (granularity) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+        };
+    }
+
+    private static MetricSnapshot global(MetricKey metric, LocalDate day, long value) {
+        return new MetricSnapshot(0, metric, MetricSnapshot.GLOBAL_SCOPE, day, value);
+    }
+
+    /**
+     * Junta os pontos diários de uma série; cada período fica com o último valor, o mínimo e o máximo.
+     */
+    private static final class SeriesBuilder {
+        private final MetricKey metric;
+        private final int scopeId;
+        private final Granularity granularity;
+        private final List<Point> points = new ArrayList<>();
+        private LocalDate bucket;
+        private long last;
+        private long min;
+        private long max;
+
+        SeriesBuilder(MetricKey metric, int scopeId, Granularity granularity) {
+            this.metric = metric;
+            this.scopeId = scopeId;
+            this.granularity = granularity;
+        }
+
+        void add(LocalDate day, long value) {
+            LocalDate start = bucketStart(granularity, day);
+            if (!start.equals(bucket)) {
+                flush();
+                bucket = start;
+                min = value;
+                max = value;
+            }
+            last = value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        private void flush() {
+            if (bucket != null) {
+                points.add(new Point(bucket, last, min, max));
+            }
+        }
+
+        MetricSeriesResponse build() {
+            flush();
+            bucket = null;
+            Integer adminId = scopeId == MetricSnapshot.GLOBAL_SCOPE ? null : scopeId;
+            return new MetricSeriesResponse(metric.name(), adminId, granularity.name(), List.copyOf(points));
+        }
+    }
+}
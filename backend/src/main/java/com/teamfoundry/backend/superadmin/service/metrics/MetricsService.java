@@ -1,65 +1,70 @@
 package com.teamfoundry.backend.superadmin.service.metrics;
 
-import com.teamfoundry.backend.account.repository.company.CompanyAccountRepository;
-import com.teamfoundry.backend.account.repository.employee.EmployeeAccountRepository;
 import com.teamfoundry.backend.superadmin.dto.metrics.MetricsOverviewResponse;
 import com.teamfoundry.backend.superadmin.model.credentials.AdminAccount;
 import com.teamfoundry.backend.superadmin.repository.credentials.AdminAccountRepository;
 import com.teamfoundry.backend.teamRequests.enums.State;
-import com.teamfoundry.backend.teamRequests.repository.TeamRequestRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Serviço que reúne contagens simples para o painel de métricas do super admin.
+ * As contagens vêm dos {@link MetricsCounters} em memória, por isso o painel pode ser consultado
+ * com frequência sem percorrer as tabelas.
  */
 @Service
 @RequiredArgsConstructor
 public class MetricsService {
 
-    private final CompanyAccountRepository companyAccountRepository;
-    private final EmployeeAccountRepository employeeAccountRepository;
-    private final TeamRequestRepository teamRequestRepository;
+    private final MetricsCounters metricsCounters;
     private final AdminAccountRepository adminAccountRepository;
 
     public MetricsOverviewResponse getOverview() {
-        long activeCompanies = companyAccountRepository.countByDeactivatedFalse();
-        long pendingCompanies = companyAccountRepository.countByStatusFalseAndDeactivatedFalse();
-        long activeEmployees = employeeAccountRepository.countByDeactivatedFalse();
-
-        long openRequests = teamRequestRepository.countByState(State.INCOMPLETE);
-        long closedRequests = teamRequestRepository.countByState(State.COMPLETED);
+        MetricsCounters.Snapshot counts = metricsCounters.snapshot();
 
         List<MetricsOverviewResponse.StateCount> requestsByState = Arrays.stream(State.values())
-                .map(state -> new MetricsOverviewResponse.StateCount(state.name(), teamRequestRepository.countByState(state)))
+                .map(state -> new MetricsOverviewResponse.StateCount(state.name(), counts.requestsByState().getOrDefault(state, 0L)))
                 .toList();
 
-        Map<Integer, String> adminNames = adminAccountRepository.findAll().stream()
-                .collect(Collectors.toMap(AdminAccount::getId, AdminAccount::getUsername));
-
-        List<MetricsOverviewResponse.AdminWorkload> workloads = teamRequestRepository
-                .countAssignmentsByState(State.INCOMPLETE)
-                .stream()
-                .map(row -> new MetricsOverviewResponse.AdminWorkload(
-                        row.getAdminId(),
-                        adminNames.getOrDefault(row.getAdminId(), "N/D"),
-                        row.getTotal()
+        Map<Integer, String> adminNames = resolveAdminNames(counts);
+        List<MetricsOverviewResponse.AdminWorkload> workloads = counts.openRequestsByAdmin().entrySet().stream()
+                .map(entry -> new MetricsOverviewResponse.AdminWorkload(
+                        entry.getKey(),
+                        adminNames.getOrDefault(entry.getKey(), "N/D"),
+                        entry.getValue()
                 ))
                 .toList();
 
         MetricsOverviewResponse.Kpi kpis = new MetricsOverviewResponse.Kpi(
-                activeCompanies,
-                activeEmployees,
-                pendingCompanies,
-                openRequests,
-                closedRequests
+                counts.activeCompanies(),
+                counts.activeEmployees(),
+                counts.pendingCompanies(),
+                counts.requestsByState().getOrDefault(State.INCOMPLETE, 0L),
+                counts.requestsByState().getOrDefault(State.COMPLETED, 0L)
         );
 
         return new MetricsOverviewResponse(kpis, requestsByState, workloads);
     }
+
+    /**
+     * Os nomes vêm da última contagem; só admins atribuídos depois dela são procurados por id.
+     */
+    private Map<Integer, String> resolveAdminNames(MetricsCounters.Snapshot counts) {
+        List<Integer> missing = counts.openRequestsByAdmin().keySet().stream()
+                .filter(adminId -> !counts.adminNames().containsKey(adminId))
+                .toList();
+        if (missing.isEmpty()) {
+            return counts.adminNames();
+        }
+        Map<Integer, String> names = new HashMap<>(counts.adminNames());
+        for (AdminAccount admin : adminAccountRepository.findAllById(missing)) {
+            names.put(admin.getId(), admin.getUsername());
+        }
+        return names;
+    }
 }
@@ -7,6 +7,7 @@ import com.teamfoundry.backend.account.model.preferences.PrefGeoArea;
 import com.teamfoundry.backend.account.repository.preferences.PrefActivitySectorsRepository;
 import com.teamfoundry.backend.account.repository.preferences.PrefSkillRepository;
 import com.teamfoundry.backend.account.repository.preferences.PrefGeoAreaRepository;
+import com.teamfoundry.backend.account.service.ReferenceCatalog;
 import com.teamfoundry.backend.superadmin.dto.other.CreatePreferenceRequest;
 import com.teamfoundry.backend.superadmin.dto.other.CreatePreferenceResponse;
 import com.teamfoundry.backend.superadmin.repository.other.CreatePreferenceRepository;
@@ -23,6 +24,7 @@ import java.util.Optional;
 /**
  * Regras de negocio para criar, listar e remover opcoes globais
  * (funcoes, competencias, areas geograficas e setores de atividade).
+ * Cada criacao/remocao troca o {@link ReferenceCatalog} por uma versao nova depois do commit.
  */
 @Service
 @RequiredArgsConstructor
@@ -33,6 +35,7 @@ public class PreferenceManagementService {
     private final PrefSkillRepository prefSkillRepository;
     private final PrefGeoAreaRepository prefGeoAreaRepository;
     private final PrefActivitySectorsRepository prefActivitySectorsRepository;
+    private final ReferenceCatalog referenceCatalog;
 
     // -------- Funcoes --------
 
@@ -55,6 +58,7 @@ public class PreferenceManagementService {
         PrefRole entity = new PrefRole();
         entity.setName(normalized);
         PrefRole saved = functionRepository.save(entity);
+        referenceCatalog.refreshAfterCommit();
         return new CreatePreferenceResponse((long) saved.getId(), saved.getName());
     }
 
@@ -65,6 +69,7 @@ public class PreferenceManagementService {
         PrefRole function = functionRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Funcao nao encontrada."));
         functionRepository.delete(function);
+        referenceCatalog.refreshAfterCommit();
     }
 
     // -------- Competencias --------
@@ -82,6 +87,7 @@ public class PreferenceManagementService {
         PrefSkill entity = new PrefSkill();
         entity.setName(normalized);
         PrefSkill saved = prefSkillRepository.save(entity);
+        referenceCatalog.refreshAfterCommit();
         return new CreatePreferenceResponse((long) saved.getId(), saved.getName());
     }
 
@@ -89,6 +95,7 @@ public class PreferenceManagementService {
         PrefSkill prefSkill = prefSkillRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Competencia nao encontrada."));
         prefSkillRepository.delete(prefSkill);
+        referenceCatalog.refreshAfterCommit();
     }
 
     // -------- Areas geograficas --------
@@ -106,13 +113,15 @@ public class PreferenceManagementService {
         PrefGeoArea entity = new PrefGeoArea();
         entity.setName(normalized);
         PrefGeoArea saved = prefGeoAreaRepository.save(entity);
+        referenceCatalog.refreshAfterCommit();
         return new CreatePreferenceResponse((long) saved.getId(), saved.getName());
     }
 
     public void deleteGeoArea(Integer id) {
-                    PrefGeoArea area = prefGeoAreaRepository.findById(id)
-                            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Area geografica nao encontrada."));
+        PrefGeoArea area = prefGeoAreaRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Area geografica nao encontrada."));
         prefGeoAreaRepository.delete(area);
+        referenceCatalog.refreshAfterCommit();
     }
 
     // -------- Setores de atividade --------
@@ -130,6 +139,7 @@ public class PreferenceManagementService {
         PrefActivitySectors entity = new PrefActivitySectors();
         entity.setName(normalized);
         PrefActivitySectors saved = prefActivitySectorsRepository.save(entity);
+        referenceCatalog.refreshAfterCommit();
         return new CreatePreferenceResponse((long) saved.getId(), saved.getName());
     }
 
@@ -137,6 +147,7 @@ public class PreferenceManagementService {
         PrefActivitySectors sector = prefActivitySectorsRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Setor de atividade nao encontrado."));
         prefActivitySectorsRepository.delete(sector);
+        referenceCatalog.refreshAfterCommit();
     }
 
     // -------- Helpers --------
@@ -1,6 +1,8 @@
 package com.teamfoundry.backend.teamRequests.controller;
 
+import com.teamfoundry.backend.teamRequests.dto.search.AdminEmployeeSearchPage;
 import com.teamfoundry.backend.teamRequests.dto.search.AdminEmployeeSearchResponse;
+import com.teamfoundry.backend.teamRequests.enums.CandidateSort;
 import com.teamfoundry.backend.teamRequests.service.AdminEmployeeSearchService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -33,4 +35,30 @@ public class AdminEmployeeSearchController {
         List<String> safeStatuses = statuses != null ? statuses : Collections.emptyList();
         return adminEmployeeSearchService.search(role, safeAreas, safeSkills, safePreferred, safeStatuses, teamId);
     }
+
+    /**
+     * Pesquisa paginada por cursor. {@code sort}: NAME (omissão), ID ou LAST_ACCEPTED;
+     * {@code cursor} é o {@code nextCursor} da página anterior; {@code includeTotal} conta o resultado.
+     */
+    @GetMapping("/search/page")
+    public AdminEmployeeSearchPage searchPage(
+            @RequestParam(name = "role", required = false) String role,
+            @RequestParam(name = "areas", required = false) List<String> areas,
+            @RequestParam(name = "skills", required = false) List<String> skills,
+            @RequestParam(name = "preferredRoles", required = false) List<String> preferredRoles,
+            @RequestParam(name = "statuses", required = false) List<String> statuses,
+            @RequestParam(name = "team", required = false) Integer teamId,
+            @RequestParam(name = "sort", required = false) CandidateSort sort,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", required = false) Integer size,
+            @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal
+    ) {
+        return adminEmployeeSearchService.searchPage(
+                role,
+                areas != null ? areas : Collections.emptyList(),
+                skills != null ? skills : Collections.emptyList(),
+                preferredRoles != null ? preferredRoles : Collections.emptyList(),
+                statuses != null ? statuses : Collections.emptyList(),
+                teamId, sort, cursor, size, includeTotal);
+    }
 }
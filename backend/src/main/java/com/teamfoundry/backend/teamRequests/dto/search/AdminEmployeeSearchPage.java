@@ -0,0 +1,13 @@
+package com.teamfoundry.backend.teamRequests.dto.search;
+
+import java.util.List;
+
+/**
+ * Página da pesquisa de candidatos.
+ * {@code nextCursor} é nulo na última página; {@code total} só vem preenchido quando pedido.
+ */
+public record AdminEmployeeSearchPage(
+        List<AdminEmployeeSearchResponse> items,
+        String nextCursor,
+        Long total
+) {}
@@ -12,5 +12,6 @@ public record AdminEmployeeSearchResponse(
         List<String> skills,
         List<String> areas,
         List<String> experiences,
-        String profilePicturePublicId
+        String profilePicturePublicId,
+        String profilePictureThumbnailUrl
 ) {}
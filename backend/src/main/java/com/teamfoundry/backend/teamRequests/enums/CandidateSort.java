@@ -0,0 +1,11 @@
+package com.teamfoundry.backend.teamRequests.enums;
+
+/**
+ * Ordenações estáveis da pesquisa de candidatos; o id desempata sempre.
+ * LAST_ACCEPTED: aceitação mais recente primeiro, quem nunca aceitou fica no fim.
+ */
+public enum CandidateSort {
+    ID,
+    NAME,
+    LAST_ACCEPTED
+}
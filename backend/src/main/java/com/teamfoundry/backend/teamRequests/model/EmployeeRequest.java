@@ -10,7 +10,10 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "request_employee")
+@Table(name = "request_employee", indexes = {
+        @Index(name = "idx_request_employee_employee", columnList = "id_funcionario"),
+        @Index(name = "idx_request_employee_team_role", columnList = "id_team_request, requested_role")
+})
 public class EmployeeRequest {
 
     @Id
@@ -8,7 +8,8 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity(name = "EmployeeRequestOffer")
-@Table(name = "request_employee_offer")
+@Table(name = "request_employee_offer",
+        indexes = @Index(name = "idx_request_employee_offer_employee", columnList = "id_funcionario"))
 public class EmployeeRequestOffer {
 
     @Id
@@ -0,0 +1,25 @@
+package com.teamfoundry.backend.teamRequests.repository;
+
+import com.teamfoundry.backend.teamRequests.enums.State;
+
+import java.time.LocalDateTime;
+
+/**
+ * Vaga com os campos da equipa usados no feed de ofertas e no histórico do colaborador,
+ * lida por projeção (sem hidratar vagas, equipas, empresas nem contas).
+ */
+public interface EmployeeJobRow {
+    Integer getRequestId();
+    Integer getTeamId();
+    String getTeamName();
+    String getCompanyName();
+    String getLocation();
+    String getDescription();
+    LocalDateTime getStartDate();
+    LocalDateTime getEndDate();
+    LocalDateTime getAcceptedDate();
+    String getRequestedRole();
+    State getState();
+    /** Colaborador que ocupa a vaga; nulo se ainda estiver livre. */
+    Integer getSlotEmployeeId();
+}
@@ -1,11 +1,14 @@
 package com.teamfoundry.backend.teamRequests.repository;
 
+import com.teamfoundry.backend.teamRequests.enums.State;
 import com.teamfoundry.backend.teamRequests.model.EmployeeRequestOffer;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 
@@ -24,7 +27,16 @@ public interface EmployeeRequestOfferRepository extends JpaRepository<EmployeeRe
             """)
     List<RoleInviteCount> countInvitesByTeamRequest(@Param("teamRequestId") Integer teamRequestId);
 
-    boolean existsByEmployeeRequest_IdAndEmployee_IdAndActiveTrue(int requestId, int employeeId);
+    /**
+     * Pares (vaga, colaborador) com convite ativo, para as vagas indicadas, numa só consulta.
+     */
+    @Query("""
+            SELECT ere.employeeRequest.id AS requestId, ere.employee.id AS employeeId
+            FROM EmployeeRequestOffer ere
+            WHERE ere.employeeRequest.id IN :requestIds
+              AND ere.active = true
+            """)
+    List<ActiveInvite> findActiveInvitesByRequestIds(@Param("requestIds") Collection<Integer> requestIds);
 
     @Modifying
     @Query("""
@@ -55,15 +67,61 @@ public interface EmployeeRequestOfferRepository extends JpaRepository<EmployeeRe
             """)
     List<Integer> findActiveInviteEmployeeIdsByTeam(@Param("teamId") Integer teamId);
 
+    /**
+     * Vagas para as quais o colaborador foi convidado (ativas ou não), só com os campos do feed,
+     * pela ordem dos convites.
+     */
     @Query("""
-            SELECT ere
+            SELECT er.id AS requestId,
+                   tr.id AS teamId,
+                   tr.teamName AS teamName,
+                   c.name AS companyName,
+                   tr.location AS location,
+                   tr.description AS description,
+                   tr.startDate AS startDate,
+                   tr.endDate AS endDate,
+                   er.acceptedDate AS acceptedDate,
+                   er.requestedRole AS requestedRole,
+                   tr.state AS state,
+                   slotEmployee.id AS slotEmployeeId
             FROM EmployeeRequestOffer ere
-            JOIN FETCH ere.employeeRequest er
-            JOIN FETCH er.teamRequest tr
-            LEFT JOIN FETCH tr.company c
-            WHERE LOWER(ere.employee.email) = LOWER(:email)
+            JOIN ere.employeeRequest er
+            JOIN er.teamRequest tr
+            LEFT JOIN tr.company c
+            LEFT JOIN er.employee slotEmployee
+            WHERE ere.employee.id = :employeeId
+            ORDER BY ere.id
+            """)
+    List<EmployeeJobRow> findInvitedJobRows(@Param("employeeId") Integer employeeId);
+
+    /**
+     * Número de ofertas OPEN do feed: grupos (equipa, função) com pelo menos uma vaga convidada
+     * ainda livre numa requisição por concluir, onde o colaborador ainda não ocupa vaga.
+     * Conta um representante por grupo (a menor vaga livre), sem carregar o histórico de convites.
+     */
+    @Query("""
+            SELECT COUNT(representative)
+            FROM EmployeeRequest representative
+            WHERE representative.id IN (
+                SELECT MIN(er.id)
+                FROM EmployeeRequestOffer ere
+                JOIN ere.employeeRequest er
+                JOIN er.teamRequest tr
+                WHERE ere.employee.id = :employeeId
+                  AND er.employee IS NULL
+                  AND (tr.state IS NULL OR tr.state <> :completed)
+                  AND (tr.endDate IS NULL OR tr.endDate >= :now)
+                  AND NOT EXISTS (
+                      SELECT 1
+                      FROM EmployeeRequest mine
+                      WHERE mine.teamRequest = tr
+                        AND mine.requestedRole = er.requestedRole
+                        AND mine.employee.id = :employeeId)
+                GROUP BY tr.id, er.requestedRole)
             """)
-    List<EmployeeRequestOffer> findAllInvitesByEmployeeEmail(@Param("email") String email);
+    long countOpenInviteGroups(@Param("employeeId") Integer employeeId,
+                               @Param("completed") State completed,
+                               @Param("now") LocalDateTime now);
 
     @Query("""
             SELECT ere
@@ -81,4 +139,9 @@ public interface EmployeeRequestOfferRepository extends JpaRepository<EmployeeRe
         String getRole();
         long getTotal();
     }
+
+    interface ActiveInvite {
+        Integer getRequestId();
+        Integer getEmployeeId();
+    }
 }
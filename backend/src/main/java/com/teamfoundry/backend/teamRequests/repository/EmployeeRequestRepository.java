@@ -1,8 +1,10 @@
 package com.teamfoundry.backend.teamRequests.repository;
 
+import com.teamfoundry.backend.account.model.employee.profile.EmployeeAccount;
 import com.teamfoundry.backend.teamRequests.model.EmployeeRequest;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -36,6 +38,58 @@ public interface EmployeeRequestRepository extends JpaRepository<EmployeeRequest
 
     List<EmployeeRequest> findByTeamRequest_IdAndRequestedRole(Integer teamId, String requestedRole);
 
+    /**
+     * Vagas ocupadas pelo colaborador, da aceitação mais recente para a mais antiga, por projeção.
+     */
+    @Query("""
+            SELECT er.id AS requestId,
+                   tr.id AS teamId,
+                   tr.teamName AS teamName,
+                   c.name AS companyName,
+                   tr.location AS location,
+                   tr.description AS description,
+                   tr.startDate AS startDate,
+                   tr.endDate AS endDate,
+                   er.acceptedDate AS acceptedDate,
+                   er.requestedRole AS requestedRole,
+                   tr.state AS state,
+                   er.employee.id AS slotEmployeeId
+            FROM EmployeeRequest er
+            JOIN er.teamRequest tr
+            LEFT JOIN tr.company c
+            WHERE er.employee.id = :employeeId
+            ORDER BY er.acceptedDate DESC
+            """)
+    List<EmployeeJobRow> findAcceptedJobRows(@Param("employeeId") Integer employeeId);
+
+    /**
+     * Ids das vagas ainda livres da função na equipa (candidatas a {@link #claimSlot}).
+     */
+    @Query("""
+            SELECT er.id
+            FROM EmployeeRequest er
+            WHERE er.teamRequest.id = :teamId
+              AND er.requestedRole = :role
+              AND er.employee IS NULL
+            ORDER BY er.id
+            """)
+    List<Integer> findOpenSlotIds(@Param("teamId") Integer teamId, @Param("role") String role);
+
+    /**
+     * Ocupa a vaga só se continuar livre, numa única instrução; devolve 0 quando outro colaborador
+     * a ocupou primeiro. Limpa o contexto de persistência, que pode ter a vaga carregada ainda livre.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE EmployeeRequest er
+            SET er.employee = :employee, er.acceptedDate = :acceptedDate
+            WHERE er.id = :slotId
+              AND er.employee IS NULL
+            """)
+    int claimSlot(@Param("slotId") Integer slotId,
+                  @Param("employee") EmployeeAccount employee,
+                  @Param("acceptedDate") LocalDateTime acceptedDate);
+
     @EntityGraph(attributePaths = {"teamRequest"})
     List<EmployeeRequest> findByTeamRequest_IdAndRequestedRoleIgnoreCaseAndEmployeeIsNull(Integer teamRequestId, String role);
 
@@ -50,6 +104,16 @@ public interface EmployeeRequestRepository extends JpaRepository<EmployeeRequest
             """)
     List<Integer> findAcceptedEmployeeIdsByTeam(@Param("teamId") Integer teamId);
 
+    @Query("""
+            SELECT DISTINCT er.employee.id
+            FROM EmployeeRequest er
+            WHERE er.teamRequest.id = :teamId
+              AND LOWER(er.requestedRole) = LOWER(:role)
+              AND er.employee IS NOT NULL
+            """)
+    List<Integer> findAcceptedEmployeeIdsByTeamAndRole(@Param("teamId") Integer teamId,
+                                                       @Param("role") String role);
+
     @Query("""
             SELECT COUNT(er)
             FROM EmployeeRequest er
@@ -81,11 +145,74 @@ public interface EmployeeRequestRepository extends JpaRepository<EmployeeRequest
 
     long countByTeamRequest_IdAndEmployeeIsNull(Integer teamId);
 
+    /**
+     * Últimos {@code perEmployee} trabalhos concluídos (estado COMPLETED ou data de fim já passada) de
+     * vários colaboradores, do mais recente para o mais antigo, agrupados por colaborador. O corte é
+     * feito na base de dados ({@code ROW_NUMBER} por colaborador), por isso o histórico antigo não é lido.
+     */
+    @Query(value = """
+            SELECT ranked.employee_id AS "employeeId",
+                   ranked.company_name AS "companyName",
+                   ranked.requested_role AS "requestedRole",
+                   ranked.date_accepted AS "acceptedDate"
+            FROM (
+                SELECT er.id_funcionario AS employee_id,
+                       c.name AS company_name,
+                       er.requested_role,
+                       er.date_accepted,
+                       ROW_NUMBER() OVER (PARTITION BY er.id_funcionario
+                                          ORDER BY er.date_accepted DESC, er.id DESC) AS rn
+                FROM request_employee er
+                JOIN request_team tr ON tr.id = er.id_team_request
+                LEFT JOIN company_account c ON c.id = tr.id_empresa
+                WHERE er.id_funcionario IN (:employeeIds)
+                  AND er.date_accepted IS NOT NULL
+                  AND (tr.state = :completed OR tr.end_date < :now)
+            ) ranked
+            WHERE ranked.rn <= :perEmployee
+            ORDER BY ranked.employee_id, ranked.date_accepted DESC
+            """, nativeQuery = true)
+    List<EmployeeExperience> findConcludedExperiencesByEmployeeIds(@Param("employeeIds") Collection<Integer> employeeIds,
+                                                                   @Param("completed") String completedState,
+                                                                   @Param("now") LocalDateTime now,
+                                                                   @Param("perEmployee") int perEmployee);
+
+    /**
+     * Data da aceitação mais recente de cada colaborador (ordenação da pesquisa de candidatos).
+     */
+    @Query("""
+            SELECT er.employee.id AS employeeId, MAX(er.acceptedDate) AS lastAccepted
+            FROM EmployeeRequest er
+            WHERE er.employee IS NOT NULL
+              AND er.acceptedDate IS NOT NULL
+            GROUP BY er.employee.id
+            """)
+    List<EmployeeLastAccepted> findLastAcceptedDates();
+
+    @Query("""
+            SELECT MAX(er.acceptedDate)
+            FROM EmployeeRequest er
+            WHERE er.employee.id = :employeeId
+            """)
+    LocalDateTime findLastAcceptedDateByEmployeeId(@Param("employeeId") Integer employeeId);
+
     interface TeamRequestCount {
         Integer getRequestId();
         long getTotal();
     }
 
+    interface EmployeeExperience {
+        Integer getEmployeeId();
+        String getCompanyName();
+        String getRequestedRole();
+        LocalDateTime getAcceptedDate();
+    }
+
+    interface EmployeeLastAccepted {
+        Integer getEmployeeId();
+        LocalDateTime getLastAccepted();
+    }
+
     interface RoleCount {
         String getRole();
         long getTotal();
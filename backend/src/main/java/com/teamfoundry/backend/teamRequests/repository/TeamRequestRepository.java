@@ -2,7 +2,9 @@ package com.teamfoundry.backend.teamRequests.repository;
 
 import com.teamfoundry.backend.teamRequests.model.TeamRequest;
 import com.teamfoundry.backend.teamRequests.enums.State;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -17,6 +19,13 @@ public interface TeamRequestRepository extends JpaRepository<TeamRequest, Intege
 
     List<TeamRequest> findByResponsibleAdminId(Integer adminId);
 
+    /**
+     * Requisição com a linha bloqueada até ao fim da transação (fecho quando a última vaga é ocupada).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT tr FROM TeamRequest tr WHERE tr.id = :id")
+    Optional<TeamRequest> findByIdForUpdate(@Param("id") Integer id);
+
     @Query("""
             SELECT tr.responsibleAdminId AS adminId, COUNT(tr) AS total
             FROM TeamRequest tr
@@ -17,7 +17,7 @@ import com.teamfoundry.backend.teamRequests.model.EmployeeRequest;
 import com.teamfoundry.backend.teamRequests.repository.EmployeeRequestRepository;
 import com.teamfoundry.backend.account.enums.DocumentType;
 import com.teamfoundry.backend.account.dto.employee.documents.EmployeeCertificationResponse;
-import com.teamfoundry.backend.common.service.CloudinaryService;
+import com.teamfoundry.backend.common.storage.FileStorage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -27,6 +27,7 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Perfil do colaborador (consulta por admin), incluindo experiências concluídas (máx. 2).
@@ -43,7 +44,7 @@ public class AdminEmployeeProfileService {
     private final EmployeeRequestRepository employeeRequestRepository;
     private final EmployeeDocumentRepository employeeDocumentRepository;
     private final EmployeeCertificationRepository employeeCertificationRepository;
-    private final CloudinaryService cloudinaryService;
+    private final FileStorage fileStorage;
 
     public AdminEmployeeProfileResponse getProfile(Integer employeeId) {
         EmployeeAccount employee = employeeAccountRepository.findById(employeeId)
@@ -74,9 +75,10 @@ public class AdminEmployeeProfileService {
                         .map(this::toExperienceLabel)
                         .toList();
 
-        EmployeeDocument cv = getDocument(employee, DocumentType.CURRICULUM);
-        EmployeeDocument idFront = getDocument(employee, DocumentType.IDENTIFICATION_FRONT);
-        EmployeeDocument idBack = getDocument(employee, DocumentType.IDENTIFICATION_BACK);
+        Map<DocumentType, EmployeeDocument> documents = EmployeeDocument.byType(employeeDocumentRepository.findAllByEmployee(employee));
+        EmployeeDocument cv = documents.get(DocumentType.CURRICULUM);
+        EmployeeDocument idFront = documents.get(DocumentType.IDENTIFICATION_FRONT);
+        EmployeeDocument idBack = documents.get(DocumentType.IDENTIFICATION_BACK);
 
         List<EmployeeCertificationResponse> certs = employeeCertificationRepository.findByEmployeeOrderByCompletionDateDescIdDesc(employee).stream()
                 .map(cert -> EmployeeCertificationResponse.builder()
@@ -131,10 +133,6 @@ public class AdminEmployeeProfileService {
         return end != null && end.isBefore(LocalDateTime.now());
     }
 
-    private EmployeeDocument getDocument(EmployeeAccount employee, DocumentType type) {
-        return employeeDocumentRepository.findByEmployeeAndType(employee, type).orElse(null);
-    }
-
     private String docPublicId(EmployeeDocument doc) {
         return doc != null ? doc.getPublicId() : null;
     }
@@ -145,6 +143,6 @@ public class AdminEmployeeProfileService {
 
     private String buildUrl(String publicId) {
         if (!StringUtils.hasText(publicId)) return null;
-        return cloudinaryService.buildUrl(publicId);
+        return fileStorage.buildUrl(publicId);
     }
 }
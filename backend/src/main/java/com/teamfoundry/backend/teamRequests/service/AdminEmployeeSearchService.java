@@ -1,18 +1,14 @@
 package com.teamfoundry.backend.teamRequests.service;
 
 import com.teamfoundry.backend.account.enums.UserType;
-import com.teamfoundry.backend.teamRequests.model.TeamRequest;
 import com.teamfoundry.backend.superadmin.model.credentials.AdminAccount;
 import com.teamfoundry.backend.account.model.employee.profile.EmployeeAccount;
 import com.teamfoundry.backend.superadmin.repository.credentials.AdminAccountRepository;
 import com.teamfoundry.backend.account.repository.employee.EmployeeAccountRepository;
+import com.teamfoundry.backend.teamRequests.dto.search.AdminEmployeeSearchPage;
 import com.teamfoundry.backend.teamRequests.dto.search.AdminEmployeeSearchResponse;
-import com.teamfoundry.backend.account.model.employee.profile.EmployeeSkill;
-import com.teamfoundry.backend.account.model.employee.profile.EmployeeGeoArea;
-import com.teamfoundry.backend.account.repository.employee.profile.EmployeeSkillRepository;
-import com.teamfoundry.backend.account.repository.employee.profile.EmployeeRoleRepository;
-import com.teamfoundry.backend.account.repository.employee.profile.EmployeeGeoAreaRepository;
-import com.teamfoundry.backend.teamRequests.enums.State;
+import com.teamfoundry.backend.teamRequests.enums.CandidateSort;
+import com.teamfoundry.backend.teamRequests.repository.EmployeeRequestOfferRepository;
 import com.teamfoundry.backend.teamRequests.repository.EmployeeRequestRepository;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
@@ -23,39 +19,55 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 /**
  * Busca candidatos filtrando por função, áreas e competências.
- * Experiências listam apenas trabalhos concluídos (máx. 2).
+ * Os filtros são resolvidos no {@link CandidateSearchIndex}; a base de dados só é
+ * consultada para o estado face à equipa e para montar as respostas
+ * ({@link CandidateProjectionLoader}, com experiências concluídas limitadas a 2).
+ * {@link #searchPage} pagina por cursor sobre as ordens mantidas no índice.
  */
 @Service
 @Transactional(readOnly = true)
 public class AdminEmployeeSearchService {
 
     private static final String ADMIN_TOKEN_PREFIX = "admin:";
+    private static final String CURSOR_SEPARATOR = "|";
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
 
     private final AdminAccountRepository adminAccountRepository;
     private final EmployeeAccountRepository employeeAccountRepository;
-    private final EmployeeRoleRepository employeeRoleRepository;
-    private final EmployeeSkillRepository employeeSkillRepository;
-    private final EmployeeGeoAreaRepository employeeGeoAreaRepository;
     private final EmployeeRequestRepository employeeRequestRepository;
+    private final EmployeeRequestOfferRepository inviteRepository;
+    private final CandidateSearchIndex candidateSearchIndex;
+    private final CandidateProjectionLoader candidateProjectionLoader;
 
     public AdminEmployeeSearchService(AdminAccountRepository adminAccountRepository,
                                       EmployeeAccountRepository employeeAccountRepository,
-                                      EmployeeRoleRepository employeeRoleRepository,
-                                      EmployeeSkillRepository employeeSkillRepository,
-                                      EmployeeGeoAreaRepository employeeGeoAreaRepository,
-                                      EmployeeRequestRepository employeeRequestRepository) {
+                                      EmployeeRequestRepository employeeRequestRepository,
+                                      EmployeeRequestOfferRepository inviteRepository,
+                                      CandidateSearchIndex candidateSearchIndex,
+                                      CandidateProjectionLoader candidateProjectionLoader) {
         this.adminAccountRepository = adminAccountRepository;
         this.employeeAccountRepository = employeeAccountRepository;
-        this.employeeRoleRepository = employeeRoleRepository;
-        this.employeeSkillRepository = employeeSkillRepository;
-        this.employeeGeoAreaRepository = employeeGeoAreaRepository;
         this.employeeRequestRepository = employeeRequestRepository;
+        this.inviteRepository = inviteRepository;
+        this.candidateSearchIndex = candidateSearchIndex;
+        this.candidateProjectionLoader = candidateProjectionLoader;
     }
 
     public List<AdminEmployeeSearchResponse> search(String role,
@@ -64,96 +76,106 @@ public class AdminEmployeeSearchService {
                                                     List<String> preferredRoles,
                                                     List<String> statuses,
                                                     Integer teamId) {
+        resolveAuthenticatedAdmin(); // garante que é admin
+        BitSet matches = match(role, areas, skills, preferredRoles, statuses, teamId);
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+
+        List<Integer> ids = matches.stream().boxed().toList();
+        List<EmployeeAccount> employees = employeeAccountRepository.findAllById(ids).stream()
+                .sorted(Comparator.comparing(EmployeeAccount::getId))
+                .toList();
+        return candidateProjectionLoader.load(employees);
+    }
 
-        
-        
-        
+    /**
+     * Versão paginada por cursor (keyset): a ordem vem do índice e só os ids da página
+     * são lidos da base de dados. O total é opcional por exigir contar todo o resultado.
+     */
+    public AdminEmployeeSearchPage searchPage(String role,
+                                              List<String> areas,
+                                              List<String> skills,
+                                              List<String> preferredRoles,
+                                              List<String> statuses,
+                                              Integer teamId,
+                                              CandidateSort sort,
+                                              String cursor,
+                                              Integer size,
+                                              boolean includeTotal) {
         resolveAuthenticatedAdmin(); // garante que é admin
+        CandidateSort effectiveSort = sort != null ? sort : CandidateSort.NAME;
+        CandidateSearchIndex.Cursor after = decodeCursor(cursor, effectiveSort);
+        int limit = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        BitSet matches = match(role, areas, skills, preferredRoles, statuses, teamId);
+        Long total = includeTotal ? (long) matches.cardinality() : null;
+        if (matches.isEmpty()) {
+            return new AdminEmployeeSearchPage(List.of(), null, total);
+        }
+
+        CandidateSearchIndex.Slice slice = candidateSearchIndex.page(matches, effectiveSort, after, limit);
+        Map<Integer, EmployeeAccount> byId = employeeAccountRepository.findAllById(slice.employeeIds()).stream()
+                .collect(Collectors.toMap(EmployeeAccount::getId, Function.identity()));
+        List<EmployeeAccount> employees = slice.employeeIds().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new AdminEmployeeSearchPage(candidateProjectionLoader.load(employees), encodeCursor(slice.next()), total);
+    }
+
+    private BitSet match(String role,
+                         List<String> areas,
+                         List<String> skills,
+                         List<String> preferredRoles,
+                         List<String> statuses,
+                         Integer teamId) {
         List<String> normAreas = normalizeList(areas);
         List<String> normSkills = normalizeList(skills);
         List<String> normRoles = normalizeList(preferredRoles);
-        List<String> normStatuses = normalizeList(statuses);
-        
+
         String normVacancyRole = null;
         if (StringUtils.hasText(role)) {
-            String normRole = role.trim().toLowerCase(Locale.ROOT);
-            normVacancyRole = normRole; 
+            normVacancyRole = role.trim().toLowerCase(Locale.ROOT);
         }
 
-
         List<String> validStatuses = statuses != null ? statuses.stream().filter(StringUtils::hasText).toList() : List.of();
 
-        List<EmployeeAccount> results = employeeAccountRepository.searchCandidates(
-                normAreas,
-                normAreas.isEmpty(),
-                normSkills,
-                normSkills.isEmpty(),
-                normRoles,
-                normRoles.isEmpty(),
-                validStatuses,
-                validStatuses.isEmpty(),
-                teamId,
-                normVacancyRole
-        );
-        
-        
-
-        return results.stream()
-                .map(this::toResponse)
-                .toList();
+        BitSet matches = candidateSearchIndex.match(normRoles, normSkills, normAreas);
+        if (!validStatuses.isEmpty()) {
+            matches.and(statusFilter(matches, validStatuses, teamId, normVacancyRole));
+        }
+        return matches;
     }
 
-    private AdminEmployeeSearchResponse toResponse(EmployeeAccount employee) {
-        String role = employeeRoleRepository.findFirstByEmployee(employee)
-                .map(rel -> rel.getFunction().getName())
-                .orElse(null);
-
-        List<String> skills = employeeSkillRepository.findByEmployee(employee).stream()
-                .map(EmployeeSkill::getPrefSkill)
-                .filter(comp -> comp != null && StringUtils.hasText(comp.getName()))
-                .map(comp -> comp.getName())
-                .toList();
-
-        List<String> areas = employeeGeoAreaRepository.findByEmployee(employee).stream()
-                .map(EmployeeGeoArea::getGeoArea)
-                .filter(area -> area != null && StringUtils.hasText(area.getName()))
-                .map(area -> area.getName())
-                .toList();
-
-        List<String> experiences = employeeRequestRepository
-                .findByEmployee_EmailOrderByAcceptedDateDesc(employee.getEmail().toLowerCase())
-                .stream()
-                .filter(req -> req.getAcceptedDate() != null && isConcluded(req.getTeamRequest()))
-                .limit(2)
-                .map(req -> {
-                    String company = (req.getTeamRequest() != null && req.getTeamRequest().getCompany() != null)
-                            ? req.getTeamRequest().getCompany().getName()
-                            : "Empresa";
-                    String job = req.getRequestedRole() != null ? req.getRequestedRole() : "Função";
-                    String date = req.getAcceptedDate().toLocalDate().toString();
-                    return company + " - " + job + " (" + date + ")";
-                })
-                .toList();
-
-        return new AdminEmployeeSearchResponse(
-                employee.getId(),
-                employee.getName(),
-                employee.getSurname(),
-                employee.getEmail(),
-                employee.getPhone(),
-                role,
-                skills,
-                areas,
-                experiences,
-                employee.getProfilePicturePublicId()
-        );
-    }
+    /**
+     * Estado do candidato face à equipa/função: INVITED (convite ativo), ACCEPTED (ocupa vaga)
+     * ou NO_PROPOSAL (nenhum dos dois). Sem equipa, ninguém está convidado nem aceite.
+     */
+    private BitSet statusFilter(BitSet candidates, List<String> statuses, Integer teamId, String vacancyRole) {
+        BitSet invited = new BitSet();
+        BitSet accepted = new BitSet();
+        if (teamId != null) {
+            List<Integer> invitedIds = vacancyRole == null
+                    ? inviteRepository.findActiveInviteEmployeeIdsByTeam(teamId)
+                    : inviteRepository.findActiveInviteEmployeeIdsByTeamAndRole(teamId, vacancyRole);
+            List<Integer> acceptedIds = vacancyRole == null
+                    ? employeeRequestRepository.findAcceptedEmployeeIdsByTeam(teamId)
+                    : employeeRequestRepository.findAcceptedEmployeeIdsByTeamAndRole(teamId, vacancyRole);
+            invitedIds.forEach(invited::set);
+            acceptedIds.forEach(accepted::set);
+        }
 
-    private boolean isConcluded(TeamRequest tr) {
-        if (tr == null) return false;
-        if (tr.getState() == State.COMPLETED) return true;
-        LocalDateTime end = tr.getEndDate();
-        return end != null && end.isBefore(LocalDateTime.now());
+        BitSet allowed = new BitSet();
+        if (statuses.contains("INVITED")) allowed.or(invited);
+        if (statuses.contains("ACCEPTED")) allowed.or(accepted);
+        if (statuses.contains("NO_PROPOSAL")) {
+            BitSet noProposal = (BitSet) candidates.clone();
+            noProposal.andNot(invited);
+            noProposal.andNot(accepted);
+            allowed.or(noProposal);
+        }
+        return allowed;
     }
 
     private AdminAccount resolveAuthenticatedAdmin() {
@@ -171,6 +193,40 @@ public class AdminEmployeeSearchService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Administrador não encontrado."));
     }
 
+    /**
+     * Cursor opaco: Base64 URL-safe de "ordenação|id|valor da chave".
+     */
+    private String encodeCursor(CandidateSearchIndex.Cursor cursor) {
+        if (cursor == null) return null;
+        String value = switch (cursor.sort()) {
+            case NAME -> cursor.name();
+            case LAST_ACCEPTED -> cursor.lastAccepted() != null ? cursor.lastAccepted().toString() : "";
+            case ID -> "";
+        };
+        String raw = cursor.sort().name() + CURSOR_SEPARATOR + cursor.employeeId() + CURSOR_SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private CandidateSearchIndex.Cursor decodeCursor(String cursor, CandidateSort sort) {
+        if (!StringUtils.hasText(cursor)) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(Pattern.quote(CURSOR_SEPARATOR), 3);
+            if (parts.length != 3 || CandidateSort.valueOf(parts[0]) != sort) {
+                throw new IllegalArgumentException("Ordenação do cursor não corresponde ao pedido.");
+            }
+            int employeeId = Integer.parseInt(parts[1]);
+            return switch (sort) {
+                case NAME -> new CandidateSearchIndex.Cursor(sort, employeeId, parts[2], null);
+                case LAST_ACCEPTED -> new CandidateSearchIndex.Cursor(sort, employeeId, null,
+                        parts[2].isEmpty() ? null : LocalDateTime.parse(parts[2]));
+                case ID -> new CandidateSearchIndex.Cursor(sort, employeeId, null, null);
+            };
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor inválido.");
+        }
+    }
+
     private List<String> normalizeList(List<String> values) {
         if (values == null) return List.of();
         return values.stream()
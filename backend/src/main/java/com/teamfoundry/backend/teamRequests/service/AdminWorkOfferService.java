@@ -5,11 +5,15 @@ import com.teamfoundry.backend.superadmin.model.credentials.AdminAccount;
 import com.teamfoundry.backend.account.model.employee.profile.EmployeeAccount;
 import com.teamfoundry.backend.superadmin.repository.credentials.AdminAccountRepository;
 import com.teamfoundry.backend.account.repository.employee.EmployeeAccountRepository;
+import com.teamfoundry.backend.notification.dto.NotificationDraft;
+import com.teamfoundry.backend.notification.enums.NotificationType;
+import com.teamfoundry.backend.notification.service.NotificationService;
 import com.teamfoundry.backend.teamRequests.model.EmployeeRequest;
 import com.teamfoundry.backend.teamRequests.model.EmployeeRequestOffer;
 import com.teamfoundry.backend.teamRequests.model.TeamRequest;
 import com.teamfoundry.backend.teamRequests.enums.State;
 import com.teamfoundry.backend.teamRequests.repository.EmployeeRequestOfferRepository;
+import com.teamfoundry.backend.teamRequests.repository.EmployeeRequestOfferRepository.ActiveInvite;
 import com.teamfoundry.backend.teamRequests.repository.EmployeeRequestRepository;
 import com.teamfoundry.backend.teamRequests.repository.TeamRequestRepository;
 import lombok.RequiredArgsConstructor;
@@ -28,6 +32,7 @@ import java.util.*;
 /**
  * Envio de convites em massa para vagas abertas de uma função.
  * Bloqueia requisições concluídas e evita convidar quem já ocupa vaga na equipa.
+ * O número de consultas de um envio não depende do número de vagas nem de candidatos.
  */
 @Service
 @RequiredArgsConstructor
@@ -40,7 +45,8 @@ public class AdminWorkOfferService {
     private final EmployeeRequestOfferRepository inviteRepository;
     private final EmployeeAccountRepository employeeAccountRepository;
     private final AdminAccountRepository adminAccountRepository;
-    private final com.teamfoundry.backend.notification.service.NotificationService notificationService;
+    private final NotificationService notificationService;
+    private final EmployeeRequestOfferBatchWriter offerBatchWriter;
 
     @Transactional
     public int sendInvites(Integer teamRequestId, String role, List<Integer> candidateIds) {
@@ -72,18 +78,31 @@ public class AdminWorkOfferService {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Não há vagas abertas para esta função.");
         }
 
+        // Diferença calculada em memória: candidatos e convites ativos lidos uma vez cada
+        Set<Integer> requestedIds = new LinkedHashSet<>();
+        for (Integer candidateId : candidateIds) {
+            if (candidateId != null && !acceptedIds.contains(candidateId)) { // já ocupa vaga na equipa
+                requestedIds.add(candidateId);
+            }
+        }
+        Map<Integer, EmployeeAccount> candidates = new HashMap<>();
+        employeeAccountRepository.findAllById(requestedIds).forEach(c -> candidates.put(c.getId(), c));
+
+        Map<Integer, Set<Integer>> invitedByRequest = new HashMap<>();
+        List<Integer> openRequestIds = openRequests.stream().map(EmployeeRequest::getId).toList();
+        for (ActiveInvite invite : inviteRepository.findActiveInvitesByRequestIds(openRequestIds)) {
+            invitedByRequest.computeIfAbsent(invite.getRequestId(), id -> new HashSet<>()).add(invite.getEmployeeId());
+        }
+
         List<EmployeeRequestOffer> toSave = new ArrayList<>();
         for (EmployeeRequest er : openRequests) {
-            for (Integer candidateId : candidateIds) {
-                if (acceptedIds.contains(candidateId)) continue; // já ocupa vaga na equipa
-                Optional<EmployeeAccount> candidateOpt = employeeAccountRepository.findById(candidateId);
-                if (candidateOpt.isEmpty()) continue;
-                if (inviteRepository.existsByEmployeeRequest_IdAndEmployee_IdAndActiveTrue(er.getId(), candidateId)) {
-                    continue; // já tem convite ativo
-                }
+            Set<Integer> alreadyInvited = invitedByRequest.getOrDefault(er.getId(), Set.of());
+            for (Integer candidateId : requestedIds) {
+                EmployeeAccount candidate = candidates.get(candidateId);
+                if (candidate == null || alreadyInvited.contains(candidateId)) continue; // inexistente ou já tem convite ativo
                 EmployeeRequestOffer invite = new EmployeeRequestOffer();
                 invite.setEmployeeRequest(er);
-                invite.setEmployee(candidateOpt.get());
+                invite.setEmployee(candidate);
                 invite.setActive(true);
                 toSave.add(invite);
             }
@@ -93,23 +112,23 @@ public class AdminWorkOfferService {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Nenhum convite novo foi criado (duplicados, sem vagas ou já aceitou outra vaga na equipa).");
         }
 
-        inviteRepository.saveAll(toSave);
+        offerBatchWriter.insert(toSave);
 
-        // Notify candidates
-        // Notify candidates (only once per candidate for this batch)
+        // Uma notificação por candidato, gravadas em lote depois do commit dos convites
         Set<Integer> notifiedCandidates = new HashSet<>();
+        List<NotificationDraft> notifications = new ArrayList<>();
         for (EmployeeRequestOffer offer : toSave) {
-            if (notifiedCandidates.contains(offer.getEmployee().getId())) {
+            if (!notifiedCandidates.add(offer.getEmployee().getId())) {
                 continue;
             }
-            notificationService.createNotification(
+            notifications.add(NotificationDraft.of(
                 offer.getEmployee(),
                 "Recebeu uma nova oferta de emprego para a função " + role,
-                com.teamfoundry.backend.notification.enums.NotificationType.JOB_OFFER,
+                NotificationType.JOB_OFFER,
                 offer.getId()
-            );
-            notifiedCandidates.add(offer.getEmployee().getId());
+            ));
         }
+        notificationService.createNotificationsAfterCommit(notifications);
 
         return toSave.size();
     }
@@ -0,0 +1,103 @@
+package com.teamfoundry.backend.teamRequests.service;
+
+import com.teamfoundry.backend.account.model.employee.profile.EmployeeAccount;
+import com.teamfoundry.backend.account.repository.employee.profile.EmployeeGeoAreaRepository;
+import com.teamfoundry.backend.account.repository.employee.profile.EmployeePreferenceName;
+import com.teamfoundry.backend.account.repository.employee.profile.EmployeeRoleRepository;
+import com.teamfoundry.backend.account.repository.employee.profile.EmployeeSkillRepository;
+import com.teamfoundry.backend.common.storage.FileStorage;
+import com.teamfoundry.backend.common.storage.ImageSize;
+import com.teamfoundry.backend.teamRequests.dto.search.AdminEmployeeSearchResponse;
+import com.teamfoundry.backend.teamRequests.enums.State;
+import com.teamfoundry.backend.teamRequests.repository.EmployeeRequestRepository;
+import com.teamfoundry.backend.teamRequests.repository.EmployeeRequestRepository.EmployeeExperience;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Monta as respostas da pesquisa de candidatos para um conjunto de colaboradores
+ * com um número fixo de consultas (funções, competências, áreas e experiências),
+ * independentemente do tamanho do resultado. A foto segue como miniatura ({@link ImageSize#MEDIUM}).
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class CandidateProjectionLoader {
+
+    static final int MAX_EXPERIENCES = 2;
+
+    private final EmployeeRoleRepository employeeRoleRepository;
+    private final EmployeeSkillRepository employeeSkillRepository;
+    private final EmployeeGeoAreaRepository employeeGeoAreaRepository;
+    private final EmployeeRequestRepository employeeRequestRepository;
+    private final FileStorage fileStorage;
+
+    /**
+     * Devolve uma resposta por colaborador, pela mesma ordem da lista recebida.
+     */
+    public List<AdminEmployeeSearchResponse> load(List<EmployeeAccount> employees) {
+        if (employees == null || employees.isEmpty()) {
+            return List.of();
+        }
+        List<Integer> ids = employees.stream().map(EmployeeAccount::getId).toList();
+
+        Map<Integer, List<String>> roles = groupNames(employeeRoleRepository.findPreferenceNamesByEmployeeIds(ids));
+        Map<Integer, List<String>> skills = groupNames(employeeSkillRepository.findPreferenceNamesByEmployeeIds(ids));
+        Map<Integer, List<String>> areas = groupNames(employeeGeoAreaRepository.findPreferenceNamesByEmployeeIds(ids));
+        Map<Integer, List<String>> experiences = groupExperiences(
+                employeeRequestRepository.findConcludedExperiencesByEmployeeIds(
+                        ids, State.COMPLETED.name(), LocalDateTime.now(), MAX_EXPERIENCES));
+
+        return employees.stream()
+                .map(employee -> {
+                    List<String> employeeRoles = roles.getOrDefault(employee.getId(), List.of());
+                    return new AdminEmployeeSearchResponse(
+                            employee.getId(),
+                            employee.getName(),
+                            employee.getSurname(),
+                            employee.getEmail(),
+                            employee.getPhone(),
+                            employeeRoles.isEmpty() ? null : employeeRoles.getFirst(),
+                            skills.getOrDefault(employee.getId(), List.of()),
+                            areas.getOrDefault(employee.getId(), List.of()),
+                            experiences.getOrDefault(employee.getId(), List.of()),
+                            employee.getProfilePicturePublicId(),
+                            thumbnailUrl(employee.getProfilePicturePublicId())
+                    );
+                })
+                .toList();
+    }
+
+    private String thumbnailUrl(String publicId) {
+        return StringUtils.hasText(publicId) ? fileStorage.buildImageUrl(publicId, ImageSize.MEDIUM) : null;
+    }
+
+    private Map<Integer, List<String>> groupNames(List<EmployeePreferenceName> rows) {
+        Map<Integer, List<String>> grouped = new HashMap<>();
+        for (EmployeePreferenceName row : rows) {
+            if (!StringUtils.hasText(row.getName())) continue;
+            grouped.computeIfAbsent(row.getEmployeeId(), id -> new ArrayList<>()).add(row.getName());
+        }
+        return grouped;
+    }
+
+    private Map<Integer, List<String>> groupExperiences(List<EmployeeExperience> rows) {
+        Map<Integer, List<String>> grouped = new HashMap<>();
+        for (EmployeeExperience row : rows) {
+            String company = row.getCompanyName() != null ? row.getCompanyName() : "Empresa";
+            String job = row.getRequestedRole() != null ? row.getRequestedRole() : "Função";
+            String date = row.getAcceptedDate().toLocalDate().toString();
+            grouped.computeIfAbsent(row.getEmployeeId(), id -> new ArrayList<>())
+                    .add(company + " - " + job + " (" + date + ")");
+        }
+        return grouped;
+    }
+}
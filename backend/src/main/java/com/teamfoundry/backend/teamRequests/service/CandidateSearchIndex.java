@@ -0,0 +1,434 @@
+package com.teamfoundry.backend.teamRequests.service;
+
+import com.teamfoundry.backend.account.repository.employee.EmployeeAccountRepository;
+import com.teamfoundry.backend.account.repository.employee.EmployeeAccountRepository.SearchableEmployee;
+import com.teamfoundry.backend.account.repository.employee.profile.EmployeeGeoAreaRepository;
+import com.teamfoundry.backend.account.repository.employee.profile.EmployeePreferenceName;
+import com.teamfoundry.backend.account.repository.employee.profile.EmployeeRoleRepository;
+import com.teamfoundry.backend.account.repository.employee.profile.EmployeeSkillRepository;
+import com.teamfoundry.backend.teamRequests.enums.CandidateSort;
+import com.teamfoundry.backend.teamRequests.repository.EmployeeRequestRepository;
+import com.teamfoundry.backend.teamRequests.repository.EmployeeRequestRepository.EmployeeLastAccepted;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Índice em memória para a pesquisa de candidatos.
+ * Mantém, por função, competência e área geográfica (nome em minúsculas), um BitSet
+ * com os ids dos colaboradores; os filtros resolvem-se com AND/OR entre bitsets.
+ * O snapshot é imutável e trocado por inteiro a cada alteração (copy-on-write),
+ * por isso as leituras não precisam de lock; as escritas são serializadas.
+ * Guarda também as ordens por nome e por última aceitação, para paginar por cursor
+ * sem ordenar o resultado inteiro a cada pedido.
+ * As alterações feitas nesta instância entram logo ({@link #refreshAfterCommit}); as feitas noutras
+ * instâncias só entram na reconstrução completa periódica ({@code rebuild-interval-ms}).
+ */
+@Component
+@Slf4j
+public class CandidateSearchIndex {
+
+    private final EmployeeAccountRepository employeeAccountRepository;
+    private final EmployeeRoleRepository employeeRoleRepository;
+    private final EmployeeSkillRepository employeeSkillRepository;
+    private final EmployeeGeoAreaRepository employeeGeoAreaRepository;
+    private final EmployeeRequestRepository employeeRequestRepository;
+    private final TransactionTemplate readTransaction;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public CandidateSearchIndex(EmployeeAccountRepository employeeAccountRepository,
+                                EmployeeRoleRepository employeeRoleRepository,
+                                EmployeeSkillRepository employeeSkillRepository,
+                                EmployeeGeoAreaRepository employeeGeoAreaRepository,
+                                EmployeeRequestRepository employeeRequestRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.employeeAccountRepository = employeeAccountRepository;
+        this.employeeRoleRepository = employeeRoleRepository;
+        this.employeeSkillRepository = employeeSkillRepository;
+        this.employeeGeoAreaRepository = employeeGeoAreaRepository;
+        this.employeeRequestRepository = employeeRequestRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Reconstrói o índice completo a partir da base de dados (arranque da aplicação).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        Snapshot rebuilt = readTransaction.execute(status -> {
+            Map<Integer, LocalDateTime> lastAccepted = new HashMap<>();
+            for (EmployeeLastAccepted row : employeeRequestRepository.findLastAcceptedDates()) {
+                lastAccepted.put(row.getEmployeeId(), row.getLastAccepted());
+            }
+            Map<Integer, SortKey> sortKeys = new HashMap<>();
+            for (SearchableEmployee employee : employeeAccountRepository.findSearchableEmployees()) {
+                sortKeys.put(employee.getId(), SortKey.of(employee, lastAccepted.get(employee.getId())));
+            }
+            return new Snapshot(
+                    Ordering.of(sortKeys),
+                    postings(employeeRoleRepository.findAllPreferenceNames()),
+                    postings(employeeSkillRepository.findAllPreferenceNames()),
+                    postings(employeeGeoAreaRepository.findAllPreferenceNames())
+            );
+        });
+        snapshot = rebuilt;
+        log.info("Índice de candidatos reconstruído: {} colaboradores pesquisáveis", rebuilt.ordering().searchable().cardinality());
+    }
+
+    /**
+     * Reconstrução periódica, para apanhar registos, preferências e desativações feitos noutras instâncias.
+     * Se falhar, o índice atual continua a servir até à próxima.
+     */
+    @Scheduled(fixedDelayString = "${app.candidate-search.rebuild-interval-ms:120000}",
+            initialDelayString = "${app.candidate-search.rebuild-interval-ms:120000}")
+    public void periodicRebuild() {
+        try {
+            rebuild();
+        } catch (RuntimeException ex) {
+            log.warn("Falha na reconstrução periódica do índice de candidatos: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Agenda a atualização de um colaborador para depois do commit da transação atual
+     * (ou executa logo, se não houver transação ativa).
+     */
+    public void refreshAfterCommit(Integer employeeId) {
+        if (employeeId == null) return;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh(employeeId);
+                }
+            });
+        } else {
+            refresh(employeeId);
+        }
+    }
+
+    /**
+     * Relê as preferências, o estado, o nome e a última aceitação de um colaborador
+     * e substitui as suas entradas no índice.
+     */
+    public synchronized void refresh(Integer employeeId) {
+        if (employeeId == null) return;
+        try {
+            readTransaction.executeWithoutResult(status -> {
+                SortKey sortKey = employeeAccountRepository.findSearchableEmployeeById(employeeId)
+                        .map(employee -> SortKey.of(employee, employeeRequestRepository.findLastAcceptedDateByEmployeeId(employeeId)))
+                        .orElse(null);
+                Set<String> roles = keys(employeeRoleRepository.findPreferenceNamesByEmployeeId(employeeId));
+                Set<String> skills = keys(employeeSkillRepository.findPreferenceNamesByEmployeeId(employeeId));
+                Set<String> areas = keys(employeeGeoAreaRepository.findPreferenceNamesByEmployeeId(employeeId));
+                Snapshot current = snapshot;
+                snapshot = new Snapshot(
+                        current.ordering().with(employeeId, sortKey),
+                        reassign(current.byRole(), employeeId, roles),
+                        reassign(current.bySkill(), employeeId, skills),
+                        reassign(current.byArea(), employeeId, areas)
+                );
+            });
+        } catch (Exception ex) {
+            log.warn("Não foi possível atualizar o índice de candidatos para {}: {}", employeeId, ex.getMessage());
+        }
+    }
+
+    /**
+     * Devolve os colaboradores pesquisáveis que satisfazem os filtros.
+     * Dentro de cada dimensão os valores combinam-se com OR; entre dimensões com AND.
+     * Listas vazias não filtram. Os nomes devem vir normalizados em minúsculas.
+     */
+    public BitSet match(Collection<String> roles, Collection<String> skills, Collection<String> areas) {
+        Snapshot current = snapshot;
+        BitSet result = (BitSet) current.ordering().searchable().clone();
+        intersect(result, current.byRole(), roles);
+        intersect(result, current.bySkill(), skills);
+        intersect(result, current.byArea(), areas);
+        return result;
+    }
+
+    /**
+     * Devolve, pela ordenação pedida, até {@code limit} colaboradores de {@code matches}
+     * posicionados depois do cursor (keyset), e o cursor da página seguinte, se existir.
+     * Só percorre as posições necessárias para encher a página.
+     */
+    public Slice page(BitSet matches, CandidateSort sort, Cursor after, int limit) {
+        Ordering ordering = snapshot.ordering();
+        List<Integer> ids = new ArrayList<>(limit);
+        boolean hasMore = false;
+        if (sort == CandidateSort.ID) {
+            int from = after != null ? after.employeeId() + 1 : 0;
+            for (int id = matches.nextSetBit(from); id >= 0; id = matches.nextSetBit(id + 1)) {
+                if (ids.size() == limit) {
+                    hasMore = true;
+                    break;
+                }
+                ids.add(id);
+            }
+        } else {
+            int[] order = sort == CandidateSort.NAME ? ordering.byName() : ordering.byLastAccepted();
+            int from = after != null ? firstAfter(order, ordering.keys(), sort, after) : 0;
+            for (int i = from; i < order.length; i++) {
+                int id = order[i];
+                if (!matches.get(id)) continue;
+                if (ids.size() == limit) {
+                    hasMore = true;
+                    break;
+                }
+                ids.add(id);
+            }
+        }
+        Cursor next = hasMore ? cursorOf(sort, ids.getLast(), ordering.keys()) : null;
+        return new Slice(List.copyOf(ids), next);
+    }
+
+    /**
+     * Primeira posição de {@code order} estritamente depois do cursor (pesquisa binária).
+     */
+    private int firstAfter(int[] order, Map<Integer, SortKey> keys, CandidateSort sort, Cursor after) {
+        SortKey cursorKey = new SortKey(after.name() != null ? after.name() : "", after.lastAccepted());
+        int low = 0;
+        int high = order.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int id = order[mid];
+            if (compare(sort, keys.get(id), id, cursorKey, after.employeeId()) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private Cursor cursorOf(CandidateSort sort, int employeeId, Map<Integer, SortKey> keys) {
+        SortKey key = keys.getOrDefault(employeeId, SortKey.NONE);
+        return new Cursor(sort, employeeId,
+                sort == CandidateSort.NAME ? key.name() : null,
+                sort == CandidateSort.LAST_ACCEPTED ? key.lastAccepted() : null);
+    }
+
+    private static int compare(CandidateSort sort, SortKey left, int leftId, SortKey right, int rightId) {
+        int result = switch (sort) {
+            case NAME -> compareNames(left.name(), right.name());
+            case LAST_ACCEPTED -> compareRecentFirst(left.lastAccepted(), right.lastAccepted());
+            case ID -> 0;
+        };
+        return result != 0 ? result : Integer.compare(leftId, rightId);
+    }
+
+    /** Nomes vazios ficam no fim. */
+    private static int compareNames(String left, String right) {
+        if (left.isEmpty() || right.isEmpty()) {
+            return Boolean.compare(left.isEmpty(), right.isEmpty());
+        }
+        return left.compareTo(right);
+    }
+
+    /** Mais recente primeiro; sem aceitações fica no fim. */
+    private static int compareRecentFirst(LocalDateTime left, LocalDateTime right) {
+        if (left == null || right == null) {
+            return Boolean.compare(left == null, right == null);
+        }
+        return right.compareTo(left);
+    }
+
+    private void intersect(BitSet result, Map<String, BitSet> postings, Collection<String> keys) {
+        if (keys == null || keys.isEmpty() || result.isEmpty()) return;
+        BitSet union = new BitSet();
+        for (String key : keys) {
+            BitSet posting = postings.get(key);
+            if (posting != null) union.or(posting);
+        }
+        result.and(union);
+    }
+
+    private Map<String, BitSet> postings(List<EmployeePreferenceName> rows) {
+        Map<String, BitSet> postings = new HashMap<>();
+        for (EmployeePreferenceName row : rows) {
+            String key = normalize(row.getName());
+            if (key == null || row.getEmployeeId() == null) continue;
+            postings.computeIfAbsent(key, k -> new BitSet()).set(row.getEmployeeId());
+        }
+        return Map.copyOf(postings);
+    }
+
+    private Set<String> keys(List<EmployeePreferenceName> rows) {
+        return rows.stream()
+                .map(EmployeePreferenceName::getName)
+                .map(this::normalize)
+                .filter(StringUtils::hasText)
+                .collect(Collectors.toSet());
+    }
+
+    private Map<String, BitSet> reassign(Map<String, BitSet> postings, int employeeId, Set<String> keys) {
+        Map<String, BitSet> updated = new HashMap<>(postings);
+        for (Map.Entry<String, BitSet> entry : postings.entrySet()) {
+            boolean wanted = keys.contains(entry.getKey());
+            if (entry.getValue().get(employeeId) != wanted) {
+                BitSet copy = withBit(entry.getValue(), employeeId, wanted);
+                if (copy.isEmpty()) {
+                    updated.remove(entry.getKey());
+                } else {
+                    updated.put(entry.getKey(), copy);
+                }
+            }
+        }
+        for (String key : keys) {
+            updated.computeIfAbsent(key, k -> withBit(new BitSet(), employeeId, true));
+        }
+        return Map.copyOf(updated);
+    }
+
+    private BitSet withBit(BitSet source, int index, boolean value) {
+        if (source.get(index) == value) return source;
+        BitSet copy = (BitSet) source.clone();
+        copy.set(index, value);
+        return copy;
+    }
+
+    private String normalize(String value) {
+        return StringUtils.hasText(value) ? value.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    /**
+     * Posição de um colaborador numa ordenação; {@code name} e {@code lastAccepted} só são
+     * preenchidos para a ordenação que os usa.
+     */
+    public record Cursor(CandidateSort sort, int employeeId, String name, LocalDateTime lastAccepted) {}
+
+    /**
+     * Página de ids pela ordem pedida; {@code next} é nulo na última página.
+     */
+    public record Slice(List<Integer> employeeIds, Cursor next) {}
+
+    /**
+     * Chave de ordenação: nome completo sem acentos, em minúsculas, e última aceitação.
+     */
+    private record SortKey(String name, LocalDateTime lastAccepted) {
+        static final SortKey NONE = new SortKey("", null);
+
+        static SortKey of(SearchableEmployee employee, LocalDateTime lastAccepted) {
+            String fullName = Stream.of(employee.getName(), employee.getSurname())
+                    .filter(StringUtils::hasText)
+                    .map(String::trim)
+                    .collect(Collectors.joining(" "));
+            String plain = Normalizer.normalize(fullName, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+            return new SortKey(plain.toLowerCase(Locale.ROOT), lastAccepted);
+        }
+    }
+
+    /**
+     * Colaboradores pesquisáveis com as respetivas chaves e as ordens por nome e por última
+     * aceitação (arrays de ids). Ordenadas por inteiro só na reconstrução; quando muda a chave de um
+     * colaborador, a sua entrada é retirada e reinserida na posição certa (pesquisa binária e cópia).
+     */
+    private record Ordering(Map<Integer, SortKey> keys, BitSet searchable, int[] byName, int[] byLastAccepted) {
+        static final Ordering EMPTY = new Ordering(Map.of(), new BitSet(), new int[0], new int[0]);
+
+        static Ordering of(Map<Integer, SortKey> keys) {
+            BitSet searchable = new BitSet();
+            keys.keySet().forEach(searchable::set);
+            return new Ordering(Map.copyOf(keys), searchable,
+                    sorted(keys, CandidateSort.NAME), sorted(keys, CandidateSort.LAST_ACCEPTED));
+        }
+
+        Ordering with(int employeeId, SortKey key) {
+            SortKey previous = keys.get(employeeId);
+            if (Objects.equals(previous, key)) return this;
+            Map<Integer, SortKey> updated = new HashMap<>(keys);
+            BitSet updatedSearchable = (BitSet) searchable.clone();
+            if (key == null) {
+                updated.remove(employeeId);
+                updatedSearchable.clear(employeeId);
+            } else {
+                updated.put(employeeId, key);
+                updatedSearchable.set(employeeId);
+            }
+            return new Ordering(Collections.unmodifiableMap(updated), updatedSearchable,
+                    reposition(byName, CandidateSort.NAME, employeeId, previous, key),
+                    reposition(byLastAccepted, CandidateSort.LAST_ACCEPTED, employeeId, previous, key));
+        }
+
+        /**
+         * Cópia de {@code order} sem a entrada de {@code previous} e com {@code key} na sua posição.
+         * As restantes entradas mantêm a ordem, por isso basta pesquisa binária em vez de reordenar.
+         */
+        private int[] reposition(int[] order, CandidateSort sort, int employeeId, SortKey previous, SortKey key) {
+            int removeAt = previous != null ? lowerBound(order, sort, previous, employeeId) : -1;
+            int length = order.length - (removeAt >= 0 ? 1 : 0);
+            int[] without = order;
+            if (removeAt >= 0) {
+                without = new int[length];
+                System.arraycopy(order, 0, without, 0, removeAt);
+                System.arraycopy(order, removeAt + 1, without, removeAt, length - removeAt);
+            }
+            if (key == null) return without;
+            int insertAt = lowerBound(without, sort, key, employeeId);
+            int[] result = new int[length + 1];
+            System.arraycopy(without, 0, result, 0, insertAt);
+            result[insertAt] = employeeId;
+            System.arraycopy(without, insertAt, result, insertAt + 1, length - insertAt);
+            return result;
+        }
+
+        /**
+         * Primeira posição cuja entrada não fica antes de ({@code key}, {@code employeeId}).
+         */
+        private int lowerBound(int[] order, CandidateSort sort, SortKey key, int employeeId) {
+            int low = 0;
+            int high = order.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                int id = order[mid];
+                if (compare(sort, keys.get(id), id, key, employeeId) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private static int[] sorted(Map<Integer, SortKey> keys, CandidateSort sort) {
+            return keys.keySet().stream()
+                    .sorted((left, right) -> compare(sort, keys.get(left), left, keys.get(right), right))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+    }
+
+    private record Snapshot(Ordering ordering,
+                            Map<String, BitSet> byRole,
+                            Map<String, BitSet> bySkill,
+                            Map<String, BitSet> byArea) {
+        static final Snapshot EMPTY = new Snapshot(Ordering.EMPTY, Map.of(), Map.of(), Map.of());
+    }
+}
@@ -5,12 +5,14 @@ import com.teamfoundry.backend.teamRequests.enums.State;
 import com.teamfoundry.backend.teamRequests.model.EmployeeRequest;
 import com.teamfoundry.backend.teamRequests.model.EmployeeRequestOffer;
 import com.teamfoundry.backend.teamRequests.model.TeamRequest;
+import com.teamfoundry.backend.teamRequests.repository.EmployeeJobRow;
 import com.teamfoundry.backend.teamRequests.repository.EmployeeRequestOfferRepository;
 import com.teamfoundry.backend.teamRequests.repository.EmployeeRequestRepository;
 import com.teamfoundry.backend.account.model.company.CompanyAccount;
 import com.teamfoundry.backend.account.model.employee.profile.EmployeeAccount;
 import com.teamfoundry.backend.account.repository.employee.EmployeeAccountRepository;
 import com.teamfoundry.backend.common.service.ActionLogService;
+import com.teamfoundry.backend.superadmin.service.metrics.MetricsCounters;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -26,20 +28,26 @@ import java.util.Objects;
 
 /**
  * Ofertas e historico do colaborador.
- * - listInvitedOffers: convites (ativos/fechados) + aceites do proprio, com status OPEN/ACCEPTED/CLOSED.
- * - acceptOffer: valida convite, evita dupla alocacao na mesma equipa e inativa convites da vaga.
+ * - listInvitedOffers: convites (ativos/fechados) + aceites do proprio, com status OPEN/ACCEPTED/CLOSED,
+ *   lidos por projecao; countOpenInvites conta as entradas OPEN com um COUNT na base de dados.
+ * - acceptOffer: valida convite, evita dupla alocacao na mesma equipa, ocupa uma vaga livre de forma
+ *   atomica (UPDATE condicional) e inativa convites da vaga.
  */
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class EmployeeJobHistoryService {
 
+    private static final int MAX_CLAIM_ROUNDS = 3;
+
     private final EmployeeRequestRepository employeeRequestRepository;
     private final EmployeeAccountRepository employeeAccountRepository;
     private final EmployeeRequestOfferRepository employeeRequestOfferRepository;
     private final com.teamfoundry.backend.teamRequests.repository.TeamRequestRepository teamRequestRepository;
     private final com.teamfoundry.backend.notification.service.NotificationService notificationService;
     private final ActionLogService actionLogService;
+    private final CandidateSearchIndex candidateSearchIndex;
+    private final MetricsCounters metricsCounters;
 
     @Transactional(readOnly = true)
     public List<EmployeeJobSummary> listJobsForEmployee(String email) {
@@ -61,43 +69,36 @@ public class EmployeeJobHistoryService {
         String normalized = email.trim().toLowerCase();
         EmployeeAccount employee = findEmployee(normalized);
 
-        List<EmployeeRequestOffer> invites = employeeRequestOfferRepository.findAllInvitesByEmployeeEmail(normalized);
-        List<EmployeeRequest> acceptedByUser = employeeRequestRepository.findByEmployee_EmailOrderByAcceptedDateDesc(normalized);
+        List<EmployeeJobRow> invites = employeeRequestOfferRepository.findInvitedJobRows(employee.getId());
+        List<EmployeeJobRow> acceptedByUser = employeeRequestRepository.findAcceptedJobRows(employee.getId());
 
         Map<String, EmployeeJobSummary> groupedSummaries = new LinkedHashMap<>();
 
 
-        for (EmployeeRequestOffer invite : invites) {
-            EmployeeRequest req = invite.getEmployeeRequest();
-            if (req == null || req.getTeamRequest() == null) continue;
+        for (EmployeeJobRow invite : invites) {
+            String key = invite.getTeamId() + "::" + invite.getRequestedRole();
 
-            TeamRequest teamRequest = req.getTeamRequest();
-            Integer teamId = teamRequest.getId();
-            String role = req.getRequestedRole();
-            String key = teamId + "::" + role;
+            boolean isPersonalAccept = Objects.equals(invite.getSlotEmployeeId(), employee.getId());
 
-            boolean isPersonalAccept = req.getEmployee() != null && Objects.equals(req.getEmployee().getId(), employee.getId());
-            
 
             if (isPersonalAccept) {
-                groupedSummaries.put("ACCEPTED_" + req.getId(), toSummary(req, "ACCEPTED"));
+                groupedSummaries.put("ACCEPTED_" + invite.getRequestId(), toSummary(invite, "ACCEPTED"));
                 continue;
             }
 
 
-            boolean slotIsOpen = (req.getEmployee() == null) && !isConcluded(teamRequest);
-            
-            // Logica de agrupamento
+            boolean slotIsOpen = invite.getSlotEmployeeId() == null && !isConcluded(invite.getState(), invite.getEndDate());
+
             // Logica de agrupamento
             groupedSummaries.compute(key, (k, existing) -> {
                 if (existing == null) {
 
                     String status = slotIsOpen ? "OPEN" : "CLOSED";
-                    return toSummary(req, status);
+                    return toSummary(invite, status);
                 } else {
 
                     if ("CLOSED".equals(existing.getStatus()) && slotIsOpen) {
-                        return toSummary(req, "OPEN");
+                        return toSummary(invite, "OPEN");
 
                     }
                     return existing;
@@ -106,15 +107,10 @@ public class EmployeeJobHistoryService {
         }
 
 
-        for (EmployeeRequest req : acceptedByUser) {
-            if (req.getTeamRequest() == null) continue;
-
-            groupedSummaries.put("ACCEPTED_" + req.getId(), toSummary(req, "ACCEPTED"));
-            
+        for (EmployeeJobRow accepted : acceptedByUser) {
+            groupedSummaries.put("ACCEPTED_" + accepted.getRequestId(), toSummary(accepted, "ACCEPTED"));
 
-            Integer teamId = req.getTeamRequest().getId();
-            String role = req.getRequestedRole();
-            String key = teamId + "::" + role;
+            String key = accepted.getTeamId() + "::" + accepted.getRequestedRole();
             groupedSummaries.remove(key);
         }
 
@@ -147,42 +143,26 @@ public class EmployeeJobHistoryService {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Sem convite para esta oferta.");
         }
 
-        EmployeeRequest targetRequest = initialRequest;
-
-        if (targetRequest.getEmployee() != null) {
-            // Find another open slot in the same Team Request for the same Role
-            List<EmployeeRequest> siblings = employeeRequestRepository.findByTeamRequest_IdAndRequestedRole(
-                    targetRequest.getTeamRequest().getId(),
-                    targetRequest.getRequestedRole()
-            );
-
-            targetRequest = siblings.stream()
-                    .filter(r -> r.getEmployee() == null)
-                    .findFirst()
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.CONFLICT, "Vagas esgotadas."));
-        }
-
-
-
-        if (targetRequest.getEmployee() != null) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Todas as vagas para esta função foram preenchidas.");
+        List<Integer> openSlots = employeeRequestRepository.findOpenSlotIds(targetTeamId, targetRole);
+        if (openSlots.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Vagas esgotadas.");
         }
 
-        TeamRequest teamRequest = targetRequest.getTeamRequest();
-        Integer teamId = teamRequest != null ? teamRequest.getId() : null;
-        
+        // Aceitações do mesmo colaborador ficam em fila: as verificações abaixo não podem ser
+        // ultrapassadas por um segundo pedido dele. Colaboradores diferentes não se bloqueiam.
+        employeeAccountRepository.lockById(employee.getId());
 
-        if (teamId != null && employeeRequestRepository.countAcceptedForTeam(teamId, employee.getId()) > 0) {
+        if (employeeRequestRepository.countAcceptedForTeam(targetTeamId, employee.getId()) > 0) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Voce ja ocupa uma vaga nesta equipa.");
         }
 
 
-        LocalDateTime startDate = teamRequest != null ? teamRequest.getStartDate() : null;
-        LocalDateTime endDate = teamRequest != null ? teamRequest.getEndDate() : null;
+        LocalDateTime startDate = initialRequest.getTeamRequest().getStartDate();
+        LocalDateTime endDate = initialRequest.getTeamRequest().getEndDate();
         if (startDate != null && endDate != null) {
             long overlapping = employeeRequestRepository.countOverlappingAccepted(
                     employee.getId(),
-                    targetRequest.getId(),
+                    initialRequest.getId(),
                     startDate,
                     endDate
             );
@@ -192,15 +172,20 @@ public class EmployeeJobHistoryService {
         }
 
 
-        targetRequest.setEmployee(employee);
-        targetRequest.setAcceptedDate(LocalDateTime.now());
-        EmployeeRequest saved = employeeRequestRepository.save(targetRequest);
+        Integer claimedId = claimOpenSlot(openSlots, targetTeamId, targetRole, employee, LocalDateTime.now());
+        candidateSearchIndex.refreshAfterCommit(employee.getId());
+
+        // O claim limpou o contexto: a requisição é lida de novo, já bloqueada, antes da vaga
+        TeamRequest teamRequest = teamRequestRepository.findByIdForUpdate(targetTeamId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Requisicao nao encontrada."));
+        EmployeeRequest saved = employeeRequestRepository.findById(claimedId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Oferta nao encontrada."));
 
 
         List<EmployeeRequestOffer> userInvites = employeeRequestOfferRepository.findActiveInvitesByEmployeeEmail(normalizedEmail);
         for (EmployeeRequestOffer offer : userInvites) {
-            if (offer.getEmployeeRequest().getTeamRequest().getId() == teamId && 
-                offer.getEmployeeRequest().getRequestedRole().equals(targetRequest.getRequestedRole())) {
+            if (offer.getEmployeeRequest().getTeamRequest().getId() == targetTeamId &&
+                offer.getEmployeeRequest().getRequestedRole().equals(targetRole)) {
                 offer.setActive(false);
                 employeeRequestOfferRepository.save(offer);
             }
@@ -209,31 +194,60 @@ public class EmployeeJobHistoryService {
         actionLogService.logUser(employee, "Aceitou oferta " + saved.getId() + " (Pool)");
 
 
-        if (teamId != null) {
-            long openSpots = employeeRequestRepository.countByTeamRequest_IdAndEmployeeIsNull(teamId);
-            if (openSpots == 0) {
-                teamRequest.setState(State.COMPLETED);
-                teamRequestRepository.save(teamRequest);
-                
-                if (teamRequest.getCompany() != null) {
-                    notificationService.createNotification(
-                        teamRequest.getCompany(),
-                        "Sua requisição de equipa '" + teamRequest.getTeamName() + "' está completa!",
-                        com.teamfoundry.backend.notification.enums.NotificationType.REQUEST_COMPLETED,
-                        teamRequest.getId()
-                    );
-                }
+        // Com a linha da requisição bloqueada, a contagem vê as vagas de aceitações concorrentes
+        // já confirmadas: a última a confirmar encontra sempre zero vagas e fecha a requisição.
+        long openSpots = employeeRequestRepository.countByTeamRequest_IdAndEmployeeIsNull(targetTeamId);
+        if (openSpots == 0 && teamRequest.getState() != State.COMPLETED) {
+            State previousState = teamRequest.getState();
+            teamRequest.setState(State.COMPLETED);
+            teamRequestRepository.save(teamRequest);
+            metricsCounters.teamRequestStateChanged(previousState, State.COMPLETED, teamRequest.getResponsibleAdminId());
+
+            if (teamRequest.getCompany() != null) {
+                notificationService.createNotification(
+                    teamRequest.getCompany(),
+                    "Sua requisição de equipa '" + teamRequest.getTeamName() + "' está completa!",
+                    com.teamfoundry.backend.notification.enums.NotificationType.REQUEST_COMPLETED,
+                    teamRequest.getId()
+                );
             }
         }
 
         return toSummary(saved, "ACCEPTED");
     }
 
+    /**
+     * Ocupa uma das vagas livres com um UPDATE condicional, sem bloquear as restantes.
+     * Cada colaborador começa numa posição diferente da lista para que um pico de aceitações
+     * não dispute a mesma linha; uma vaga perdida passa à seguinte e, esgotada a lista, as vagas
+     * livres são lidas de novo. Só responde 409 quando já não há nenhuma vaga livre.
+     */
+    private Integer claimOpenSlot(List<Integer> openSlots, int teamId, String role,
+                                  EmployeeAccount employee, LocalDateTime acceptedAt) {
+        List<Integer> candidates = openSlots;
+        for (int round = 0; round < MAX_CLAIM_ROUNDS && !candidates.isEmpty(); round++) {
+            int offset = Math.floorMod(employee.getId(), candidates.size());
+            for (int i = 0; i < candidates.size(); i++) {
+                Integer slotId = candidates.get((offset + i) % candidates.size());
+                if (employeeRequestRepository.claimSlot(slotId, employee, acceptedAt) == 1) {
+                    return slotId;
+                }
+            }
+            candidates = employeeRequestRepository.findOpenSlotIds(teamId, role);
+        }
+        throw new ResponseStatusException(HttpStatus.CONFLICT, "Vagas esgotadas.");
+    }
+
+    /**
+     * Número de entradas OPEN de {@link #listInvitedOffers}, contado na base de dados.
+     */
     @Transactional(readOnly = true)
     public long countOpenInvites(String email) {
-        return listInvitedOffers(email).stream()
-                .filter(summary -> "OPEN".equalsIgnoreCase(summary.getStatus()))
-                .count();
+        if (!StringUtils.hasText(email)) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Utilizador nao autenticado.");
+        }
+        EmployeeAccount employee = findEmployee(email.trim().toLowerCase());
+        return employeeRequestOfferRepository.countOpenInviteGroups(employee.getId(), State.COMPLETED, LocalDateTime.now());
     }
 
     @Transactional(readOnly = true)
@@ -278,10 +292,23 @@ public class EmployeeJobHistoryService {
                 .build();
     }
 
-    private boolean isConcluded(TeamRequest teamRequest) {
-        if (teamRequest == null) return false;
-        if (teamRequest.getState() == State.COMPLETED) return true;
-        LocalDateTime end = teamRequest.getEndDate();
+    private EmployeeJobSummary toSummary(EmployeeJobRow row, String status) {
+        return EmployeeJobSummary.builder()
+                .requestId(row.getRequestId())
+                .teamName(row.getTeamName())
+                .companyName(row.getCompanyName())
+                .location(row.getLocation())
+                .description(row.getDescription())
+                .startDate(row.getStartDate())
+                .endDate(row.getEndDate())
+                .acceptedDate(row.getAcceptedDate())
+                .requestedRole(row.getRequestedRole())
+                .status(status)
+                .build();
+    }
+
+    private boolean isConcluded(State state, LocalDateTime end) {
+        if (state == State.COMPLETED) return true;
         return end != null && end.isBefore(LocalDateTime.now());
     }
 }
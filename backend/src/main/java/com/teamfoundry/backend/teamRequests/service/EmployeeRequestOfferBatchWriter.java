@@ -0,0 +1,54 @@
+package com.teamfoundry.backend.teamRequests.service;
+
+import com.teamfoundry.backend.teamRequests.model.EmployeeRequestOffer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Insere convites num único batch JDBC, dentro da transação atual. O id é IDENTITY, o que
+ * impede o Hibernate de agrupar os INSERT; os ids gerados são devolvidos pelo driver e
+ * copiados para as entidades recebidas.
+ */
+@Component
+@RequiredArgsConstructor
+public class EmployeeRequestOfferBatchWriter {
+
+    static final String INSERT_SQL = "INSERT INTO request_employee_offer (id_request, id_funcionario, active) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(List<EmployeeRequestOffer> offers) {
+        if (offers == null || offers.isEmpty()) return;
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        EmployeeRequestOffer offer = offers.get(i);
+                        ps.setInt(1, offer.getEmployeeRequest().getId());
+                        ps.setInt(2, offer.getEmployee().getId());
+                        ps.setBoolean(3, offer.isActive());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return offers.size();
+                    }
+                },
+                keys);
+        List<Map<String, Object>> generated = keys.getKeyList();
+        for (int i = 0; i < offers.size() && i < generated.size(); i++) {
+            Object id = generated.get(i).values().iterator().next();
+            offers.get(i).setId(((Number) id).intValue());
+        }
+    }
+}
@@ -12,6 +12,7 @@ import com.teamfoundry.backend.teamRequests.model.TeamRequest;
 import com.teamfoundry.backend.teamRequests.repository.EmployeeRequestOfferRepository;
 import com.teamfoundry.backend.teamRequests.repository.EmployeeRequestRepository;
 import com.teamfoundry.backend.teamRequests.repository.TeamRequestRepository;
+import com.teamfoundry.backend.superadmin.service.metrics.MetricsCounters;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
@@ -36,6 +37,7 @@ public class TeamRequestService {
     private final EmployeeRequestRepository employeeRequestRepository;
     private final EmployeeRequestOfferRepository employeeRequestOfferRepository;
     private final com.teamfoundry.backend.common.service.ActionLogService actionLogService;
+    private final MetricsCounters metricsCounters;
 
     public List<TeamRequestResponse> listAllWorkRequests() {
         List<TeamRequest> requests = teamRequestRepository
@@ -81,8 +83,10 @@ public class TeamRequestService {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Somente administradores comuns podem ser responsáveis.");
         }
 
+        Integer previousAdminId = request.getResponsibleAdminId();
         request.setResponsibleAdminId(admin.getId());
         TeamRequest saved = teamRequestRepository.save(request);
+        metricsCounters.teamRequestReassigned(saved.getState(), previousAdminId, saved.getResponsibleAdminId());
         actionLogService.logAdmin(resolveAuthenticatedAdmin(), "Atribuiu requisição " + saved.getId() + " ao admin " + admin.getUsername());
         Map<Integer, Long> workforce = loadWorkforceCounts(List.of(saved));
         return toWorkRequestResponse(saved, workforce.getOrDefault(saved.getId(), 0L));
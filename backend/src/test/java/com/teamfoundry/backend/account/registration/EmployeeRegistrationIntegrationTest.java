@@ -15,8 +15,10 @@ import com.teamfoundry.backend.account.repository.employee.profile.EmployeeRoleR
 import com.teamfoundry.backend.account.repository.employee.profile.EmployeeGeoAreaRepository;
 import com.teamfoundry.backend.account.repository.preferences.PrefRoleRepository;
 import com.teamfoundry.backend.account.repository.preferences.PrefGeoAreaRepository;
+import com.teamfoundry.backend.account.service.ReferenceCatalog;
 import com.teamfoundry.backend.auth.model.tokens.AuthToken;
 import com.teamfoundry.backend.auth.repository.AuthTokenRepository;
+import com.teamfoundry.backend.auth.repository.RefreshTokenRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.DisplayNameGeneration;
@@ -60,6 +62,7 @@ class EmployeeRegistrationIntegrationTest {
     @Autowired EmployeeAccountRepository employeeAccountRepository;
     @Autowired AccountRepository accountRepository;
     @Autowired AuthTokenRepository authTokenRepository;
+    @Autowired RefreshTokenRepository refreshTokenRepository;
     @Autowired PasswordEncoder passwordEncoder;
 
     @Autowired
@@ -69,6 +72,8 @@ class EmployeeRegistrationIntegrationTest {
     @Autowired
     PrefSkillRepository prefSkillRepository;
     @Autowired
+    ReferenceCatalog referenceCatalog;
+    @Autowired
     EmployeeRoleRepository employeeRoleRepository;
     @Autowired EmployeeGeoAreaRepository employeeGeoAreaRepository;
     @Autowired
@@ -85,6 +90,7 @@ class EmployeeRegistrationIntegrationTest {
     @BeforeEach
     void setup() {
         authTokenRepository.deleteAll();
+        refreshTokenRepository.deleteAll();
         employeeRoleRepository.deleteAll();
         employeeGeoAreaRepository.deleteAll();
         employeeSkillRepository.deleteAll();
@@ -325,6 +331,8 @@ class EmployeeRegistrationIntegrationTest {
         PrefSkill prefSkill = new PrefSkill();
         prefSkill.setName(competenceName);
         prefSkillRepository.save(prefSkill);
+        // Gravado diretamente nos repositórios: o catálogo só é trocado pelo PreferenceManagementService
+        referenceCatalog.refreshAfterCommit();
     }
 }
 
@@ -0,0 +1,86 @@
+package com.teamfoundry.backend.account.service;
+
+import com.teamfoundry.backend.account.dto.employee.documents.EmployeeCertificationRequest;
+import com.teamfoundry.backend.account.dto.employee.documents.EmployeeCertificationResponse;
+import com.teamfoundry.backend.account.model.employee.documents.EmployeeCertification;
+import com.teamfoundry.backend.account.model.employee.profile.EmployeeAccount;
+import com.teamfoundry.backend.account.repository.employee.EmployeeAccountRepository;
+import com.teamfoundry.backend.account.repository.employee.documents.EmployeeCertificationRepository;
+import com.teamfoundry.backend.account.service.employee.EmployeeCertificationService;
+import com.teamfoundry.backend.common.storage.FileStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeCertificationServiceTest {
+
+    @Mock private EmployeeAccountRepository employeeAccountRepository;
+    @Mock private EmployeeCertificationRepository employeeCertificationRepository;
+    @Mock private FileStorage fileStorage;
+
+    @InjectMocks
+    private EmployeeCertificationService employeeCertificationService;
+
+    private EmployeeAccount account;
+
+    @BeforeEach
+    void setUp() {
+        account = new EmployeeAccount();
+        account.setEmail("employee@example.com");
+        when(employeeAccountRepository.findByEmail("employee@example.com")).thenReturn(Optional.of(account));
+    }
+
+    @Test
+    void createStreamsTheCertificateFromTheMultipartPart() {
+        MockMultipartFile file = new MockMultipartFile("file", "curso.pdf", "application/pdf", new byte[]{1, 2, 3});
+        when(fileStorage.uploadMultipart(file, "certification"))
+                .thenReturn(new FileStorage.UploadResult("raw::certification/curso", "https://cdn/curso.pdf"));
+        when(fileStorage.buildUrl("raw::certification/curso")).thenReturn("https://cdn/curso.pdf");
+        when(employeeCertificationRepository.save(any(EmployeeCertification.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        EmployeeCertificationResponse response = employeeCertificationService.create(
+                "employee@example.com", request(), file);
+
+        assertThat(response.getCertificateUrl()).isEqualTo("https://cdn/curso.pdf");
+        assertThat(response.getCertificateFileName()).isEqualTo("curso.pdf");
+        verify(fileStorage, never()).uploadBytes(any(), any(), any());
+    }
+
+    @Test
+    void createWithoutFileIsBadRequest() {
+        MockMultipartFile empty = new MockMultipartFile("file", "vazio.pdf", "application/pdf", new byte[0]);
+
+        assertThatThrownBy(() -> employeeCertificationService.create("employee@example.com", request(), empty))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(ex -> ((ResponseStatusException) ex).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        verify(fileStorage, never()).uploadMultipart(any(), any());
+        verify(employeeCertificationRepository, never()).save(any());
+    }
+
+    private EmployeeCertificationRequest request() {
+        EmployeeCertificationRequest request = new EmployeeCertificationRequest();
+        request.setName("Segurança no trabalho");
+        request.setInstitution("IEFP");
+        request.setCompletionDate(LocalDate.of(2024, 3, 1));
+        return request;
+    }
+}
@@ -9,27 +9,39 @@ import com.teamfoundry.backend.account.repository.employee.profile.EmployeeGeoAr
 import com.teamfoundry.backend.account.repository.employee.profile.EmployeeRoleRepository;
 import com.teamfoundry.backend.account.repository.employee.profile.EmployeeSkillRepository;
 import com.teamfoundry.backend.auth.repository.AuthTokenRepository;
+import com.teamfoundry.backend.auth.service.login.RefreshTokenService;
+import com.teamfoundry.backend.auth.service.UserDetailsCache;
 import com.teamfoundry.backend.common.service.ActionLogService;
-import com.teamfoundry.backend.common.service.CloudinaryService;
+import com.teamfoundry.backend.common.storage.FileStorage;
+import com.teamfoundry.backend.teamRequests.service.CandidateSearchIndex;
 import com.teamfoundry.backend.teamRequests.service.EmployeeJobHistoryService;
 import com.teamfoundry.backend.account.service.employee.EmployeeProfileAndDocumentsService;
+import com.teamfoundry.backend.account.service.employee.EmployeeProfileCache;
+import com.teamfoundry.backend.account.enums.DocumentType;
+import com.teamfoundry.backend.account.model.employee.documents.EmployeeDocument;
+import com.teamfoundry.backend.superadmin.service.metrics.MetricsCounters;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.lenient;
@@ -45,10 +57,15 @@ class EmployeeProfileAndDocumentsServiceTest {
     @Mock private EmployeeSkillRepository employeeSkillRepository;
     @Mock private EmployeeGeoAreaRepository employeeGeoAreaRepository;
     @Mock private EmployeeJobHistoryService employeeJobHistoryService;
-    @Mock private CloudinaryService cloudinaryService;
+    @Mock private FileStorage fileStorage;
     @Mock private ActionLogService actionLogService;
     @Mock private PasswordEncoder passwordEncoder;
     @Mock private AuthTokenRepository authTokenRepository;
+    @Mock private RefreshTokenService refreshTokenService;
+    @Mock private CandidateSearchIndex candidateSearchIndex;
+    @Mock private UserDetailsCache userDetailsCache;
+    @Mock private MetricsCounters metricsCounters;
+    @Spy private EmployeeProfileCache employeeProfileCache = new EmployeeProfileCache(60, 100);
 
     @InjectMocks
     private EmployeeProfileAndDocumentsService employeeProfileAndDocumentsService;
@@ -70,8 +87,8 @@ class EmployeeProfileAndDocumentsServiceTest {
 
     @Test
     void getProfileReturnsMappedResponse() {
-        lenient().when(employeeDocumentRepository.findByEmployeeAndType(any(), any()))
-                .thenReturn(Optional.empty());
+        lenient().when(employeeDocumentRepository.findAllByEmployee(any()))
+                .thenReturn(List.of());
         when(employeeAccountRepository.findByEmail("employee@example.com"))
                 .thenReturn(Optional.of(sampleAccount));
 
@@ -93,8 +110,8 @@ class EmployeeProfileAndDocumentsServiceTest {
 
     @Test
     void updateProfileUpdatesAndPersistsEntity() {
-        lenient().when(employeeDocumentRepository.findByEmployeeAndType(any(), any()))
-                .thenReturn(Optional.empty());
+        lenient().when(employeeDocumentRepository.findAllByEmployee(any()))
+                .thenReturn(List.of());
         when(employeeAccountRepository.findByEmail("employee@example.com"))
                 .thenReturn(Optional.of(sampleAccount));
         when(employeeAccountRepository.save(any(EmployeeAccount.class)))
@@ -134,5 +151,96 @@ class EmployeeProfileAndDocumentsServiceTest {
                 .isInstanceOf(ResponseStatusException.class)
                 .hasFieldOrPropertyWithValue("statusCode", HttpStatus.UNAUTHORIZED);
     }
-}
 
+    @Test
+    void getProfileLoadsAllDocumentsInOneQueryAndServesRepeatsFromCache() {
+        when(employeeAccountRepository.findByEmail("employee@example.com"))
+                .thenReturn(Optional.of(sampleAccount));
+        when(employeeDocumentRepository.findAllByEmployee(sampleAccount)).thenReturn(List.of(
+                document(DocumentType.CURRICULUM, "cv-id", "cv.pdf"),
+                document(DocumentType.IDENTIFICATION_BACK, "back-id", "verso.png")));
+        when(fileStorage.buildUrl(any())).thenAnswer(invocation -> "https://cdn/" + invocation.getArgument(0));
+
+        EmployeeProfileResponse first = employeeProfileAndDocumentsService.getProfile("employee@example.com");
+        EmployeeProfileResponse second = employeeProfileAndDocumentsService.getProfile(" EMPLOYEE@example.com");
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getCurriculumUrl()).isEqualTo("https://cdn/cv-id");
+        assertThat(first.getCurriculumFileName()).isEqualTo("cv.pdf");
+        assertThat(first.getIdentificationFrontUrl()).isNull();
+        assertThat(first.getIdentificationBackFileName()).isEqualTo("verso.png");
+        verify(employeeAccountRepository, times(1)).findByEmail("employee@example.com");
+        verify(employeeDocumentRepository, times(1)).findAllByEmployee(sampleAccount);
+        verify(employeeDocumentRepository, never()).findByEmployeeAndType(any(), any());
+    }
+
+    @Test
+    void deletingADocumentEvictsTheCachedProfile() {
+        EmployeeDocument cv = document(DocumentType.CURRICULUM, "cv-id", "cv.pdf");
+        when(employeeAccountRepository.findByEmail("employee@example.com"))
+                .thenReturn(Optional.of(sampleAccount));
+        when(employeeDocumentRepository.findByEmployeeAndType(sampleAccount, DocumentType.CURRICULUM))
+                .thenReturn(Optional.of(cv));
+
+        employeeProfileAndDocumentsService.getProfile("employee@example.com");
+        employeeProfileAndDocumentsService.deleteCurriculum("employee@example.com");
+        employeeProfileAndDocumentsService.getProfile("employee@example.com");
+
+        verify(employeeProfileCache).evictAfterCommit("employee@example.com");
+        verify(employeeDocumentRepository, times(2)).findAllByEmployee(sampleAccount);
+    }
+
+    @Test
+    void multipartCurriculumIsStreamedAndReplacesThePreviousFile() {
+        EmployeeDocument cv = document(DocumentType.CURRICULUM, "old-cv", "antigo.pdf");
+        MockMultipartFile file = new MockMultipartFile("file", "novo.pdf", "application/pdf", new byte[]{1, 2, 3});
+        when(employeeAccountRepository.findByEmail("employee@example.com"))
+                .thenReturn(Optional.of(sampleAccount));
+        when(employeeDocumentRepository.findByEmployeeAndType(sampleAccount, DocumentType.CURRICULUM))
+                .thenReturn(Optional.of(cv));
+        when(fileStorage.uploadMultipart(file, "curriculum"))
+                .thenReturn(new FileStorage.UploadResult("raw::curriculum/novo", "https://cdn/novo.pdf"));
+
+        String url = employeeProfileAndDocumentsService.uploadCurriculum("employee@example.com", file);
+
+        assertThat(url).isEqualTo("https://cdn/novo.pdf");
+        assertThat(cv.getPublicId()).isEqualTo("raw::curriculum/novo");
+        assertThat(cv.getFileName()).isEqualTo("novo.pdf");
+        verify(fileStorage).delete("old-cv");
+        verify(fileStorage, never()).uploadBase64(any(), any(), any());
+        verify(employeeDocumentRepository).save(cv);
+        verify(employeeProfileCache).evictAfterCommit("employee@example.com");
+    }
+
+    @Test
+    void multipartUploadWithoutFileIsBadRequest() {
+        MockMultipartFile empty = new MockMultipartFile("file", "vazio.png", "image/png", new byte[0]);
+
+        assertThatThrownBy(() -> employeeProfileAndDocumentsService.uploadProfilePicture("employee@example.com", empty))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasFieldOrPropertyWithValue("statusCode", HttpStatus.BAD_REQUEST);
+        verify(fileStorage, never()).uploadMultipart(any(), any());
+    }
+
+    @Test
+    void multipartIdentificationDocumentRejectsCurriculumType() {
+        MockMultipartFile file = new MockMultipartFile("file", "cv.pdf", "application/pdf", new byte[]{1});
+        when(employeeAccountRepository.findByEmail("employee@example.com"))
+                .thenReturn(Optional.of(sampleAccount));
+
+        assertThatThrownBy(() -> employeeProfileAndDocumentsService.uploadIdentificationDocument(
+                "employee@example.com", DocumentType.CURRICULUM, file))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasFieldOrPropertyWithValue("statusCode", HttpStatus.BAD_REQUEST);
+        verify(fileStorage, never()).uploadMultipart(any(), any());
+    }
+
+    private EmployeeDocument document(DocumentType type, String publicId, String fileName) {
+        EmployeeDocument document = new EmployeeDocument();
+        document.setEmployee(sampleAccount);
+        document.setType(type);
+        document.setPublicId(publicId);
+        document.setFileName(fileName);
+        return document;
+    }
+}
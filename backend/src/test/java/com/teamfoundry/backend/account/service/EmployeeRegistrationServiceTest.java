@@ -32,6 +32,11 @@ import com.teamfoundry.backend.auth.service.VerificationEmailService;
 import com.teamfoundry.backend.auth.service.register.EmployeeRegistrationService;
 import com.teamfoundry.backend.auth.model.tokens.AuthToken;
 import com.teamfoundry.backend.auth.repository.AuthTokenRepository;
+import com.teamfoundry.backend.teamRequests.service.CandidateSearchIndex;
+import com.teamfoundry.backend.account.service.ReferenceCatalog;
+import com.teamfoundry.backend.account.service.ReferenceCatalog.Kind;
+import com.teamfoundry.backend.account.service.ReferenceCatalog.Option;
+import com.teamfoundry.backend.superadmin.service.metrics.MetricsCounters;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -84,9 +89,15 @@ class EmployeeRegistrationServiceTest {
     @Mock
     private EmployeeGeoAreaRepository employeeGeoAreaRepository;
     @Mock
+    private ReferenceCatalog referenceCatalog;
+    @Mock
     private EmployeeDocumentRepository employeeDocumentRepository;
     @Mock
     private VerificationEmailService verificationEmailService;
+    @Mock
+    private CandidateSearchIndex candidateSearchIndex;
+    @Mock
+    private MetricsCounters metricsCounters;
 
     @InjectMocks
     private EmployeeRegistrationService employeeRegistrationService;
@@ -139,6 +150,7 @@ class EmployeeRegistrationServiceTest {
         assertThat(persisted.isVerified()).isFalse();
         assertThat(persisted.getPassword()).isEqualTo("encoded-pass");
         verify(passwordEncoder).encode("StrongPass123");
+        verify(metricsCounters).employeeCreated();
     }
 
     @Test
@@ -179,6 +191,7 @@ class EmployeeRegistrationServiceTest {
         verify(employeeSkillRepository).deleteByEmployee(existing);
         verify(employeeGeoAreaRepository).deleteByEmployee(existing);
         verify(employeeAccountRepository).save(existing);
+        verifyNoInteractions(metricsCounters);
     }
 
     @Test
@@ -277,9 +290,12 @@ class EmployeeRegistrationServiceTest {
         prefSkill.setName("Java");
 
         when(employeeAccountRepository.findByEmail("candidate@test.com")).thenReturn(Optional.of(baseAccount));
-        when(prefRoleRepository.findByName("Developer")).thenReturn(Optional.of(function));
-        when(prefGeoAreaRepository.findByName("Lisbon")).thenReturn(Optional.of(area));
-        when(prefSkillRepository.findByName("Java")).thenReturn(Optional.of(prefSkill));
+        when(referenceCatalog.resolve(Kind.ROLE, "Developer")).thenReturn(Optional.of(new Option(1, "Developer")));
+        when(referenceCatalog.resolve(Kind.GEO_AREA, "Lisbon")).thenReturn(Optional.of(new Option(1, "Lisbon")));
+        when(referenceCatalog.resolve(Kind.SKILL, "Java")).thenReturn(Optional.of(new Option(1, "Java")));
+        when(prefRoleRepository.getReferenceById(1)).thenReturn(function);
+        when(prefGeoAreaRepository.getReferenceById(1)).thenReturn(area);
+        when(prefSkillRepository.getReferenceById(1)).thenReturn(prefSkill);
         when(authTokenRepository.save(any(AuthToken.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         GenericResponse response = employeeRegistrationService.handleStep3(request);
@@ -322,6 +338,7 @@ class EmployeeRegistrationServiceTest {
         assertThat(token.getUser()).isEqualTo(baseAccount);
         assertThat(token.getToken()).matches("\\d{6}");
         assertThat(token.getExpireAt().after(token.getCreatedAt())).isTrue();
+        verify(candidateSearchIndex).refreshAfterCommit(10);
     }
 
     @Test
@@ -366,6 +383,7 @@ class EmployeeRegistrationServiceTest {
         assertThat(baseAccount.isVerified()).isTrue();
         assertThat(baseAccount.getRegistrationStatus()).isEqualTo(RegistrationStatus.COMPLETED);
         verify(authTokenRepository).delete(token);
+        verify(candidateSearchIndex).refreshAfterCommit(10);
     }
 
     @Test
@@ -0,0 +1,123 @@
+package com.teamfoundry.backend.account.service;
+
+import com.teamfoundry.backend.account.enums.RegistrationStatus;
+import com.teamfoundry.backend.account.repository.AccountRepository;
+import com.teamfoundry.backend.account.service.PendingAccountCleanupJob.RunProgress;
+import com.teamfoundry.backend.account.service.PendingAccountPurger.PurgedChunk;
+import com.teamfoundry.backend.common.lease.JobLeaseService;
+import com.teamfoundry.backend.common.storage.FileStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class PendingAccountCleanupJobTest {
+
+    @Mock AccountRepository accountRepository;
+    @Mock PendingAccountPurger pendingAccountPurger;
+    @Mock JobLeaseService jobLeaseService;
+    @Mock FileStorage fileStorage;
+
+    @InjectMocks PendingAccountCleanupJob job;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(job, "pendingRetentionMinutes", 60L);
+        ReflectionTestUtils.setField(job, "chunkSize", 2);
+        ReflectionTestUtils.setField(job, "leaseMillis", 60_000L);
+        lenient().when(jobLeaseService.owner()).thenReturn("node-a");
+    }
+
+    @Test
+    void withoutLeaseNothingIsRead() {
+        when(jobLeaseService.tryAcquire(eq(PendingAccountCleanupJob.LEASE_NAME), any())).thenReturn(false);
+
+        job.purgeStalePendingAccounts();
+
+        verifyNoInteractions(accountRepository, pendingAccountPurger, fileStorage);
+        assertThat(job.progress()).isEmpty();
+    }
+
+    @Test
+    void purgesByKeysetChunksAndDeletesFilesAfterEachChunk() {
+        when(jobLeaseService.tryAcquire(eq(PendingAccountCleanupJob.LEASE_NAME), any())).thenReturn(true);
+        when(accountRepository.findIdsByRegistrationStatusAndCreatedAtBefore(
+                eq(RegistrationStatus.PENDING), any(), anyInt(), any(Pageable.class)))
+                .thenReturn(List.of(1, 2), List.of(5));
+        when(pendingAccountPurger.purge(eq(List.of(1, 2)), any())).thenReturn(new PurgedChunk(2, List.of("raw::cv/1")));
+        when(pendingAccountPurger.purge(eq(List.of(5)), any())).thenReturn(new PurgedChunk(1, List.of()));
+
+        job.purgeStalePendingAccounts();
+
+        InOrder order = inOrder(accountRepository, pendingAccountPurger, fileStorage);
+        order.verify(accountRepository).findIdsByRegistrationStatusAndCreatedAtBefore(
+                eq(RegistrationStatus.PENDING), any(), eq(0), any(Pageable.class));
+        order.verify(pendingAccountPurger).purge(eq(List.of(1, 2)), any());
+        order.verify(fileStorage).delete("raw::cv/1");
+        order.verify(accountRepository).findIdsByRegistrationStatusAndCreatedAtBefore(
+                eq(RegistrationStatus.PENDING), any(), eq(2), any(Pageable.class));
+        order.verify(pendingAccountPurger).purge(eq(List.of(5)), any());
+
+        RunProgress progress = job.progress().orElseThrow();
+        assertThat(progress.chunks()).isEqualTo(2);
+        assertThat(progress.scanned()).isEqualTo(3);
+        assertThat(progress.purged()).isEqualTo(3);
+        assertThat(progress.filesDeleted()).isEqualTo(1);
+        assertThat(progress.finishedAt()).isNotNull();
+    }
+
+    @Test
+    void failedChunkIsRetriedAccountByAccount() {
+        when(jobLeaseService.tryAcquire(eq(PendingAccountCleanupJob.LEASE_NAME), any())).thenReturn(true);
+        when(accountRepository.findIdsByRegistrationStatusAndCreatedAtBefore(
+                eq(RegistrationStatus.PENDING), any(), anyInt(), any(Pageable.class)))
+                .thenReturn(List.of(1));
+        doThrow(new IllegalStateException("fk")).when(pendingAccountPurger).purge(eq(List.of(1)), any());
+
+        job.purgeStalePendingAccounts();
+
+        RunProgress progress = job.progress().orElseThrow();
+        assertThat(progress.purged()).isZero();
+        assertThat(progress.failed()).isEqualTo(1);
+    }
+
+    @Test
+    void storageFailureDoesNotStopTheRun() {
+        when(jobLeaseService.tryAcquire(eq(PendingAccountCleanupJob.LEASE_NAME), any())).thenReturn(true);
+        when(accountRepository.findIdsByRegistrationStatusAndCreatedAtBefore(
+                eq(RegistrationStatus.PENDING), any(), anyInt(), any(Pageable.class)))
+                .thenReturn(List.of(1));
+        when(pendingAccountPurger.purge(eq(List.of(1)), any()))
+                .thenReturn(new PurgedChunk(1, List.of("raw::cv/1", "image::profile/1")));
+        doThrow(new IllegalStateException("cloudinary")).when(fileStorage).delete("raw::cv/1");
+
+        job.purgeStalePendingAccounts();
+
+        verify(fileStorage).delete("image::profile/1");
+        RunProgress progress = job.progress().orElseThrow();
+        assertThat(progress.purged()).isEqualTo(1);
+        assertThat(progress.filesDeleted()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,152 @@
+package com.teamfoundry.backend.account.service;
+
+import com.teamfoundry.backend.account.enums.DocumentType;
+import com.teamfoundry.backend.account.enums.RegistrationStatus;
+import com.teamfoundry.backend.account.enums.UserType;
+import com.teamfoundry.backend.account.model.Account;
+import com.teamfoundry.backend.account.model.company.CompanyAccount;
+import com.teamfoundry.backend.account.model.company.CompanyAccountManager;
+import com.teamfoundry.backend.account.model.company.CompanyActivitySectors;
+import com.teamfoundry.backend.account.model.employee.documents.EmployeeDocument;
+import com.teamfoundry.backend.account.model.employee.profile.EmployeeAccount;
+import com.teamfoundry.backend.account.model.employee.profile.EmployeeRole;
+import com.teamfoundry.backend.account.model.preferences.PrefActivitySectors;
+import com.teamfoundry.backend.account.model.preferences.PrefRole;
+import com.teamfoundry.backend.account.service.PendingAccountPurger.PurgedChunk;
+import com.teamfoundry.backend.account.service.employee.EmployeeProfileCache;
+import com.teamfoundry.backend.auth.model.tokens.AuthToken;
+import com.teamfoundry.backend.auth.service.UserDetailsCache;
+import com.teamfoundry.backend.superadmin.service.metrics.MetricsCounters;
+import com.teamfoundry.backend.teamRequests.service.CandidateSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+@Import(PendingAccountPurger.class)
+@SuppressWarnings("removal") // MockBean deprecation warnings in Spring Boot 3.4
+class PendingAccountPurgerTest {
+
+    @Autowired TestEntityManager entityManager;
+    @Autowired PendingAccountPurger purger;
+    @MockBean MetricsCounters metricsCounters;
+    @MockBean CandidateSearchIndex candidateSearchIndex;
+    @MockBean UserDetailsCache userDetailsCache;
+    @MockBean EmployeeProfileCache employeeProfileCache;
+
+    private EmployeeAccount pendingEmployee;
+    private CompanyAccount pendingCompany;
+    private EmployeeAccount completedEmployee;
+
+    @BeforeEach
+    void setUp() {
+        PrefRole role = entityManager.persist(new PrefRole(0, "Soldador"));
+        PrefActivitySectors sector = entityManager.persist(new PrefActivitySectors(0, "Metalurgia"));
+
+        pendingEmployee = employee("pendente@example.com", RegistrationStatus.PENDING);
+        pendingEmployee.setProfilePicturePublicId("image::profile/pendente");
+        entityManager.persist(pendingEmployee);
+        entityManager.persist(new EmployeeRole(0, pendingEmployee, role));
+        EmployeeDocument cv = new EmployeeDocument();
+        cv.setEmployee(pendingEmployee);
+        cv.setType(DocumentType.CURRICULUM);
+        cv.setPublicId("raw::curriculum/pendente");
+        entityManager.persist(cv);
+        entityManager.persist(token(pendingEmployee, "codigo-pendente"));
+
+        pendingCompany = new CompanyAccount();
+        pendingCompany.setEmail("empresa@example.com");
+        pendingCompany.setPassword("hash");
+        pendingCompany.setRole(UserType.COMPANY);
+        pendingCompany.setRegistrationStatus(RegistrationStatus.PENDING);
+        pendingCompany.setName("Empresa");
+        pendingCompany.setAddress("Rua 1");
+        pendingCompany.setCountry("Portugal");
+        entityManager.persist(pendingCompany);
+        entityManager.persist(new CompanyActivitySectors(0, pendingCompany, sector));
+        CompanyAccountManager manager = new CompanyAccountManager();
+        manager.setCompanyAccount(pendingCompany);
+        manager.setEmail("gestor@example.com");
+        manager.setName("Gestor");
+        manager.setPhone("+351911111111");
+        manager.setPosition("CEO");
+        entityManager.persist(manager);
+
+        completedEmployee = employee("concluido@example.com", RegistrationStatus.COMPLETED);
+        entityManager.persist(completedEmployee);
+        entityManager.persist(new EmployeeRole(0, completedEmployee, role));
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("purge apaga contas pendentes e dependências e devolve os ficheiros a remover")
+    void purgeRemovesPendingAccountsWithDependents() {
+        PurgedChunk chunk = purger.purge(
+                List.of(pendingEmployee.getId(), pendingCompany.getId(), completedEmployee.getId()),
+                Instant.now().plusSeconds(60));
+        entityManager.clear();
+
+        assertThat(chunk.purged()).isEqualTo(2);
+        assertThat(chunk.storedFiles()).containsExactlyInAnyOrder("image::profile/pendente", "raw::curriculum/pendente");
+        assertThat(entityManager.find(Account.class, pendingEmployee.getId())).isNull();
+        assertThat(entityManager.find(Account.class, pendingCompany.getId())).isNull();
+        assertThat(entityManager.find(Account.class, completedEmployee.getId())).isNotNull();
+        assertThat(count("EmployeeRole")).isEqualTo(1);
+        assertThat(count("EmployeeDocument")).isZero();
+        assertThat(count("AuthToken")).isZero();
+        assertThat(count("CompanyActivitySectors")).isZero();
+        assertThat(count("CompanyAccountManager")).isZero();
+        verify(metricsCounters).employeeDeactivated();
+        verify(metricsCounters).companyDeactivated(false);
+        verify(candidateSearchIndex).refreshAfterCommit(pendingEmployee.getId());
+    }
+
+    @Test
+    @DisplayName("purge ignora contas criadas depois do limite")
+    void purgeKeepsAccountsNewerThanThreshold() {
+        PurgedChunk chunk = purger.purge(List.of(pendingEmployee.getId()), Instant.now().minusSeconds(3600));
+        entityManager.clear();
+
+        assertThat(chunk.purged()).isZero();
+        assertThat(chunk.storedFiles()).isEmpty();
+        assertThat(entityManager.find(Account.class, pendingEmployee.getId())).isNotNull();
+    }
+
+    private long count(String entity) {
+        return entityManager.getEntityManager()
+                .createQuery("SELECT COUNT(e) FROM " + entity + " e", Long.class)
+                .getSingleResult();
+    }
+
+    private EmployeeAccount employee(String email, RegistrationStatus status) {
+        EmployeeAccount employee = new EmployeeAccount();
+        employee.setEmail(email);
+        employee.setPassword("hash");
+        employee.setRole(UserType.EMPLOYEE);
+        employee.setRegistrationStatus(status);
+        return employee;
+    }
+
+    private AuthToken token(Account user, String value) {
+        AuthToken token = new AuthToken();
+        token.setUser(user);
+        token.setToken(value);
+        token.setCreatedAt(Timestamp.from(Instant.now()));
+        token.setExpireAt(Timestamp.from(Instant.now().plusSeconds(600)));
+        return token;
+    }
+}
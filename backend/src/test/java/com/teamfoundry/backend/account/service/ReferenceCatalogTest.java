@@ -0,0 +1,115 @@
+package com.teamfoundry.backend.account.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teamfoundry.backend.account.model.preferences.PrefActivitySectors;
+import com.teamfoundry.backend.account.model.preferences.PrefGeoArea;
+import com.teamfoundry.backend.account.model.preferences.PrefRole;
+import com.teamfoundry.backend.account.model.preferences.PrefSkill;
+import com.teamfoundry.backend.account.repository.preferences.PrefActivitySectorsRepository;
+import com.teamfoundry.backend.account.repository.preferences.PrefGeoAreaRepository;
+import com.teamfoundry.backend.account.repository.preferences.PrefRoleRepository;
+import com.teamfoundry.backend.account.repository.preferences.PrefSkillRepository;
+import com.teamfoundry.backend.account.service.ReferenceCatalog.Kind;
+import com.teamfoundry.backend.account.service.ReferenceCatalog.Option;
+import com.teamfoundry.backend.common.util.PreSerializedJson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class ReferenceCatalogTest {
+
+    @Mock PrefRoleRepository prefRoleRepository;
+    @Mock PrefSkillRepository prefSkillRepository;
+    @Mock PrefGeoAreaRepository prefGeoAreaRepository;
+    @Mock PrefActivitySectorsRepository prefActivitySectorsRepository;
+    @Mock PlatformTransactionManager transactionManager;
+
+    ReferenceCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new ReferenceCatalog(prefRoleRepository, prefSkillRepository, prefGeoAreaRepository,
+                prefActivitySectorsRepository, new ObjectMapper(), transactionManager, 300, 5);
+
+        when(prefRoleRepository.findAll()).thenReturn(List.of(new PrefRole(2, "Soldador"), new PrefRole(1, "Eletricista")));
+        when(prefSkillRepository.findAll()).thenReturn(List.of(new PrefSkill(3, "MIG")));
+        when(prefGeoAreaRepository.findAll()).thenReturn(List.of(new PrefGeoArea(4, "Porto"), new PrefGeoArea(5, "Braga")));
+        when(prefActivitySectorsRepository.findAll()).thenReturn(List.of(
+                new PrefActivitySectors(6, "metalurgia"), new PrefActivitySectors(7, "Construção")));
+    }
+
+    @Test
+    void resolvesNamesIgnoringCaseAndSurroundingSpaces() {
+        assertThat(catalog.resolve(Kind.ROLE, "  soldador ")).contains(new Option(2, "Soldador"));
+        assertThat(catalog.resolve(Kind.GEO_AREA, "BRAGA")).contains(new Option(5, "Braga"));
+        assertThat(catalog.resolve(Kind.SKILL, "TIG")).isEmpty();
+        assertThat(catalog.resolve(Kind.SKILL, null)).isEmpty();
+    }
+
+    @Test
+    void unknownNameRebuildsOnceToSeeOptionsCreatedOnOtherNodes() {
+        ReferenceCatalog eager = new ReferenceCatalog(prefRoleRepository, prefSkillRepository, prefGeoAreaRepository,
+                prefActivitySectorsRepository, new ObjectMapper(), transactionManager, 300, 0);
+        assertThat(eager.resolve(Kind.ROLE, "Pintor")).isEmpty();
+
+        when(prefRoleRepository.findAll()).thenReturn(List.of(new PrefRole(2, "Soldador"), new PrefRole(8, "Pintor")));
+
+        assertThat(eager.resolve(Kind.ROLE, "pintor")).contains(new Option(8, "Pintor"));
+    }
+
+    @Test
+    void unknownNamesDoNotRebuildAFreshCatalog() {
+        catalog.resolve(Kind.SKILL, "TIG");
+        catalog.resolve(Kind.SKILL, "Solda");
+
+        verify(prefSkillRepository, times(1)).findAll();
+    }
+
+    @Test
+    void listsAreSortedAndLoadedOnce() {
+        assertThat(catalog.names(Kind.ROLE)).containsExactly("Eletricista", "Soldador");
+        assertThat(catalog.names(Kind.ACTIVITY_SECTOR)).containsExactly("Construção", "metalurgia");
+        catalog.resolve(Kind.SKILL, "MIG");
+        catalog.profileOptions();
+
+        verify(prefRoleRepository, times(1)).findAll();
+        verify(prefActivitySectorsRepository, times(1)).findAll();
+    }
+
+    @Test
+    void profileOptionsAreServedWithEtag() {
+        PreSerializedJson options = catalog.profileOptions();
+
+        assertThat(new String(options.json())).contains("\"functions\":[\"Eletricista\",\"Soldador\"]");
+        assertThat(options.toResponse(options.etag(), null).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    @Test
+    void refreshSwapsToANewVersion() {
+        long before = catalog.version();
+        PreSerializedJson oldOptions = catalog.profileOptions();
+
+        when(prefRoleRepository.findAll()).thenReturn(List.of(new PrefRole(2, "Soldador"), new PrefRole(8, "Pintor")));
+        catalog.refreshAfterCommit();
+
+        assertThat(catalog.version()).isGreaterThan(before);
+        assertThat(catalog.resolve(Kind.ROLE, "pintor")).contains(new Option(8, "Pintor"));
+        assertThat(catalog.resolve(Kind.ROLE, "Eletricista")).isEmpty();
+        assertThat(catalog.profileOptions().etag()).isNotEqualTo(oldOptions.etag());
+    }
+}
@@ -1,6 +1,7 @@
 package com.teamfoundry.backend.account.service;
 
 import com.teamfoundry.backend.auth.service.VerificationEmailService;
+import com.teamfoundry.backend.common.mail.EmailOutbox;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,22 +10,23 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 /**
- * Testa o serviço que envia e-mails de verificação.
+ * Testa o serviço que agenda e-mails de verificação no outbox.
  */
 @ExtendWith(MockitoExtension.class)
 class VerificationEmailServiceTest {
 
     @Mock
-    private JavaMailSender mailSender;
+    private EmailOutbox emailOutbox;
 
     @InjectMocks
     private VerificationEmailService verificationEmailService;
@@ -33,19 +35,25 @@ class VerificationEmailServiceTest {
     void setUp() {
         // enable mail sending path in the service (fields are not injected by Spring in this unit test)
         ReflectionTestUtils.setField(verificationEmailService, "mailEnabled", true);
-        ReflectionTestUtils.setField(verificationEmailService, "fromAddress", "no-reply@test.local");
     }
 
     @Test
-    @DisplayName("sendVerificationCode envia email com destinatário e código corretos")
+    @DisplayName("sendVerificationCode agenda email com destinatário e código corretos")
     void sendVerificationCode() {
         verificationEmailService.sendVerificationCode("user@example.com", "123456");
 
-        ArgumentCaptor<SimpleMailMessage> captor = ArgumentCaptor.forClass(SimpleMailMessage.class);
-        verify(mailSender, times(1)).send(captor.capture());
+        ArgumentCaptor<String> body = ArgumentCaptor.forClass(String.class);
+        verify(emailOutbox, times(1)).enqueue(eq("user@example.com"), anyString(), body.capture());
+        assertThat(body.getValue()).contains("123456");
+    }
+
+    @Test
+    @DisplayName("com o envio desativado nada vai para o outbox")
+    void mailDisabledSkipsOutbox() {
+        ReflectionTestUtils.setField(verificationEmailService, "mailEnabled", false);
+
+        verificationEmailService.sendPasswordResetCode("user@example.com", "654321");
 
-        SimpleMailMessage message = captor.getValue();
-        assertThat(message.getTo()).containsExactly("user@example.com");
-        assertThat(message.getText()).contains("123456");
+        verifyNoInteractions(emailOutbox);
     }
 }
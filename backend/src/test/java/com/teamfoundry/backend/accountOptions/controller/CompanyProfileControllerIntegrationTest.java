@@ -10,6 +10,7 @@ import com.teamfoundry.backend.account.repository.AccountRepository;
 import com.teamfoundry.backend.account.repository.company.CompanyAccountOwnerRepository;
 import com.teamfoundry.backend.account.repository.company.CompanyAccountRepository;
 import com.teamfoundry.backend.auth.repository.AuthTokenRepository;
+import com.teamfoundry.backend.auth.repository.RefreshTokenRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.DisplayNameGeneration;
@@ -49,6 +50,7 @@ class CompanyProfileControllerIntegrationTest {
     @Autowired CompanyAccountOwnerRepository ownerRepository;
     @Autowired AccountRepository accountRepository;
     @Autowired AuthTokenRepository authTokenRepository;
+    @Autowired RefreshTokenRepository refreshTokenRepository;
     @Autowired PasswordEncoder passwordEncoder;
 
     private final String email = "company@test.com";
@@ -57,6 +59,7 @@ class CompanyProfileControllerIntegrationTest {
     @BeforeEach
     void setup() {
         authTokenRepository.deleteAll();
+        refreshTokenRepository.deleteAll();
         ownerRepository.deleteAll();
         companyAccountRepository.deleteAll();
         accountRepository.deleteAll();
@@ -11,6 +11,7 @@ import com.teamfoundry.backend.account.repository.company.CompanyAccountOwnerRep
 import com.teamfoundry.backend.account.repository.company.CompanyAccountRepository;
 import com.teamfoundry.backend.auth.model.tokens.AuthToken;
 import com.teamfoundry.backend.auth.repository.AuthTokenRepository;
+import com.teamfoundry.backend.auth.repository.RefreshTokenRepository;
 import com.teamfoundry.backend.auth.service.VerificationEmailService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -49,6 +50,7 @@ class CompanyVerificationControllerIntegrationTest {
     @Autowired CompanyAccountOwnerRepository ownerRepository;
     @Autowired AccountRepository accountRepository;
     @Autowired AuthTokenRepository authTokenRepository;
+    @Autowired RefreshTokenRepository refreshTokenRepository;
     @Autowired PasswordEncoder passwordEncoder;
     @MockBean VerificationEmailService verificationEmailService;
 
@@ -58,6 +60,7 @@ class CompanyVerificationControllerIntegrationTest {
     @BeforeEach
     void setup() {
         authTokenRepository.deleteAll();
+        refreshTokenRepository.deleteAll();
         ownerRepository.deleteAll();
         companyAccountRepository.deleteAll();
         accountRepository.deleteAll();
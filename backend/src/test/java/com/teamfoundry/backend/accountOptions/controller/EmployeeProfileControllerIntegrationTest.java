@@ -8,6 +8,7 @@ import com.teamfoundry.backend.account.model.employee.profile.EmployeeAccount;
 import com.teamfoundry.backend.account.repository.AccountRepository;
 import com.teamfoundry.backend.account.repository.employee.EmployeeAccountRepository;
 import com.teamfoundry.backend.auth.repository.AuthTokenRepository;
+import com.teamfoundry.backend.auth.repository.RefreshTokenRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.DisplayNameGeneration;
@@ -45,6 +46,7 @@ class EmployeeProfileControllerIntegrationTest {
     @Autowired EmployeeAccountRepository employeeAccountRepository;
     @Autowired AccountRepository accountRepository;
     @Autowired AuthTokenRepository authTokenRepository;
+    @Autowired RefreshTokenRepository refreshTokenRepository;
     @Autowired PasswordEncoder passwordEncoder;
 
     private final String email = "profile@test.com";
@@ -53,6 +55,7 @@ class EmployeeProfileControllerIntegrationTest {
     @BeforeEach
     void setupUser() {
         authTokenRepository.deleteAll();
+        refreshTokenRepository.deleteAll();
         employeeAccountRepository.deleteAll();
         accountRepository.deleteAll();
 
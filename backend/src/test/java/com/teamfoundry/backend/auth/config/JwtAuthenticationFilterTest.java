@@ -0,0 +1,112 @@
+package com.teamfoundry.backend.auth.config;
+
+import com.teamfoundry.backend.auth.service.UserDetailsCache;
+import com.teamfoundry.backend.auth.service.login.JwtService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class JwtAuthenticationFilterTest {
+
+    @Mock UserDetailsCache userDetailsCache;
+
+    JwtService jwtService;
+    JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secret", "0123456789abcdef0123456789abcdef0123456789abcdef");
+        ReflectionTestUtils.setField(jwtService, "expirationSeconds", 3600L);
+        filter = new JwtAuthenticationFilter(jwtService, userDetailsCache);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void validTokenAuthenticatesWithPrincipalBuiltFromClaims() throws Exception {
+        when(userDetailsCache.get("ana@test.com")).thenReturn(user("ana@test.com", "EMPLOYEE", true));
+
+        filter.doFilter(request(jwtService.generateToken("ana@test.com", "EMPLOYEE", 7)),
+                new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication.getName()).isEqualTo("ana@test.com");
+        assertThat(authentication.getPrincipal()).isInstanceOf(UserDetails.class);
+        assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("ROLE_EMPLOYEE");
+    }
+
+    @Test
+    void deactivatedAccountStaysAnonymous() throws Exception {
+        when(userDetailsCache.get("ana@test.com")).thenReturn(user("ana@test.com", "EMPLOYEE", false));
+
+        filter.doFilter(request(jwtService.generateToken("ana@test.com", "EMPLOYEE", 7)),
+                new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(userDetailsCache, never()).evict("ana@test.com");
+    }
+
+    @Test
+    void roleMismatchReloadsOnceBeforeAccepting() throws Exception {
+        when(userDetailsCache.get("admin:alpha"))
+                .thenReturn(user("admin:alpha", "ADMIN", true))
+                .thenReturn(user("admin:alpha", "SUPERADMIN", true));
+
+        filter.doFilter(request(jwtService.generateToken("admin:alpha", "SUPERADMIN", 1)),
+                new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(userDetailsCache).evict("admin:alpha");
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("admin:alpha");
+    }
+
+    @Test
+    void tokenSignedWithAnotherKeyIsIgnoredWithoutLookup() throws Exception {
+        JwtService otherIssuer = new JwtService();
+        ReflectionTestUtils.setField(otherIssuer, "secret", "fedcba9876543210fedcba9876543210fedcba9876543210");
+        ReflectionTestUtils.setField(otherIssuer, "expirationSeconds", 3600L);
+
+        filter.doFilter(request(otherIssuer.generateToken("ana@test.com", "EMPLOYEE", 7)),
+                new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verifyNoInteractions(userDetailsCache);
+    }
+
+    private MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/test");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    private UserDetails user(String username, String role, boolean enabled) {
+        return new User(username, "hash", enabled, true, true, true, List.of(new SimpleGrantedAuthority("ROLE_" + role)));
+    }
+}
@@ -0,0 +1,113 @@
+package com.teamfoundry.backend.auth.repository;
+
+import com.teamfoundry.backend.account.enums.RegistrationStatus;
+import com.teamfoundry.backend.account.enums.UserType;
+import com.teamfoundry.backend.account.model.company.CompanyAccount;
+import com.teamfoundry.backend.account.model.employee.profile.EmployeeAccount;
+import com.teamfoundry.backend.auth.repository.LoginIdentityRepository.LoginIdentity;
+import com.teamfoundry.backend.superadmin.model.credentials.AdminAccount;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class LoginIdentityRepositoryTest {
+
+    @Autowired TestEntityManager entityManager;
+    @Autowired EntityManagerFactory entityManagerFactory;
+    @Autowired LoginIdentityRepository loginIdentityRepository;
+
+    private EmployeeAccount employee;
+
+    @BeforeEach
+    void setUp() {
+        employee = new EmployeeAccount();
+        employee.setEmail("ana@example.com");
+        employee.setPassword("hash-ana");
+        employee.setRole(UserType.EMPLOYEE);
+        employee.setRegistrationStatus(RegistrationStatus.COMPLETED);
+        employee.setVerified(true);
+        entityManager.persist(employee);
+
+        CompanyAccount company = new CompanyAccount();
+        company.setEmail("empresa@example.com");
+        company.setPassword("hash-empresa");
+        company.setRole(UserType.COMPANY);
+        company.setRegistrationStatus(RegistrationStatus.COMPLETED);
+        company.setName("Metalurgica");
+        company.setAddress("Rua 1");
+        company.setCountry("Portugal");
+        company.setDeactivated(true);
+        entityManager.persist(company);
+
+        entityManager.persist(new AdminAccount(0, "Gestor", "hash-admin", UserType.ADMIN, false));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("colaborador é resolvido pelo email numa única consulta")
+    void employeeResolvedInOneQuery() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        LoginIdentity identity = loginIdentityRepository.findLoginIdentity("ana@example.com", "ana@example.com")
+                .orElseThrow();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(identity.isAdmin()).isFalse();
+        assertThat(identity.getId()).isEqualTo(employee.getId());
+        assertThat(identity.getLogin()).isEqualTo("ana@example.com");
+        assertThat(identity.getPassword()).isEqualTo("hash-ana");
+        assertThat(identity.getRole()).isEqualTo(UserType.EMPLOYEE.name());
+        assertThat(identity.getVerified()).isTrue();
+        assertThat(identity.getDeactivated()).isFalse();
+    }
+
+    @Test
+    @DisplayName("empresa devolve o estado da conta para validar a desativação")
+    void companyCarriesAccountState() {
+        LoginIdentity identity = loginIdentityRepository.findLoginIdentity("empresa@example.com", "empresa@example.com")
+                .orElseThrow();
+
+        assertThat(identity.getRole()).isEqualTo(UserType.COMPANY.name());
+        assertThat(identity.getDeactivated()).isTrue();
+        assertThat(identity.getVerified()).isFalse();
+    }
+
+    @Test
+    @DisplayName("administrador é encontrado pelo username sem distinguir maiúsculas")
+    void adminMatchedIgnoringCase() {
+        LoginIdentity identity = loginIdentityRepository.findLoginIdentity("GESTOR", "gestor").orElseThrow();
+
+        assertThat(identity.isAdmin()).isTrue();
+        assertThat(identity.getPassword()).isEqualTo("hash-admin");
+    }
+
+    @Test
+    @DisplayName("administrador tem prioridade quando o identificador também é email de uma conta")
+    void adminWinsOverAccount() {
+        entityManager.persist(new AdminAccount(0, "ana@example.com", "hash-admin-2", UserType.ADMIN, false));
+        entityManager.flush();
+
+        LoginIdentity identity = loginIdentityRepository.findLoginIdentity("ana@example.com", "ana@example.com")
+                .orElseThrow();
+
+        assertThat(identity.isAdmin()).isTrue();
+        assertThat(identity.getPassword()).isEqualTo("hash-admin-2");
+    }
+
+    @Test
+    @DisplayName("identificador desconhecido não devolve nada")
+    void unknownIdentifierIsEmpty() {
+        assertThat(loginIdentityRepository.findLoginIdentity("ninguem@example.com", "ninguem@example.com")).isEmpty();
+    }
+}
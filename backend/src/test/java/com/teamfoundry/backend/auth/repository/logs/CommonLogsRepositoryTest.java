@@ -0,0 +1,84 @@
+package com.teamfoundry.backend.auth.repository.logs;
+
+import com.teamfoundry.backend.account.enums.RegistrationStatus;
+import com.teamfoundry.backend.account.enums.UserType;
+import com.teamfoundry.backend.account.model.employee.profile.EmployeeAccount;
+import com.teamfoundry.backend.auth.model.logs.CommonLogs;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Paginação por keyset (timestamp, id) do {@link CommonLogsRepository}.
+ */
+@DataJpaTest
+class CommonLogsRepositoryTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 5, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2024, 6, 1, 0, 0);
+
+    @Autowired TestEntityManager entityManager;
+    @Autowired CommonLogsRepository commonLogsRepository;
+
+    @BeforeEach
+    void setUp() {
+        EmployeeAccount ana = persistEmployee("ana@test.com");
+        EmployeeAccount rui = persistEmployee("rui@test.com");
+        LocalDateTime sameMinute = LocalDateTime.of(2024, 5, 10, 9, 0);
+        persistLog(ana, "a1", sameMinute);
+        persistLog(ana, "a2", sameMinute);
+        persistLog(ana, "a3", sameMinute.plusDays(1));
+        persistLog(rui, "r1", sameMinute.plusDays(2));
+        persistLog(ana, "fora do período", END);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("as páginas seguem (timestamp, id) decrescente sem saltar linhas com o mesmo timestamp")
+    void keysetPagesHandleTimestampTies() {
+        List<LogRow> first = commonLogsRepository.searchPage(START, END, 0, "%", Limit.of(2));
+        LogRow last = first.getLast();
+        List<LogRow> second = commonLogsRepository.searchPage(START, last.getLoggedAt(), last.getId(), "%", Limit.of(2));
+
+        assertThat(first).extracting(LogRow::getAction).containsExactly("r1", "a3");
+        assertThat(second).extracting(LogRow::getAction).containsExactly("a2", "a1");
+    }
+
+    @Test
+    @DisplayName("o padrão filtra pelo email do autor")
+    void patternFiltersByActorEmail() {
+        List<LogRow> rows = commonLogsRepository.searchPage(START, END, 0, "%rui%", Limit.of(10));
+
+        assertThat(rows).singleElement().satisfies(row -> {
+            assertThat(row.getActor()).isEqualTo("rui@test.com");
+            assertThat(row.getAction()).isEqualTo("r1");
+        });
+    }
+
+    private EmployeeAccount persistEmployee(String email) {
+        EmployeeAccount account = new EmployeeAccount();
+        account.setEmail(email);
+        account.setPassword("hash");
+        account.setRole(UserType.EMPLOYEE);
+        account.setRegistrationStatus(RegistrationStatus.COMPLETED);
+        return entityManager.persist(account);
+    }
+
+    private void persistLog(EmployeeAccount user, String action, LocalDateTime timestamp) {
+        CommonLogs log = new CommonLogs();
+        log.setUser(user);
+        log.setAction(action);
+        log.setTimestamp(timestamp);
+        entityManager.persist(log);
+    }
+}
@@ -0,0 +1,138 @@
+package com.teamfoundry.backend.auth.service;
+
+import com.teamfoundry.backend.account.enums.RegistrationStatus;
+import com.teamfoundry.backend.account.enums.UserType;
+import com.teamfoundry.backend.account.model.employee.profile.EmployeeAccount;
+import com.teamfoundry.backend.auth.model.tokens.AuthToken;
+import com.teamfoundry.backend.auth.model.tokens.PasswordResetToken;
+import com.teamfoundry.backend.auth.model.tokens.RefreshToken;
+import com.teamfoundry.backend.auth.model.tokens.Token;
+import com.teamfoundry.backend.auth.repository.AuthTokenRepository;
+import com.teamfoundry.backend.auth.repository.PasswordResetTokenRepository;
+import com.teamfoundry.backend.auth.repository.RefreshTokenRepository;
+import com.teamfoundry.backend.auth.repository.TokenRepository;
+import com.teamfoundry.backend.auth.service.ExpiredTokenSweeper.SweepStats;
+import com.teamfoundry.backend.common.lease.JobLeaseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+class ExpiredTokenSweeperTest {
+
+    @Autowired TestEntityManager entityManager;
+    @Autowired TokenRepository tokenRepository;
+    @Autowired RefreshTokenRepository refreshTokenRepository;
+    @Autowired AuthTokenRepository authTokenRepository;
+    @Autowired PasswordResetTokenRepository passwordResetTokenRepository;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    JobLeaseService jobLeaseService = mock(JobLeaseService.class);
+    EmployeeAccount user;
+
+    @BeforeEach
+    void setUp() {
+        when(jobLeaseService.tryAcquire(eq(ExpiredTokenSweeper.LEASE_NAME), any(Duration.class))).thenReturn(true);
+        user = new EmployeeAccount();
+        user.setEmail("tokens@example.com");
+        user.setPassword("hash");
+        user.setRole(UserType.EMPLOYEE);
+        user.setRegistrationStatus(RegistrationStatus.COMPLETED);
+        entityManager.persist(user);
+    }
+
+    @Test
+    @DisplayName("sweep apaga todos os tipos de token expirados por lotes e mantém os válidos")
+    void sweepDeletesExpiredTokensInBatches() {
+        for (int i = 0; i < 3; i++) {
+            persist(new AuthToken(), "expirado-" + i, Instant.now().minusSeconds(60 + i));
+        }
+        persist(new PasswordResetToken(), "123456", Instant.now().minusSeconds(10));
+        AuthToken valid = persist(new AuthToken(), "valido", Instant.now().plusSeconds(3600));
+        persistRefresh("a".repeat(64), Instant.now().minusSeconds(30));
+        RefreshToken validRefresh = persistRefresh("b".repeat(64), Instant.now().plusSeconds(3600));
+
+        ExpiredTokenSweeper sweeper = sweeper(2, 10);
+        sweeper.sweep();
+        entityManager.clear();
+
+        SweepStats stats = sweeper.lastSweep().orElseThrow();
+        assertThat(stats.deleted()).isEqualTo(5);
+        assertThat(stats.batches()).as("1 lote de refresh + 3 de tokens").isEqualTo(4);
+        assertThat(stats.drained()).isTrue();
+        assertThat(stats.refreshTokens()).isEqualTo(1);
+        assertThat(stats.authTokens()).isEqualTo(1);
+        assertThat(stats.passwordResetTokens()).isZero();
+        assertThat(tokenRepository.findAll()).extracting(Token::getId).containsExactly(valid.getId());
+        assertThat(refreshTokenRepository.findAll()).extracting(RefreshToken::getId).containsExactly(validRefresh.getId());
+    }
+
+    @Test
+    @DisplayName("sweep pára no limite de lotes e deixa o resto para a execução seguinte")
+    void sweepStopsAtBatchLimit() {
+        for (int i = 0; i < 3; i++) {
+            persist(new AuthToken(), "expirado-" + i, Instant.now().minusSeconds(60 + i));
+        }
+
+        // 1 lote (vazio) da tabela de refresh tokens + 1 lote de tokens
+        ExpiredTokenSweeper sweeper = sweeper(2, 2);
+        sweeper.sweep();
+
+        SweepStats stats = sweeper.lastSweep().orElseThrow();
+        assertThat(stats.deleted()).isEqualTo(2);
+        assertThat(stats.drained()).isFalse();
+        assertThat(stats.authTokens()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("sweep não faz nada sem o lease")
+    void sweepWithoutLeaseDoesNothing() {
+        JobLeaseService busy = mock(JobLeaseService.class);
+        TokenRepository tokens = mock(TokenRepository.class);
+        ExpiredTokenSweeper sweeper = new ExpiredTokenSweeper(tokens, refreshTokenRepository, authTokenRepository,
+                passwordResetTokenRepository, busy, transactionManager, 2, 1, 60_000);
+
+        sweeper.sweep();
+
+        verifyNoInteractions(tokens);
+        assertThat(sweeper.lastSweep()).isEmpty();
+    }
+
+    private ExpiredTokenSweeper sweeper(int batchSize, int maxBatches) {
+        entityManager.flush();
+        return new ExpiredTokenSweeper(tokenRepository, refreshTokenRepository, authTokenRepository,
+                passwordResetTokenRepository, jobLeaseService, transactionManager, batchSize, maxBatches, 60_000);
+    }
+
+    private <T extends Token> T persist(T token, String value, Instant expireAt) {
+        token.setUser(user);
+        token.setToken(value);
+        token.setCreatedAt(Timestamp.from(Instant.now()));
+        token.setExpireAt(Timestamp.from(expireAt));
+        return entityManager.persist(token);
+    }
+
+    private RefreshToken persistRefresh(String hash, Instant expireAt) {
+        RefreshToken token = new RefreshToken();
+        token.setUser(user);
+        token.setTokenHash(hash);
+        token.setCreatedAt(Timestamp.from(Instant.now()));
+        token.setExpireAt(Timestamp.from(expireAt));
+        return entityManager.persist(token);
+    }
+}
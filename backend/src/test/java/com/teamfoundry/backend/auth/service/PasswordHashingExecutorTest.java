@@ -0,0 +1,105 @@
+package com.teamfoundry.backend.auth.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class PasswordHashingExecutorTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PasswordHashingExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (executor != null) executor.shutdown();
+    }
+
+    @Test
+    void requestIsRejectedWith503AtOnceWhenTheQueueIsFull() throws Exception {
+        executor = new PasswordHashingExecutor(10, 1, 1, 5_000);
+        CountDownLatch started = new CountDownLatch(1);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> executor.run(() -> {
+            started.countDown();
+            await(release);
+            return "primeiro";
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> executor.run(() -> "em fila"));
+        waitUntilQueued(1);
+
+        long before = System.nanoTime();
+        assertThatThrownBy(() -> executor.run(() -> "terceiro"))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasFieldOrPropertyWithValue("statusCode", HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - before)).isLessThan(1_000);
+
+        PasswordHashingExecutor.Stats stats = executor.stats();
+        assertThat(stats.strength()).isEqualTo(10);
+        assertThat(stats.threads()).isEqualTo(1);
+        assertThat(stats.queued()).isEqualTo(1);
+        assertThat(stats.rejected()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("primeiro");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("em fila");
+    }
+
+    @Test
+    void requestWaitingLongerThanTheTimeoutGets503() {
+        executor = new PasswordHashingExecutor(10, 1, 4, 50);
+
+        assertThatThrownBy(() -> executor.run(() -> {
+            await(release);
+            return "lento";
+        }))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasFieldOrPropertyWithValue("statusCode", HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(executor.stats().timedOut()).isEqualTo(1);
+    }
+
+    @Test
+    void hashingExceptionsArePropagatedUnchanged() {
+        executor = new PasswordHashingExecutor(10, 2, 4, 1_000);
+
+        assertThatThrownBy(() -> executor.run(() -> {
+            throw new IllegalArgumentException("hash inválido");
+        })).isInstanceOf(IllegalArgumentException.class).hasMessage("hash inválido");
+        assertThat(executor.run(() -> true)).isTrue();
+    }
+
+    @Test
+    void zeroThreadsUsesHalfOfTheAvailableCores() {
+        executor = new PasswordHashingExecutor(12, 0, 4, 1_000);
+
+        assertThat(executor.stats().threads())
+                .isEqualTo(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    }
+
+    private void waitUntilQueued(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.stats().queued() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
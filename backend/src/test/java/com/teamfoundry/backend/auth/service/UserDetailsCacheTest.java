@@ -0,0 +1,95 @@
+package com.teamfoundry.backend.auth.service;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class UserDetailsCacheTest {
+
+    @Mock AccountDetailsService accountDetailsService;
+
+    @Test
+    void getLoadsOnceWhileEntryIsFresh() {
+        UserDetailsCache cache = new UserDetailsCache(accountDetailsService, 60, 10);
+        when(accountDetailsService.loadUserByUsername("ana@test.com")).thenReturn(user("ana@test.com"));
+
+        cache.get("ana@test.com");
+        UserDetails second = cache.get("ana@test.com");
+
+        assertThat(second.getUsername()).isEqualTo("ana@test.com");
+        verify(accountDetailsService, times(1)).loadUserByUsername("ana@test.com");
+    }
+
+    @Test
+    void evictForcesReload() {
+        UserDetailsCache cache = new UserDetailsCache(accountDetailsService, 60, 10);
+        when(accountDetailsService.loadUserByUsername("ana@test.com")).thenReturn(user("ana@test.com"));
+
+        cache.get("ana@test.com");
+        cache.evictAfterCommit("ana@test.com");
+        cache.get("ana@test.com");
+
+        verify(accountDetailsService, times(2)).loadUserByUsername("ana@test.com");
+    }
+
+    @Test
+    void expiredEntriesAreReloaded() {
+        UserDetailsCache cache = new UserDetailsCache(accountDetailsService, 0, 10);
+        when(accountDetailsService.loadUserByUsername("ana@test.com")).thenReturn(user("ana@test.com"));
+
+        cache.get("ana@test.com");
+        cache.get("ana@test.com");
+
+        verify(accountDetailsService, times(2)).loadUserByUsername("ana@test.com");
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsDroppedWhenFull() {
+        UserDetailsCache cache = new UserDetailsCache(accountDetailsService, 60, 2);
+        when(accountDetailsService.loadUserByUsername("a")).thenReturn(user("a"));
+        when(accountDetailsService.loadUserByUsername("b")).thenReturn(user("b"));
+        when(accountDetailsService.loadUserByUsername("c")).thenReturn(user("c"));
+
+        cache.get("a");
+        cache.get("b");
+        cache.get("a");
+        cache.get("c"); // remove "b"
+        cache.get("a");
+        cache.get("b");
+
+        verify(accountDetailsService, times(1)).loadUserByUsername("a");
+        verify(accountDetailsService, times(2)).loadUserByUsername("b");
+    }
+
+    @Test
+    void missingAccountsAreNotCached() {
+        UserDetailsCache cache = new UserDetailsCache(accountDetailsService, 60, 10);
+        when(accountDetailsService.loadUserByUsername("ghost")).thenThrow(new UsernameNotFoundException("User not found"));
+
+        assertThrows(UsernameNotFoundException.class, () -> cache.get("ghost"));
+        assertThrows(UsernameNotFoundException.class, () -> cache.get("ghost"));
+
+        verify(accountDetailsService, times(2)).loadUserByUsername("ghost");
+    }
+
+    private UserDetails user(String username) {
+        return new User(username, "hash", List.of(new SimpleGrantedAuthority("ROLE_EMPLOYEE")));
+    }
+}
@@ -0,0 +1,162 @@
+package com.teamfoundry.backend.auth.service.login;
+
+import com.teamfoundry.backend.account.enums.RegistrationStatus;
+import com.teamfoundry.backend.account.enums.UserType;
+import com.teamfoundry.backend.account.model.employee.profile.EmployeeAccount;
+import com.teamfoundry.backend.account.repository.AccountRepository;
+import com.teamfoundry.backend.auth.model.tokens.RefreshToken;
+import com.teamfoundry.backend.auth.repository.RefreshTokenRepository;
+import com.teamfoundry.backend.auth.service.login.RefreshTokenService.Rotation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+class RefreshTokenServiceTest {
+
+    @Autowired TestEntityManager entityManager;
+    @Autowired RefreshTokenRepository refreshTokenRepository;
+    @Autowired AccountRepository accountRepository;
+
+    RefreshTokenService service;
+    EmployeeAccount user;
+
+    @BeforeEach
+    void setUp() {
+        service = new RefreshTokenService(refreshTokenRepository, accountRepository, 2, 60, 100);
+        user = new EmployeeAccount();
+        user.setEmail("refresh@example.com");
+        user.setPassword("hash");
+        user.setRole(UserType.EMPLOYEE);
+        user.setRegistrationStatus(RegistrationStatus.COMPLETED);
+        entityManager.persist(user);
+    }
+
+    @Test
+    @DisplayName("issue guarda só o hash SHA-256 do valor enviado no cookie")
+    void issueStoresOnlyTheHash() {
+        String raw = service.issue(user, 30, true);
+
+        RefreshToken stored = refreshTokenRepository.findByTokenHash(RefreshTokenService.hash(raw)).orElseThrow();
+        assertThat(stored.getTokenHash()).hasSize(64).isNotEqualTo(raw);
+        assertThat(stored.isPersistent()).isTrue();
+        assertThat(refreshTokenRepository.findAll()).extracting(RefreshToken::getTokenHash).doesNotContain(raw);
+    }
+
+    @Test
+    @DisplayName("rotate troca o token, mantém a validade final e recusa o valor antigo")
+    void rotateReplacesTokenAndRejectsReplay() {
+        String raw = service.issue(user, 30, true);
+        Instant expireAt = refreshTokenRepository.findByTokenHash(RefreshTokenService.hash(raw))
+                .orElseThrow().getExpireAt().toInstant();
+
+        Rotation rotation = service.rotate(raw);
+
+        assertThat(rotation.refreshToken()).isNotEqualTo(raw);
+        assertThat(rotation.user().getId()).isEqualTo(user.getId());
+        assertThat(rotation.maxAgeSeconds()).isPositive();
+        assertThat(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash(rotation.refreshToken())))
+                .get().extracting(t -> t.getExpireAt().toInstant()).isEqualTo(expireAt);
+        assertThatThrownBy(() -> service.rotate(raw))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("Refresh token inválido");
+        assertThat(refreshTokenRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("rotate de um token de sessão devolve cookie de sessão (max-age -1)")
+    void rotateKeepsSessionCookie() {
+        String raw = service.issue(user, 1, false);
+
+        assertThat(service.rotate(raw).maxAgeSeconds()).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("rotate recusa tokens expirados")
+    void rotateRejectsExpiredToken() {
+        String raw = service.issue(user, 1, false);
+        RefreshToken stored = refreshTokenRepository.findByTokenHash(RefreshTokenService.hash(raw)).orElseThrow();
+        stored.setExpireAt(Timestamp.from(Instant.now().minus(1, ChronoUnit.MINUTES)));
+        entityManager.flush();
+
+        assertThatThrownBy(() -> service.rotate(raw))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("expirado");
+    }
+
+    @Test
+    @DisplayName("token desconhecido fica no cache negativo e não volta a ser procurado na base de dados")
+    void unknownTokenIsCachedAsRejected() {
+        RefreshTokenRepository repository = mock(RefreshTokenRepository.class);
+        RefreshTokenService cached = new RefreshTokenService(repository, null, 2, 60, 100);
+        String garbage = "x".repeat(43);
+
+        assertThatThrownBy(() -> cached.rotate(garbage)).isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> cached.rotate(garbage)).isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> cached.rotate("formato-invalido")).isInstanceOf(ResponseStatusException.class);
+
+        verify(repository, times(1)).findByTokenHash(anyString());
+    }
+
+    @Test
+    @DisplayName("token rodado não entra no cache negativo antes do commit")
+    void rotatedTokenIsNotCachedBeforeCommit() {
+        RefreshTokenRepository repository = mock(RefreshTokenRepository.class);
+        RefreshTokenService cached = new RefreshTokenService(repository, null, 0, 60, 100);
+        String raw = "y".repeat(43);
+        RefreshToken current = new RefreshToken();
+        current.setUser(user);
+        current.setExpireAt(Timestamp.from(Instant.now().plus(1, ChronoUnit.DAYS)));
+        when(repository.findByTokenHash(RefreshTokenService.hash(raw))).thenReturn(Optional.of(current));
+        when(repository.deleteByTokenHash(RefreshTokenService.hash(raw))).thenReturn(1);
+
+        // Sem commit (a transação do teste faz rollback), o valor continua a ser procurado na base de dados
+        cached.rotate(raw);
+        cached.rotate(raw);
+
+        verify(repository, times(2)).findByTokenHash(anyString());
+    }
+
+    @Test
+    @DisplayName("issue mantém só os refresh tokens mais recentes do utilizador")
+    void issueTrimsOldestSessions() {
+        String oldest = service.issue(user, 1, false);
+        service.issue(user, 2, false);
+        service.issue(user, 3, false);
+        entityManager.clear();
+
+        assertThat(refreshTokenRepository.count()).isEqualTo(2);
+        assertThat(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash(oldest))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("revoke e revokeAll terminam as sessões")
+    void revokeRemovesTokens() {
+        String first = service.issue(user, 1, false);
+        service.issue(user, 1, false);
+
+        service.revoke(first);
+        assertThat(refreshTokenRepository.count()).isEqualTo(1);
+        assertThatThrownBy(() -> service.rotate(first)).isInstanceOf(ResponseStatusException.class);
+
+        service.revokeAll(user);
+        assertThat(refreshTokenRepository.count()).isZero();
+    }
+}
@@ -0,0 +1,83 @@
+package com.teamfoundry.backend.common.lease;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Cada operação do lease faz commit na sua própria transação, por isso o teste corre sem a
+ * transação de rollback do {@link DataJpaTest} e limpa a tabela antes de cada caso.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JobLeaseServiceTest {
+
+    private static final String JOB = "tarefa-teste";
+
+    @Autowired JobLeaseRepository jobLeaseRepository;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    JobLeaseService nodeA;
+    JobLeaseService nodeB;
+
+    @BeforeEach
+    void setUp() {
+        jobLeaseRepository.deleteAll();
+        nodeA = new JobLeaseService(jobLeaseRepository, transactionManager, "node-a");
+        nodeB = new JobLeaseService(jobLeaseRepository, transactionManager, "node-b");
+    }
+
+    @Test
+    @DisplayName("só uma instância fica com o lease enquanto não expira")
+    void onlyOneNodeHoldsTheLease() {
+        assertThat(nodeA.tryAcquire(JOB, Duration.ofMinutes(5))).isTrue();
+        assertThat(nodeB.tryAcquire(JOB, Duration.ofMinutes(5))).isFalse();
+        assertThat(nodeA.tryAcquire(JOB, Duration.ofMinutes(5))).as("renovação pelo dono").isTrue();
+        assertThat(jobLeaseRepository.findById(JOB)).get()
+                .extracting(JobLease::getOwner).isEqualTo("node-a");
+    }
+
+    @Test
+    @DisplayName("lease expirado pode ser retomado por outra instância")
+    void expiredLeaseIsTakenOver() throws InterruptedException {
+        assertThat(nodeA.tryAcquire(JOB, Duration.ofMillis(1))).isTrue();
+        Thread.sleep(20);
+
+        assertThat(nodeB.tryAcquire(JOB, Duration.ofMinutes(5))).isTrue();
+        assertThat(nodeA.tryAcquire(JOB, Duration.ofMinutes(5))).isFalse();
+    }
+
+    @Test
+    @DisplayName("instância sem o lease não tenta o insert enquanto a linha existe")
+    void nonOwnerDoesNotInsertWhileTheRowExists() {
+        JobLeaseRepository repository = mock(JobLeaseRepository.class);
+        when(repository.takeOver(eq(JOB), eq("node-b"), any(), any())).thenReturn(0);
+        when(repository.existsById(JOB)).thenReturn(true);
+        JobLeaseService node = new JobLeaseService(repository, transactionManager, "node-b");
+
+        assertThat(node.tryAcquire(JOB, Duration.ofMinutes(5))).isFalse();
+        verify(repository, never()).insert(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("leases de tarefas diferentes são independentes")
+    void leasesArePerJob() {
+        assertThat(nodeA.tryAcquire(JOB, Duration.ofMinutes(5))).isTrue();
+        assertThat(nodeB.tryAcquire("outra-tarefa", Duration.ofMinutes(5))).isTrue();
+    }
+}
@@ -0,0 +1,227 @@
+package com.teamfoundry.backend.common.mail;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.teamfoundry.backend.common.lease.JobLeaseService;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Envia contra um SMTP local (GreenMail). O worker faz commit em transações próprias, por isso o teste
+ * corre sem a transação de rollback do {@link DataJpaTest} e limpa a tabela antes de cada caso.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmailOutboxWorkerTest {
+
+    @RegisterExtension
+    static GreenMailExtension smtp = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired EmailOutboxRepository emailOutboxRepository;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    JobLeaseService jobLeaseService = mock(JobLeaseService.class);
+
+    @BeforeEach
+    void setUp() {
+        emailOutboxRepository.deleteAll();
+        when(jobLeaseService.tryAcquire(eq(EmailOutboxWorker.LEASE_NAME), any(Duration.class))).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("enqueue só grava a linha; o envio acontece na passagem do worker")
+    void enqueueDoesNotTalkToSmtp() throws Exception {
+        EmailOutboxWorker worker = worker(ServerSetupTest.SMTP.getPort(), 3);
+        OutboxEmail queued = new EmailOutbox(emailOutboxRepository, worker)
+                .enqueue("user@example.com", "Código", "O seu código é 123456");
+
+        assertThat(smtp.getReceivedMessages()).isEmpty();
+        assertThat(emailOutboxRepository.findById(queued.getId())).get()
+                .extracting(OutboxEmail::getStatus).isEqualTo(OutboxEmail.Status.PENDING);
+
+        worker.drain();
+
+        MimeMessage[] received = smtp.getReceivedMessages();
+        assertThat(received).hasSize(1);
+        assertThat(received[0].getSubject()).isEqualTo("Código");
+        OutboxEmail sent = emailOutboxRepository.findById(queued.getId()).orElseThrow();
+        assertThat(sent.getStatus()).isEqualTo(OutboxEmail.Status.SENT);
+        assertThat(sent.getAttempts()).isEqualTo(1);
+        assertThat(sent.getSentAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("passagem envia vários lotes pela ordem de chegada")
+    void drainSendsEveryBatch() {
+        for (int i = 0; i < 5; i++) {
+            pending("user" + i + "@example.com");
+        }
+
+        EmailOutboxWorker worker = worker(ServerSetupTest.SMTP.getPort(), 3);
+        worker.drain();
+
+        assertThat(smtp.getReceivedMessages()).hasSize(5);
+        assertThat(emailOutboxRepository.countByStatus(OutboxEmail.Status.SENT)).isEqualTo(5);
+        EmailOutboxWorker.DrainStats stats = worker.lastDrain().orElseThrow();
+        assertThat(stats.batches()).as("lotes de 2").isEqualTo(3);
+        assertThat(stats.sent()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("passagem renova o lease antes de cada lote e pára quando o perde")
+    void drainStopsWhenLeaseIsLost() {
+        for (int i = 0; i < 5; i++) {
+            pending("user" + i + "@example.com");
+        }
+        when(jobLeaseService.tryAcquire(eq(EmailOutboxWorker.LEASE_NAME), any(Duration.class)))
+                .thenReturn(true, true, false);
+
+        EmailOutboxWorker worker = worker(ServerSetupTest.SMTP.getPort(), 3);
+        worker.drain();
+
+        assertThat(smtp.getReceivedMessages()).hasSize(4);
+        assertThat(emailOutboxRepository.countByStatus(OutboxEmail.Status.PENDING)).isEqualTo(1);
+        verify(jobLeaseService, times(3)).tryAcquire(eq(EmailOutboxWorker.LEASE_NAME), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("e-mails reclamados por uma passagem em curso não são lidos por outra")
+    void claimedEmailsAreSkipped() {
+        OutboxEmail claimed = pending("user@example.com");
+        claimed.setNextAttemptAt(Instant.now().plusSeconds(300));
+        emailOutboxRepository.save(claimed);
+
+        worker(ServerSetupTest.SMTP.getPort(), 3).drain();
+
+        assertThat(smtp.getReceivedMessages()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("worker define timeouts SMTP quando não estão configurados")
+    void smtpTimeoutsAreBounded() {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.getJavaMailProperties().put("mail.smtp.timeout", "500");
+
+        new EmailOutboxWorker(emailOutboxRepository, mailSender, jobLeaseService, transactionManager,
+                "no-reply@test.local", 2, 10, 3, 30_000, 3_600_000, 72, 60_000, 300_000, 2_000);
+
+        assertThat(mailSender.getJavaMailProperties())
+                .containsEntry("mail.smtp.connectiontimeout", "2000")
+                .containsEntry("mail.smtp.writetimeout", "2000")
+                .containsEntry("mail.smtp.timeout", "500");
+    }
+
+    @Test
+    @DisplayName("poll agendado só acorda o worker; o envio corre na thread do worker")
+    void pollSendsOnTheWorkerThread() {
+        pending("user@example.com");
+        EmailOutboxWorker worker = worker(ServerSetupTest.SMTP.getPort(), 3);
+
+        worker.poll();
+
+        assertThat(smtp.waitForIncomingEmail(5_000, 1)).isTrue();
+        worker.shutdown();
+    }
+
+    @Test
+    @DisplayName("falha de SMTP reagenda o e-mail com espera e guarda o erro")
+    void failureSchedulesRetry() throws IOException {
+        OutboxEmail email = pending("user@example.com");
+
+        Instant before = Instant.now();
+        worker(closedPort(), 3).drain();
+
+        OutboxEmail retried = emailOutboxRepository.findById(email.getId()).orElseThrow();
+        assertThat(retried.getStatus()).isEqualTo(OutboxEmail.Status.PENDING);
+        assertThat(retried.getAttempts()).isEqualTo(1);
+        assertThat(retried.getLastError()).isNotBlank();
+        assertThat(retried.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(30));
+    }
+
+    @Test
+    @DisplayName("ao fim das tentativas o e-mail fica DEAD e deixa de ser lido")
+    void exhaustedEmailIsDeadLettered() throws IOException {
+        OutboxEmail email = pending("user@example.com");
+        email.setAttempts(2);
+        emailOutboxRepository.save(email);
+
+        EmailOutboxWorker worker = worker(closedPort(), 3);
+        worker.drain();
+
+        assertThat(emailOutboxRepository.findById(email.getId())).get()
+                .extracting(OutboxEmail::getStatus).isEqualTo(OutboxEmail.Status.DEAD);
+        assertThat(worker.stats().dead()).isEqualTo(1);
+        assertThat(worker.stats().pending()).isZero();
+    }
+
+    @Test
+    @DisplayName("espera duplica a cada tentativa até ao máximo")
+    void backoffDoublesUpToTheCap() {
+        EmailOutboxWorker worker = worker(ServerSetupTest.SMTP.getPort(), 8);
+
+        assertThat(worker.backoff(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(worker.backoff(2)).isEqualTo(Duration.ofSeconds(60));
+        assertThat(worker.backoff(4)).isEqualTo(Duration.ofSeconds(240));
+        assertThat(worker.backoff(20)).isEqualTo(Duration.ofHours(1));
+    }
+
+    @Test
+    @DisplayName("sem o lease nada é enviado")
+    void withoutLeaseNothingIsSent() {
+        pending("user@example.com");
+        when(jobLeaseService.tryAcquire(eq(EmailOutboxWorker.LEASE_NAME), any(Duration.class))).thenReturn(false);
+
+        EmailOutboxWorker worker = worker(ServerSetupTest.SMTP.getPort(), 3);
+        worker.drain();
+
+        assertThat(smtp.getReceivedMessages()).isEmpty();
+        assertThat(worker.lastDrain()).isEmpty();
+    }
+
+    private EmailOutboxWorker worker(int smtpPort, int maxAttempts) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtpPort);
+        return new EmailOutboxWorker(emailOutboxRepository, mailSender, jobLeaseService, transactionManager,
+                "no-reply@test.local", 2, 10, maxAttempts, 30_000, 3_600_000, 72, 60_000, 300_000, 2_000);
+    }
+
+    private OutboxEmail pending(String recipient) {
+        Instant now = Instant.now();
+        OutboxEmail email = new OutboxEmail();
+        email.setRecipient(recipient);
+        email.setSubject("Assunto");
+        email.setBody("Corpo");
+        email.setCreatedAt(now);
+        email.setNextAttemptAt(now);
+        return emailOutboxRepository.save(email);
+    }
+
+    private static int closedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
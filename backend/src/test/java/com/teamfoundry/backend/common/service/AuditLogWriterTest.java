@@ -0,0 +1,112 @@
+package com.teamfoundry.backend.common.service;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class AuditLogWriterTest {
+
+    @Mock JdbcTemplate jdbcTemplate;
+
+    @Test
+    void enqueueDoesNotTouchTheDatabase() {
+        AuditLogWriter writer = new AuditLogWriter(jdbcTemplate, 100, 50, 0);
+
+        writer.enqueueAdmin(1, "Criou requisição");
+        writer.enqueueUser(2, "Aceitou oferta");
+
+        assertThat(writer.pendingCount()).isEqualTo(2);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void flushWritesBurstAsFewBatchesPerTable() {
+        AuditLogWriter writer = new AuditLogWriter(jdbcTemplate, 100, 4, 0);
+        for (int i = 0; i < 6; i++) {
+            writer.enqueueAdmin(1, "admin " + i);
+        }
+        writer.enqueueUser(2, "user");
+
+        writer.flush();
+
+        ArgumentCaptor<Collection<?>> batches = ArgumentCaptor.forClass((Class) Collection.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(eq(AuditLogWriter.INSERT_ADMIN_SQL), batches.capture(), anyInt(), any());
+        assertThat(batches.getAllValues()).extracting(Collection::size).containsExactly(4, 2);
+        verify(jdbcTemplate).batchUpdate(eq(AuditLogWriter.INSERT_USER_SQL), any(Collection.class), anyInt(), any());
+        assertThat(writer.pendingCount()).isZero();
+    }
+
+    @Test
+    void fullQueueDropsEntriesInsteadOfBlocking() {
+        AuditLogWriter writer = new AuditLogWriter(jdbcTemplate, 2, 10, 0);
+
+        writer.enqueueUser(1, "a");
+        writer.enqueueUser(1, "b");
+        writer.enqueueUser(1, "c");
+
+        assertThat(writer.pendingCount()).isEqualTo(2);
+        assertThat(writer.droppedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void failedBatchFallsBackToSingleRowInserts() {
+        AuditLogWriter writer = new AuditLogWriter(jdbcTemplate, 100, 10, 0);
+        when(jdbcTemplate.batchUpdate(eq(AuditLogWriter.INSERT_USER_SQL), any(Collection.class), anyInt(), any()))
+                .thenThrow(new DataIntegrityViolationException("conta removida"));
+        writer.enqueueUser(1, "a");
+        writer.enqueueUser(2, "b");
+
+        writer.flush();
+
+        verify(jdbcTemplate, times(2)).update(eq(AuditLogWriter.INSERT_USER_SQL), any(PreparedStatementSetter.class));
+        verify(jdbcTemplate, never()).batchUpdate(eq(AuditLogWriter.INSERT_ADMIN_SQL), any(Collection.class), anyInt(), any());
+    }
+
+    @Test
+    void shutdownFlushesPendingEntries() {
+        AuditLogWriter writer = new AuditLogWriter(jdbcTemplate, 100, 10, 0);
+        writer.enqueueAdmin(1, "a");
+
+        writer.flushOnShutdown();
+
+        verify(jdbcTemplate).batchUpdate(eq(AuditLogWriter.INSERT_ADMIN_SQL), any(Collection.class), anyInt(), any());
+        assertThat(writer.pendingCount()).isZero();
+    }
+
+    @Test
+    void ownFlushThreadWritesWithoutTheSpringScheduler() {
+        AuditLogWriter writer = new AuditLogWriter(jdbcTemplate, 100, 10, 0);
+        ReflectionTestUtils.setField(writer, "flushIntervalMs", 10L);
+        writer.start();
+        try {
+            writer.enqueueUser(1, "a");
+
+            verify(jdbcTemplate, timeout(2000)).batchUpdate(eq(AuditLogWriter.INSERT_USER_SQL), any(Collection.class), anyInt(), any());
+        } finally {
+            writer.flushOnShutdown();
+        }
+    }
+}
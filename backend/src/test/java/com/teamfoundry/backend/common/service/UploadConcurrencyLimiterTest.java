@@ -0,0 +1,59 @@
+package com.teamfoundry.backend.common.service;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class UploadConcurrencyLimiterTest {
+
+    @Test
+    void uploadAboveTheLimitIsRejectedWith503AfterTheTimeout() throws Exception {
+        UploadConcurrencyLimiter limiter = new UploadConcurrencyLimiter(1, 50);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> limiter.run(() -> {
+            started.countDown();
+            await(release);
+            return "ok";
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> limiter.run(() -> "segundo"))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasFieldOrPropertyWithValue("statusCode", HttpStatus.SERVICE_UNAVAILABLE);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("ok");
+        assertThat(limiter.run(() -> "terceiro")).isEqualTo("terceiro");
+    }
+
+    @Test
+    void permitIsReleasedWhenTheUploadFails() {
+        UploadConcurrencyLimiter limiter = new UploadConcurrencyLimiter(2, 50);
+
+        assertThatThrownBy(() -> limiter.run(() -> {
+            throw new IllegalStateException("falhou");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(limiter.availablePermits()).isEqualTo(2);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
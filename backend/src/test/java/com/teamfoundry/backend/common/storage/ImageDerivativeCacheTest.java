@@ -0,0 +1,126 @@
+package com.teamfoundry.backend.common.storage;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class ImageDerivativeCacheTest {
+
+    private static final String HASH_A = "aa".repeat(32);
+    private static final String HASH_B = "bb".repeat(32);
+
+    @TempDir Path root;
+
+    @Test
+    void derivativeFitsRequestedSizeKeepingAspectRatio() throws Exception {
+        ImageDerivativeCache cache = new ImageDerivativeCache(root.toString(), 10_000_000);
+        Path original = png("original.png", 1000, 500);
+
+        Path thumbnail = cache.get(original, HASH_A, ImageSize.MEDIUM).orElseThrow();
+
+        BufferedImage image = ImageIO.read(thumbnail.toFile());
+        assertThat(image.getWidth()).isEqualTo(128);
+        assertThat(image.getHeight()).isEqualTo(64);
+        assertThat(Files.size(thumbnail)).isLessThan(Files.size(original));
+        assertThat(cache.get(original, HASH_A, ImageSize.MEDIUM)).contains(thumbnail);
+    }
+
+    @Test
+    void smallImagesAreNotEnlarged() throws Exception {
+        ImageDerivativeCache cache = new ImageDerivativeCache(root.toString(), 10_000_000);
+        Path original = png("small.png", 40, 30);
+
+        BufferedImage image = ImageIO.read(cache.get(original, HASH_A, ImageSize.LARGE).orElseThrow().toFile());
+
+        assertThat(image.getWidth()).isEqualTo(40);
+        assertThat(image.getHeight()).isEqualTo(30);
+    }
+
+    @Test
+    void unreadableImageFallsBackToOriginal() throws Exception {
+        ImageDerivativeCache cache = new ImageDerivativeCache(root.toString(), 10_000_000);
+        Path broken = root.resolve("broken.png");
+        Files.writeString(broken, "isto não é uma imagem", StandardCharsets.UTF_8);
+
+        assertThat(cache.get(broken, HASH_A, ImageSize.SMALL)).isEmpty();
+    }
+
+    @Test
+    void leastRecentlyUsedDerivativeIsRemovedWhenOverBudget() throws Exception {
+        Path original = png("original.png", 600, 600);
+        long oneDerivative = new ImageDerivativeCache(root.resolve("probe").toString(), Long.MAX_VALUE)
+                .get(original, HASH_A, ImageSize.LARGE).map(this::size).orElseThrow();
+        ImageDerivativeCache cache = new ImageDerivativeCache(root.toString(), oneDerivative + oneDerivative / 2);
+
+        Path first = cache.get(original, HASH_A, ImageSize.LARGE).orElseThrow();
+        Path second = cache.get(original, HASH_B, ImageSize.LARGE).orElseThrow();
+
+        assertThat(first).doesNotExist();
+        assertThat(second).exists();
+        assertThat(cache.totalBytes()).isEqualTo(size(second));
+    }
+
+    @Test
+    void evictRemovesAllSizesOfAnOriginal() throws Exception {
+        ImageDerivativeCache cache = new ImageDerivativeCache(root.toString(), 10_000_000);
+        Path original = png("original.png", 300, 300);
+        Path small = cache.get(original, HASH_A, ImageSize.SMALL).orElseThrow();
+        Path large = cache.get(original, HASH_A, ImageSize.LARGE).orElseThrow();
+
+        cache.evict(HASH_A);
+
+        assertThat(small).doesNotExist();
+        assertThat(large).doesNotExist();
+        assertThat(cache.totalBytes()).isZero();
+    }
+
+    @Test
+    void existingDerivativesCountTowardsBudgetAfterRestart() throws Exception {
+        Path original = png("original.png", 300, 300);
+        Path thumbnail = new ImageDerivativeCache(root.toString(), 10_000_000)
+                .get(original, HASH_A, ImageSize.MEDIUM).orElseThrow();
+
+        ImageDerivativeCache restarted = new ImageDerivativeCache(root.toString(), 10_000_000);
+
+        assertThat(restarted.totalBytes()).isEqualTo(size(thumbnail));
+    }
+
+    @Test
+    void onlyFormatsReadableByImageIoAreSupported() {
+        assertThat(ImageDerivativeCache.supports("foto.JPG")).isTrue();
+        assertThat(ImageDerivativeCache.supports("logo.png")).isTrue();
+        assertThat(ImageDerivativeCache.supports("logo.webp")).isFalse();
+        assertThat(ImageDerivativeCache.supports("cv.pdf")).isFalse();
+        assertThat(ImageDerivativeCache.supports("sem-extensao")).isFalse();
+    }
+
+    private Path png(String name, int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                image.setRGB(x, y, (x * 7 + y * 13) & 0xFFFFFF ^ (x * y));
+            }
+        }
+        Path file = root.resolve(name);
+        ImageIO.write(image, "png", file.toFile());
+        return file;
+    }
+
+    private long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.teamfoundry.backend.common.storage;
+
+import com.teamfoundry.backend.common.service.UploadConcurrencyLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class LocalFileControllerTest {
+
+    private static final String CONTENT = "0123456789abcdefghij";
+
+    @TempDir Path root;
+
+    LocalFileStorage storage;
+    LocalFileController controller;
+    String url;
+    String etag;
+
+    @BeforeEach
+    void setUp() {
+        storage = new LocalFileStorage(root.toString(), "/media/files", "", new UploadConcurrencyLimiter(1, 1000),
+                new ImageDerivativeCache(root.toString(), 1_000_000));
+        controller = new LocalFileController(storage);
+        url = storage.uploadBytes(CONTENT.getBytes(StandardCharsets.US_ASCII), "curriculum", "cv.pdf").getUrl();
+        etag = "\"" + LocalFileStorage.contentHash(url.substring("/media/files/".length())) + "\"";
+    }
+
+    @Test
+    void servesWholeFileWithStrongEtagAndImmutableCache() throws Exception {
+        MockHttpServletResponse response = serve(request());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+        assertThat(response.getContentType()).isEqualTo("application/pdf");
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).contains("immutable");
+    }
+
+    @Test
+    void matchingEtagIsNotModified() throws Exception {
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void singleRangeIsPartialContent() throws Exception {
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.RANGE, "bytes=5-9");
+
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo("56789");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 5-9/20");
+        assertThat(response.getContentLengthLong()).isEqualTo(5);
+    }
+
+    @Test
+    void staleIfRangeServesTheWholeFile() throws Exception {
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.RANGE, "bytes=-4");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"outro\"");
+
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void rangeBeyondTheEndIsNotSatisfiable() throws Exception {
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.RANGE, "bytes=50-60");
+
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */20");
+    }
+
+    @Test
+    void connectorWithSendfileGetsTheFileRegionInsteadOfABody() throws Exception {
+        MockHttpServletRequest request = request();
+        request.setAttribute(LocalFileController.SENDFILE_SUPPORT, Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=10-");
+
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(request.getAttribute(LocalFileController.SENDFILE_START)).isEqualTo(10L);
+        assertThat(request.getAttribute(LocalFileController.SENDFILE_END)).isEqualTo(20L);
+        assertThat((String) request.getAttribute(LocalFileController.SENDFILE_FILENAME)).endsWith(".pdf");
+    }
+
+    @Test
+    void sizeParameterServesTheImageThumbnailWithItsOwnEtag() throws Exception {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(400, 200, BufferedImage.TYPE_INT_RGB), "png", png);
+        String photoUrl = storage.uploadBytes(png.toByteArray(), "profile-pictures", "foto.png").getUrl();
+        String hash = LocalFileStorage.contentHash(photoUrl.substring("/media/files/".length()));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", photoUrl);
+        request.setParameter("size", "64");
+
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentType()).isEqualTo("image/jpeg");
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"" + hash + "-64\"");
+        BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(response.getContentAsByteArray()));
+        assertThat(thumbnail.getWidth()).isEqualTo(64);
+        assertThat(thumbnail.getHeight()).isEqualTo(32);
+    }
+
+    @Test
+    void sizeParameterOnNonImageOrUnknownSizeServesTheOriginal() throws Exception {
+        MockHttpServletRequest request = request();
+        request.setParameter("size", "64");
+        MockHttpServletRequest unknownSize = request();
+        unknownSize.setParameter("size", "999");
+
+        assertThat(serve(request).getContentAsString()).isEqualTo(CONTENT);
+        assertThat(serve(unknownSize).getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+    }
+
+    @Test
+    void unknownKeyIsNotFound() throws Exception {
+        MockHttpServletResponse response = serve(new MockHttpServletRequest("GET", "/media/files/curriculum/../../etc/passwd"));
+
+        assertThat(response.getStatus()).isEqualTo(404);
+    }
+
+    private MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", url);
+    }
+
+    private MockHttpServletResponse serve(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.serve(request, response);
+        return response;
+    }
+}
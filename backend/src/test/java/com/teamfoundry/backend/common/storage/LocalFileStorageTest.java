@@ -0,0 +1,85 @@
+package com.teamfoundry.backend.common.storage;
+
+import com.teamfoundry.backend.common.service.UploadConcurrencyLimiter;
+import com.teamfoundry.backend.common.storage.FileStorage.UploadResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class LocalFileStorageTest {
+
+    @TempDir Path root;
+
+    LocalFileStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new LocalFileStorage(root.toString(), "media/files/", "", new UploadConcurrencyLimiter(2, 1000),
+                new ImageDerivativeCache(root.toString(), 1_000_000));
+    }
+
+    @Test
+    void pathIsAddressedByContentHash() throws Exception {
+        UploadResult result = storage.uploadBytes("conteudo".getBytes(StandardCharsets.UTF_8), "curriculum", "CV Final.PDF");
+
+        String key = result.getPublicId().substring(LocalFileStorage.ID_PREFIX.length());
+        assertThat(key).matches("curriculum/[0-9a-f]{2}/[0-9a-f]{64}\\.pdf");
+        assertThat(result.getUrl()).isEqualTo("/media/files/" + key);
+        assertThat(storage.buildUrl(result.getPublicId())).isEqualTo(result.getUrl());
+        assertThat(Files.readString(storage.resolve(key).orElseThrow())).isEqualTo("conteudo");
+    }
+
+    @Test
+    void sameContentIsStoredOnceAndRemovedWithTheLastReference() {
+        byte[] data = "mesmo ficheiro".getBytes(StandardCharsets.UTF_8);
+        UploadResult first = storage.uploadMultipart(new MockMultipartFile("file", "a.png", "image/png", data), "profilepicture");
+        UploadResult second = storage.uploadBase64(
+                "data:image/png;base64," + Base64.getEncoder().encodeToString(data), "profilepicture", "b.png");
+        String key = first.getPublicId().substring(LocalFileStorage.ID_PREFIX.length());
+
+        assertThat(second.getPublicId()).isEqualTo(first.getPublicId());
+
+        storage.delete(first.getPublicId());
+        assertThat(storage.resolve(key)).isPresent();
+
+        storage.deleteByUrl("https://api.example.com" + second.getUrl());
+        assertThat(storage.resolve(key)).isEmpty();
+    }
+
+    @Test
+    void foreignIdsAndTraversalKeysAreIgnored() throws Exception {
+        Files.writeString(root.resolve("segredo.txt"), "x");
+
+        storage.delete("image::home/banner");
+        storage.deleteByUrl("https://res.cloudinary.com/demo/image/upload/v1/old.png");
+
+        assertThat(storage.buildUrl("image::home/banner")).isNull();
+        assertThat(storage.resolve("../segredo.txt")).isEmpty();
+        assertThat(storage.resolve("curriculum/ab/" + "a".repeat(64) + ".pdf.refs")).isEmpty();
+        assertThat(root.resolve("segredo.txt")).exists();
+    }
+
+    @Test
+    void imageUrlsPointToThumbnailsOnlyForDecodableImages() {
+        UploadResult photo = storage.uploadBytes(new byte[]{1, 2, 3}, "profile-pictures", "foto.jpg");
+        UploadResult cv = storage.uploadBytes(new byte[]{4, 5, 6}, "curriculum", "cv.pdf");
+
+        assertThat(storage.buildImageUrl(photo.getPublicId(), ImageSize.MEDIUM)).isEqualTo(photo.getUrl() + "?size=128");
+        assertThat(storage.buildImageUrl(cv.getPublicId(), ImageSize.MEDIUM)).isEqualTo(cv.getUrl());
+        assertThat(storage.imageUrlFor(photo.getUrl(), ImageSize.LARGE)).isEqualTo(photo.getUrl() + "?size=512");
+        assertThat(storage.imageUrlFor("https://cdn.test/home/logo.png", ImageSize.LARGE))
+                .isEqualTo("https://cdn.test/home/logo.png");
+        assertThat(storage.imageUrlFor(null, ImageSize.LARGE)).isNull();
+    }
+}
@@ -0,0 +1,65 @@
+package com.teamfoundry.backend.common.util;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class BoundedTtlCacheTest {
+
+    private final BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(Duration.ofMinutes(5), 2);
+
+    @Test
+    void loadedValueIsCached() {
+        cache.get("a", key -> "v1");
+
+        assertThat(cache.get("a", key -> "v2")).isEqualTo("v1");
+    }
+
+    @Test
+    void evictionOfTheSameKeyDuringLoadDropsTheLoadedValue() {
+        // O loader corre fora do lock; a remoção simula uma escrita concorrente
+        cache.get("a", key -> {
+            cache.evict("a");
+            return "antigo";
+        });
+
+        assertThat(cache.getIfPresent("a")).isNull();
+    }
+
+    @Test
+    void evictionOfAnotherKeyDuringLoadKeepsTheLoadedValue() {
+        cache.get("a", key -> {
+            cache.evict("b");
+            return "v1";
+        });
+
+        assertThat(cache.getIfPresent("a")).isEqualTo("v1");
+    }
+
+    @Test
+    void loadStartedAfterTheEvictionIsCached() {
+        cache.evict("a");
+
+        cache.get("a", key -> "novo");
+
+        assertThat(cache.getIfPresent("a")).isEqualTo("novo");
+    }
+
+    @Test
+    void forgottenEvictionMarkDropsLoadsStartedBeforeIt() {
+        // Só cabem 2 marcas: ao remover "c", a marca de "a" é descartada
+        cache.get("a", key -> {
+            cache.evict("a");
+            cache.evict("b");
+            cache.evict("c");
+            return "antigo";
+        });
+
+        assertThat(cache.getIfPresent("a")).isNull();
+    }
+}
@@ -0,0 +1,54 @@
+package com.teamfoundry.backend.common.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class PreSerializedJsonTest {
+
+    private final PreSerializedJson response = PreSerializedJson.of(new ObjectMapper(), Map.of("title", "Olá"));
+
+    @Test
+    void sameContentGivesSameStrongEtag() {
+        PreSerializedJson again = PreSerializedJson.of(new ObjectMapper(), Map.of("title", "Olá"));
+        PreSerializedJson other = PreSerializedJson.of(new ObjectMapper(), Map.of("title", "Adeus"));
+
+        assertThat(response.etag()).startsWith("\"").endsWith("\"").isEqualTo(again.etag());
+        assertThat(other.etag()).isNotEqualTo(response.etag());
+    }
+
+    @Test
+    void matchingIfNoneMatchReturnsNotModifiedWithoutBody() {
+        ResponseEntity<byte[]> notModified = response.toResponse("\"outro\", W/" + response.etag(), "gzip");
+
+        assertThat(notModified.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(notModified.getBody()).isNull();
+        assertThat(notModified.getHeaders().getETag()).isEqualTo(response.etag());
+    }
+
+    @Test
+    void gzipIsSentOnlyWhenAccepted() throws IOException {
+        ResponseEntity<byte[]> gzipped = response.toResponse(null, "br, gzip");
+        ResponseEntity<byte[]> plain = response.toResponse("\"antigo\"", null);
+
+        assertThat(gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getBody()))) {
+            assertThat(in.readAllBytes()).isEqualTo(response.json());
+        }
+        assertThat(plain.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(plain.getBody()).isEqualTo(response.json());
+    }
+}
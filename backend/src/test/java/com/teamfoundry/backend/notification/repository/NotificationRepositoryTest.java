@@ -0,0 +1,97 @@
+package com.teamfoundry.backend.notification.repository;
+
+import com.teamfoundry.backend.account.enums.RegistrationStatus;
+import com.teamfoundry.backend.account.enums.UserType;
+import com.teamfoundry.backend.account.model.employee.profile.EmployeeAccount;
+import com.teamfoundry.backend.notification.enums.NotificationType;
+import com.teamfoundry.backend.notification.model.Notification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Paginação por keyset e atualizações em massa do {@link NotificationRepository}.
+ */
+@DataJpaTest
+class NotificationRepositoryTest {
+
+    @Autowired TestEntityManager entityManager;
+    @Autowired NotificationRepository notificationRepository;
+
+    private EmployeeAccount ana;
+    private EmployeeAccount rui;
+
+    @BeforeEach
+    void setUp() {
+        ana = persistEmployee("ana@test.com");
+        rui = persistEmployee("rui@test.com");
+        for (int i = 0; i < 5; i++) {
+            persistNotification(ana, i % 2 == 0);
+        }
+        persistNotification(rui, false);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("as páginas seguem o id de forma decrescente e sem sobreposição")
+    void keysetPagesDoNotOverlap() {
+        List<Notification> first = notificationRepository.findLatestByUserEmail("ana@test.com", Limit.of(3));
+        List<Notification> second = notificationRepository.findByUserEmailBefore(
+                "ana@test.com", first.getLast().getId(), Limit.of(3));
+
+        assertThat(first).hasSize(3);
+        assertThat(second).hasSize(2);
+        assertThat(first.getFirst().getId()).isGreaterThan(first.getLast().getId());
+        assertThat(second.getFirst().getId()).isLessThan(first.getLast().getId());
+    }
+
+    @Test
+    @DisplayName("markAllAsRead só altera as notificações por ler do próprio utilizador")
+    void markAllAsReadIsScopedToUser() {
+        assertThat(notificationRepository.countUnreadByUserEmail("ana@test.com")).isEqualTo(3);
+
+        int updated = notificationRepository.markAllAsRead("ana@test.com");
+        entityManager.clear();
+
+        assertThat(updated).isEqualTo(3);
+        assertThat(notificationRepository.countUnreadByUserEmail("ana@test.com")).isZero();
+        assertThat(notificationRepository.countUnreadByUserEmail("rui@test.com")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("markAsRead ignora notificações de outro utilizador")
+    void markAsReadRequiresOwner() {
+        Integer ruiNotification = notificationRepository.findLatestByUserEmail("rui@test.com", Limit.of(1))
+                .getFirst().getId();
+
+        assertThat(notificationRepository.markAsRead(ruiNotification, "ana@test.com")).isZero();
+        assertThat(notificationRepository.markAsRead(ruiNotification, "rui@test.com")).isEqualTo(1);
+    }
+
+    private EmployeeAccount persistEmployee(String email) {
+        EmployeeAccount account = new EmployeeAccount();
+        account.setEmail(email);
+        account.setPassword("hash");
+        account.setRole(UserType.EMPLOYEE);
+        account.setRegistrationStatus(RegistrationStatus.COMPLETED);
+        return entityManager.persist(account);
+    }
+
+    private void persistNotification(EmployeeAccount user, boolean unread) {
+        Notification notification = new Notification();
+        notification.setUser(user);
+        notification.setMessage("Nova oferta");
+        notification.setType(NotificationType.JOB_OFFER);
+        notification.setRead(!unread);
+        entityManager.persist(notification);
+    }
+}
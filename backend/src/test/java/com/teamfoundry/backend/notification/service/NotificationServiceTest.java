@@ -0,0 +1,132 @@
+package com.teamfoundry.backend.notification.service;
+
+import com.teamfoundry.backend.notification.dto.NotificationDTO;
+import com.teamfoundry.backend.notification.dto.NotificationDraft;
+import com.teamfoundry.backend.notification.dto.NotificationPageDTO;
+import com.teamfoundry.backend.notification.enums.NotificationType;
+import com.teamfoundry.backend.notification.model.Notification;
+import com.teamfoundry.backend.notification.repository.NotificationRepository;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class NotificationServiceTest {
+
+    private static final String EMAIL = "ana@test.com";
+
+    @Mock NotificationRepository notificationRepository;
+    @Mock UnreadNotificationCounter unreadNotificationCounter;
+    @Mock NotificationBatchWriter notificationBatchWriter;
+
+    @InjectMocks NotificationService service;
+
+    @Test
+    void firstPageFetchesOneExtraRowToBuildCursor() {
+        when(notificationRepository.findLatestByUserEmail(EMAIL, Limit.of(3))).thenReturn(notifications(10, 9, 8));
+
+        NotificationPageDTO page = service.getUserNotifications(EMAIL, null, 2);
+
+        assertThat(page.getItems()).extracting(NotificationDTO::getId).containsExactly(10, 9);
+        assertThat(page.getNextCursor()).isEqualTo(9);
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        when(notificationRepository.findByUserEmailBefore(EMAIL, 9, Limit.of(3))).thenReturn(notifications(8));
+
+        NotificationPageDTO page = service.getUserNotifications(EMAIL, 9, 2);
+
+        assertThat(page.getItems()).extracting(NotificationDTO::getId).containsExactly(8);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void pageSizeIsCapped() {
+        when(notificationRepository.findLatestByUserEmail(EMAIL, Limit.of(NotificationService.MAX_PAGE_SIZE + 1)))
+                .thenReturn(List.of());
+
+        assertThat(service.getUserNotifications(EMAIL, null, 5_000).getItems()).isEmpty();
+    }
+
+    @Test
+    void markAllAsReadUsesBulkUpdateAndResetsCounter() {
+        when(notificationRepository.markAllAsRead(EMAIL)).thenReturn(4);
+
+        service.markAllAsRead(EMAIL);
+
+        verify(unreadNotificationCounter).evictAfterCommit(EMAIL);
+        verify(notificationRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void markAsReadWithoutChangesKeepsCounter() {
+        when(notificationRepository.markAsRead(5, EMAIL)).thenReturn(0);
+
+        service.markAsRead(EMAIL, 5);
+
+        verify(unreadNotificationCounter, never()).evictAfterCommit(EMAIL);
+    }
+
+    @Test
+    void countUnreadComesFromCounter() {
+        when(unreadNotificationCounter.get(EMAIL)).thenReturn(3L);
+
+        assertThat(service.countUnread(EMAIL)).isEqualTo(3L);
+    }
+
+    @Test
+    void createNotificationsWithoutTransactionWritesOneBatchAndResetsEachCounterOnce() {
+        List<NotificationDraft> drafts = List.of(
+                draft(1, EMAIL, 10), draft(1, EMAIL, 11), draft(2, "rui@test.com", 10));
+
+        service.createNotificationsAfterCommit(drafts);
+
+        verify(notificationBatchWriter).insert(drafts);
+        verify(unreadNotificationCounter).evict(EMAIL);
+        verify(unreadNotificationCounter).evict("rui@test.com");
+        verify(notificationRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void createNotificationsFailureIsLoggedAndKeepsCounters() {
+        List<NotificationDraft> drafts = List.of(draft(1, EMAIL, 10));
+        doThrow(new IllegalStateException("db down")).when(notificationBatchWriter).insert(drafts);
+
+        service.createNotificationsAfterCommit(drafts);
+
+        verify(unreadNotificationCounter, never()).evict(any());
+    }
+
+    private NotificationDraft draft(int userId, String email, int relatedId) {
+        return new NotificationDraft(userId, email, "Nova oferta", NotificationType.JOB_OFFER, relatedId);
+    }
+
+    private List<Notification> notifications(int... ids) {
+        return IntStream.of(ids)
+                .mapToObj(id -> {
+                    Notification notification = new Notification();
+                    notification.setId(id);
+                    notification.setMessage("Mensagem " + id);
+                    notification.setType(NotificationType.JOB_OFFER);
+                    return notification;
+                })
+                .toList();
+    }
+}
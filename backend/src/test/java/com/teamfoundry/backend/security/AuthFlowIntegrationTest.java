@@ -7,6 +7,7 @@ import com.teamfoundry.backend.account.model.employee.profile.EmployeeAccount;
 import com.teamfoundry.backend.account.repository.AccountRepository;
 import com.teamfoundry.backend.account.repository.employee.EmployeeAccountRepository;
 import com.teamfoundry.backend.auth.repository.AuthTokenRepository;
+import com.teamfoundry.backend.auth.repository.RefreshTokenRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.DisplayNameGeneration;
@@ -45,6 +46,9 @@ class AuthFlowIntegrationTest {
     @Autowired
     AuthTokenRepository authTokenRepository;
 
+    @Autowired
+    RefreshTokenRepository refreshTokenRepository;
+
     @Autowired
     PasswordEncoder passwordEncoder;
 
@@ -57,6 +61,7 @@ class AuthFlowIntegrationTest {
     @BeforeEach
     void setupUser() {
         authTokenRepository.deleteAll();
+        refreshTokenRepository.deleteAll();
         employeeAccountRepository.deleteAll();
         accountRepository.deleteAll();
         employeeAccountRepository.save(buildEmployee(email, true));
@@ -9,6 +9,7 @@ import com.teamfoundry.backend.account.repository.AccountRepository;
 import com.teamfoundry.backend.account.repository.company.CompanyAccountRepository;
 import com.teamfoundry.backend.account.repository.employee.EmployeeAccountRepository;
 import com.teamfoundry.backend.auth.repository.AuthTokenRepository;
+import com.teamfoundry.backend.auth.repository.RefreshTokenRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayNameGeneration;
 import org.junit.jupiter.api.DisplayNameGenerator;
@@ -51,6 +52,9 @@ class AuthLoginRolesIntegrationTest {
     @Autowired
     AuthTokenRepository authTokenRepository;
 
+    @Autowired
+    RefreshTokenRepository refreshTokenRepository;
+
     @Autowired
     PasswordEncoder passwordEncoder;
 
@@ -59,6 +63,7 @@ class AuthLoginRolesIntegrationTest {
     @BeforeEach
     void cleanTables() {
         authTokenRepository.deleteAll();
+        refreshTokenRepository.deleteAll();
         companyAccountRepository.deleteAll();
         employeeAccountRepository.deleteAll();
         accountRepository.deleteAll();
@@ -10,6 +10,7 @@ import com.teamfoundry.backend.auth.model.tokens.PasswordResetToken;
 import com.teamfoundry.backend.auth.repository.PasswordResetTokenRepository;
 import com.teamfoundry.backend.auth.service.VerificationEmailService;
 import com.teamfoundry.backend.auth.repository.AuthTokenRepository;
+import com.teamfoundry.backend.auth.repository.RefreshTokenRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -40,6 +41,7 @@ class AuthPasswordResetIntegrationTest {
     @Autowired AccountRepository accountRepository;
     @Autowired PasswordResetTokenRepository passwordResetTokenRepository;
     @Autowired AuthTokenRepository authTokenRepository;
+    @Autowired RefreshTokenRepository refreshTokenRepository;
     @Autowired PasswordEncoder passwordEncoder;
     @MockBean VerificationEmailService verificationEmailService;
 
@@ -49,6 +51,7 @@ class AuthPasswordResetIntegrationTest {
     @BeforeEach
     void setup() {
         authTokenRepository.deleteAll();
+        refreshTokenRepository.deleteAll();
         passwordResetTokenRepository.deleteAll();
         employeeAccountRepository.deleteAll();
         accountRepository.deleteAll();
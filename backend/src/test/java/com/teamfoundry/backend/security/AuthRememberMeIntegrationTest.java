@@ -8,6 +8,7 @@ import com.teamfoundry.backend.account.model.employee.profile.EmployeeAccount;
 import com.teamfoundry.backend.account.repository.employee.EmployeeAccountRepository;
 import com.teamfoundry.backend.account.repository.AccountRepository;
 import com.teamfoundry.backend.auth.repository.AuthTokenRepository;
+import com.teamfoundry.backend.auth.repository.RefreshTokenRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -39,6 +40,7 @@ class AuthRememberMeIntegrationTest {
     @Autowired AccountRepository accountRepository;
     @Autowired PasswordEncoder passwordEncoder;
     @Autowired AuthTokenRepository authTokenRepository;
+    @Autowired RefreshTokenRepository refreshTokenRepository;
 
     private final String email = "remember@test.com";
     private final String rawPassword = "secret";
@@ -46,6 +48,7 @@ class AuthRememberMeIntegrationTest {
     @BeforeEach
     void setup() {
         authTokenRepository.deleteAll();
+        refreshTokenRepository.deleteAll();
         employeeAccountRepository.deleteAll();
         accountRepository.deleteAll();
 
@@ -80,14 +83,7 @@ class AuthRememberMeIntegrationTest {
         assertThat(setCookie).contains("refresh_token=");
         assertThat(setCookie).doesNotContain("Max-Age=0");
 
-        // Extrai valor do refresh_token
-        String refreshValue = null;
-        for (String part : setCookie.split(";")) {
-            if (part.trim().startsWith("refresh_token=")) {
-                refreshValue = part.trim().substring("refresh_token=".length());
-                break;
-            }
-        }
+        String refreshValue = cookieValue(setCookie);
         assertThat(refreshValue).isNotNull();
 
         // Usa o cookie para pedir refresh
@@ -100,6 +96,19 @@ class AuthRememberMeIntegrationTest {
         // Confere que o payload tem expiresInSeconds coerente
         JsonNode json = objectMapper.readTree(refreshResult.getResponse().getContentAsString());
         assertThat(json.get("expiresInSeconds").asLong()).isGreaterThan(0L);
+
+        // O refresh roda o token: vem um cookie novo e o valor antigo deixa de servir
+        String rotatedCookie = refreshResult.getResponse().getHeader(HttpHeaders.SET_COOKIE);
+        assertThat(rotatedCookie).contains("refresh_token=").doesNotContain("Max-Age=0");
+        String rotatedValue = cookieValue(rotatedCookie);
+        assertThat(rotatedValue).isNotEqualTo(refreshValue);
+
+        mockMvc.perform(post("/api/auth/refresh")
+                        .cookie(new Cookie("refresh_token", refreshValue)))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/auth/refresh")
+                        .cookie(new Cookie("refresh_token", rotatedValue)))
+                .andExpect(status().isOk());
     }
 
     @Test
@@ -124,6 +133,13 @@ class AuthRememberMeIntegrationTest {
             assertThat(setCookie).doesNotContain("Max-Age=0");
         }
     }
-}
-
 
+    private static String cookieValue(String setCookie) {
+        for (String part : setCookie.split(";")) {
+            if (part.trim().startsWith("refresh_token=")) {
+                return part.trim().substring("refresh_token=".length());
+            }
+        }
+        return null;
+    }
+}
@@ -1,6 +1,6 @@
 package com.teamfoundry.backend.site.service;
 
-import com.teamfoundry.backend.common.service.CloudinaryService;
+import com.teamfoundry.backend.common.storage.FileStorage;
 import com.teamfoundry.backend.superadmin.service.home.HomeMediaService;
 import org.junit.jupiter.api.Test;
 import org.springframework.mock.web.MockMultipartFile;
@@ -18,8 +18,8 @@ class HomeMediaServiceTest {
 
     @Test
     void storeImageUploadsToCloudinary() {
-        CloudinaryService cloudinary = mock(CloudinaryService.class);
-        HomeMediaService service = new HomeMediaService(cloudinary);
+        FileStorage storage = mock(FileStorage.class);
+        HomeMediaService service = new HomeMediaService(storage);
 
         MockMultipartFile file = new MockMultipartFile(
                 "file",
@@ -28,19 +28,19 @@ class HomeMediaServiceTest {
                 new byte[]{0x1, 0x2, 0x3}
         );
 
-        when(cloudinary.uploadBytes(any(byte[].class), eq("home"), eq("example.png")))
-                .thenReturn(new CloudinaryService.UploadResult("image::home/example", "https://cdn.test/home/example.png"));
+        when(storage.uploadBytes(any(byte[].class), eq("home"), eq("example.png")))
+                .thenReturn(new FileStorage.UploadResult("image::home/example", "https://cdn.test/home/example.png"));
 
         String url = service.storeImage(file);
 
         assertEquals("https://cdn.test/home/example.png", url);
-        verify(cloudinary).uploadBytes(any(byte[].class), eq("home"), eq("example.png"));
+        verify(storage).uploadBytes(any(byte[].class), eq("home"), eq("example.png"));
     }
 
     @Test
     void rejectNonImageFiles() {
-        CloudinaryService cloudinary = mock(CloudinaryService.class);
-        HomeMediaService service = new HomeMediaService(cloudinary);
+        FileStorage storage = mock(FileStorage.class);
+        HomeMediaService service = new HomeMediaService(storage);
 
         MockMultipartFile file = new MockMultipartFile(
                 "file",
@@ -7,6 +7,7 @@ import com.teamfoundry.backend.account.model.preferences.PrefGeoArea;
 import com.teamfoundry.backend.account.repository.preferences.PrefActivitySectorsRepository;
 import com.teamfoundry.backend.account.repository.preferences.PrefSkillRepository;
 import com.teamfoundry.backend.account.repository.preferences.PrefGeoAreaRepository;
+import com.teamfoundry.backend.account.service.ReferenceCatalog;
 import com.teamfoundry.backend.superadmin.dto.other.CreatePreferenceRequest;
 import com.teamfoundry.backend.superadmin.dto.other.CreatePreferenceResponse;
 import com.teamfoundry.backend.superadmin.repository.other.CreatePreferenceRepository;
@@ -29,6 +30,7 @@ class PreferenceManagementServiceTest {
     private PrefSkillRepository prefSkillRepository;
     private PrefGeoAreaRepository prefGeoAreaRepository;
     private PrefActivitySectorsRepository prefActivitySectorsRepository;
+    private ReferenceCatalog referenceCatalog;
     private PreferenceManagementService service;
 
     @BeforeEach
@@ -37,11 +39,13 @@ class PreferenceManagementServiceTest {
         prefSkillRepository = mock(PrefSkillRepository.class);
         prefGeoAreaRepository = mock(PrefGeoAreaRepository.class);
         prefActivitySectorsRepository = mock(PrefActivitySectorsRepository.class);
+        referenceCatalog = mock(ReferenceCatalog.class);
         service = new PreferenceManagementService(
                 functionRepository,
                 prefSkillRepository,
                 prefGeoAreaRepository,
-                prefActivitySectorsRepository
+                prefActivitySectorsRepository,
+                referenceCatalog
         );
     }
 
@@ -62,6 +66,7 @@ class PreferenceManagementServiceTest {
 
         assertEquals(10L, response.id());
         assertEquals("Soldador", response.name());
+        verify(referenceCatalog).refreshAfterCommit();
     }
 
     @Test
@@ -72,6 +77,7 @@ class PreferenceManagementServiceTest {
 
         ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> service.createFunction(request));
         assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+        verify(referenceCatalog, never()).refreshAfterCommit();
     }
 
     @Test
@@ -82,6 +88,7 @@ class PreferenceManagementServiceTest {
         service.deleteFunction(5);
 
         verify(functionRepository).delete(entity);
+        verify(referenceCatalog).refreshAfterCommit();
     }
 
     @Test
@@ -172,6 +179,7 @@ class PreferenceManagementServiceTest {
         service.deleteGeoArea(8);
 
         verify(prefGeoAreaRepository).delete(area);
+        verify(referenceCatalog).refreshAfterCommit();
     }
 
     @Test
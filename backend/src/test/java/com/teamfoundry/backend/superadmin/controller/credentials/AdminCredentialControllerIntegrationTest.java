@@ -11,6 +11,7 @@ import com.teamfoundry.backend.teamRequests.enums.State;
 import com.teamfoundry.backend.teamRequests.model.TeamRequest;
 import com.teamfoundry.backend.teamRequests.repository.TeamRequestRepository;
 import com.teamfoundry.backend.auth.repository.AuthTokenRepository;
+import com.teamfoundry.backend.auth.repository.RefreshTokenRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.DisplayNameGeneration;
@@ -53,6 +54,7 @@ class AdminCredentialControllerIntegrationTest {
     @Autowired CompanyAccountRepository companyAccountRepository;
     @Autowired TeamRequestRepository teamRequestRepository;
     @Autowired AuthTokenRepository authTokenRepository;
+    @Autowired RefreshTokenRepository refreshTokenRepository;
     @Autowired PasswordEncoder passwordEncoder;
 
     private final String superUsername = "superadmin";
@@ -62,6 +64,7 @@ class AdminCredentialControllerIntegrationTest {
     @BeforeEach
     void setup() {
         authTokenRepository.deleteAll();
+        refreshTokenRepository.deleteAll();
         teamRequestRepository.deleteAll();
         companyAccountRepository.deleteAll();
         adminAccountRepository.deleteAll();
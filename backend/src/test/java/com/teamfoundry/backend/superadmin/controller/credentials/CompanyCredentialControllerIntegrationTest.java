@@ -11,6 +11,7 @@ import com.teamfoundry.backend.account.repository.company.CompanyActivitySectors
 import com.teamfoundry.backend.superadmin.model.credentials.AdminAccount;
 import com.teamfoundry.backend.superadmin.repository.credentials.AdminAccountRepository;
 import com.teamfoundry.backend.auth.repository.AuthTokenRepository;
+import com.teamfoundry.backend.auth.repository.RefreshTokenRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.DisplayNameGeneration;
@@ -51,6 +52,7 @@ class CompanyCredentialControllerIntegrationTest {
     @Autowired CompanyAccountOwnerRepository ownerRepository;
     @Autowired CompanyActivitySectorsRepository companyActivitySectorsRepository;
     @Autowired AuthTokenRepository authTokenRepository;
+    @Autowired RefreshTokenRepository refreshTokenRepository;
 
     private final String superPassword = "superSecret!";
     private final String adminPassword = "adminPass!";
@@ -61,6 +63,7 @@ class CompanyCredentialControllerIntegrationTest {
     @BeforeEach
     void setup() {
         authTokenRepository.deleteAll();
+        refreshTokenRepository.deleteAll();
         adminAccountRepository.deleteAll();
         adminAccountRepository.flush();
         companyActivitySectorsRepository.deleteAll();
@@ -9,10 +9,12 @@ import com.teamfoundry.backend.account.repository.company.CompanyAccountReposito
 import com.teamfoundry.backend.account.repository.employee.EmployeeAccountRepository;
 import com.teamfoundry.backend.superadmin.model.credentials.AdminAccount;
 import com.teamfoundry.backend.superadmin.repository.credentials.AdminAccountRepository;
+import com.teamfoundry.backend.superadmin.service.metrics.MetricsCounters;
 import com.teamfoundry.backend.teamRequests.enums.State;
 import com.teamfoundry.backend.teamRequests.model.TeamRequest;
 import com.teamfoundry.backend.teamRequests.repository.TeamRequestRepository;
 import com.teamfoundry.backend.auth.repository.AuthTokenRepository;
+import com.teamfoundry.backend.auth.repository.RefreshTokenRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.DisplayNameGeneration;
@@ -52,7 +54,9 @@ class MetricsControllerIntegrationTest {
     @Autowired EmployeeAccountRepository employeeAccountRepository;
     @Autowired TeamRequestRepository teamRequestRepository;
     @Autowired AuthTokenRepository authTokenRepository;
+    @Autowired RefreshTokenRepository refreshTokenRepository;
     @Autowired PasswordEncoder passwordEncoder;
+    @Autowired MetricsCounters metricsCounters;
 
     private final String superUsername = "superadmin";
     private final String superPassword = "Super#Metrics123";
@@ -60,6 +64,7 @@ class MetricsControllerIntegrationTest {
     @BeforeEach
     void setup() {
         authTokenRepository.deleteAll();
+        refreshTokenRepository.deleteAll();
         teamRequestRepository.deleteAll();
         employeeAccountRepository.deleteAll();
         companyAccountRepository.deleteAll();
@@ -88,6 +93,8 @@ class MetricsControllerIntegrationTest {
         createTeamRequest(activeCompany, State.INCOMPLETE, adminOne.getId());
         createTeamRequest(activeCompany, State.COMPLETED, adminOne.getId());
         createTeamRequest(pendingCompany, State.INCOMPLETE, adminTwo.getId());
+        // Dados gravados diretamente nos repositórios não passam pelos contadores
+        metricsCounters.reconcile();
 
         String token = login(superUsername, superPassword);
 
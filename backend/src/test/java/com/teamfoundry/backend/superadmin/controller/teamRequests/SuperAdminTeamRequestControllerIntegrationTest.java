@@ -13,6 +13,7 @@ import com.teamfoundry.backend.teamRequests.model.TeamRequest;
 import com.teamfoundry.backend.teamRequests.repository.EmployeeRequestRepository;
 import com.teamfoundry.backend.teamRequests.repository.TeamRequestRepository;
 import com.teamfoundry.backend.auth.repository.AuthTokenRepository;
+import com.teamfoundry.backend.auth.repository.RefreshTokenRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.DisplayNameGeneration;
@@ -52,6 +53,7 @@ class SuperAdminTeamRequestControllerIntegrationTest {
     @Autowired EmployeeRequestRepository employeeRequestRepository;
     @Autowired CompanyAccountRepository companyAccountRepository;
     @Autowired AuthTokenRepository authTokenRepository;
+    @Autowired RefreshTokenRepository refreshTokenRepository;
     @Autowired PasswordEncoder passwordEncoder;
 
     private final String superUsername = "superadmin";
@@ -61,6 +63,7 @@ class SuperAdminTeamRequestControllerIntegrationTest {
     @BeforeEach
     void setup() {
         authTokenRepository.deleteAll();
+        refreshTokenRepository.deleteAll();
         employeeRequestRepository.deleteAll();
         teamRequestRepository.deleteAll();
         companyAccountRepository.deleteAll();
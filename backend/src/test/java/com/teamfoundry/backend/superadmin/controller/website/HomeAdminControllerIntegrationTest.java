@@ -59,7 +59,7 @@ class HomeAdminControllerIntegrationTest {
     @Autowired WeeklyTipRepository weeklyTipRepository;
     @Autowired PasswordEncoder passwordEncoder;
 
-    @MockBean com.teamfoundry.backend.common.service.CloudinaryService cloudinaryService;
+    @MockBean com.teamfoundry.backend.common.storage.FileStorage fileStorage;
     private final String superUsername = "superadmin";
     private final String superPassword = "Super#Site123";
 
@@ -146,7 +146,7 @@ class HomeAdminControllerIntegrationTest {
                 .andExpect(jsonPath("$.name").value("Healthcare"))
                 .andExpect(jsonPath("$.imageUrl").value(payload.imageUrl()));
 
-        Mockito.verify(cloudinaryService).deleteByUrl("https://res.cloudinary.com/demo/image/upload/v1/old.png");
+        Mockito.verify(fileStorage).deleteByUrl("https://res.cloudinary.com/demo/image/upload/v1/old.png");
     }
 
     @Test
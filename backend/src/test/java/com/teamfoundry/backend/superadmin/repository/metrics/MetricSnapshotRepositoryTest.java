@@ -0,0 +1,73 @@
+package com.teamfoundry.backend.superadmin.repository.metrics;
+
+import com.teamfoundry.backend.superadmin.enums.MetricKey;
+import com.teamfoundry.backend.superadmin.model.metrics.MetricSnapshot;
+import com.teamfoundry.backend.superadmin.repository.metrics.MetricSnapshotRepository.SnapshotPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * As séries de tendência leem só o intervalo pedido da tabela de snapshots.
+ */
+@DataJpaTest
+class MetricSnapshotRepositoryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 10);
+
+    @Autowired TestEntityManager entityManager;
+    @Autowired MetricSnapshotRepository metricSnapshotRepository;
+
+    @Test
+    @DisplayName("findSeries devolve o intervalo ordenado e filtra a carga pelo admin")
+    void findSeriesFiltersRangeAndAdmin() {
+        persist(MetricKey.ACTIVE_COMPANIES, 0, DAY.minusDays(1), 1);
+        persist(MetricKey.ACTIVE_COMPANIES, 0, DAY.plusDays(1), 3);
+        persist(MetricKey.ACTIVE_COMPANIES, 0, DAY, 2);
+        persist(MetricKey.ACTIVE_COMPANIES, 0, DAY.plusDays(5), 9);
+        persist(MetricKey.ADMIN_WORKLOAD, 4, DAY, 6);
+        persist(MetricKey.ADMIN_WORKLOAD, 5, DAY, 8);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<SnapshotPoint> all = metricSnapshotRepository.findSeries(
+                EnumSet.allOf(MetricKey.class), DAY, DAY.plusDays(1), null);
+        List<SnapshotPoint> onlyAdmin = metricSnapshotRepository.findSeries(
+                EnumSet.allOf(MetricKey.class), DAY, DAY.plusDays(1), 4);
+
+        assertThat(all)
+                .extracting(SnapshotPoint::getMetric, SnapshotPoint::getScopeId, SnapshotPoint::getValue)
+                .containsExactly(
+                        tuple(MetricKey.ACTIVE_COMPANIES, 0, 2L),
+                        tuple(MetricKey.ACTIVE_COMPANIES, 0, 3L),
+                        tuple(MetricKey.ADMIN_WORKLOAD, 4, 6L),
+                        tuple(MetricKey.ADMIN_WORKLOAD, 5, 8L));
+        assertThat(onlyAdmin).extracting(SnapshotPoint::getScopeId).containsExactly(0, 0, 4);
+    }
+
+    @Test
+    @DisplayName("deleteByDay remove apenas as linhas desse dia")
+    void deleteByDayRemovesOnlyThatDay() {
+        persist(MetricKey.ACTIVE_EMPLOYEES, 0, DAY, 10);
+        persist(MetricKey.ACTIVE_EMPLOYEES, 0, DAY.minusDays(1), 9);
+        entityManager.flush();
+
+        int removed = metricSnapshotRepository.deleteByDay(DAY);
+
+        assertThat(removed).isEqualTo(1);
+        assertThat(metricSnapshotRepository.findAll()).extracting(MetricSnapshot::getDay).containsExactly(DAY.minusDays(1));
+    }
+
+    private void persist(MetricKey metric, int scopeId, LocalDate day, long value) {
+        entityManager.persist(new MetricSnapshot(0, metric, scopeId, day, value));
+    }
+}
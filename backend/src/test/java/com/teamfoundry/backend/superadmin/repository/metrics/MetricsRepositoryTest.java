@@ -0,0 +1,102 @@
+package com.teamfoundry.backend.superadmin.repository.metrics;
+
+import com.teamfoundry.backend.account.enums.RegistrationStatus;
+import com.teamfoundry.backend.account.enums.UserType;
+import com.teamfoundry.backend.account.model.company.CompanyAccount;
+import com.teamfoundry.backend.account.model.employee.profile.EmployeeAccount;
+import com.teamfoundry.backend.superadmin.model.credentials.AdminAccount;
+import com.teamfoundry.backend.superadmin.repository.metrics.MetricsRepository.MetricRow;
+import com.teamfoundry.backend.teamRequests.enums.State;
+import com.teamfoundry.backend.teamRequests.model.TeamRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A consulta única do painel de métricas conta contas e requisições numa só ida à base de dados.
+ */
+@DataJpaTest
+class MetricsRepositoryTest {
+
+    @Autowired TestEntityManager entityManager;
+    @Autowired MetricsRepository metricsRepository;
+
+    @Test
+    @DisplayName("aggregate devolve contagens de contas e requisições por estado e admin")
+    void aggregateCountsAccountsAndRequests() {
+        CompanyAccount approved = persistCompany("approved@test.com", true, false);
+        persistCompany("pending@test.com", false, false);
+        persistCompany("gone@test.com", false, true);
+        persistEmployee("ana@test.com", false);
+        persistEmployee("rui@test.com", false);
+        persistEmployee("old@test.com", true);
+        AdminAccount alpha = entityManager.persist(new AdminAccount(0, "alpha", "pwd", UserType.ADMIN, false));
+
+        persistRequest(approved, "Equipa 1", State.INCOMPLETE, alpha.getId());
+        persistRequest(approved, "Equipa 2", State.INCOMPLETE, alpha.getId());
+        persistRequest(approved, "Equipa 3", State.INCOMPLETE, null);
+        persistRequest(approved, "Equipa 4", State.COMPLETED, alpha.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        List<MetricRow> rows = metricsRepository.aggregate();
+
+        Map<String, Long> accounts = rows.stream()
+                .filter(row -> !"REQUESTS".equals(row.getMetric().trim()))
+                .collect(Collectors.toMap(row -> row.getMetric().trim(), MetricRow::getTotal));
+        assertThat(accounts).containsExactlyInAnyOrderEntriesOf(Map.of(
+                "ACTIVE_COMPANIES", 2L,
+                "PENDING_COMPANIES", 1L,
+                "ACTIVE_EMPLOYEES", 2L));
+
+        List<String> requests = rows.stream()
+                .filter(row -> "REQUESTS".equals(row.getMetric().trim()))
+                .map(row -> row.getState() + "/" + row.getAdmin() + "/" + row.getName() + "=" + row.getTotal())
+                .toList();
+        assertThat(requests).containsExactlyInAnyOrder(
+                "INCOMPLETE/" + alpha.getId() + "/alpha=2",
+                "INCOMPLETE/null/null=1",
+                "COMPLETED/" + alpha.getId() + "/alpha=1");
+    }
+
+    private CompanyAccount persistCompany(String email, boolean approved, boolean deactivated) {
+        CompanyAccount company = new CompanyAccount();
+        company.setEmail(email);
+        company.setPassword("hash");
+        company.setRole(UserType.COMPANY);
+        company.setRegistrationStatus(RegistrationStatus.COMPLETED);
+        company.setName(email);
+        company.setAddress("Rua 1");
+        company.setCountry("Portugal");
+        company.setStatus(approved);
+        company.setDeactivated(deactivated);
+        return entityManager.persist(company);
+    }
+
+    private void persistEmployee(String email, boolean deactivated) {
+        EmployeeAccount employee = new EmployeeAccount();
+        employee.setEmail(email);
+        employee.setPassword("hash");
+        employee.setRole(UserType.EMPLOYEE);
+        employee.setRegistrationStatus(RegistrationStatus.COMPLETED);
+        employee.setDeactivated(deactivated);
+        entityManager.persist(employee);
+    }
+
+    private void persistRequest(CompanyAccount company, String name, State state, Integer adminId) {
+        TeamRequest request = new TeamRequest();
+        request.setCompany(company);
+        request.setTeamName(name);
+        request.setState(state);
+        request.setResponsibleAdminId(adminId);
+        entityManager.persist(request);
+    }
+}
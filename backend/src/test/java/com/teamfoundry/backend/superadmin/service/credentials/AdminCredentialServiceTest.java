@@ -1,6 +1,7 @@
 package com.teamfoundry.backend.superadmin.service.credentials;
 
 import com.teamfoundry.backend.account.enums.UserType;
+import com.teamfoundry.backend.auth.service.UserDetailsCache;
 import com.teamfoundry.backend.common.service.ActionLogService;
 import com.teamfoundry.backend.superadmin.dto.credential.admin.AdminCredentialRequest;
 import com.teamfoundry.backend.superadmin.model.credentials.AdminAccount;
@@ -39,6 +40,7 @@ class AdminCredentialServiceTest {
     @Mock PasswordEncoder passwordEncoder;
     @Mock TeamRequestRepository teamRequestRepository;
     @Mock ActionLogService actionLogService;
+    @Mock UserDetailsCache userDetailsCache;
 
     @InjectMocks AdminCredentialService service;
 
@@ -109,6 +111,7 @@ class AdminCredentialServiceTest {
         ArgumentCaptor<AdminAccount> captor = ArgumentCaptor.forClass(AdminAccount.class);
         verify(adminAccountRepository).save(captor.capture());
         assertThat(captor.getValue().isDeactivated()).isTrue();
+        verify(userDetailsCache).evictAfterCommit("admin:to-disable");
         verify(actionLogService).logAdmin(eq(superAdmin), any());
     }
 
@@ -44,13 +44,14 @@ class HomeContentServiceTest {
     @Mock PartnerShowcaseRepository partners;
     @Mock HomeLoginSectionRepository appHomeSections;
     @Mock WeeklyTipRepository weeklyTips;
-    @Mock com.teamfoundry.backend.common.service.CloudinaryService cloudinaryService;
+    @Mock com.teamfoundry.backend.common.storage.FileStorage fileStorage;
+    @Mock PublicHomeSnapshot publicHomeSnapshot;
 
     @InjectMocks HomeContentService service;
 
     @AfterEach
     void resetMocks() {
-        clearInvocations(cloudinaryService, industries, partners, weeklyTips, sections, appHomeSections);
+        clearInvocations(fileStorage, industries, partners, weeklyTips, sections, appHomeSections);
     }
 
     @Test
@@ -72,7 +73,8 @@ class HomeContentServiceTest {
 
         var response = service.updateIndustry(5L, request);
 
-        verify(cloudinaryService).deleteByUrl("https://res.cloudinary.com/demo/image/upload/v1/old.png");
+        verify(fileStorage).deleteByUrl("https://res.cloudinary.com/demo/image/upload/v1/old.png");
+        verify(publicHomeSnapshot).rebuildAfterCommit(any());
         assertThat(response.imageUrl()).isEqualTo(request.imageUrl());
     }
 
@@ -0,0 +1,85 @@
+package com.teamfoundry.backend.superadmin.service.home;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teamfoundry.backend.common.util.PreSerializedJson;
+import com.teamfoundry.backend.superadmin.service.home.PublicHomeSnapshot.View;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class PublicHomeSnapshotTest {
+
+    @Mock PlatformTransactionManager transactionManager;
+
+    PublicHomeSnapshot snapshot;
+    AtomicInteger loads;
+    String title;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = new PublicHomeSnapshot(new ObjectMapper(), transactionManager, 300);
+        loads = new AtomicInteger();
+        title = "Bem-vindo";
+    }
+
+    @Test
+    void repeatedReadsAreServedFromMemory() {
+        PreSerializedJson first = snapshot.get(View.HOMEPAGE, loader());
+        PreSerializedJson second = snapshot.get(View.HOMEPAGE, loader());
+        snapshot.get(View.WEEKLY_TIPS, loader());
+
+        assertThat(loads).hasValue(1);
+        assertThat(second).isSameAs(first);
+        assertThat(new String(first.json())).contains("Bem-vindo");
+    }
+
+    @Test
+    void rebuildOutsideTransactionSwapsContentAndEtag() {
+        PreSerializedJson before = snapshot.get(View.HOMEPAGE, loader());
+
+        title = "Novo título";
+        snapshot.rebuildAfterCommit(loader());
+        PreSerializedJson after = snapshot.get(View.HOMEPAGE, loader());
+
+        assertThat(loads).hasValue(2);
+        assertThat(new String(after.json())).contains("Novo título");
+        assertThat(after.etag()).isNotEqualTo(before.etag());
+    }
+
+    @Test
+    void failedBuildIsRetriedOnNextRead() {
+        Supplier<Map<View, Object>> failing = () -> {
+            throw new IllegalStateException("db indisponível");
+        };
+        assertThrows(IllegalStateException.class, () -> snapshot.get(View.APP_HOME, failing));
+
+        assertThat(snapshot.get(View.APP_HOME, loader())).isNotNull();
+        assertThat(loads).hasValue(1);
+    }
+
+    private Supplier<Map<View, Object>> loader() {
+        return () -> {
+            loads.incrementAndGet();
+            Map<View, Object> content = new EnumMap<>(View.class);
+            content.put(View.HOMEPAGE, Map.of("title", title));
+            content.put(View.APP_HOME, Map.of("sections", 2));
+            content.put(View.WEEKLY_TIPS, Map.of("tips", 3));
+            return content;
+        };
+    }
+}
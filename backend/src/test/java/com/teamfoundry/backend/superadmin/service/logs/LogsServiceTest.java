@@ -1,12 +1,10 @@
 package com.teamfoundry.backend.superadmin.service.logs;
 
-import com.teamfoundry.backend.account.model.Account;
-import com.teamfoundry.backend.auth.model.logs.AdminLogs;
-import com.teamfoundry.backend.auth.model.logs.CommonLogs;
 import com.teamfoundry.backend.auth.repository.logs.AdminLogsRepository;
 import com.teamfoundry.backend.auth.repository.logs.CommonLogsRepository;
+import com.teamfoundry.backend.auth.repository.logs.LogRow;
 import com.teamfoundry.backend.superadmin.dto.logs.LogEntryResponse;
-import com.teamfoundry.backend.superadmin.model.credentials.AdminAccount;
+import com.teamfoundry.backend.superadmin.dto.logs.LogPageResponse;
 import org.junit.jupiter.api.DisplayNameGeneration;
 import org.junit.jupiter.api.DisplayNameGenerator;
 import org.junit.jupiter.api.Test;
@@ -15,13 +13,19 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,27 +42,25 @@ class LogsServiceTest {
         LocalDateTime adminTime = LocalDateTime.of(2024, 5, 20, 10, 0);
         LocalDateTime userTime = LocalDateTime.of(2024, 5, 1, 12, 0);
 
-        when(adminLogsRepository.searchByPeriodAndQuery(any(), any(), any()))
-                .thenReturn(List.of(adminLog("alpha", "updated", adminTime)));
-        when(commonLogsRepository.searchByPeriodAndQuery(any(), any(), any()))
-                .thenReturn(List.of(userLog("user@test.com", "login", userTime)));
+        when(adminLogsRepository.searchPage(any(), any(), anyInt(), any(), any()))
+                .thenReturn(List.of(row(1, "alpha", "updated", adminTime)));
+        when(commonLogsRepository.searchPage(any(), any(), anyInt(), any(), any()))
+                .thenReturn(List.of(row(1, "user@test.com", "login", userTime)));
 
         List<LogEntryResponse> results = service.search(null, 2024, 5, "  John  ", null);
 
         ArgumentCaptor<LocalDateTime> startCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
         ArgumentCaptor<LocalDateTime> endCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
-        ArgumentCaptor<String> queryCaptor = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> patternCaptor = ArgumentCaptor.forClass(String.class);
 
-        verify(adminLogsRepository).searchByPeriodAndQuery(startCaptor.capture(), endCaptor.capture(), queryCaptor.capture());
-        verify(commonLogsRepository).searchByPeriodAndQuery(startCaptor.capture(), endCaptor.capture(), queryCaptor.capture());
+        verify(adminLogsRepository).searchPage(startCaptor.capture(), endCaptor.capture(), eq(0), patternCaptor.capture(),
+                eq(Limit.of(LogsService.DEFAULT_LIMIT + 1)));
+        verify(commonLogsRepository).searchPage(startCaptor.capture(), endCaptor.capture(), eq(0), patternCaptor.capture(),
+                eq(Limit.of(LogsService.DEFAULT_LIMIT + 1)));
 
-        List<LocalDateTime> capturedStarts = startCaptor.getAllValues();
-        List<LocalDateTime> capturedEnds = endCaptor.getAllValues();
-        List<String> capturedQueries = queryCaptor.getAllValues();
-
-        assertThat(capturedStarts).containsOnly(LocalDateTime.of(2024, 5, 1, 0, 0));
-        assertThat(capturedEnds).containsOnly(LocalDateTime.of(2024, 6, 1, 0, 0));
-        assertThat(capturedQueries).containsOnly("John");
+        assertThat(startCaptor.getAllValues()).containsOnly(LocalDateTime.of(2024, 5, 1, 0, 0));
+        assertThat(endCaptor.getAllValues()).containsOnly(LocalDateTime.of(2024, 6, 1, 0, 0));
+        assertThat(patternCaptor.getAllValues()).containsOnly("%john%");
 
         assertThat(results).hasSize(2);
         assertThat(results.get(0).timestamp()).isEqualTo(adminTime);
@@ -71,57 +73,102 @@ class LogsServiceTest {
     void searchWithUserTypeOnlyQueriesUsersAndAppliesLimit() {
         LocalDateTime newer = LocalDateTime.now();
         LocalDateTime older = newer.minusDays(1);
-        when(commonLogsRepository.searchByPeriodAndQuery(null, null, "test"))
+        when(commonLogsRepository.searchPage(any(), any(), eq(0), eq("%test%"), eq(Limit.of(2))))
                 .thenReturn(List.of(
-                        userLog("second@test.com", "logout", older),
-                        userLog("first@test.com", "login", newer)
+                        row(2, "first@test.com", "login", newer),
+                        row(1, "second@test.com", "logout", older)
                 ));
 
-        List<LogEntryResponse> results = service.search("USER", null, null, "test", 1);
+        LogPageResponse page = service.searchPage("USER", null, null, "test", 1, null);
 
-        verify(adminLogsRepository, never()).searchByPeriodAndQuery(any(), any(), any());
-        assertThat(results).hasSize(1);
-        assertThat(results.get(0).actor()).isEqualTo("first@test.com");
-        assertThat(results.get(0).type()).isEqualTo("USER");
-        assertThat(results.get(0).timestamp()).isEqualTo(newer);
+        verify(adminLogsRepository, never()).searchPage(any(), any(), anyInt(), any(), any());
+        assertThat(page.items()).hasSize(1);
+        assertThat(page.items().get(0).actor()).isEqualTo("first@test.com");
+        assertThat(page.items().get(0).type()).isEqualTo("USER");
+        assertThat(page.items().get(0).timestamp()).isEqualTo(newer);
+        assertThat(page.nextCursor()).isNotNull();
     }
 
     @Test
-    void searchWithAdminTypeCapsLimitAndSkipsUserRepository() {
+    void searchWithAdminTypeCapsLimitInTheQueryAndSkipsUserRepository() {
         LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
-        List<AdminLogs> logs = IntStream.range(0, 600)
-                .mapToObj(i -> adminLog("admin" + i, "action" + i, base.plusMinutes(i)))
+        List<LogRow> rows = IntStream.range(0, LogsService.MAX_LIMIT + 1)
+                .map(i -> LogsService.MAX_LIMIT - i)
+                .mapToObj(i -> row(i + 1, "admin" + i, "action" + i, base.plusMinutes(i)))
                 .toList();
-        when(adminLogsRepository.searchByPeriodAndQuery(null, null, null)).thenReturn(logs);
+        when(adminLogsRepository.searchPage(any(), any(), eq(0), eq("%"), eq(Limit.of(LogsService.MAX_LIMIT + 1))))
+                .thenReturn(rows);
 
         List<LogEntryResponse> results = service.search("ADMIN", null, null, null, 800);
 
-        verify(commonLogsRepository, never()).searchByPeriodAndQuery(any(), any(), any());
-        assertThat(results).hasSize(500);
-        assertThat(results.get(0).actor()).isEqualTo("admin599");
-        assertThat(results.get(0).timestamp()).isEqualTo(base.plusMinutes(599));
+        verify(commonLogsRepository, never()).searchPage(any(), any(), anyInt(), any(), any());
+        assertThat(results).hasSize(LogsService.MAX_LIMIT);
+        assertThat(results.get(0).actor()).isEqualTo("admin500");
+        assertThat(results.get(0).timestamp()).isEqualTo(base.plusMinutes(500));
     }
 
-    private AdminLogs adminLog(String username, String action, LocalDateTime timestamp) {
-        AdminAccount admin = new AdminAccount();
-        admin.setUsername(username);
+    @Test
+    void cursorResumesEachSourceFromItsOwnPosition() {
+        LocalDateTime t = LocalDateTime.of(2024, 3, 1, 12, 0);
+        when(adminLogsRepository.searchPage(any(), eq(LocalDateTime.of(9999, 1, 1, 0, 0)), eq(0), any(), eq(Limit.of(3))))
+                .thenReturn(List.of(row(7, "alpha", "a1", t.plusMinutes(3)), row(6, "alpha", "a2", t)));
+        when(commonLogsRepository.searchPage(any(), eq(LocalDateTime.of(9999, 1, 1, 0, 0)), eq(0), any(), eq(Limit.of(3))))
+                .thenReturn(List.of(row(40, "u@test.com", "u1", t.plusMinutes(2)), row(39, "u@test.com", "u2", t.plusMinutes(1)),
+                        row(38, "u@test.com", "u3", t.minusMinutes(1))));
+
+        LogPageResponse first = service.searchPage(null, null, null, null, 2, null);
+
+        assertThat(first.items()).extracting(LogEntryResponse::action).containsExactly("a1", "u1");
+        assertThat(first.nextCursor()).isNotNull();
+
+        when(adminLogsRepository.searchPage(any(), eq(t.plusMinutes(3)), eq(7), any(), eq(Limit.of(3))))
+                .thenReturn(List.of(row(6, "alpha", "a2", t)));
+        when(commonLogsRepository.searchPage(any(), eq(t.plusMinutes(2)), eq(40), any(), eq(Limit.of(3))))
+                .thenReturn(List.of(row(39, "u@test.com", "u2", t.plusMinutes(1)), row(38, "u@test.com", "u3", t.minusMinutes(1))));
+
+        LogPageResponse second = service.searchPage(null, null, null, null, 2, first.nextCursor());
 
-        AdminLogs log = new AdminLogs();
-        log.setAdmin(admin);
-        log.setAction(action);
-        log.setTimestamp(timestamp);
-        return log;
+        assertThat(second.items()).extracting(LogEntryResponse::action).containsExactly("u2", "a2");
+        assertThat(second.nextCursor()).isNotNull();
+
+        when(commonLogsRepository.searchPage(any(), eq(t.plusMinutes(1)), eq(39), any(), eq(Limit.of(3))))
+                .thenReturn(List.of(row(38, "u@test.com", "u3", t.minusMinutes(1))));
+
+        LogPageResponse third = service.searchPage(null, null, null, null, 2, second.nextCursor());
+
+        verify(adminLogsRepository, times(2)).searchPage(any(), any(), anyInt(), any(), any());
+        assertThat(third.items()).extracting(LogEntryResponse::action).containsExactly("u3");
+        assertThat(third.nextCursor()).isNull();
     }
 
-    private CommonLogs userLog(String email, String action, LocalDateTime timestamp) {
-        Account account = new Account();
-        account.setEmail(email);
+    @Test
+    void invalidCursorIsBadRequest() {
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> service.searchPage(null, null, null, null, 10, "nao-e-cursor"));
+        assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
 
-        CommonLogs log = new CommonLogs();
-        log.setUser(account);
-        log.setAction(action);
-        log.setTimestamp(timestamp);
-        return log;
+    private LogRow row(int id, String actor, String action, LocalDateTime loggedAt) {
+        return new LogRow() {
+            @Override
+            public Integer getId() {
+                return id;
+            }
+
+            @Override
+            public String getActor() {
+                return actor;
+            }
+
+            @Override
+            public String getAction() {
+                return action;
+            }
+
+            @Override
+            public LocalDateTime getLoggedAt() {
+                return loggedAt;
+            }
+        };
     }
 }
-
@@ -0,0 +1,136 @@
+package com.teamfoundry.backend.superadmin.service.metrics;
+
+import com.teamfoundry.backend.superadmin.repository.metrics.MetricsRepository;
+import com.teamfoundry.backend.superadmin.repository.metrics.MetricsRepository.MetricRow;
+import com.teamfoundry.backend.teamRequests.enums.State;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class MetricsCountersTest {
+
+    @Mock MetricsRepository metricsRepository;
+    @Mock PlatformTransactionManager transactionManager;
+
+    MetricsCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        counters = new MetricsCounters(metricsRepository, transactionManager);
+    }
+
+    @Test
+    void firstSnapshotLoadsTheAggregateOnceAndLaterReadsStayInMemory() {
+        when(metricsRepository.aggregate()).thenReturn(baseline());
+
+        MetricsCounters.Snapshot first = counters.snapshot();
+        counters.snapshot();
+
+        verify(metricsRepository, times(1)).aggregate();
+        assertThat(first.activeCompanies()).isEqualTo(4);
+        assertThat(first.pendingCompanies()).isEqualTo(1);
+        assertThat(first.activeEmployees()).isEqualTo(10);
+        assertThat(first.requestsByState()).containsEntry(State.INCOMPLETE, 5L).containsEntry(State.COMPLETED, 2L);
+        assertThat(first.openRequestsByAdmin()).containsEntry(7, 3L).doesNotContainKey(null);
+        assertThat(first.adminNames()).containsEntry(7, "alpha");
+    }
+
+    @Test
+    void transitionsUpdateCountersWithoutQueries() {
+        when(metricsRepository.aggregate()).thenReturn(baseline());
+        counters.snapshot();
+
+        counters.companyRegistered();
+        counters.companyApproved();
+        counters.companyDeactivated(true);
+        counters.employeeCreated();
+        counters.employeeDeactivated();
+        counters.employeeDeactivated();
+        counters.teamRequestCreated(State.INCOMPLETE, 8);
+        counters.teamRequestReassigned(State.INCOMPLETE, 7, 8);
+        counters.teamRequestStateChanged(State.INCOMPLETE, State.COMPLETED, 8);
+
+        MetricsCounters.Snapshot after = counters.snapshot();
+        verify(metricsRepository, times(1)).aggregate();
+        assertThat(after.activeCompanies()).isEqualTo(4);
+        assertThat(after.pendingCompanies()).isEqualTo(1);
+        assertThat(after.activeEmployees()).isEqualTo(9);
+        assertThat(after.requestsByState()).containsEntry(State.INCOMPLETE, 5L).containsEntry(State.COMPLETED, 3L);
+        assertThat(after.openRequestsByAdmin()).containsEntry(7, 2L).containsEntry(8, 1L);
+    }
+
+    @Test
+    void transitionsBeforeTheFirstLoadAreIgnored() {
+        counters.employeeCreated();
+        counters.teamRequestCreated(State.INCOMPLETE, 7);
+
+        verifyNoInteractions(metricsRepository);
+    }
+
+    @Test
+    void reconcileReplacesDriftedCounters() {
+        when(metricsRepository.aggregate()).thenReturn(baseline());
+        counters.snapshot();
+        counters.employeeCreated();
+        assertThat(counters.snapshot().activeEmployees()).isEqualTo(11);
+
+        counters.reconcile();
+
+        assertThat(counters.snapshot().activeEmployees()).isEqualTo(10);
+        verify(metricsRepository, times(2)).aggregate();
+    }
+
+    private List<MetricRow> baseline() {
+        return List.of(
+                row("ACTIVE_COMPANIES", null, null, null, 4),
+                row("PENDING_COMPANIES", null, null, null, 1),
+                row("ACTIVE_EMPLOYEES", null, null, null, 10),
+                row("REQUESTS", "INCOMPLETE", 7, "alpha", 3),
+                row("REQUESTS", "INCOMPLETE", null, null, 2),
+                row("REQUESTS", "COMPLETED", 7, "alpha", 2));
+    }
+
+    private MetricRow row(String metric, String state, Integer admin, String name, long total) {
+        return new MetricRow() {
+            @Override
+            public String getMetric() {
+                return metric;
+            }
+
+            @Override
+            public String getState() {
+                return state;
+            }
+
+            @Override
+            public Integer getAdmin() {
+                return admin;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public long getTotal() {
+                return total;
+            }
+        };
+    }
+}
@@ -0,0 +1,188 @@
+package com.teamfoundry.backend.superadmin.service.metrics;
+
+import com.teamfoundry.backend.common.lease.JobLeaseService;
+import com.teamfoundry.backend.superadmin.dto.metrics.MetricSeriesResponse;
+import com.teamfoundry.backend.superadmin.dto.metrics.MetricSeriesResponse.Point;
+import com.teamfoundry.backend.superadmin.enums.MetricKey;
+import com.teamfoundry.backend.superadmin.model.metrics.MetricSnapshot;
+import com.teamfoundry.backend.superadmin.repository.metrics.MetricSnapshotRepository;
+import com.teamfoundry.backend.superadmin.repository.metrics.MetricSnapshotRepository.SnapshotPoint;
+import com.teamfoundry.backend.superadmin.service.metrics.MetricsHistoryService.Granularity;
+import com.teamfoundry.backend.teamRequests.enums.State;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class MetricsHistoryServiceTest {
+
+    @Mock MetricsCounters metricsCounters;
+    @Mock MetricSnapshotRepository metricSnapshotRepository;
+    @Mock JobLeaseService jobLeaseService;
+
+    @InjectMocks MetricsHistoryService service;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void snapshotWritesOneRowPerMetricAndOnePerAdmin() {
+        LocalDate day = LocalDate.of(2024, 6, 30);
+        when(metricsCounters.snapshot()).thenReturn(new MetricsCounters.Snapshot(
+                7, 2, 40,
+                Map.of(State.INCOMPLETE, 5L, State.COMPLETED, 11L),
+                Map.of(3, 4L, 9, 1L),
+                Map.of(3, "alpha", 9, "beta")));
+
+        service.recordSnapshot(day);
+
+        InOrder order = inOrder(metricsCounters, metricSnapshotRepository);
+        order.verify(metricsCounters).reconcile();
+        order.verify(metricSnapshotRepository).deleteByDay(day);
+        ArgumentCaptor<List<MetricSnapshot>> captor = ArgumentCaptor.forClass(List.class);
+        order.verify(metricSnapshotRepository).saveAll(captor.capture());
+
+        assertThat(captor.getValue())
+                .extracting(MetricSnapshot::getMetric, MetricSnapshot::getScopeId, MetricSnapshot::getValue)
+                .containsExactlyInAnyOrder(
+                        tuple(MetricKey.ACTIVE_COMPANIES, 0, 7L),
+                        tuple(MetricKey.PENDING_COMPANIES, 0, 2L),
+                        tuple(MetricKey.ACTIVE_EMPLOYEES, 0, 40L),
+                        tuple(MetricKey.OPEN_REQUESTS, 0, 5L),
+                        tuple(MetricKey.CLOSED_REQUESTS, 0, 11L),
+                        tuple(MetricKey.ADMIN_WORKLOAD, 3, 4L),
+                        tuple(MetricKey.ADMIN_WORKLOAD, 9, 1L));
+        assertThat(captor.getValue()).extracting(MetricSnapshot::getDay).containsOnly(day);
+    }
+
+    @Test
+    void dailySnapshotIsSkippedWithoutTheLease() {
+        when(jobLeaseService.tryAcquire(eq(MetricsHistoryService.SNAPSHOT_LEASE_NAME), any())).thenReturn(false);
+
+        service.recordDailySnapshot();
+
+        verifyNoInteractions(metricsCounters, metricSnapshotRepository);
+    }
+
+    @Test
+    void dailySnapshotIsWrittenByTheLeaseHolder() {
+        when(jobLeaseService.tryAcquire(eq(MetricsHistoryService.SNAPSHOT_LEASE_NAME), any())).thenReturn(true);
+        when(metricsCounters.snapshot()).thenReturn(new MetricsCounters.Snapshot(
+                1, 0, 2, Map.of(), Map.of(), Map.of()));
+
+        service.recordDailySnapshot();
+
+        verify(metricSnapshotRepository).deleteByDay(LocalDate.now());
+        verify(metricSnapshotRepository).saveAll(any());
+    }
+
+    @Test
+    void shortRangesAreServedDayByDay() {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        when(metricSnapshotRepository.findSeries(EnumSet.allOf(MetricKey.class), from, from.plusDays(2), null))
+                .thenReturn(List.of(
+                        point(MetricKey.ACTIVE_COMPANIES, 0, from, 3),
+                        point(MetricKey.ACTIVE_COMPANIES, 0, from.plusDays(2), 5),
+                        point(MetricKey.ADMIN_WORKLOAD, 4, from, 2)));
+
+        List<MetricSeriesResponse> series = service.series(null, from, from.plusDays(2), null, null);
+
+        assertThat(series).hasSize(2);
+        assertThat(series.get(0).metric()).isEqualTo("ACTIVE_COMPANIES");
+        assertThat(series.get(0).adminId()).isNull();
+        assertThat(series.get(0).granularity()).isEqualTo("DAY");
+        assertThat(series.get(0).points()).containsExactly(
+                new Point(from, 3, 3, 3), new Point(from.plusDays(2), 5, 5, 5));
+        assertThat(series.get(1).metric()).isEqualTo("ADMIN_WORKLOAD");
+        assertThat(series.get(1).adminId()).isEqualTo(4);
+    }
+
+    @Test
+    void longRangesAreDownsampledToLastMinAndMaxPerPeriod() {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 12, 31);
+        List<SnapshotPoint> rows = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            rows.add(point(MetricKey.ACTIVE_EMPLOYEES, 0, day, day.getDayOfYear()));
+        }
+        when(metricSnapshotRepository.findSeries(List.of(MetricKey.ACTIVE_EMPLOYEES), from, to, null)).thenReturn(rows);
+
+        MetricSeriesResponse weekly = service.series(List.of(MetricKey.ACTIVE_EMPLOYEES), from, to, null, 60).get(0);
+        MetricSeriesResponse monthly = service.series(List.of(MetricKey.ACTIVE_EMPLOYEES), from, to, null, 12).get(0);
+
+        assertThat(weekly.granularity()).isEqualTo("WEEK");
+        assertThat(weekly.points()).hasSizeLessThanOrEqualTo(60);
+        assertThat(weekly.points().get(0)).isEqualTo(new Point(from, 7, 1, 7));
+
+        assertThat(monthly.granularity()).isEqualTo("MONTH");
+        assertThat(monthly.points()).hasSize(12);
+        assertThat(monthly.points().get(1)).isEqualTo(new Point(LocalDate.of(2024, 2, 1), 60, 32, 60));
+    }
+
+    @Test
+    void granularityIsTheFinestThatFits() {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+
+        assertThat(MetricsHistoryService.granularityFor(from, from.plusDays(179), 180)).isEqualTo(Granularity.DAY);
+        assertThat(MetricsHistoryService.granularityFor(from, from.plusDays(180), 180)).isEqualTo(Granularity.WEEK);
+        assertThat(MetricsHistoryService.granularityFor(from, from.plusYears(5), 180)).isEqualTo(Granularity.MONTH);
+    }
+
+    @Test
+    void invalidRangesAreBadRequest() {
+        LocalDate day = LocalDate.of(2024, 1, 1);
+
+        ResponseStatusException reversed = assertThrows(ResponseStatusException.class,
+                () -> service.series(null, day, day.minusDays(1), null, null));
+        ResponseStatusException tooLong = assertThrows(ResponseStatusException.class,
+                () -> service.series(null, day, day.plusYears(6), null, null));
+
+        assertThat(reversed.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(tooLong.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verify(metricSnapshotRepository, never()).findSeries(any(), any(), any(), any());
+    }
+
+    private SnapshotPoint point(MetricKey metric, int scopeId, LocalDate day, long value) {
+        return new SnapshotPoint() {
+            @Override
+            public MetricKey getMetric() {
+                return metric;
+            }
+
+            @Override
+            public int getScopeId() {
+                return scopeId;
+            }
+
+            @Override
+            public LocalDate getDay() {
+                return day;
+            }
+
+            @Override
+            public long getValue() {
+                return value;
+            }
+        };
+    }
+}
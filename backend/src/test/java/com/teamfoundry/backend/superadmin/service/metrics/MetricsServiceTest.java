@@ -1,12 +1,10 @@
 package com.teamfoundry.backend.superadmin.service.metrics;
 
-import com.teamfoundry.backend.account.repository.company.CompanyAccountRepository;
-import com.teamfoundry.backend.account.repository.employee.EmployeeAccountRepository;
+import com.teamfoundry.backend.account.enums.UserType;
 import com.teamfoundry.backend.superadmin.dto.metrics.MetricsOverviewResponse;
 import com.teamfoundry.backend.superadmin.model.credentials.AdminAccount;
 import com.teamfoundry.backend.superadmin.repository.credentials.AdminAccountRepository;
 import com.teamfoundry.backend.teamRequests.enums.State;
-import com.teamfoundry.backend.teamRequests.repository.TeamRequestRepository;
 import org.junit.jupiter.api.DisplayNameGeneration;
 import org.junit.jupiter.api.DisplayNameGenerator;
 import org.junit.jupiter.api.Test;
@@ -14,44 +12,30 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.http.HttpStatus;
 
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
 class MetricsServiceTest {
 
-    @Mock CompanyAccountRepository companyAccountRepository;
-    @Mock EmployeeAccountRepository employeeAccountRepository;
-    @Mock TeamRequestRepository teamRequestRepository;
+    @Mock MetricsCounters metricsCounters;
     @Mock AdminAccountRepository adminAccountRepository;
 
     @InjectMocks MetricsService service;
 
     @Test
     void getOverviewReturnsAggregatedCounts() {
-        when(companyAccountRepository.countByDeactivatedFalse()).thenReturn(5L);
-        when(companyAccountRepository.countByStatusFalseAndDeactivatedFalse()).thenReturn(2L);
-        when(employeeAccountRepository.countByDeactivatedFalse()).thenReturn(7L);
-
-        when(teamRequestRepository.countByState(State.COMPLETED)).thenReturn(3L);
-        when(teamRequestRepository.countByState(State.INCOMPLETE)).thenReturn(4L);
-
-        when(teamRequestRepository.countAssignmentsByState(State.INCOMPLETE)).thenReturn(List.of(
-                assignment(10, 2),
-                assignment(20, 5)
-        ));
-
-        AdminAccount adminA = new AdminAccount(10, "alpha", "pwd", com.teamfoundry.backend.account.enums.UserType.ADMIN, false);
-        AdminAccount adminB = new AdminAccount(20, "beta", "pwd", com.teamfoundry.backend.account.enums.UserType.ADMIN, false);
-        when(adminAccountRepository.findAll()).thenReturn(List.of(adminA, adminB));
+        when(metricsCounters.snapshot()).thenReturn(new MetricsCounters.Snapshot(
+                5, 2, 7,
+                Map.of(State.COMPLETED, 3L, State.INCOMPLETE, 4L),
+                Map.of(10, 2L, 20, 5L),
+                Map.of(10, "alpha", 20, "beta")));
 
         MetricsOverviewResponse response = service.getOverview();
 
@@ -72,20 +56,31 @@ class MetricsServiceTest {
                         MetricsOverviewResponse.AdminWorkload::pendingRequests
                 ));
         assertThat(workloads).containsEntry(10, 2L).containsEntry(20, 5L);
+        assertThat(response.workloadByAdmin()).extracting(MetricsOverviewResponse.AdminWorkload::adminName)
+                .contains("alpha", "beta");
+        verifyNoInteractions(adminAccountRepository);
     }
 
     @Test
-    void getOverviewWhenAdminNotFoundSetsNameAsDefault() {
-        when(companyAccountRepository.countByDeactivatedFalse()).thenReturn(0L);
-        when(companyAccountRepository.countByStatusFalseAndDeactivatedFalse()).thenReturn(0L);
-        when(employeeAccountRepository.countByDeactivatedFalse()).thenReturn(0L);
-        when(teamRequestRepository.countByState(any(State.class))).thenReturn(0L);
+    void getOverviewLooksUpOnlyAdminsMissingFromTheCounters() {
+        when(metricsCounters.snapshot()).thenReturn(new MetricsCounters.Snapshot(
+                0, 0, 0, Map.of(), Map.of(30, 1L), Map.of()));
+        when(adminAccountRepository.findAllById(List.of(30)))
+                .thenReturn(List.of(new AdminAccount(30, "gamma", "pwd", UserType.ADMIN, false)));
 
-        when(teamRequestRepository.countAssignmentsByState(State.INCOMPLETE)).thenReturn(List.of(
-                assignment(99, 1)
-        ));
+        MetricsOverviewResponse response = service.getOverview();
 
-        when(adminAccountRepository.findAll()).thenReturn(List.of());
+        assertThat(response.workloadByAdmin()).singleElement()
+                .extracting(MetricsOverviewResponse.AdminWorkload::adminName).isEqualTo("gamma");
+        assertThat(response.requestsByState()).extracting(MetricsOverviewResponse.StateCount::count)
+                .containsOnly(0L);
+    }
+
+    @Test
+    void getOverviewWhenAdminNotFoundSetsNameAsDefault() {
+        when(metricsCounters.snapshot()).thenReturn(new MetricsCounters.Snapshot(
+                0, 0, 0, Map.of(), Map.of(99, 1L), Map.of()));
+        when(adminAccountRepository.findAllById(List.of(99))).thenReturn(List.of());
 
         MetricsOverviewResponse response = service.getOverview();
 
@@ -95,19 +90,4 @@ class MetricsServiceTest {
         assertThat(workload.adminName()).isEqualTo("N/D");
         assertThat(workload.pendingRequests()).isEqualTo(1);
     }
-
-    private TeamRequestRepository.AdminAssignmentCount assignment(Integer adminId, long total) {
-        return new TeamRequestRepository.AdminAssignmentCount() {
-            @Override
-            public Integer getAdminId() {
-                return adminId;
-            }
-
-            @Override
-            public long getTotal() {
-                return total;
-            }
-        };
-    }
 }
-
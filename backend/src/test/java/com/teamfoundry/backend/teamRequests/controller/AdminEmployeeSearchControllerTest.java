@@ -1,6 +1,8 @@
 package com.teamfoundry.backend.teamRequests.controller;
 
+import com.teamfoundry.backend.teamRequests.dto.search.AdminEmployeeSearchPage;
 import com.teamfoundry.backend.teamRequests.dto.search.AdminEmployeeSearchResponse;
+import com.teamfoundry.backend.teamRequests.enums.CandidateSort;
 import com.teamfoundry.backend.teamRequests.service.AdminEmployeeSearchService;
 import org.junit.jupiter.api.DisplayNameGeneration;
 import org.junit.jupiter.api.DisplayNameGenerator;
@@ -30,7 +32,7 @@ class AdminEmployeeSearchControllerTest {
     void searchWhenAreasAndSkillsNullPassesEmptyLists() {
         List<AdminEmployeeSearchResponse> expected = List.of(
                 new AdminEmployeeSearchResponse(1, "Ana", "Silva", "ana@test.com", "999",
-                        "dev", List.of(), List.of(), List.of(), null)
+                        "dev", List.of(), List.of(), List.of(), null, null)
         );
         when(adminEmployeeSearchService.search(eq("dev"), eq(Collections.emptyList()), eq(Collections.emptyList()), eq(Collections.emptyList()), eq(Collections.emptyList()), eq(null)))
                 .thenReturn(expected);
@@ -40,6 +42,16 @@ class AdminEmployeeSearchControllerTest {
         assertThat(result).isEqualTo(expected);
         verify(adminEmployeeSearchService).search("dev", Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), null);
     }
-}
 
+    @Test
+    void searchPageWhenFiltersNullPassesEmptyListsAndPagingParams() {
+        AdminEmployeeSearchPage expected = new AdminEmployeeSearchPage(List.of(), "abc", 0L);
+        when(adminEmployeeSearchService.searchPage(null, Collections.emptyList(), Collections.emptyList(),
+                Collections.emptyList(), Collections.emptyList(), 4, CandidateSort.LAST_ACCEPTED, "cursor", 25, true))
+                .thenReturn(expected);
+
+        var result = controller.searchPage(null, null, null, null, null, 4, CandidateSort.LAST_ACCEPTED, "cursor", 25, true);
 
+        assertThat(result).isEqualTo(expected);
+    }
+}
@@ -2,21 +2,13 @@ package com.teamfoundry.backend.teamRequests.service;
 
 import com.teamfoundry.backend.account.enums.UserType;
 import com.teamfoundry.backend.account.model.employee.profile.EmployeeAccount;
-import com.teamfoundry.backend.account.model.employee.profile.EmployeeGeoArea;
-import com.teamfoundry.backend.account.model.employee.profile.EmployeeSkill;
-import com.teamfoundry.backend.account.model.preferences.PrefGeoArea;
-import com.teamfoundry.backend.account.model.preferences.PrefRole;
-import com.teamfoundry.backend.account.model.preferences.PrefSkill;
 import com.teamfoundry.backend.account.repository.employee.EmployeeAccountRepository;
-import com.teamfoundry.backend.account.repository.employee.profile.EmployeeGeoAreaRepository;
-import com.teamfoundry.backend.account.repository.employee.profile.EmployeeRoleRepository;
-import com.teamfoundry.backend.account.repository.employee.profile.EmployeeSkillRepository;
 import com.teamfoundry.backend.superadmin.model.credentials.AdminAccount;
 import com.teamfoundry.backend.superadmin.repository.credentials.AdminAccountRepository;
+import com.teamfoundry.backend.teamRequests.dto.search.AdminEmployeeSearchPage;
 import com.teamfoundry.backend.teamRequests.dto.search.AdminEmployeeSearchResponse;
-import com.teamfoundry.backend.teamRequests.enums.State;
-import com.teamfoundry.backend.teamRequests.model.EmployeeRequest;
-import com.teamfoundry.backend.teamRequests.model.TeamRequest;
+import com.teamfoundry.backend.teamRequests.enums.CandidateSort;
+import com.teamfoundry.backend.teamRequests.repository.EmployeeRequestOfferRepository;
 import com.teamfoundry.backend.teamRequests.repository.EmployeeRequestRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayNameGeneration;
@@ -33,7 +25,9 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.time.LocalDateTime;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -48,10 +42,10 @@ class AdminEmployeeSearchServiceTest {
 
     @Mock AdminAccountRepository adminAccountRepository;
     @Mock EmployeeAccountRepository employeeAccountRepository;
-    @Mock EmployeeRoleRepository employeeRoleRepository;
-    @Mock EmployeeSkillRepository employeeSkillRepository;
-    @Mock EmployeeGeoAreaRepository employeeGeoAreaRepository;
     @Mock EmployeeRequestRepository employeeRequestRepository;
+    @Mock EmployeeRequestOfferRepository inviteRepository;
+    @Mock CandidateSearchIndex candidateSearchIndex;
+    @Mock CandidateProjectionLoader candidateProjectionLoader;
 
     @InjectMocks AdminEmployeeSearchService service;
 
@@ -68,43 +62,17 @@ class AdminEmployeeSearchServiceTest {
     }
 
     @Test
-    void searchNormalizesFiltersAndBuildsResponseWithLimitedExperiences() {
+    void searchNormalizesFiltersAndLoadsMatchesInIdOrder() {
         AdminAccount admin = new AdminAccount(1, "admin", "pwd", UserType.ADMIN, false);
         authenticate(admin);
         when(adminAccountRepository.findByUsernameIgnoreCase("admin")).thenReturn(Optional.of(admin));
 
-        EmployeeAccount employee = new EmployeeAccount();
-        employee.setId(10);
-        employee.setName("Ana");
-        employee.setSurname("Silva");
-        employee.setEmail("ANA@EXAMPLE.COM");
-        employee.setPhone("999");
-
-        when(employeeAccountRepository.searchCandidates(any(), anyBoolean(), anyList(), anyBoolean(), anyList(), anyBoolean(), anyList(), anyBoolean(), any(), any()))
-                .thenReturn(List.of(employee));
-
-        when(employeeRoleRepository.findFirstByEmployee(employee))
-                .thenReturn(Optional.of(new com.teamfoundry.backend.account.model.employee.profile.EmployeeRole(
-                        1, employee, new PrefRole(1, "Developer")
-                )));
-
-        when(employeeSkillRepository.findByEmployee(employee)).thenReturn(List.of(
-                new EmployeeSkill(1, employee, new PrefSkill(1, "Java")),
-                new EmployeeSkill(2, employee, new PrefSkill(2, ""))
-        ));
-        when(employeeGeoAreaRepository.findByEmployee(employee)).thenReturn(List.of(
-                new EmployeeGeoArea(1, employee, new PrefGeoArea(1, "Lisboa")),
-                new EmployeeGeoArea(2, employee, new PrefGeoArea(2, ""))
-        ));
-
-        List<EmployeeRequest> history = List.of(
-                accepted("Dev", LocalDateTime.now().minusDays(2), concludedTeam(State.COMPLETED)),
-                accepted("QA", LocalDateTime.now().minusDays(3), concludedTeamWithEndDate(LocalDateTime.now().minusDays(1))),
-                accepted("PM", null, concludedTeam(State.COMPLETED)),
-                accepted("UX", LocalDateTime.now().minusDays(4), openTeam())
-        );
-        when(employeeRequestRepository.findByEmployee_EmailOrderByAcceptedDateDesc("ana@example.com"))
-                .thenReturn(history);
+        EmployeeAccount first = employee(10);
+        EmployeeAccount second = employee(12);
+        when(candidateSearchIndex.match(anyList(), anyList(), anyList())).thenReturn(bits(10, 12));
+        when(employeeAccountRepository.findAllById(List.of(10, 12))).thenReturn(List.of(second, first));
+        List<AdminEmployeeSearchResponse> expected = List.of(response(10), response(12));
+        when(candidateProjectionLoader.load(List.of(first, second))).thenReturn(expected);
 
         List<AdminEmployeeSearchResponse> results = service.search(
                 "  DEVELOPER ",
@@ -113,84 +81,138 @@ class AdminEmployeeSearchServiceTest {
                 List.of(), List.of(), null
         );
 
-        ArgumentCaptor<String> roleCaptor = ArgumentCaptor.forClass(String.class);
-        ArgumentCaptor<List<String>> areasCaptor = ArgumentCaptor.forClass((Class) List.class);
-        ArgumentCaptor<Boolean> areasEmptyCaptor = ArgumentCaptor.forClass(Boolean.class);
+        ArgumentCaptor<List<String>> rolesCaptor = ArgumentCaptor.forClass((Class) List.class);
         ArgumentCaptor<List<String>> skillsCaptor = ArgumentCaptor.forClass((Class) List.class);
-        ArgumentCaptor<Boolean> skillsEmptyCaptor = ArgumentCaptor.forClass(Boolean.class);
-        ArgumentCaptor<List<String>> preferredRolesCaptor = ArgumentCaptor.forClass((Class) List.class);
-        ArgumentCaptor<Boolean> preferredRolesEmptyCaptor = ArgumentCaptor.forClass(Boolean.class);
-        ArgumentCaptor<List<String>> statusesCaptor = ArgumentCaptor.forClass((Class) List.class);
-        ArgumentCaptor<Boolean> statusesEmptyCaptor = ArgumentCaptor.forClass(Boolean.class);
-        ArgumentCaptor<Integer> teamIdCaptor = ArgumentCaptor.forClass(Integer.class);
-
-        verify(employeeAccountRepository).searchCandidates(
-                areasCaptor.capture(),
-                areasEmptyCaptor.capture(),
-                skillsCaptor.capture(),
-                skillsEmptyCaptor.capture(),
-                preferredRolesCaptor.capture(),
-                preferredRolesEmptyCaptor.capture(),
-                statusesCaptor.capture(),
-                statusesEmptyCaptor.capture(),
-                teamIdCaptor.capture(),
-                roleCaptor.capture()
-        );
+        ArgumentCaptor<List<String>> areasCaptor = ArgumentCaptor.forClass((Class) List.class);
+        verify(candidateSearchIndex).match(rolesCaptor.capture(), skillsCaptor.capture(), areasCaptor.capture());
 
-        assertThat(roleCaptor.getValue()).isEqualTo("developer");
+        assertThat(rolesCaptor.getValue()).isEmpty();
         assertThat(areasCaptor.getValue()).containsExactly("lisboa");
-        assertThat(areasEmptyCaptor.getValue()).isFalse();
         assertThat(skillsCaptor.getValue()).containsExactly("java");
-        assertThat(skillsEmptyCaptor.getValue()).isFalse();
-
-        assertThat(results).hasSize(1);
-        AdminEmployeeSearchResponse response = results.get(0);
-        assertThat(response.id()).isEqualTo(10);
-        assertThat(response.email()).isEqualTo("ANA@EXAMPLE.COM");
-        assertThat(response.role()).isEqualTo("Developer");
-        assertThat(response.skills()).containsExactly("Java");
-        assertThat(response.areas()).containsExactly("Lisboa");
-        assertThat(response.experiences()).hasSize(2);
+        verifyNoInteractions(inviteRepository);
+        assertThat(results).isEqualTo(expected);
     }
 
-    private void authenticate(AdminAccount admin) {
-        UsernamePasswordAuthenticationToken authentication =
-                new UsernamePasswordAuthenticationToken(
-                        "admin:" + admin.getUsername(),
-                        null,
-                        List.of(new SimpleGrantedAuthority("ROLE_" + admin.getRole().name()))
-                );
-        SecurityContextHolder.getContext().setAuthentication(authentication);
+    @Test
+    void searchWithStatusesKeepsOnlyCandidatesMatchingTeamState() {
+        AdminAccount admin = new AdminAccount(1, "admin", "pwd", UserType.ADMIN, false);
+        authenticate(admin);
+        when(adminAccountRepository.findByUsernameIgnoreCase("admin")).thenReturn(Optional.of(admin));
+
+        when(candidateSearchIndex.match(anyList(), anyList(), anyList())).thenReturn(bits(1, 2, 3));
+        when(inviteRepository.findActiveInviteEmployeeIdsByTeamAndRole(5, "developer")).thenReturn(List.of(1));
+        when(employeeRequestRepository.findAcceptedEmployeeIdsByTeamAndRole(5, "developer")).thenReturn(List.of(2));
+        EmployeeAccount free = employee(3);
+        when(employeeAccountRepository.findAllById(List.of(3))).thenReturn(List.of(free));
+        when(candidateProjectionLoader.load(List.of(free))).thenReturn(List.of(response(3)));
+
+        List<AdminEmployeeSearchResponse> results = service.search(
+                "Developer", List.of(), List.of(), List.of(), List.of("NO_PROPOSAL"), 5);
+
+        assertThat(results).extracting(AdminEmployeeSearchResponse::id).containsExactly(3);
     }
 
-    private EmployeeRequest accepted(String requestedRole, LocalDateTime acceptedDate, TeamRequest team) {
-        EmployeeRequest r = new EmployeeRequest();
-        r.setRequestedRole(requestedRole);
-        r.setAcceptedDate(acceptedDate);
-        r.setTeamRequest(team);
-        return r;
+    @Test
+    void searchWithoutMatchesSkipsDatabaseLoad() {
+        AdminAccount admin = new AdminAccount(1, "admin", "pwd", UserType.ADMIN, false);
+        authenticate(admin);
+        when(adminAccountRepository.findByUsernameIgnoreCase("admin")).thenReturn(Optional.of(admin));
+        when(candidateSearchIndex.match(anyList(), anyList(), anyList())).thenReturn(new BitSet());
+
+        assertThat(service.search(null, List.of("Porto"), List.of(), List.of(), List.of(), null)).isEmpty();
+        verify(employeeAccountRepository, never()).findAllById(any());
     }
 
-    private TeamRequest concludedTeam(State state) {
-        TeamRequest tr = new TeamRequest();
-        tr.setState(state);
-        tr.setEndDate(null);
-        return tr;
+    @Test
+    void searchPageLoadsOnlyPageIdsInIndexOrderAndReturnsReusableCursor() {
+        AdminAccount admin = new AdminAccount(1, "admin", "pwd", UserType.ADMIN, false);
+        authenticate(admin);
+        when(adminAccountRepository.findByUsernameIgnoreCase("admin")).thenReturn(Optional.of(admin));
+        BitSet matches = bits(1, 2, 3);
+        when(candidateSearchIndex.match(anyList(), anyList(), anyList())).thenReturn(matches);
+
+        CandidateSearchIndex.Cursor next = new CandidateSearchIndex.Cursor(CandidateSort.NAME, 1, "ana | silva", null);
+        when(candidateSearchIndex.page(matches, CandidateSort.NAME, null, 2))
+                .thenReturn(new CandidateSearchIndex.Slice(List.of(3, 1), next));
+        EmployeeAccount first = employee(3);
+        EmployeeAccount second = employee(1);
+        when(employeeAccountRepository.findAllById(List.of(3, 1))).thenReturn(List.of(second, first));
+        when(candidateProjectionLoader.load(List.of(first, second))).thenReturn(List.of(response(3), response(1)));
+
+        AdminEmployeeSearchPage page = service.searchPage(null, List.of(), List.of(), List.of(), List.of(), null,
+                CandidateSort.NAME, null, 2, true);
+
+        assertThat(page.items()).extracting(AdminEmployeeSearchResponse::id).containsExactly(3, 1);
+        assertThat(page.total()).isEqualTo(3L);
+        assertThat(page.nextCursor()).isNotBlank();
+
+        when(candidateSearchIndex.page(matches, CandidateSort.NAME, next, 2))
+                .thenReturn(new CandidateSearchIndex.Slice(List.of(), null));
+        AdminEmployeeSearchPage last = service.searchPage(null, List.of(), List.of(), List.of(), List.of(), null,
+                CandidateSort.NAME, page.nextCursor(), 2, false);
+
+        assertThat(last.nextCursor()).isNull();
+        assertThat(last.total()).isNull();
     }
 
-    private TeamRequest concludedTeamWithEndDate(LocalDateTime endDate) {
-        TeamRequest tr = new TeamRequest();
-        tr.setState(State.INCOMPLETE);
-        tr.setEndDate(endDate);
-        return tr;
+    @Test
+    void searchPageCapsPageSize() {
+        AdminAccount admin = new AdminAccount(1, "admin", "pwd", UserType.ADMIN, false);
+        authenticate(admin);
+        when(adminAccountRepository.findByUsernameIgnoreCase("admin")).thenReturn(Optional.of(admin));
+        BitSet matches = bits(1);
+        when(candidateSearchIndex.match(anyList(), anyList(), anyList())).thenReturn(matches);
+        when(candidateSearchIndex.page(matches, CandidateSort.ID, null, AdminEmployeeSearchService.MAX_PAGE_SIZE))
+                .thenReturn(new CandidateSearchIndex.Slice(List.of(), null));
+
+        service.searchPage(null, List.of(), List.of(), List.of(), List.of(), null, CandidateSort.ID, null, 10_000, false);
+
+        verify(candidateSearchIndex).page(matches, CandidateSort.ID, null, AdminEmployeeSearchService.MAX_PAGE_SIZE);
     }
 
-    private TeamRequest openTeam() {
-        TeamRequest tr = new TeamRequest();
-        tr.setState(State.INCOMPLETE);
-        tr.setEndDate(LocalDateTime.now().plusDays(10));
-        return tr;
+    @Test
+    void searchPageRejectsCursorFromAnotherSort() {
+        AdminAccount admin = new AdminAccount(1, "admin", "pwd", UserType.ADMIN, false);
+        authenticate(admin);
+        when(adminAccountRepository.findByUsernameIgnoreCase("admin")).thenReturn(Optional.of(admin));
+        String idCursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("ID|7|".getBytes(StandardCharsets.UTF_8));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> service.searchPage(null, List.of(), List.of(), List.of(), List.of(), null,
+                        CandidateSort.NAME, idCursor, null, false));
+        assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(candidateSearchIndex);
+        assertThrows(ResponseStatusException.class,
+                () -> service.searchPage(null, List.of(), List.of(), List.of(), List.of(), null,
+                        CandidateSort.ID, "%%%", null, false));
     }
-}
 
+    private EmployeeAccount employee(int id) {
+        EmployeeAccount employee = new EmployeeAccount();
+        employee.setId(id);
+        employee.setEmail("employee" + id + "@example.com");
+        return employee;
+    }
 
+    private AdminEmployeeSearchResponse response(int id) {
+        return new AdminEmployeeSearchResponse(id, "Nome", "Apelido", "employee" + id + "@example.com",
+                null, null, List.of(), List.of(), List.of(), null, null);
+    }
+
+    private BitSet bits(int... ids) {
+        BitSet bits = new BitSet();
+        for (int id : ids) bits.set(id);
+        return bits;
+    }
+
+    private void authenticate(AdminAccount admin) {
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(
+                        "admin:" + admin.getUsername(),
+                        null,
+                        List.of(new SimpleGrantedAuthority("ROLE_" + admin.getRole().name()))
+                );
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+}
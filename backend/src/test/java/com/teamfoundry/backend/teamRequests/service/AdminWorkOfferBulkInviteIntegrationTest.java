@@ -0,0 +1,146 @@
+package com.teamfoundry.backend.teamRequests.service;
+
+import com.teamfoundry.backend.account.enums.RegistrationStatus;
+import com.teamfoundry.backend.account.enums.UserType;
+import com.teamfoundry.backend.account.model.company.CompanyAccount;
+import com.teamfoundry.backend.account.model.employee.profile.EmployeeAccount;
+import com.teamfoundry.backend.account.repository.company.CompanyAccountRepository;
+import com.teamfoundry.backend.account.repository.employee.EmployeeAccountRepository;
+import com.teamfoundry.backend.notification.enums.NotificationType;
+import com.teamfoundry.backend.notification.repository.NotificationRepository;
+import com.teamfoundry.backend.superadmin.model.credentials.AdminAccount;
+import com.teamfoundry.backend.superadmin.repository.credentials.AdminAccountRepository;
+import com.teamfoundry.backend.teamRequests.enums.State;
+import com.teamfoundry.backend.teamRequests.model.EmployeeRequest;
+import com.teamfoundry.backend.teamRequests.model.TeamRequest;
+import com.teamfoundry.backend.teamRequests.repository.EmployeeRequestOfferRepository;
+import com.teamfoundry.backend.teamRequests.repository.EmployeeRequestRepository;
+import com.teamfoundry.backend.teamRequests.repository.TeamRequestRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mede a latência ponta a ponta de um convite para 1000 candidatos: convites na transação
+ * do pedido e notificações gravadas em lote depois do commit. Sem transação no teste, para
+ * que o afterCommit corra como em produção.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class AdminWorkOfferBulkInviteIntegrationTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdminWorkOfferBulkInviteIntegrationTest.class);
+    private static final int CANDIDATES = 1_000;
+
+    @Autowired AdminWorkOfferService service;
+    @Autowired AdminAccountRepository adminAccountRepository;
+    @Autowired CompanyAccountRepository companyAccountRepository;
+    @Autowired TeamRequestRepository teamRequestRepository;
+    @Autowired EmployeeRequestRepository employeeRequestRepository;
+    @Autowired EmployeeRequestOfferRepository employeeRequestOfferRepository;
+    @Autowired EmployeeAccountRepository employeeAccountRepository;
+    @Autowired NotificationRepository notificationRepository;
+
+    private TeamRequest team;
+    private List<Integer> candidateIds;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+
+        AdminAccount admin = adminAccountRepository.save(new AdminAccount(0, "bulk-admin", "hash", UserType.ADMIN, false));
+
+        CompanyAccount company = new CompanyAccount();
+        company.setEmail("bulk@test.com");
+        company.setPassword("hash");
+        company.setNif(202020202);
+        company.setRole(UserType.COMPANY);
+        company.setRegistrationStatus(RegistrationStatus.COMPLETED);
+        company.setName("Bulk Company");
+        company.setAddress("Rua Principal");
+        company.setCountry("Portugal");
+        company.setStatus(true);
+        companyAccountRepository.save(company);
+
+        team = new TeamRequest();
+        team.setCompany(company);
+        team.setTeamName("Bulk");
+        team.setState(State.INCOMPLETE);
+        team.setResponsibleAdminId(admin.getId());
+        teamRequestRepository.save(team);
+
+        EmployeeRequest slot = new EmployeeRequest();
+        slot.setTeamRequest(team);
+        slot.setRequestedRole("soldador");
+        employeeRequestRepository.save(slot);
+
+        candidateIds = employeeAccountRepository.saveAll(IntStream.range(0, CANDIDATES).mapToObj(this::employee).toList())
+                .stream()
+                .map(EmployeeAccount::getId)
+                .toList();
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin:bulk-admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        cleanUp();
+    }
+
+    @Test
+    @DisplayName("convite para 1000 candidatos grava os convites e uma notificação por candidato")
+    void thousandCandidateInviteNotifiesEveryCandidate() {
+        long start = System.nanoTime();
+        int created = service.sendInvites(team.getId(), "Soldador", candidateIds);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        LOGGER.info("Convite para {} candidatos (convites + notificações) em {} ms", CANDIDATES, elapsedMs);
+
+        assertThat(created).isEqualTo(CANDIDATES);
+        assertThat(notificationRepository.findAll())
+                .hasSize(CANDIDATES)
+                .allSatisfy(notification -> {
+                    assertThat(notification.getType()).isEqualTo(NotificationType.JOB_OFFER);
+                    assertThat(notification.isRead()).isFalse();
+                    assertThat(notification.getCreatedAt()).isNotNull();
+                });
+    }
+
+    private void cleanUp() {
+        notificationRepository.deleteAll();
+        employeeRequestOfferRepository.deleteAll();
+        employeeRequestRepository.deleteAll();
+        teamRequestRepository.deleteAll();
+        companyAccountRepository.deleteAll();
+        employeeAccountRepository.deleteAll();
+        adminAccountRepository.deleteAll();
+    }
+
+    private EmployeeAccount employee(int index) {
+        EmployeeAccount employee = new EmployeeAccount();
+        employee.setEmail("bulk" + index + "@test.com");
+        employee.setPassword("hash");
+        employee.setRole(UserType.EMPLOYEE);
+        employee.setVerified(true);
+        employee.setDeactivated(false);
+        employee.setRegistrationStatus(RegistrationStatus.COMPLETED);
+        employee.setName("Candidato");
+        employee.setSurname(String.valueOf(index));
+        return employee;
+    }
+}
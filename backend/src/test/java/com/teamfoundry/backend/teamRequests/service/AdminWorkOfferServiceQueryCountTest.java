@@ -0,0 +1,204 @@
+package com.teamfoundry.backend.teamRequests.service;
+
+import com.teamfoundry.backend.account.enums.RegistrationStatus;
+import com.teamfoundry.backend.account.enums.UserType;
+import com.teamfoundry.backend.account.model.company.CompanyAccount;
+import com.teamfoundry.backend.account.model.employee.profile.EmployeeAccount;
+import com.teamfoundry.backend.notification.service.NotificationService;
+import com.teamfoundry.backend.superadmin.model.credentials.AdminAccount;
+import com.teamfoundry.backend.teamRequests.enums.State;
+import com.teamfoundry.backend.teamRequests.model.EmployeeRequest;
+import com.teamfoundry.backend.teamRequests.model.EmployeeRequestOffer;
+import com.teamfoundry.backend.teamRequests.model.TeamRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Garante que o envio de convites usa um número constante de instruções SQL, seja qual for
+ * o número de vagas e de candidatos: conta os statements preparados em cada ligação JDBC,
+ * incluindo o INSERT em batch, que não passa pelo Hibernate.
+ */
+@DataJpaTest
+@Import({AdminWorkOfferService.class, EmployeeRequestOfferBatchWriter.class,
+        AdminWorkOfferServiceQueryCountTest.StatementCounting.class})
+@SuppressWarnings("removal") // MockBean deprecation warnings in Spring Boot 3.4
+class AdminWorkOfferServiceQueryCountTest {
+
+    static final AtomicInteger PREPARED_STATEMENTS = new AtomicInteger();
+
+    @Autowired TestEntityManager entityManager;
+    @Autowired AdminWorkOfferService service;
+
+    @MockBean NotificationService notificationService;
+
+    private AdminAccount admin;
+    private CompanyAccount company;
+    private int nextEmployee;
+
+    @BeforeEach
+    void setUp() {
+        admin = entityManager.persist(new AdminAccount(0, "query-admin", "hash", UserType.ADMIN, false));
+
+        company = new CompanyAccount();
+        company.setEmail("company@example.com");
+        company.setPassword("hash");
+        company.setRole(UserType.COMPANY);
+        company.setRegistrationStatus(RegistrationStatus.COMPLETED);
+        company.setName("Metalurgica");
+        company.setAddress("Rua 1");
+        company.setCountry("Portugal");
+        company.setStatus(true);
+        entityManager.persist(company);
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin:query-admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("sendInvites usa o mesmo número de instruções para 2x5 e para 20x200 convites")
+    void statementCountIsIndependentOfBatchSize() {
+        long small = countStatements(2, 5);
+        long large = countStatements(20, 200);
+
+        assertThat(small).isLessThanOrEqualTo(7);
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    @DisplayName("sendInvites não repete convites ativos e devolve os ids gerados")
+    void existingActiveInvitesAreSkipped() {
+        TeamRequest team = team();
+        EmployeeRequest slot = slot(team);
+        List<Integer> candidates = candidates(3);
+        EmployeeRequestOffer existing = new EmployeeRequestOffer();
+        existing.setEmployeeRequest(slot);
+        existing.setEmployee(entityManager.find(EmployeeAccount.class, candidates.getFirst()));
+        existing.setActive(true);
+        entityManager.persist(existing);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(service.sendInvites(team.getId(), "Soldador", candidates)).isEqualTo(2);
+        assertThat(entityManager.getEntityManager()
+                .createQuery("SELECT COUNT(o) FROM EmployeeRequestOffer o WHERE o.active = true", Long.class)
+                .getSingleResult()).isEqualTo(3L);
+    }
+
+    private long countStatements(int slots, int candidateCount) {
+        TeamRequest team = team();
+        for (int i = 0; i < slots; i++) {
+            slot(team);
+        }
+        List<Integer> candidates = candidates(candidateCount);
+        entityManager.flush();
+        entityManager.clear();
+
+        PREPARED_STATEMENTS.set(0);
+        int created = service.sendInvites(team.getId(), "Soldador", candidates);
+        int statements = PREPARED_STATEMENTS.get();
+
+        assertThat(created).isEqualTo(slots * candidateCount);
+        return statements;
+    }
+
+    private TeamRequest team() {
+        TeamRequest team = new TeamRequest();
+        team.setCompany(company);
+        team.setTeamName("Equipa");
+        team.setState(State.INCOMPLETE);
+        team.setResponsibleAdminId(admin.getId());
+        return entityManager.persist(team);
+    }
+
+    private EmployeeRequest slot(TeamRequest team) {
+        EmployeeRequest request = new EmployeeRequest();
+        request.setTeamRequest(team);
+        request.setRequestedRole("soldador");
+        return entityManager.persist(request);
+    }
+
+    private List<Integer> candidates(int count) {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            EmployeeAccount employee = new EmployeeAccount();
+            employee.setEmail("candidate" + (nextEmployee++) + "@example.com");
+            employee.setPassword("hash");
+            employee.setRole(UserType.EMPLOYEE);
+            employee.setRegistrationStatus(RegistrationStatus.COMPLETED);
+            employee.setVerified(true);
+            ids.add(entityManager.persist(employee).getId());
+        }
+        return ids;
+    }
+
+    /**
+     * Envolve o DataSource para contar os statements preparados em qualquer ligação.
+     */
+    @TestConfiguration
+    static class StatementCounting {
+
+        @Bean
+        static BeanPostProcessor statementCountingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? countingDataSource(dataSource) : bean;
+                }
+            };
+        }
+
+        private static DataSource countingDataSource(DataSource target) {
+            return (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(), new Class<?>[]{DataSource.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(target, method, args);
+                        return result instanceof Connection connection ? countingConnection(connection) : result;
+                    });
+        }
+
+        private static Connection countingConnection(Connection target) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("prepareStatement") || method.getName().equals("createStatement")) {
+                            PREPARED_STATEMENTS.incrementAndGet();
+                        }
+                        return invoke(target, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getTargetException();
+            }
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.teamfoundry.backend.teamRequests.service;
 import com.teamfoundry.backend.account.enums.UserType;
 import com.teamfoundry.backend.account.model.employee.profile.EmployeeAccount;
 import com.teamfoundry.backend.account.repository.employee.EmployeeAccountRepository;
+import com.teamfoundry.backend.notification.dto.NotificationDraft;
+import com.teamfoundry.backend.notification.enums.NotificationType;
 import com.teamfoundry.backend.superadmin.model.credentials.AdminAccount;
 import com.teamfoundry.backend.superadmin.repository.credentials.AdminAccountRepository;
 import com.teamfoundry.backend.teamRequests.enums.State;
@@ -10,6 +12,7 @@ import com.teamfoundry.backend.teamRequests.model.EmployeeRequest;
 import com.teamfoundry.backend.teamRequests.model.EmployeeRequestOffer;
 import com.teamfoundry.backend.teamRequests.model.TeamRequest;
 import com.teamfoundry.backend.teamRequests.repository.EmployeeRequestOfferRepository;
+import com.teamfoundry.backend.teamRequests.repository.EmployeeRequestOfferRepository.ActiveInvite;
 import com.teamfoundry.backend.teamRequests.repository.EmployeeRequestRepository;
 import com.teamfoundry.backend.teamRequests.repository.TeamRequestRepository;
 import org.junit.jupiter.api.AfterEach;
@@ -46,6 +49,7 @@ class AdminWorkOfferServiceTest {
     @Mock EmployeeAccountRepository employeeAccountRepository;
     @Mock AdminAccountRepository adminAccountRepository;
     @Mock com.teamfoundry.backend.notification.service.NotificationService notificationService;
+    @Mock EmployeeRequestOfferBatchWriter offerBatchWriter;
 
     @InjectMocks AdminWorkOfferService service;
 
@@ -74,22 +78,30 @@ class AdminWorkOfferServiceTest {
                 .thenReturn(List.of(r1, r2));
 
         EmployeeAccount candidate = employee(2);
-        when(employeeAccountRepository.findById(2)).thenReturn(Optional.of(candidate));
-        when(employeeAccountRepository.findById(999)).thenReturn(Optional.empty());
+        when(employeeAccountRepository.findAllById(Set.of(2, 999))).thenReturn(List.of(candidate));
 
-        when(inviteRepository.existsByEmployeeRequest_IdAndEmployee_IdAndActiveTrue(100, 2)).thenReturn(false);
-        when(inviteRepository.existsByEmployeeRequest_IdAndEmployee_IdAndActiveTrue(101, 2)).thenReturn(true);
+        when(inviteRepository.findActiveInvitesByRequestIds(List.of(100, 101))).thenReturn(List.of(activeInvite(101, 2)));
 
-        int created = service.sendInvites(10, "  Developer  ", List.of(1, 2, 999));
+        int created = service.sendInvites(10, "  Developer  ", List.of(1, 2, 999, 2));
 
         assertThat(created).isEqualTo(1);
 
         ArgumentCaptor<List<EmployeeRequestOffer>> captor = ArgumentCaptor.forClass((Class) List.class);
-        verify(inviteRepository).saveAll(captor.capture());
+        verify(offerBatchWriter).insert(captor.capture());
         assertThat(captor.getValue()).hasSize(1);
         assertThat(captor.getValue().get(0).getEmployeeRequest().getId()).isEqualTo(100);
         assertThat(captor.getValue().get(0).getEmployee().getId()).isEqualTo(2);
         assertThat(captor.getValue().get(0).isActive()).isTrue();
+
+        ArgumentCaptor<List<NotificationDraft>> notifications = ArgumentCaptor.forClass((Class) List.class);
+        verify(notificationService).createNotificationsAfterCommit(notifications.capture());
+        assertThat(notifications.getValue()).singleElement()
+                .satisfies(draft -> {
+                    assertThat(draft.userId()).isEqualTo(2);
+                    assertThat(draft.type()).isEqualTo(NotificationType.JOB_OFFER);
+                });
+        verify(notificationService, never()).createNotification(any(), any(), any(), any());
+        verify(employeeAccountRepository, never()).findById(anyInt());
     }
 
     @Test
@@ -210,6 +222,20 @@ class AdminWorkOfferServiceTest {
         return er;
     }
 
+    private ActiveInvite activeInvite(int requestId, int employeeId) {
+        return new ActiveInvite() {
+            @Override
+            public Integer getRequestId() {
+                return requestId;
+            }
+
+            @Override
+            public Integer getEmployeeId() {
+                return employeeId;
+            }
+        };
+    }
+
     private EmployeeAccount employee(int id) {
         EmployeeAccount e = new EmployeeAccount();
         e.setId(id);
@@ -0,0 +1,168 @@
+package com.teamfoundry.backend.teamRequests.service;
+
+import com.teamfoundry.backend.account.enums.RegistrationStatus;
+import com.teamfoundry.backend.account.enums.UserType;
+import com.teamfoundry.backend.account.model.company.CompanyAccount;
+import com.teamfoundry.backend.account.model.employee.profile.EmployeeAccount;
+import com.teamfoundry.backend.account.model.employee.profile.EmployeeGeoArea;
+import com.teamfoundry.backend.account.model.employee.profile.EmployeeRole;
+import com.teamfoundry.backend.account.model.employee.profile.EmployeeSkill;
+import com.teamfoundry.backend.account.model.preferences.PrefGeoArea;
+import com.teamfoundry.backend.account.model.preferences.PrefRole;
+import com.teamfoundry.backend.account.model.preferences.PrefSkill;
+import com.teamfoundry.backend.common.storage.FileStorage;
+import com.teamfoundry.backend.teamRequests.dto.search.AdminEmployeeSearchResponse;
+import com.teamfoundry.backend.teamRequests.enums.State;
+import com.teamfoundry.backend.teamRequests.model.EmployeeRequest;
+import com.teamfoundry.backend.teamRequests.model.TeamRequest;
+import com.teamfoundry.backend.teamRequests.repository.EmployeeRequestRepository;
+import com.teamfoundry.backend.teamRequests.repository.EmployeeRequestRepository.EmployeeExperience;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Garante que o {@link CandidateProjectionLoader} usa um número constante de consultas,
+ * seja qual for o número de candidatos no resultado.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(CandidateProjectionLoader.class)
+@SuppressWarnings("removal") // MockBean deprecation warnings in Spring Boot 3.4
+class CandidateProjectionLoaderQueryCountTest {
+
+    @Autowired TestEntityManager entityManager;
+    @Autowired EntityManagerFactory entityManagerFactory;
+    @Autowired CandidateProjectionLoader loader;
+    @Autowired EmployeeRequestRepository employeeRequestRepository;
+    @MockBean FileStorage fileStorage;
+
+    private PrefRole role;
+    private PrefSkill skill;
+    private PrefGeoArea area;
+    private TeamRequest finishedTeam;
+
+    @BeforeEach
+    void setUp() {
+        role = entityManager.persist(new PrefRole(0, "Soldador"));
+        skill = entityManager.persist(new PrefSkill(0, "MIG"));
+        area = entityManager.persist(new PrefGeoArea(0, "Braga"));
+
+        CompanyAccount company = new CompanyAccount();
+        company.setEmail("company@example.com");
+        company.setPassword("hash");
+        company.setRole(UserType.COMPANY);
+        company.setRegistrationStatus(RegistrationStatus.COMPLETED);
+        company.setName("Metalurgica");
+        company.setAddress("Rua 1");
+        company.setCountry("Portugal");
+        company.setStatus(true);
+        entityManager.persist(company);
+
+        finishedTeam = new TeamRequest();
+        finishedTeam.setCompany(company);
+        finishedTeam.setTeamName("Equipa concluida");
+        finishedTeam.setState(State.COMPLETED);
+        entityManager.persist(finishedTeam);
+    }
+
+    @Test
+    @DisplayName("load usa o mesmo número de consultas para 5 e para 50 candidatos")
+    void queryCountIsIndependentOfResultSize() {
+        List<EmployeeAccount> small = persistEmployees(0, 5);
+        List<EmployeeAccount> large = persistEmployees(5, 50);
+        entityManager.flush();
+        entityManager.clear();
+
+        long smallQueries = countQueries(small);
+        long largeQueries = countQueries(large);
+
+        assertThat(smallQueries).isEqualTo(4);
+        assertThat(largeQueries).isEqualTo(smallQueries);
+    }
+
+    @Test
+    @DisplayName("load devolve função, competências, áreas e no máximo duas experiências")
+    void loadBuildsCompleteResponse() {
+        List<EmployeeAccount> employees = persistEmployees(0, 1);
+        entityManager.flush();
+        entityManager.clear();
+
+        AdminEmployeeSearchResponse response = loader.load(employees).getFirst();
+
+        assertThat(response.role()).isEqualTo("Soldador");
+        assertThat(response.skills()).containsExactly("MIG");
+        assertThat(response.areas()).containsExactly("Braga");
+        assertThat(response.experiences()).hasSize(2).allMatch(entry -> entry.startsWith("Metalurgica - Soldador"));
+    }
+
+    @Test
+    @DisplayName("a consulta de experiências devolve só as duas mais recentes de cada colaborador")
+    void experiencesAreCappedPerEmployeeInTheQuery() {
+        List<EmployeeAccount> employees = persistEmployees(0, 2);
+        entityManager.flush();
+        entityManager.clear();
+        List<Integer> ids = employees.stream().map(EmployeeAccount::getId).toList();
+
+        List<EmployeeExperience> rows = employeeRequestRepository.findConcludedExperiencesByEmployeeIds(
+                ids, State.COMPLETED.name(), LocalDateTime.now(), CandidateProjectionLoader.MAX_EXPERIENCES);
+
+        assertThat(rows).hasSize(4);
+        for (Integer id : ids) {
+            List<EmployeeExperience> employeeRows = rows.stream().filter(row -> id.equals(row.getEmployeeId())).toList();
+            assertThat(employeeRows).hasSize(2);
+            assertThat(employeeRows.get(0).getAcceptedDate()).isAfter(employeeRows.get(1).getAcceptedDate());
+            assertThat(employeeRows.get(1).getAcceptedDate()).isAfter(LocalDateTime.now().minusDays(3));
+            assertThat(employeeRows).allMatch(row -> "Metalurgica".equals(row.getCompanyName()));
+        }
+    }
+
+    private long countQueries(List<EmployeeAccount> employees) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<AdminEmployeeSearchResponse> responses = loader.load(employees);
+        assertThat(responses).hasSize(employees.size());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<EmployeeAccount> persistEmployees(int offset, int count) {
+        List<EmployeeAccount> employees = new ArrayList<>();
+        for (int i = offset; i < offset + count; i++) {
+            EmployeeAccount employee = new EmployeeAccount();
+            employee.setEmail("candidate" + i + "@example.com");
+            employee.setPassword("hash");
+            employee.setRole(UserType.EMPLOYEE);
+            employee.setRegistrationStatus(RegistrationStatus.COMPLETED);
+            employee.setVerified(true);
+            employee.setName("Candidato " + i);
+            entityManager.persist(employee);
+
+            entityManager.persist(new EmployeeRole(0, employee, role));
+            entityManager.persist(new EmployeeSkill(0, employee, skill));
+            entityManager.persist(new EmployeeGeoArea(0, employee, area));
+            for (int job = 0; job < 3; job++) {
+                EmployeeRequest request = new EmployeeRequest();
+                request.setTeamRequest(finishedTeam);
+                request.setEmployee(employee);
+                request.setRequestedRole("Soldador");
+                request.setAcceptedDate(LocalDateTime.now().minusDays(job + 1));
+                entityManager.persist(request);
+            }
+            employees.add(employee);
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,143 @@
+package com.teamfoundry.backend.teamRequests.service;
+
+import com.teamfoundry.backend.account.model.employee.profile.EmployeeAccount;
+import com.teamfoundry.backend.account.repository.employee.profile.EmployeeGeoAreaRepository;
+import com.teamfoundry.backend.account.repository.employee.profile.EmployeePreferenceName;
+import com.teamfoundry.backend.account.repository.employee.profile.EmployeeRoleRepository;
+import com.teamfoundry.backend.account.repository.employee.profile.EmployeeSkillRepository;
+import com.teamfoundry.backend.common.storage.FileStorage;
+import com.teamfoundry.backend.common.storage.ImageSize;
+import com.teamfoundry.backend.teamRequests.dto.search.AdminEmployeeSearchResponse;
+import com.teamfoundry.backend.teamRequests.enums.State;
+import com.teamfoundry.backend.teamRequests.repository.EmployeeRequestRepository;
+import com.teamfoundry.backend.teamRequests.repository.EmployeeRequestRepository.EmployeeExperience;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CandidateProjectionLoaderTest {
+
+    @Mock EmployeeRoleRepository employeeRoleRepository;
+    @Mock EmployeeSkillRepository employeeSkillRepository;
+    @Mock EmployeeGeoAreaRepository employeeGeoAreaRepository;
+    @Mock EmployeeRequestRepository employeeRequestRepository;
+    @Mock FileStorage fileStorage;
+
+    @InjectMocks CandidateProjectionLoader loader;
+
+    @Test
+    void loadAssemblesResponsesInInputOrderWithTheMostRecentExperiences() {
+        EmployeeAccount ana = employee(10, "Ana");
+        EmployeeAccount rui = employee(11, "Rui");
+        List<Integer> ids = List.of(11, 10);
+
+        when(employeeRoleRepository.findPreferenceNamesByEmployeeIds(ids)).thenReturn(List.of(
+                name(10, "Developer"), name(10, "Tester")));
+        when(employeeSkillRepository.findPreferenceNamesByEmployeeIds(ids)).thenReturn(List.of(
+                name(10, "Java"), name(10, ""), name(11, "Python")));
+        when(employeeGeoAreaRepository.findPreferenceNamesByEmployeeIds(ids)).thenReturn(List.of(
+                name(10, "Lisboa"), name(11, "Porto")));
+        LocalDateTime accepted = LocalDateTime.of(2025, 3, 1, 9, 0);
+        when(employeeRequestRepository.findConcludedExperiencesByEmployeeIds(
+                eq(ids), eq(State.COMPLETED.name()), any(), eq(CandidateProjectionLoader.MAX_EXPERIENCES)))
+                .thenReturn(List.of(
+                        experience(10, "Acme", "Dev", accepted),
+                        experience(10, null, null, accepted.minusDays(1))));
+
+        List<AdminEmployeeSearchResponse> responses = loader.load(List.of(rui, ana));
+
+        assertThat(responses).extracting(AdminEmployeeSearchResponse::id).containsExactly(11, 10);
+        AdminEmployeeSearchResponse anaResponse = responses.get(1);
+        assertThat(anaResponse.role()).isEqualTo("Developer");
+        assertThat(anaResponse.skills()).containsExactly("Java");
+        assertThat(anaResponse.areas()).containsExactly("Lisboa");
+        assertThat(anaResponse.experiences()).containsExactly(
+                "Acme - Dev (2025-03-01)",
+                "Empresa - Função (2025-02-28)");
+
+        AdminEmployeeSearchResponse ruiResponse = responses.get(0);
+        assertThat(ruiResponse.role()).isNull();
+        assertThat(ruiResponse.skills()).containsExactly("Python");
+        assertThat(ruiResponse.experiences()).isEmpty();
+    }
+
+    @Test
+    void loadReturnsMediumThumbnailOnlyForEmployeesWithPhoto() {
+        EmployeeAccount ana = employee(10, "Ana");
+        ana.setProfilePicturePublicId("profile-pictures/ana");
+        EmployeeAccount rui = employee(11, "Rui");
+        when(fileStorage.buildImageUrl("profile-pictures/ana", ImageSize.MEDIUM)).thenReturn("https://cdn/ana-128");
+
+        List<AdminEmployeeSearchResponse> responses = loader.load(List.of(ana, rui));
+
+        assertThat(responses).extracting(AdminEmployeeSearchResponse::profilePictureThumbnailUrl)
+                .containsExactly("https://cdn/ana-128", null);
+    }
+
+    @Test
+    void loadWithoutEmployeesDoesNotQuery() {
+        assertThat(loader.load(List.of())).isEmpty();
+        verifyNoInteractions(employeeRoleRepository, employeeSkillRepository, employeeGeoAreaRepository, employeeRequestRepository);
+    }
+
+    private EmployeeAccount employee(int id, String name) {
+        EmployeeAccount employee = new EmployeeAccount();
+        employee.setId(id);
+        employee.setName(name);
+        employee.setEmail(name.toLowerCase() + "@example.com");
+        return employee;
+    }
+
+    private EmployeePreferenceName name(int employeeId, String value) {
+        return new EmployeePreferenceName() {
+            @Override
+            public Integer getEmployeeId() {
+                return employeeId;
+            }
+
+            @Override
+            public String getName() {
+                return value;
+            }
+        };
+    }
+
+    private EmployeeExperience experience(int employeeId, String company, String role, LocalDateTime acceptedDate) {
+        return new EmployeeExperience() {
+            @Override
+            public Integer getEmployeeId() {
+                return employeeId;
+            }
+
+            @Override
+            public String getCompanyName() {
+                return company;
+            }
+
+            @Override
+            public String getRequestedRole() {
+                return role;
+            }
+
+            @Override
+            public LocalDateTime getAcceptedDate() {
+                return acceptedDate;
+            }
+        };
+    }
+}
@@ -0,0 +1,220 @@
+package com.teamfoundry.backend.teamRequests.service;
+
+import com.teamfoundry.backend.account.repository.employee.EmployeeAccountRepository;
+import com.teamfoundry.backend.account.repository.employee.EmployeeAccountRepository.SearchableEmployee;
+import com.teamfoundry.backend.account.repository.employee.profile.EmployeeGeoAreaRepository;
+import com.teamfoundry.backend.account.repository.employee.profile.EmployeePreferenceName;
+import com.teamfoundry.backend.account.repository.employee.profile.EmployeeRoleRepository;
+import com.teamfoundry.backend.account.repository.employee.profile.EmployeeSkillRepository;
+import com.teamfoundry.backend.teamRequests.enums.CandidateSort;
+import com.teamfoundry.backend.teamRequests.repository.EmployeeRequestRepository;
+import com.teamfoundry.backend.teamRequests.repository.EmployeeRequestRepository.EmployeeLastAccepted;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CandidateSearchIndexTest {
+
+    @Mock EmployeeAccountRepository employeeAccountRepository;
+    @Mock EmployeeRoleRepository employeeRoleRepository;
+    @Mock EmployeeSkillRepository employeeSkillRepository;
+    @Mock EmployeeGeoAreaRepository employeeGeoAreaRepository;
+    @Mock EmployeeRequestRepository employeeRequestRepository;
+    @Mock PlatformTransactionManager transactionManager;
+
+    CandidateSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CandidateSearchIndex(employeeAccountRepository, employeeRoleRepository,
+                employeeSkillRepository, employeeGeoAreaRepository, employeeRequestRepository, transactionManager);
+
+        when(employeeAccountRepository.findSearchableEmployees()).thenReturn(List.of(
+                employee(1, "Bruno", "Costa"), employee(2, "Ana", "Silva"), employee(3, "Álvaro", "Dias")));
+        when(employeeRequestRepository.findLastAcceptedDates()).thenReturn(List.of(
+                accepted(1, LocalDateTime.of(2024, 1, 1, 9, 0)), accepted(3, LocalDateTime.of(2025, 1, 1, 9, 0))));
+        when(employeeRoleRepository.findAllPreferenceNames()).thenReturn(List.of(
+                row(1, "Developer"), row(2, "Developer"), row(3, "Designer")));
+        when(employeeSkillRepository.findAllPreferenceNames()).thenReturn(List.of(
+                row(1, "Java"), row(2, "Python"), row(3, "Java"), row(4, "Java")));
+        when(employeeGeoAreaRepository.findAllPreferenceNames()).thenReturn(List.of(
+                row(1, "Lisboa"), row(2, "Porto"), row(3, "Lisboa")));
+        index.rebuild();
+    }
+
+    @Test
+    void matchWithoutFiltersReturnsOnlySearchableEmployees() {
+        assertThat(index.match(List.of(), List.of(), List.of()).stream()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void matchCombinesValuesWithOrAndDimensionsWithAnd() {
+        assertThat(index.match(List.of("developer"), List.of("java", "python"), List.of()).stream())
+                .containsExactly(1, 2);
+        assertThat(index.match(List.of("developer"), List.of("java"), List.of("lisboa")).stream())
+                .containsExactly(1);
+        assertThat(index.match(List.of(), List.of(), List.of("faro")).stream()).isEmpty();
+    }
+
+    @Test
+    void periodicRebuildPicksUpChangesMadeOnOtherInstances() {
+        when(employeeAccountRepository.findSearchableEmployees()).thenReturn(List.of(
+                employee(2, "Ana", "Silva"), employee(5, "Eva", "Reis")));
+        when(employeeRoleRepository.findAllPreferenceNames()).thenReturn(List.of(row(2, "Developer"), row(5, "Developer")));
+
+        index.periodicRebuild();
+
+        assertThat(index.match(List.of("developer"), List.of(), List.of()).stream()).containsExactly(2, 5);
+    }
+
+    @Test
+    void failedPeriodicRebuildKeepsServingTheCurrentIndex() {
+        when(employeeAccountRepository.findSearchableEmployees()).thenThrow(new IllegalStateException("db"));
+
+        index.periodicRebuild();
+
+        assertThat(index.match(List.of(), List.of(), List.of()).stream()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void refreshReplacesEmployeeEntries() {
+        when(employeeAccountRepository.findSearchableEmployeeById(2)).thenReturn(Optional.of(employee(2, "Ana", "Silva")));
+        when(employeeRequestRepository.findLastAcceptedDateByEmployeeId(2)).thenReturn(null);
+        when(employeeRoleRepository.findPreferenceNamesByEmployeeId(2)).thenReturn(List.of(row(2, "Designer")));
+        when(employeeSkillRepository.findPreferenceNamesByEmployeeId(2)).thenReturn(List.of(row(2, "Java")));
+        when(employeeGeoAreaRepository.findPreferenceNamesByEmployeeId(2)).thenReturn(List.of(row(2, "Faro")));
+
+        index.refresh(2);
+
+        assertThat(index.match(List.of("developer"), List.of(), List.of()).stream()).containsExactly(1);
+        assertThat(index.match(List.of("designer"), List.of("java"), List.of()).stream()).containsExactly(2, 3);
+        assertThat(index.match(List.of(), List.of(), List.of("faro")).stream()).containsExactly(2);
+        assertThat(index.match(List.of(), List.of("python"), List.of()).stream()).isEmpty();
+    }
+
+    @Test
+    void refreshOfDeactivatedEmployeeRemovesItFromResults() {
+        when(employeeAccountRepository.findSearchableEmployeeById(1)).thenReturn(Optional.empty());
+        when(employeeRoleRepository.findPreferenceNamesByEmployeeId(1)).thenReturn(List.of(row(1, "Developer")));
+        when(employeeSkillRepository.findPreferenceNamesByEmployeeId(1)).thenReturn(List.of(row(1, "Java")));
+        when(employeeGeoAreaRepository.findPreferenceNamesByEmployeeId(1)).thenReturn(List.of(row(1, "Lisboa")));
+
+        index.refresh(1);
+
+        assertThat(index.match(List.of("developer"), List.of(), List.of()).stream()).containsExactly(2);
+        assertThat(index.page(index.match(List.of(), List.of(), List.of()), CandidateSort.NAME, null, 10).employeeIds())
+                .containsExactly(3, 2);
+    }
+
+    @Test
+    void refreshMovesChangedAndNewEmployeesToTheirSortedPositions() {
+        when(employeeAccountRepository.findSearchableEmployeeById(2)).thenReturn(Optional.of(employee(2, "Zé", "Abreu")));
+        when(employeeRequestRepository.findLastAcceptedDateByEmployeeId(2)).thenReturn(LocalDateTime.of(2026, 1, 1, 9, 0));
+        when(employeeAccountRepository.findSearchableEmployeeById(6)).thenReturn(Optional.of(employee(6, "Carla", "Mota")));
+        when(employeeRequestRepository.findLastAcceptedDateByEmployeeId(6)).thenReturn(null);
+
+        index.refresh(2);
+        index.refresh(6);
+
+        BitSet all = index.match(List.of(), List.of(), List.of());
+        assertThat(all.stream()).containsExactly(1, 2, 3, 6);
+        assertThat(index.page(all, CandidateSort.NAME, null, 10).employeeIds()).containsExactly(3, 1, 6, 2);
+        assertThat(index.page(all, CandidateSort.LAST_ACCEPTED, null, 10).employeeIds()).containsExactly(2, 3, 1, 6);
+    }
+
+    @Test
+    void pageByNameIgnoresAccentsAndContinuesAfterCursor() {
+        BitSet all = index.match(List.of(), List.of(), List.of());
+
+        CandidateSearchIndex.Slice first = index.page(all, CandidateSort.NAME, null, 2);
+        assertThat(first.employeeIds()).containsExactly(3, 2);
+        assertThat(first.next()).isNotNull();
+
+        CandidateSearchIndex.Slice second = index.page(all, CandidateSort.NAME, first.next(), 2);
+        assertThat(second.employeeIds()).containsExactly(1);
+        assertThat(second.next()).isNull();
+    }
+
+    @Test
+    void pageByLastAcceptedPutsMostRecentFirstAndNeverAcceptedLast() {
+        BitSet all = index.match(List.of(), List.of(), List.of());
+
+        CandidateSearchIndex.Slice first = index.page(all, CandidateSort.LAST_ACCEPTED, null, 1);
+        CandidateSearchIndex.Slice rest = index.page(all, CandidateSort.LAST_ACCEPTED, first.next(), 5);
+
+        assertThat(first.employeeIds()).containsExactly(3);
+        assertThat(rest.employeeIds()).containsExactly(1, 2);
+    }
+
+    @Test
+    void pageSkipsEmployeesOutsideMatches() {
+        BitSet lisboa = index.match(List.of(), List.of(), List.of("lisboa"));
+
+        assertThat(index.page(lisboa, CandidateSort.NAME, null, 10).employeeIds()).containsExactly(3, 1);
+        CandidateSearchIndex.Slice byId = index.page(lisboa, CandidateSort.ID, null, 1);
+        assertThat(byId.employeeIds()).containsExactly(1);
+        assertThat(index.page(lisboa, CandidateSort.ID, byId.next(), 1).employeeIds()).containsExactly(3);
+    }
+
+    private SearchableEmployee employee(int id, String name, String surname) {
+        return new SearchableEmployee() {
+            @Override
+            public Integer getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getSurname() {
+                return surname;
+            }
+        };
+    }
+
+    private EmployeeLastAccepted accepted(int employeeId, LocalDateTime date) {
+        return new EmployeeLastAccepted() {
+            @Override
+            public Integer getEmployeeId() {
+                return employeeId;
+            }
+
+            @Override
+            public LocalDateTime getLastAccepted() {
+                return date;
+            }
+        };
+    }
+
+    private EmployeePreferenceName row(int employeeId, String name) {
+        return new EmployeePreferenceName() {
+            @Override
+            public Integer getEmployeeId() {
+                return employeeId;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+        };
+    }
+}
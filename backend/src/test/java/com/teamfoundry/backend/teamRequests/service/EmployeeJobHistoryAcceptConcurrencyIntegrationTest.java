@@ -0,0 +1,222 @@
+package com.teamfoundry.backend.teamRequests.service;
+
+import com.teamfoundry.backend.account.enums.RegistrationStatus;
+import com.teamfoundry.backend.account.enums.UserType;
+import com.teamfoundry.backend.account.model.company.CompanyAccount;
+import com.teamfoundry.backend.account.model.employee.profile.EmployeeAccount;
+import com.teamfoundry.backend.account.repository.company.CompanyAccountRepository;
+import com.teamfoundry.backend.account.repository.employee.EmployeeAccountRepository;
+import com.teamfoundry.backend.auth.repository.logs.CommonLogsRepository;
+import com.teamfoundry.backend.common.service.AuditLogWriter;
+import com.teamfoundry.backend.notification.repository.NotificationRepository;
+import com.teamfoundry.backend.teamRequests.enums.State;
+import com.teamfoundry.backend.teamRequests.model.EmployeeRequest;
+import com.teamfoundry.backend.teamRequests.model.EmployeeRequestOffer;
+import com.teamfoundry.backend.teamRequests.model.TeamRequest;
+import com.teamfoundry.backend.teamRequests.repository.EmployeeRequestOfferRepository;
+import com.teamfoundry.backend.teamRequests.repository.EmployeeRequestRepository;
+import com.teamfoundry.backend.teamRequests.repository.TeamRequestRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pico de aceitações: 300 convidados aceitam a mesma oferta ao mesmo tempo para 40 vagas.
+ * Sem transação no teste, para que cada aceitação confirme (ou falhe) como em produção.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EmployeeJobHistoryAcceptConcurrencyIntegrationTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeJobHistoryAcceptConcurrencyIntegrationTest.class);
+    private static final int CANDIDATES = 300;
+    private static final int SLOTS = 40;
+    private static final int THREADS = 32;
+    private static final long MAX_P99_MS = 2_000;
+
+    @Autowired EmployeeJobHistoryService service;
+    @Autowired CompanyAccountRepository companyAccountRepository;
+    @Autowired TeamRequestRepository teamRequestRepository;
+    @Autowired EmployeeRequestRepository employeeRequestRepository;
+    @Autowired EmployeeRequestOfferRepository employeeRequestOfferRepository;
+    @Autowired EmployeeAccountRepository employeeAccountRepository;
+    @Autowired NotificationRepository notificationRepository;
+    @Autowired CommonLogsRepository commonLogsRepository;
+    @Autowired AuditLogWriter auditLogWriter;
+
+    private TeamRequest team;
+    private int offeredSlotId;
+    private List<String> candidateEmails;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+
+        CompanyAccount company = new CompanyAccount();
+        company.setEmail("storm@test.com");
+        company.setPassword("hash");
+        company.setNif(303030303);
+        company.setRole(UserType.COMPANY);
+        company.setRegistrationStatus(RegistrationStatus.COMPLETED);
+        company.setName("Storm Company");
+        company.setAddress("Rua Principal");
+        company.setCountry("Portugal");
+        company.setStatus(true);
+        companyAccountRepository.save(company);
+
+        team = new TeamRequest();
+        team.setCompany(company);
+        team.setTeamName("Storm");
+        team.setState(State.INCOMPLETE);
+        teamRequestRepository.save(team);
+
+        List<EmployeeRequest> slots = employeeRequestRepository.saveAll(IntStream.range(0, SLOTS).mapToObj(i -> {
+            EmployeeRequest slot = new EmployeeRequest();
+            slot.setTeamRequest(team);
+            slot.setRequestedRole("soldador");
+            return slot;
+        }).toList());
+        EmployeeRequest offered = slots.get(0);
+        offeredSlotId = offered.getId();
+
+        List<EmployeeAccount> candidates = employeeAccountRepository.saveAll(
+                IntStream.range(0, CANDIDATES).mapToObj(this::employee).toList());
+        employeeRequestOfferRepository.saveAll(candidates.stream()
+                .map(candidate -> new EmployeeRequestOffer(0, offered, candidate, true))
+                .toList());
+        candidateEmails = candidates.stream().map(EmployeeAccount::getEmail).toList();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanUp();
+    }
+
+    @Test
+    @DisplayName("aceitações simultâneas ocupam cada vaga uma única vez e fecham a requisição")
+    void acceptStormNeverDoubleBooksASlot() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Outcome>> futures = new ArrayList<>(CANDIDATES);
+        try {
+            for (String email : candidateEmails) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    long begin = System.nanoTime();
+                    try {
+                        service.acceptOffer(offeredSlotId, email);
+                        return new Outcome(true, null, System.nanoTime() - begin);
+                    } catch (ResponseStatusException ex) {
+                        return new Outcome(false, HttpStatus.valueOf(ex.getStatusCode().value()), System.nanoTime() - begin);
+                    }
+                }));
+            }
+            start.countDown();
+
+            List<Outcome> outcomes = new ArrayList<>(CANDIDATES);
+            for (Future<Outcome> future : futures) {
+                outcomes.add(future.get(60, TimeUnit.SECONDS));
+            }
+
+            List<Long> latenciesMs = new ArrayList<>(outcomes.stream().map(o -> o.nanos() / 1_000_000).toList());
+            Collections.sort(latenciesMs);
+            long p50 = latenciesMs.get(latenciesMs.size() / 2);
+            long p99 = latenciesMs.get((int) Math.ceil(latenciesMs.size() * 0.99) - 1);
+            LOGGER.info("{} aceitações para {} vagas: p50={} ms, p99={} ms", CANDIDATES, SLOTS, p50, p99);
+
+            assertThat(outcomes).filteredOn(Outcome::accepted).hasSize(SLOTS);
+            assertThat(outcomes).filteredOn(o -> !o.accepted())
+                    .extracting(Outcome::status)
+                    .containsOnly(HttpStatus.CONFLICT);
+            assertThat(p99).isLessThan(MAX_P99_MS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<EmployeeRequest> slots = employeeRequestRepository.findByTeamRequest_IdAndRequestedRole(team.getId(), "soldador");
+        assertThat(slots).allSatisfy(slot -> assertThat(slot.getEmployee()).isNotNull());
+        assertThat(slots).extracting(slot -> slot.getEmployee().getId()).doesNotHaveDuplicates();
+        assertThat(teamRequestRepository.findById(team.getId()))
+                .get()
+                .extracting(TeamRequest::getState)
+                .isEqualTo(State.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("o mesmo colaborador a aceitar em paralelo fica com uma única vaga")
+    void parallelAcceptsFromOneEmployeeClaimOneSlot() throws Exception {
+        String email = candidateEmails.get(0);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        service.acceptOffer(offeredSlotId, email);
+                        return true;
+                    } catch (ResponseStatusException ex) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+            long accepted = 0;
+            for (Future<Boolean> future : futures) {
+                if (future.get(30, TimeUnit.SECONDS)) accepted++;
+            }
+            assertThat(accepted).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(employeeRequestRepository.findByEmployee_EmailOrderByAcceptedDateDesc(email)).hasSize(1);
+    }
+
+    private void cleanUp() {
+        auditLogWriter.flush();
+        commonLogsRepository.deleteAll();
+        notificationRepository.deleteAll();
+        employeeRequestOfferRepository.deleteAll();
+        employeeRequestRepository.deleteAll();
+        teamRequestRepository.deleteAll();
+        companyAccountRepository.deleteAll();
+        employeeAccountRepository.deleteAll();
+    }
+
+    private EmployeeAccount employee(int index) {
+        EmployeeAccount employee = new EmployeeAccount();
+        employee.setEmail("storm" + index + "@test.com");
+        employee.setPassword("hash");
+        employee.setRole(UserType.EMPLOYEE);
+        employee.setVerified(true);
+        employee.setDeactivated(false);
+        employee.setRegistrationStatus(RegistrationStatus.COMPLETED);
+        employee.setName("Candidato");
+        employee.setSurname(String.valueOf(index));
+        return employee;
+    }
+
+    private record Outcome(boolean accepted, HttpStatus status, long nanos) {}
+}
@@ -0,0 +1,140 @@
+package com.teamfoundry.backend.teamRequests.service;
+
+import com.teamfoundry.backend.account.enums.RegistrationStatus;
+import com.teamfoundry.backend.account.enums.UserType;
+import com.teamfoundry.backend.account.model.company.CompanyAccount;
+import com.teamfoundry.backend.account.model.employee.profile.EmployeeAccount;
+import com.teamfoundry.backend.common.service.ActionLogService;
+import com.teamfoundry.backend.notification.service.NotificationService;
+import com.teamfoundry.backend.superadmin.service.metrics.MetricsCounters;
+import com.teamfoundry.backend.teamRequests.dto.search.EmployeeJobSummary;
+import com.teamfoundry.backend.teamRequests.enums.State;
+import com.teamfoundry.backend.teamRequests.model.EmployeeRequest;
+import com.teamfoundry.backend.teamRequests.model.EmployeeRequestOffer;
+import com.teamfoundry.backend.teamRequests.model.TeamRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * O feed de ofertas é lido por projeção e o contador do dashboard é um COUNT na base de dados;
+ * os dois têm de concordar sobre o que é uma oferta OPEN.
+ */
+@DataJpaTest
+@Import(EmployeeJobHistoryService.class)
+@SuppressWarnings("removal") // MockBean deprecation warnings in Spring Boot 3.4
+class EmployeeJobHistoryOffersFeedTest {
+
+    private static final String EMAIL = "feed@example.com";
+
+    @Autowired TestEntityManager entityManager;
+    @Autowired EmployeeJobHistoryService service;
+
+    @MockBean NotificationService notificationService;
+    @MockBean ActionLogService actionLogService;
+    @MockBean CandidateSearchIndex candidateSearchIndex;
+    @MockBean MetricsCounters metricsCounters;
+
+    private CompanyAccount company;
+    private EmployeeAccount employee;
+    private EmployeeAccount other;
+
+    @BeforeEach
+    void setUp() {
+        company = new CompanyAccount();
+        company.setEmail("company@example.com");
+        company.setPassword("hash");
+        company.setRole(UserType.COMPANY);
+        company.setRegistrationStatus(RegistrationStatus.COMPLETED);
+        company.setName("Metalurgica");
+        company.setAddress("Rua 1");
+        company.setCountry("Portugal");
+        company.setStatus(true);
+        entityManager.persist(company);
+
+        employee = employee(EMAIL);
+        other = employee("other@example.com");
+    }
+
+    @Test
+    @DisplayName("o feed agrupa convites por equipa e função e o COUNT conta só os grupos OPEN")
+    void feedAndCounterAgreeOnOpenOffers() {
+        TeamRequest open = team("Aberta", State.INCOMPLETE, null);
+        invite(slot(open, "soldador", null));
+        invite(slot(open, "soldador", null));
+        invite(slot(open, "pintor", other));
+
+        TeamRequest completed = team("Completa", State.COMPLETED, null);
+        invite(slot(completed, "soldador", null));
+
+        TeamRequest expired = team("Expirada", State.INCOMPLETE, LocalDateTime.now().minusDays(1));
+        invite(slot(expired, "soldador", null));
+
+        TeamRequest joined = team("Ocupada", State.INCOMPLETE, null);
+        invite(slot(joined, "soldador", null));
+        slot(joined, "soldador", employee).setAcceptedDate(LocalDateTime.now());
+
+        TeamRequest future = team("Futura", State.INCOMPLETE, LocalDateTime.now().plusDays(10));
+        invite(slot(future, "eletricista", null));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<EmployeeJobSummary> feed = service.listInvitedOffers(EMAIL);
+
+        assertThat(feed)
+                .extracting(EmployeeJobSummary::getTeamName, EmployeeJobSummary::getRequestedRole, EmployeeJobSummary::getStatus)
+                .containsExactlyInAnyOrder(
+                        tuple("Aberta", "soldador", "OPEN"),
+                        tuple("Aberta", "pintor", "CLOSED"),
+                        tuple("Completa", "soldador", "CLOSED"),
+                        tuple("Expirada", "soldador", "CLOSED"),
+                        tuple("Ocupada", "soldador", "ACCEPTED"),
+                        tuple("Futura", "eletricista", "OPEN"));
+        assertThat(feed).extracting(EmployeeJobSummary::getCompanyName).containsOnly("Metalurgica");
+        assertThat(service.countOpenInvites(EMAIL))
+                .isEqualTo(feed.stream().filter(summary -> "OPEN".equals(summary.getStatus())).count())
+                .isEqualTo(2);
+    }
+
+    private TeamRequest team(String name, State state, LocalDateTime endDate) {
+        TeamRequest team = new TeamRequest();
+        team.setCompany(company);
+        team.setTeamName(name);
+        team.setState(state);
+        team.setEndDate(endDate);
+        return entityManager.persist(team);
+    }
+
+    private EmployeeRequest slot(TeamRequest team, String role, EmployeeAccount holder) {
+        EmployeeRequest request = new EmployeeRequest();
+        request.setTeamRequest(team);
+        request.setRequestedRole(role);
+        request.setEmployee(holder);
+        return entityManager.persist(request);
+    }
+
+    private void invite(EmployeeRequest slot) {
+        entityManager.persist(new EmployeeRequestOffer(0, slot, employee, true));
+    }
+
+    private EmployeeAccount employee(String email) {
+        EmployeeAccount account = new EmployeeAccount();
+        account.setEmail(email);
+        account.setPassword("hash");
+        account.setRole(UserType.EMPLOYEE);
+        account.setRegistrationStatus(RegistrationStatus.COMPLETED);
+        account.setVerified(true);
+        return entityManager.persist(account);
+    }
+}
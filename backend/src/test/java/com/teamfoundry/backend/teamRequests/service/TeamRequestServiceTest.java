@@ -11,6 +11,7 @@ import com.teamfoundry.backend.teamRequests.model.TeamRequest;
 import com.teamfoundry.backend.teamRequests.repository.EmployeeRequestOfferRepository;
 import com.teamfoundry.backend.teamRequests.repository.EmployeeRequestRepository;
 import com.teamfoundry.backend.teamRequests.repository.TeamRequestRepository;
+import com.teamfoundry.backend.superadmin.service.metrics.MetricsCounters;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayNameGeneration;
 import org.junit.jupiter.api.DisplayNameGenerator;
@@ -49,6 +50,7 @@ class TeamRequestServiceTest {
     @Mock EmployeeRequestRepository employeeRequestRepository;
     @Mock EmployeeRequestOfferRepository employeeRequestOfferRepository;
     @Mock ActionLogService actionLogService;
+    @Mock MetricsCounters metricsCounters;
 
     @InjectMocks TeamRequestService service;
 
@@ -116,6 +118,7 @@ class TeamRequestServiceTest {
         assertThat(response.responsibleAdminId()).isEqualTo(target.getId());
         verify(actionLogService).logAdmin(eq(superAdmin), any());
         assertThat(request.getResponsibleAdminId()).isEqualTo(target.getId());
+        verify(metricsCounters).teamRequestReassigned(State.INCOMPLETE, null, target.getId());
     }
 
     @Test
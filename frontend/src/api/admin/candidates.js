@@ -32,3 +32,42 @@ export async function searchCandidates({ role, areas = [], skills = [], preferre
     );
     return Array.isArray(data) ? data : [];
 }
+
+/**
+ * Pesquisa paginada por cursor. Devolve { items, nextCursor, total }.
+ * Para a página seguinte, repetir com o nextCursor recebido (null = última página).
+ */
+export async function searchCandidatesPage({
+    role,
+    areas = [],
+    skills = [],
+    preferredRoles = [],
+    statuses = [],
+    teamId,
+    sort = "NAME",
+    cursor,
+    size,
+    includeTotal = false,
+}) {
+    const params = new URLSearchParams();
+    if (role) params.append("role", role);
+    if (teamId) params.append("team", teamId);
+    areas.forEach((area) => params.append("areas", area));
+    skills.forEach((skill) => params.append("skills", skill));
+    preferredRoles.forEach((pr) => params.append("preferredRoles", pr));
+    statuses.forEach((st) => params.append("statuses", st));
+    if (sort) params.append("sort", sort);
+    if (cursor) params.append("cursor", cursor);
+    if (size) params.append("size", size);
+    if (includeTotal) params.append("includeTotal", "true");
+
+    const data = await handleResponse(
+        await apiFetch(`/api/admin/candidates/search/page?${params.toString()}`),
+        "Falha ao carregar candidatos."
+    );
+    return {
+        items: Array.isArray(data?.items) ? data.items : [],
+        nextCursor: data?.nextCursor ?? null,
+        total: data?.total ?? null,
+    };
+}
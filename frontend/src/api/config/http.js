@@ -35,7 +35,8 @@ async function performRequest(path, options, { alreadyRetried }) {
   }
   const url = path.startsWith("http") ? path : `${API_BASE}${path}`;
   const headers = new Headers(options.headers || {});
-  if (options.body && !headers.has("Content-Type")) {
+  // FormData: o browser define o multipart/form-data com o boundary correto.
+  if (options.body && !(options.body instanceof FormData) && !headers.has("Content-Type")) {
     headers.set("Content-Type", "application/json");
   }
 
@@ -64,7 +65,20 @@ async function performRequest(path, options, { alreadyRetried }) {
   throw new Error(data?.error || `HTTP ${response.status}`);
 }
 
-async function tryRefresh() {
+// O refresh token roda a cada uso: pedidos em paralelo partilham o mesmo refresh
+// em vez de enviarem o mesmo cookie várias vezes (só o primeiro seria aceite).
+let refreshInFlight = null;
+
+function tryRefresh() {
+  if (!refreshInFlight) {
+    refreshInFlight = doRefresh().finally(() => {
+      refreshInFlight = null;
+    });
+  }
+  return refreshInFlight;
+}
+
+async function doRefresh() {
   try {
     if (!API_BASE) return false;
     const res = await fetch(`${API_BASE}/api/auth/refresh`, {
@@ -89,4 +103,6 @@ export const httpPost = (path, body) =>
   request(path, { method: "POST", body: body ? JSON.stringify(body) : undefined });
 export const httpPut = (path, body) =>
   request(path, { method: "PUT", body: body ? JSON.stringify(body) : undefined });
+export const httpPostForm = (path, formData) => request(path, { method: "POST", body: formData });
+export const httpPutForm = (path, formData) => request(path, { method: "PUT", body: formData });
 export const httpDelete = (path) => request(path, { method: "DELETE" });
@@ -1,9 +1,27 @@
 import { apiFetch } from "../auth/client";
 
-export async function getNotifications() {
-    const response = await apiFetch("/api/notifications");
+/**
+ * Página de notificações (mais recentes primeiro). Devolve { items, nextCursor }.
+ */
+export async function getNotifications({ cursor, size } = {}) {
+    const params = new URLSearchParams();
+    if (cursor) params.append("cursor", cursor);
+    if (size) params.append("size", size);
+    const query = params.toString();
+    const response = await apiFetch(`/api/notifications${query ? `?${query}` : ""}`);
     if (!response.ok) throw new Error("Failed to fetch notifications");
-    return response.json();
+    const data = await response.json();
+    return {
+        items: Array.isArray(data?.items) ? data.items : [],
+        nextCursor: data?.nextCursor ?? null,
+    };
+}
+
+export async function getUnreadCount() {
+    const response = await apiFetch("/api/notifications/unread-count");
+    if (!response.ok) throw new Error("Failed to fetch unread count");
+    const data = await response.json();
+    return data?.unreadCount ?? 0;
 }
 
 export async function markAsRead(id) {
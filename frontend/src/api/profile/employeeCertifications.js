@@ -1,11 +1,11 @@
-import { httpDelete, httpGet, httpPost, httpPut } from "../config/http.js";
+import { httpDelete, httpGet, httpPostForm, httpPutForm } from "../config/http.js";
 
 const BASE_PATH = "/api/employee/certifications";
 
 export const listEmployeeCertifications = () => httpGet(BASE_PATH);
 
-export const createEmployeeCertification = (payload) => httpPost(BASE_PATH, payload);
+export const createEmployeeCertification = (formData) => httpPostForm(BASE_PATH, formData);
 
-export const updateEmployeeCertification = (id, payload) => httpPut(`${BASE_PATH}/${id}`, payload);
+export const updateEmployeeCertification = (id, formData) => httpPutForm(`${BASE_PATH}/${id}`, formData);
 
 export const deleteEmployeeCertification = (id) => httpDelete(`${BASE_PATH}/${id}`);
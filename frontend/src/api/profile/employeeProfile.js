@@ -1,4 +1,4 @@
-﻿import { httpGet, httpPut, httpPost, httpDelete } from "../config/http.js";
+﻿import { httpGet, httpPut, httpPost, httpPostForm, httpDelete } from "../config/http.js";
 
 const PROFILE_ENDPOINT = "/api/employee/profile";
 
@@ -14,24 +14,31 @@ export async function fetchEmployeeCurriculum() {
   return httpGet(`${PROFILE_ENDPOINT}/cv`);
 }
 
-export async function uploadEmployeeCurriculum(payload) {
-  return httpPost(`${PROFILE_ENDPOINT}/cv`, payload);
+function fileForm(file, fields = {}) {
+  const formData = new FormData();
+  Object.entries(fields).forEach(([key, value]) => formData.append(key, value));
+  formData.append("file", file);
+  return formData;
+}
+
+export async function uploadEmployeeCurriculum(file) {
+  return httpPostForm(`${PROFILE_ENDPOINT}/cv`, fileForm(file));
 }
 
 export async function deleteEmployeeCurriculum() {
   return httpDelete(`${PROFILE_ENDPOINT}/cv`);
 }
 
-export async function uploadIdentificationDocument(payload) {
-  return httpPost(`${PROFILE_ENDPOINT}/id-document`, payload);
+export async function uploadIdentificationDocument(type, file) {
+  return httpPostForm(`${PROFILE_ENDPOINT}/id-document`, fileForm(file, { type }));
 }
 
 export async function deleteIdentificationDocument(type) {
   return httpDelete(`${PROFILE_ENDPOINT}/id-document?type=${type}`);
 }
 
-export async function uploadEmployeeProfilePicture(payload) {
-  return httpPost(`${PROFILE_ENDPOINT}/photo`, payload);
+export async function uploadEmployeeProfilePicture(file) {
+  return httpPostForm(`${PROFILE_ENDPOINT}/photo`, fileForm(file));
 }
 
 export async function deleteEmployeeProfilePicture() {
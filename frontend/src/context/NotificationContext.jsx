@@ -1,6 +1,13 @@
 import React, { createContext, useContext, useState, useEffect, useCallback } from "react";
 import { useAuthContext } from "../auth/AuthContext";
-import { getNotifications, markAsRead as apiMarkAsRead, markAllAsRead as apiMarkAllAsRead } from "../api/notification/notification";
+import {
+    getNotifications,
+    getUnreadCount,
+    markAsRead as apiMarkAsRead,
+    markAllAsRead as apiMarkAllAsRead,
+} from "../api/notification/notification";
+
+const PAGE_SIZE = 20;
 
 const NotificationContext = createContext();
 
@@ -14,9 +21,12 @@ export function NotificationProvider({ children }) {
         if (!isAuthenticated) return;
         try {
             setLoading(true);
-            const data = await getNotifications();
-            setNotifications(data);
-            setUnreadCount(data.filter((n) => !n.read).length);
+            const [page, count] = await Promise.all([
+                getNotifications({ size: PAGE_SIZE }),
+                getUnreadCount(),
+            ]);
+            setNotifications(page.items);
+            setUnreadCount(count);
         } catch (err) {
             console.error("Failed to fetch notifications", err);
         } finally {
@@ -34,10 +44,11 @@ export function NotificationProvider({ children }) {
     const markAsRead = async (id) => {
         try {
             await apiMarkAsRead(id);
+            const wasUnread = notifications.some((n) => n.id === id && !n.read);
             setNotifications((prev) =>
                 prev.map((n) => (n.id === id ? { ...n, read: true } : n))
             );
-            setUnreadCount((prev) => Math.max(0, prev - 1));
+            if (wasUnread) setUnreadCount((prev) => Math.max(0, prev - 1));
         } catch (err) {
             console.error("Failed to mark notification as read", err);
         }
@@ -5,6 +5,7 @@ import { apiFetch } from "../../../../api/auth/client.js";
 
 export default function Logs() {
   const [logs, setLogs] = useState(null);
+  const [nextCursor, setNextCursor] = useState(null);
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState(null);
   const [filters, setFilters] = useState(() => {
@@ -23,20 +24,24 @@ export default function Logs() {
     []
   );
 
-  const handleSearch = async () => {
+  const handleSearch = async (cursor = null) => {
     setLoading(true);
     setError(null);
+    if (!cursor) setNextCursor(null);
     try {
       const params = new URLSearchParams();
       if (filters.type && filters.type !== "ALL") params.append("type", filters.type);
       if (filters.year) params.append("year", String(filters.year));
       if (filters.month) params.append("month", String(filters.month));
       if (filters.query.trim()) params.append("q", filters.query.trim());
+      if (cursor) params.append("cursor", cursor);
 
-      const resp = await apiFetch(`/api/super-admin/logs?${params.toString()}`);
+      const resp = await apiFetch(`/api/super-admin/logs/page?${params.toString()}`);
       if (!resp.ok) throw new Error("Falha ao carregar logs.");
       const payload = await resp.json();
-      setLogs(Array.isArray(payload) ? payload : []);
+      const items = Array.isArray(payload?.items) ? payload.items : [];
+      setLogs((prev) => (cursor && prev ? [...prev, ...items] : items));
+      setNextCursor(payload?.nextCursor ?? null);
     } catch (err) {
       setError(err.message || "Erro ao pesquisar logs.");
     } finally {
@@ -110,7 +115,7 @@ export default function Logs() {
                 variant="primary"
                 className="min-w-[150px]"
                 disabled={loading}
-                onClick={handleSearch}
+                onClick={() => handleSearch()}
               />
             </div>
           </div>
@@ -122,7 +127,7 @@ export default function Logs() {
           )}
 
           <div className="max-h-96 overflow-auto border border-base-200 rounded-xl">
-            {loading ? (
+            {loading && !nextCursor ? (
               <div className="p-4 text-base-content/70">Carregando logs...</div>
             ) : logs === null ? (
               <div className="p-4 text-base-content/60">Pesquise para carregar logs.</div>
@@ -153,6 +158,18 @@ export default function Logs() {
               </table>
             )}
           </div>
+
+          {nextCursor && (
+            <div className="flex justify-center">
+              <Button
+                label={loading ? "A carregar..." : "Carregar mais"}
+                variant="outline"
+                className="min-w-[150px]"
+                disabled={loading}
+                onClick={() => handleSearch(nextCursor)}
+              />
+            </div>
+          )}
         </div>
       </div>
     </section>
@@ -165,9 +165,9 @@ export default function BuildTeamSearch() {
             const skills = c.skills?.length ? c.skills : [];
             const experiences = Array.isArray(c.experiences) ? c.experiences : [];
             const profileId = c.profilePicturePublicId;
-            const photoUrl = profileId
-                ? `${cloudBase}${profileId}`
-                : c.photoUrl || c.photo || c.imageUrl || null;
+            const photoUrl = c.profilePictureThumbnailUrl
+                || (profileId ? `${cloudBase}${profileId}` : null)
+                || c.photoUrl || c.photo || c.imageUrl || null;
             const accepted = acceptedIds.includes(c.id);
             const selected = selectedIds.includes(c.id);
             const invited = invitedIds.includes(c.id); // já possui convite enviado
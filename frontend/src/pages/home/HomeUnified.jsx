@@ -105,7 +105,7 @@ function AreasSection({ section, industries }) {
             {industries.map((industry) => (
               <article key={industry.id} className="bg-base-100 rounded-3xl shadow-lg overflow-hidden">
                 <div className="h-56 bg-base-200">
-                  <ShowcaseImage src={industry.imageUrl} alt={industry.name} />
+                  <ShowcaseImage src={industry.thumbnailUrl || industry.imageUrl} alt={industry.name} />
                 </div>
                 <div className="px-5 py-4 text-center">
                   <h3 className="text-base font-semibold text-base-content">{industry.name}</h3>
@@ -138,7 +138,7 @@ function PartnersSection({ section, partners }) {
                 className="bg-base-100 rounded-3xl shadow-lg overflow-hidden flex flex-col md:flex-row"
               >
                 <div className="w-full md:w-[45%] h-56 md:h-auto bg-base-200 flex-shrink-0">
-                  <ShowcaseImage src={partner.imageUrl} alt={partner.name} />
+                  <ShowcaseImage src={partner.thumbnailUrl || partner.imageUrl} alt={partner.name} />
                 </div>
                 <div className="w-full md:w-[55%] p-6 space-y-3 flex flex-col justify-center">
                   <h3 className="text-xl font-semibold text-base-content">{partner.name}</h3>
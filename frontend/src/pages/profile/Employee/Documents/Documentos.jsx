@@ -86,8 +86,7 @@ export default function Documentos() {
     setError("");
     setProcessingKey("cv");
     try {
-      const base64 = await fileToBase64(file);
-      const data = await uploadEmployeeCurriculum({ file: base64, fileName: file.name });
+      const data = await uploadEmployeeCurriculum(file);
       setDocumentsData(data);
       setDocumentsLoaded(true);
       applyProfileData(data, { cv: file.name });
@@ -121,12 +120,7 @@ export default function Documentos() {
     setError("");
     setProcessingKey(key);
     try {
-      const base64 = await fileToBase64(file);
-      const data = await uploadIdentificationDocument({
-        file: base64,
-        fileName: file.name,
-        type,
-      });
+      const data = await uploadIdentificationDocument(type, file);
       setDocumentsData(data);
       setDocumentsLoaded(true);
       const overrideKey = key === "idFront" ? { idFront: file.name } : { idBack: file.name };
@@ -164,14 +158,6 @@ export default function Documentos() {
     }
   };
 
-  const fileToBase64 = (file) =>
-    new Promise((resolve, reject) => {
-      const reader = new FileReader();
-      reader.onload = () => resolve(reader.result);
-      reader.onerror = reject;
-      reader.readAsDataURL(file);
-    });
-
   return (
     <section className="w-full">
       <div className="flex items-center gap-3 mb-6">
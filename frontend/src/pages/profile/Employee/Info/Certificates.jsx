@@ -112,7 +112,7 @@ export default function Certificates() {
     setErrorMessage("");
 
     try {
-      const payload = await buildPayload(form);
+      const payload = buildPayload(form);
       if (editingId) {
         const updated = await updateEmployeeCertification(editingId, payload);
         setEducations((prev) => prev.map((e) => (e.id === editingId ? updated : e)));
@@ -332,30 +332,26 @@ function EmptyState() {
   );
 }
 
-async function buildPayload(form) {
-  const certificateFile = form.file ? await fileToBase64(form.file) : null;
+function buildPayload(form) {
   const fileName =
     (form.file?.name && form.file.name.trim())
       ? form.file.name
       : (form.certificateFileName && form.certificateFileName.trim())
         ? form.certificateFileName
         : (form.name ? `${form.name.trim().replace(/\s+/g, "_")}` : "certificado") + ".pdf";
-  return {
+  const fields = {
     name: form.name.trim(),
     institution: form.institution.trim(),
     location: form.location?.trim() || null,
     completionDate: form.completionDate,
     description: form.description?.trim() || null,
-    certificateFile,
     certificateFileName: fileName,
   };
-}
-
-function fileToBase64(file) {
-  return new Promise((resolve, reject) => {
-    const reader = new FileReader();
-    reader.onload = () => resolve(reader.result);
-    reader.onerror = reject;
-    reader.readAsDataURL(file);
+  // Multipart: o certificado segue como ficheiro na parte "file", sem base64.
+  const formData = new FormData();
+  Object.entries(fields).forEach(([key, value]) => {
+    if (value != null) formData.append(key, value);
   });
+  if (form.file) formData.append("file", form.file);
+  return formData;
 }
@@ -28,14 +28,6 @@ export default function ProfileHeader({ name }) {
     inputRef.current?.click();
   };
 
-  const fileToBase64 = (file) =>
-    new Promise((resolve, reject) => {
-      const reader = new FileReader();
-      reader.onload = () => resolve(reader.result);
-      reader.onerror = reject;
-      reader.readAsDataURL(file);
-    });
-
   const handleFileChange = async (event) => {
     const file = event.target.files?.[0];
     event.target.value = "";
@@ -52,11 +44,7 @@ export default function ProfileHeader({ name }) {
     setError("");
     setUploading(true);
     try {
-      const base64 = await fileToBase64(file);
-      const updatedProfile = await uploadEmployeeProfilePicture({
-        file: base64,
-        fileName: file.name,
-      });
+      const updatedProfile = await uploadEmployeeProfilePicture(file);
       setProfile(updatedProfile);
     } catch (err) {
       setError(err.message || "Falha ao atualizar a foto de perfil.");